@@ -0,0 +1,82 @@
+package com.opencloud.android;
+
+import static org.junit.Assert.*;
+
+import androidx.test.ext.junit.runners.AndroidJUnit4;
+import androidx.test.platform.app.InstrumentationRegistry;
+
+import org.json.JSONArray;
+import org.json.JSONObject;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/** Runs {@link GameCatalogStore} queries against a real in-memory SQLite database. */
+@RunWith(AndroidJUnit4.class)
+public class GameCatalogStoreInstrumentedTest {
+
+    private GameCatalogStore store;
+
+    private static JSONObject game(String id, String title, String publisher, String store) throws Exception {
+        return new JSONObject()
+            .put("id", id)
+            .put("title", title)
+            .put("publisher", publisher)
+            .put("variants", new JSONArray().put(new JSONObject().put("store", store)));
+    }
+
+    private static List<String> titles(GameCatalogStore.Page page) throws Exception {
+        List<String> titles = new ArrayList<>();
+        for (String json : page.games) titles.add(new JSONObject(json).getString("title"));
+        return titles;
+    }
+
+    @Before
+    public void setUp() throws Exception {
+        store = new GameCatalogStore(InstrumentationRegistry.getInstrumentation().getTargetContext(), null);
+        JSONArray games = new JSONArray()
+            .put(game("1", "Cyberpunk 2077", "CD PROJEKT RED", "Steam"))
+            .put(game("2", "Minecraft", "Mojang", "Xbox"))
+            .put(game("3", "Craftopia", "Pocketpair", "Steam"))
+            .put(game("4", "StarCraft II", "Blizzard", "Battle.net"));
+        store.upsert("main", games, true);
+    }
+
+    @After
+    public void tearDown() {
+        store.close();
+    }
+
+    @Test
+    public void query_findsTitleSubstringsLikeTheJsFilter() throws Exception {
+        GameCatalogStore.Page page = store.query("main", "craft", GameCatalogStore.SORT_POSITION, 0, 50);
+
+        assertEquals(3, page.total);
+        assertEquals(Arrays.asList("Minecraft", "Craftopia", "StarCraft II"), titles(page));
+    }
+
+    @Test
+    public void query_addsPublisherAndStoreMatchesAfterTitleMatches() throws Exception {
+        GameCatalogStore.Page page = store.query("main", "steam", GameCatalogStore.SORT_POSITION, 0, 50);
+        assertEquals(Arrays.asList("Cyberpunk 2077", "Craftopia"), titles(page));
+
+        page = store.query("main", "mine", GameCatalogStore.SORT_POSITION, 0, 50);
+        assertEquals(Arrays.asList("Minecraft"), titles(page));
+
+        page = store.query("main", "cd proj", GameCatalogStore.SORT_POSITION, 0, 50);
+        assertEquals(Arrays.asList("Cyberpunk 2077"), titles(page));
+    }
+
+    @Test
+    public void query_withoutTextReturnsTheWholeSourceInOrder() throws Exception {
+        GameCatalogStore.Page page = store.query("main", "  ", GameCatalogStore.SORT_POSITION, 1, 2);
+
+        assertEquals(4, page.total);
+        assertEquals(Arrays.asList("Minecraft", "Craftopia"), titles(page));
+    }
+}
@@ -0,0 +1,120 @@
+package com.opencloud.android;
+
+import static org.junit.Assert.*;
+
+import androidx.test.ext.junit.runners.AndroidJUnit4;
+
+import com.getcapacitor.JSObject;
+
+import org.json.JSONArray;
+import org.json.JSONObject;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * Runs {@link PanelDecoder} (android.util.JsonReader, so on a device) over a captured panels
+ * response. {@code panels/main.expected.json} is what {@code flattenPanels} in games.ts
+ * returns for {@code panels/main.json}, serialized with JSON.stringify.
+ */
+@RunWith(AndroidJUnit4.class)
+public class PanelDecoderInstrumentedTest {
+
+    private static String resource(String name) throws IOException {
+        try (InputStream in = PanelDecoderInstrumentedTest.class.getClassLoader().getResourceAsStream(name)) {
+            assertNotNull("missing test resource " + name, in);
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            byte[] buffer = new byte[8192];
+            for (int n; (n = in.read(buffer)) != -1; ) out.write(buffer, 0, n);
+            return new String(out.toByteArray(), StandardCharsets.UTF_8);
+        }
+    }
+
+    /**
+     * Deep equality (the platform org.json has no {@code similar}). Null members of
+     * {@code want} count as absent: the decoder leaves them out and JS treats both alike.
+     */
+    private static void assertJsonEquals(String path, Object want, Object got) throws Exception {
+        if (want instanceof JSONObject) {
+            assertTrue(path + " is not an object: " + got, got instanceof JSONObject);
+            JSONObject wantObject = (JSONObject) want;
+            JSONObject gotObject = (JSONObject) got;
+            Set<String> wantKeys = new TreeSet<>();
+            for (Iterator<String> keys = wantObject.keys(); keys.hasNext(); ) {
+                String key = keys.next();
+                if (!wantObject.isNull(key)) wantKeys.add(key);
+            }
+            Set<String> gotKeys = new TreeSet<>();
+            for (Iterator<String> keys = gotObject.keys(); keys.hasNext(); ) gotKeys.add(keys.next());
+            assertEquals(path + " keys", wantKeys, gotKeys);
+            for (String key : wantKeys) assertJsonEquals(path + "." + key, wantObject.get(key), gotObject.get(key));
+        } else if (want instanceof JSONArray) {
+            assertTrue(path + " is not an array: " + got, got instanceof JSONArray);
+            JSONArray wantArray = (JSONArray) want;
+            JSONArray gotArray = (JSONArray) got;
+            assertEquals(path + " length", wantArray.length(), gotArray.length());
+            for (int i = 0; i < wantArray.length(); i++) {
+                assertJsonEquals(path + "[" + i + "]", wantArray.get(i), gotArray.get(i));
+            }
+        } else {
+            assertEquals(path, want, got);
+        }
+    }
+
+    private static List<String> ids(JSONArray games) throws Exception {
+        List<String> ids = new ArrayList<>();
+        for (int i = 0; i < games.length(); i++) ids.add(games.getJSONObject(i).getString("id"));
+        return ids;
+    }
+
+    @Test
+    public void decode_matchesFlattenPanels() throws Exception {
+        JSObject decoded = PanelDecoder.decode(new StringReader(resource("panels/main.json")));
+        JSONArray expected = new JSONObject(resource("panels/main.expected.json")).getJSONArray("games");
+
+        assertFalse(decoded.has("errors"));
+        JSONArray games = decoded.getJSONArray("games");
+        assertEquals(ids(expected), ids(games));
+        assertJsonEquals("games", expected, games);
+    }
+
+    @Test
+    public void decode_collectsGraphQlErrors() throws Exception {
+        JSObject decoded = PanelDecoder.decode(new StringReader(
+            "{\"data\":null,\"errors\":[{\"message\":\"PersistedQueryNotFound\",\"path\":[\"panels\"]},{}]}"));
+
+        assertEquals(0, decoded.getJSONArray("games").length());
+        JSONArray errors = decoded.getJSONArray("errors");
+        assertEquals("PersistedQueryNotFound", errors.getString(0));
+        assertEquals("Unknown GraphQL error", errors.getString(1));
+    }
+
+    @Test
+    public void decode_rejectsUnexpectedShapesWithIOException() {
+        String[] drifted = {
+            "{\"data\":{\"panels\":{\"sections\":[]}}}",
+            "{\"data\":{\"panels\":[{\"sections\":[{\"items\":[{\"app\":{\"title\":true}}]}]}]}}",
+            "[]",
+        };
+        for (String body : drifted) {
+            try {
+                PanelDecoder.decode(new StringReader(body));
+                fail("expected IOException for " + body);
+            } catch (IOException expected) {
+                // NativeHttp and SessionPrefetch fall back to the raw text on this.
+            } catch (Exception e) {
+                fail("expected IOException for " + body + ", got " + e);
+            }
+        }
+    }
+}
@@ -0,0 +1,54 @@
+package com.opencloud.android;
+
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Width math for game art. The image CDN resizes server-side through a {@code ;w=N} path
+ * parameter; requests are snapped up to a small ladder of widths so cards of similar size
+ * share CDN and cache entries, then decoded down to the exact on-screen size.
+ */
+final class ArtSizing {
+
+    /** CDN widths we ask for; the largest covers a 6-column xxxhdpi tablet grid. */
+    static final int[] WIDTH_LADDER = {136, 204, 272, 408, 544, 680, 816};
+
+    private static final Pattern WIDTH_PARAM = Pattern.compile(";w=\\d+");
+
+    private ArtSizing() {}
+
+    /** Card width in WebView CSS pixels times the display density, rounded. */
+    static int displayWidthPx(float cssWidth, float density) {
+        if (cssWidth <= 0 || density <= 0) return 0;
+        return Math.round(cssWidth * density);
+    }
+
+    /** Smallest ladder width covering {@code displayWidthPx}, or the largest one. */
+    static int requestWidth(int displayWidthPx) {
+        for (int width : WIDTH_LADDER) {
+            if (width >= displayWidthPx) return width;
+        }
+        return WIDTH_LADDER[WIDTH_LADDER.length - 1];
+    }
+
+    /** Replaces or appends the {@code ;w=} parameter. */
+    static String withWidth(String url, int width) {
+        Matcher matcher = WIDTH_PARAM.matcher(url);
+        if (matcher.find()) return matcher.replaceFirst(";w=" + width);
+        return url + ";w=" + width;
+    }
+
+    /** Largest power-of-two subsample that keeps the decoded width at or above {@code targetWidth}. */
+    static int inSampleSize(int sourceWidth, int targetWidth) {
+        int sample = 1;
+        if (targetWidth <= 0) return sample;
+        while (sourceWidth / (sample * 2) >= targetWidth) sample *= 2;
+        return sample;
+    }
+
+    /** Height for {@code targetWidth} keeping the source aspect ratio, at least 1. */
+    static int scaledHeight(int sourceWidth, int sourceHeight, int targetWidth) {
+        if (sourceWidth <= 0) return sourceHeight;
+        return Math.max(1, Math.round((float) sourceHeight * targetWidth / sourceWidth));
+    }
+}
@@ -0,0 +1,271 @@
+package com.opencloud.android;
+
+import android.net.Uri;
+import android.webkit.CookieManager;
+import android.webkit.WebResourceRequest;
+import android.webkit.WebResourceResponse;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+
+import okhttp3.CacheControl;
+import okhttp3.OkHttpClient;
+import okhttp3.Request;
+import okhttp3.Response;
+import okhttp3.ResponseBody;
+
+/**
+ * {@code shouldInterceptRequest} layer for the login WebView. Drops requests to blocked
+ * hosts or resource types and serves static login assets (scripts, styles, fonts, images)
+ * from a {@link DiskLruCache} shared across logins. Called on WebView IO threads.
+ *
+ * <p>OkHttp does not share the WebView's cookie jar, so only assets from known static
+ * hosts are fetched here, and only while the WebView holds no cookies for them; anything
+ * that carries or sets cookies is left to the WebView.
+ */
+final class AuthRequestFilter {
+
+    static final long DEFAULT_CACHE_BYTES = 8L * 1024 * 1024;
+
+    static final Set<String> DEFAULT_BLOCKED_HOSTS = new HashSet<>(Arrays.asList(
+        "google-analytics.com",
+        "googletagmanager.com",
+        "doubleclick.net",
+        "connect.facebook.net",
+        "hotjar.com",
+        "segment.io",
+        "nr-data.net",
+        "demdex.net",
+        "omtrdc.net"
+    ));
+
+    static final Set<String> DEFAULT_BLOCKED_TYPES = new HashSet<>(Arrays.asList("media"));
+
+    /** Hosts (and their subdomains) serving cookie-less static assets for the login page. */
+    static final Set<String> DEFAULT_STATIC_HOSTS = new HashSet<>(Arrays.asList(
+        "img.nvidiagrid.net",
+        "static.nvidiagrid.net",
+        "fonts.googleapis.com",
+        "fonts.gstatic.com",
+        "cdnjs.cloudflare.com",
+        "cdn.jsdelivr.net"
+    ));
+
+    private static final Set<String> CACHEABLE_TYPES = new HashSet<>(Arrays.asList(
+        "script", "stylesheet", "font", "image"
+    ));
+    // Hop-by-hop headers, plus the ones describing the wire body OkHttp already decoded.
+    private static final Set<String> DROPPED_HEADERS = new HashSet<>(Arrays.asList(
+        "connection", "keep-alive", "proxy-authenticate", "proxy-authorization", "te", "trailer",
+        "transfer-encoding", "upgrade", "content-encoding", "content-length", "content-type"
+    ));
+    private static final long HEURISTIC_TTL_MS = 24L * 60 * 60 * 1000;
+
+    private final DiskLruCache cache;
+    private final OkHttpClient http;
+    private final Set<String> blockedHosts;
+    private final Set<String> blockedTypes;
+    private final Set<String> staticHosts;
+
+    private final AtomicLong blockedRequests = new AtomicLong();
+    private final AtomicLong cacheHits = new AtomicLong();
+    private final AtomicLong bytesSaved = new AtomicLong();
+
+    AuthRequestFilter(DiskLruCache cache, OkHttpClient http, Collection<String> blockedHosts,
+                      Collection<String> blockedTypes, Collection<String> staticHosts) {
+        this.cache = cache;
+        this.http = http;
+        this.blockedHosts = new HashSet<>(blockedHosts);
+        this.blockedTypes = new HashSet<>(blockedTypes);
+        this.staticHosts = new HashSet<>(staticHosts);
+    }
+
+    long getBlockedRequests() {
+        return blockedRequests.get();
+    }
+
+    long getCacheHits() {
+        return cacheHits.get();
+    }
+
+    long getBytesSaved() {
+        return bytesSaved.get();
+    }
+
+    /** Returns the response to serve, or {@code null} to let the WebView load normally. */
+    WebResourceResponse intercept(WebResourceRequest request) {
+        Uri url = request.getUrl();
+        String scheme = url.getScheme();
+        if (!"https".equals(scheme) && !"http".equals(scheme)) return null;
+
+        String type = resourceType(url, request.getRequestHeaders());
+        if (matchesHost(blockedHosts, url.getHost()) || blockedTypes.contains(type)) {
+            blockedRequests.incrementAndGet();
+            return new WebResourceResponse("text/plain", "utf-8", 204, "No Content",
+                new HashMap<>(), new ByteArrayInputStream(new byte[0]));
+        }
+
+        if (!"GET".equals(request.getMethod()) || !CACHEABLE_TYPES.contains(type)) return null;
+        if (request.getRequestHeaders().containsKey("Range")) return null;
+        if (!matchesHost(staticHosts, url.getHost())) return null;
+
+        String key = url.toString();
+        // The WebView would send these cookies and OkHttp would not; let it load the asset.
+        String cookies = CookieManager.getInstance().getCookie(key);
+        if (cookies != null && !cookies.isEmpty()) return null;
+
+        CachedAsset cached = CachedAsset.decode(cache.get(key));
+        if (cached != null && cached.expiresAt > System.currentTimeMillis()) {
+            cacheHits.incrementAndGet();
+            bytesSaved.addAndGet(cached.body.length);
+            return cached.toResponse();
+        }
+
+        return fetchAndStore(key, request.getRequestHeaders());
+    }
+
+    private WebResourceResponse fetchAndStore(String url, Map<String, String> headers) {
+        Request.Builder builder = new Request.Builder().url(url);
+        for (Map.Entry<String, String> header : headers.entrySet()) {
+            // Leave Accept-Encoding to OkHttp so it decompresses transparently.
+            if ("Accept-Encoding".equalsIgnoreCase(header.getKey())) continue;
+            builder.header(header.getKey(), header.getValue());
+        }
+
+        try (Response response = http.newCall(builder.build()).execute()) {
+            ResponseBody body = response.body();
+            if (response.code() != 200 || body == null) return null;
+
+            // Intercepted responses cannot set WebView cookies; re-request it without us.
+            if (!response.headers("Set-Cookie").isEmpty()) return null;
+
+            CacheControl cacheControl = response.cacheControl();
+            if (cacheControl.noStore()) return null;
+            long ttlMs = cacheControl.maxAgeSeconds() >= 0
+                ? cacheControl.maxAgeSeconds() * 1000L
+                : HEURISTIC_TTL_MS;
+
+            String contentType = response.header("Content-Type", "application/octet-stream");
+            CachedAsset asset = new CachedAsset();
+            asset.mimeType = mimeType(contentType);
+            asset.encoding = charset(contentType);
+            asset.expiresAt = System.currentTimeMillis() + ttlMs;
+            for (String name : response.headers().names()) {
+                if (DROPPED_HEADERS.contains(name.toLowerCase(Locale.US))) continue;
+                List<String> values = response.headers(name);
+                asset.headers.put(name, values.size() == 1 ? values.get(0) : String.join(", ", values));
+            }
+            asset.body = body.bytes();
+
+            if (ttlMs > 0) cache.put(url, asset.encode());
+            return asset.toResponse();
+        } catch (IOException e) {
+            return null;
+        }
+    }
+
+    /** True when {@code host} or one of its parent domains is in {@code hosts}. */
+    private static boolean matchesHost(Set<String> hosts, String host) {
+        if (host == null) return false;
+        String h = host.toLowerCase(Locale.US);
+        while (true) {
+            if (hosts.contains(h)) return true;
+            int dot = h.indexOf('.');
+            if (dot < 0) return false;
+            h = h.substring(dot + 1);
+        }
+    }
+
+    static String resourceType(Uri url, Map<String, String> headers) {
+        String path = url.getPath() != null ? url.getPath().toLowerCase(Locale.US) : "";
+        if (path.endsWith(".js") || path.endsWith(".mjs")) return "script";
+        if (path.endsWith(".css")) return "stylesheet";
+        if (path.endsWith(".woff") || path.endsWith(".woff2") || path.endsWith(".ttf") || path.endsWith(".otf")) {
+            return "font";
+        }
+        if (path.endsWith(".png") || path.endsWith(".jpg") || path.endsWith(".jpeg") || path.endsWith(".gif")
+            || path.endsWith(".webp") || path.endsWith(".svg") || path.endsWith(".ico")) {
+            return "image";
+        }
+        if (path.endsWith(".mp4") || path.endsWith(".webm") || path.endsWith(".mp3") || path.endsWith(".m4a")) {
+            return "media";
+        }
+        String accept = headers.get("Accept");
+        if (accept != null && accept.startsWith("image/")) return "image";
+        return "other";
+    }
+
+    private static String mimeType(String contentType) {
+        int semi = contentType.indexOf(';');
+        return (semi >= 0 ? contentType.substring(0, semi) : contentType).trim();
+    }
+
+    private static String charset(String contentType) {
+        int idx = contentType.toLowerCase(Locale.US).indexOf("charset=");
+        if (idx < 0) return null;
+        return contentType.substring(idx + "charset=".length()).replace("\"", "").trim();
+    }
+
+    private static final class CachedAsset {
+        String mimeType;
+        String encoding;
+        long expiresAt;
+        final Map<String, String> headers = new HashMap<>();
+        byte[] body;
+
+        WebResourceResponse toResponse() {
+            return new WebResourceResponse(mimeType, encoding, 200, "OK",
+                new HashMap<>(headers), new ByteArrayInputStream(body));
+        }
+
+        byte[] encode() throws IOException {
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream(body.length + 128);
+            DataOutputStream out = new DataOutputStream(bytes);
+            out.writeUTF(mimeType);
+            out.writeUTF(encoding != null ? encoding : "");
+            out.writeLong(expiresAt);
+            out.writeInt(headers.size());
+            for (Map.Entry<String, String> header : headers.entrySet()) {
+                out.writeUTF(header.getKey());
+                out.writeUTF(header.getValue());
+            }
+            out.writeInt(body.length);
+            out.write(body);
+            out.flush();
+            return bytes.toByteArray();
+        }
+
+        static CachedAsset decode(byte[] data) {
+            if (data == null) return null;
+            try {
+                DataInputStream in = new DataInputStream(new ByteArrayInputStream(data));
+                CachedAsset asset = new CachedAsset();
+                asset.mimeType = in.readUTF();
+                String encoding = in.readUTF();
+                asset.encoding = encoding.isEmpty() ? null : encoding;
+                asset.expiresAt = in.readLong();
+                int headerCount = in.readInt();
+                for (int i = 0; i < headerCount; i++) {
+                    asset.headers.put(in.readUTF(), in.readUTF());
+                }
+                asset.body = new byte[in.readInt()];
+                in.readFully(asset.body);
+                return asset;
+            } catch (IOException e) {
+                return null;
+            }
+        }
+    }
+}
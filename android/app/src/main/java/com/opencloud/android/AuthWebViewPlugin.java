@@ -1,30 +1,46 @@
 package com.opencloud.android;
 
-import android.annotation.SuppressLint;
 import android.app.Dialog;
 import android.graphics.Bitmap;
-import android.graphics.Color;
 import android.net.Uri;
-import android.os.Bundle;
-import android.view.ViewGroup;
+import android.os.SystemClock;
 import android.view.Window;
-import android.webkit.CookieManager;
-import android.webkit.WebChromeClient;
 import android.webkit.WebResourceRequest;
-import android.webkit.WebSettings;
+import android.webkit.WebResourceResponse;
 import android.webkit.WebView;
 import android.webkit.WebViewClient;
 
+import com.getcapacitor.JSArray;
 import com.getcapacitor.JSObject;
 import com.getcapacitor.Plugin;
 import com.getcapacitor.PluginCall;
 import com.getcapacitor.PluginMethod;
 import com.getcapacitor.annotation.CapacitorPlugin;
 
+import org.json.JSONException;
+import org.json.JSONObject;
+
+import java.io.File;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
 @CapacitorPlugin(name = "AuthWebView")
 public class AuthWebViewPlugin extends Plugin {
 
-    @SuppressLint("SetJavaScriptEnabled")
+    private interface RedirectHandler {
+        void onRedirect(String url);
+    }
+
+    private static final long FORM_POLL_INTERVAL_MS = 100;
+    private static final long FORM_POLL_TIMEOUT_MS = 15000;
+    private static final String FORM_READY_SCRIPT =
+        "!!document.querySelector('input[type=password],input[type=email],input[name=email]')";
+
+    private final ExecutorService exchangeExecutor = Executors.newSingleThreadExecutor();
+    private DiskLruCache assetCache;
+
     @PluginMethod
     public void open(PluginCall call) {
         String url = call.getString("url");
@@ -35,33 +51,110 @@ public class AuthWebViewPlugin extends Plugin {
             return;
         }
 
-        final String matchPattern = redirectPattern;
+        showLoginDialog(call, url, redirectPattern, redirectUrl -> {
+            JSObject result = new JSObject();
+            result.put("url", redirectUrl);
+            call.resolve(result);
+        });
+    }
 
-        getActivity().runOnUiThread(() -> {
-            Dialog dialog = new Dialog(getActivity(), android.R.style.Theme_Black_NoTitleBar_Fullscreen);
-            dialog.requestWindowFeature(Window.FEATURE_NO_TITLE);
+    /**
+     * Same as {@link #open}, but also exchanges the authorization code for tokens natively
+     * so JS receives the token bundle in a single resolve. When the redirect carries no
+     * code (e.g. an OAuth error), only {@code url} is returned and JS reports the error.
+     */
+    @PluginMethod
+    public void openAndExchange(PluginCall call) {
+        String url = call.getString("url");
+        String redirectPattern = call.getString("redirectPattern", "http://localhost");
+        String redirectUri = call.getString("redirectUri", redirectPattern);
+        String codeVerifier = call.getString("codeVerifier");
+        String tokenEndpoint = call.getString("tokenEndpoint", TokenEndpointClient.DEFAULT_ENDPOINT);
+
+        if (url == null || url.isEmpty()) {
+            call.reject("url is required");
+            return;
+        }
+        if (codeVerifier == null || codeVerifier.isEmpty()) {
+            call.reject("codeVerifier is required");
+            return;
+        }
+
+        TokenEndpointClient client = new TokenEndpointClient(SharedHttpClient.get(), tokenEndpoint);
+
+        showLoginDialog(call, url, redirectPattern, redirectUrl -> {
+            JSObject result = new JSObject();
+            result.put("url", redirectUrl);
+
+            String code = Uri.parse(redirectUrl).getQueryParameter("code");
+            if (code == null || code.isEmpty()) {
+                call.resolve(result);
+                return;
+            }
+
+            exchangeExecutor.execute(() -> {
+                try {
+                    JSONObject tokens = client.exchangeAuthorizationCode(code, codeVerifier, redirectUri);
+                    result.put("tokens", tokens);
+                    call.resolve(result);
+                } catch (Exception e) {
+                    call.reject(e.getMessage(), e);
+                }
+            });
+        });
+    }
+
+    @Override
+    protected void handleOnDestroy() {
+        exchangeExecutor.shutdown();
+    }
 
-            WebView webView = new WebView(getActivity());
-            webView.setLayoutParams(new ViewGroup.LayoutParams(
-                ViewGroup.LayoutParams.MATCH_PARENT,
-                ViewGroup.LayoutParams.MATCH_PARENT
-            ));
-            webView.setBackgroundColor(Color.parseColor("#0b1220"));
-
-            WebSettings settings = webView.getSettings();
-            settings.setJavaScriptEnabled(true);
-            settings.setDomStorageEnabled(true);
-            settings.setDatabaseEnabled(true);
-            settings.setUserAgentString(
-                "Mozilla/5.0 (Linux; Android 14) AppleWebKit/537.36 (KHTML, like Gecko) " +
-                "Chrome/128.0.0.0 Mobile Safari/537.36"
+    private synchronized DiskLruCache assetCache() {
+        if (assetCache == null) {
+            assetCache = new DiskLruCache(
+                new File(getContext().getCacheDir(), "auth-assets"),
+                AuthRequestFilter.DEFAULT_CACHE_BYTES
             );
+        }
+        return assetCache;
+    }
+
+    private AuthRequestFilter createFilter(PluginCall call) {
+        Collection<String> blockedHosts = stringList(call.getArray("blockHosts"));
+        Collection<String> blockedTypes = stringList(call.getArray("blockResourceTypes"));
+        Collection<String> staticHosts = stringList(call.getArray("cacheHosts"));
+        return new AuthRequestFilter(
+            assetCache(),
+            SharedHttpClient.get(),
+            blockedHosts != null ? blockedHosts : AuthRequestFilter.DEFAULT_BLOCKED_HOSTS,
+            blockedTypes != null ? blockedTypes : AuthRequestFilter.DEFAULT_BLOCKED_TYPES,
+            staticHosts != null ? staticHosts : AuthRequestFilter.DEFAULT_STATIC_HOSTS
+        );
+    }
+
+    private static List<String> stringList(JSArray array) {
+        if (array == null) return null;
+        try {
+            return array.toList();
+        } catch (JSONException e) {
+            return null;
+        }
+    }
 
-            CookieManager cookieManager = CookieManager.getInstance();
-            cookieManager.setAcceptCookie(true);
-            cookieManager.setAcceptThirdPartyCookies(webView, true);
+    private void showLoginDialog(PluginCall call, String url, String matchPattern, RedirectHandler handler) {
+        final long openedAt = SystemClock.elapsedRealtime();
+        final AuthRequestFilter filter = createFilter(call);
 
-            webView.setWebChromeClient(new WebChromeClient());
+        getActivity().runOnUiThread(() -> {
+            Dialog dialog = new Dialog(getActivity(), android.R.style.Theme_Black_NoTitleBar_Fullscreen);
+            dialog.requestWindowFeature(Window.FEATURE_NO_TITLE);
+
+            WebView pooled = AuthWebViewPool.acquire(getActivity());
+            final boolean fromPool = pooled != null;
+            WebView webView = fromPool ? pooled : AuthWebViewPool.createFor(getActivity());
+            final boolean[] firstPageStarted = { false };
+            final boolean[] redirected = { false };
+            final long[] interactiveMs = { -1 };
 
             webView.setWebViewClient(new WebViewClient() {
                 @Override
@@ -69,10 +162,7 @@ public class AuthWebViewPlugin extends Plugin {
                     String loadUrl = request.getUrl().toString();
 
                     if (loadUrl.startsWith(matchPattern)) {
-                        JSObject result = new JSObject();
-                        result.put("url", loadUrl);
-                        call.resolve(result);
-                        dialog.dismiss();
+                        finish(loadUrl);
                         return true;
                     }
 
@@ -81,26 +171,76 @@ public class AuthWebViewPlugin extends Plugin {
 
                 @Override
                 public void onPageStarted(WebView view, String url, Bitmap favicon) {
+                    if (!firstPageStarted[0]) {
+                        firstPageStarted[0] = true;
+                        notifyOpenTiming(SystemClock.elapsedRealtime() - openedAt, fromPool);
+                    }
                     if (url.startsWith(matchPattern)) {
-                        JSObject result = new JSObject();
-                        result.put("url", url);
-                        call.resolve(result);
-                        dialog.dismiss();
+                        finish(url);
                         return;
                     }
                     super.onPageStarted(view, url, favicon);
                 }
+
+                @Override
+                public WebResourceResponse shouldInterceptRequest(WebView view, WebResourceRequest request) {
+                    return filter.intercept(request);
+                }
+
+                @Override
+                public void onPageFinished(WebView view, String url) {
+                    super.onPageFinished(view, url);
+                    if (interactiveMs[0] < 0 && !redirected[0]) pollForLoginForm(view);
+                }
+
+                private void pollForLoginForm(WebView view) {
+                    view.evaluateJavascript(FORM_READY_SCRIPT, value -> {
+                        if (interactiveMs[0] >= 0 || redirected[0]) return;
+                        long elapsed = SystemClock.elapsedRealtime() - openedAt;
+                        if ("true".equals(value)) {
+                            interactiveMs[0] = elapsed;
+                        } else if (elapsed < FORM_POLL_TIMEOUT_MS) {
+                            view.postDelayed(() -> pollForLoginForm(view), FORM_POLL_INTERVAL_MS);
+                        }
+                    });
+                }
+
+                private void finish(String redirectUrl) {
+                    if (redirected[0]) return;
+                    redirected[0] = true;
+                    handler.onRedirect(redirectUrl);
+                    dialog.dismiss();
+                }
             });
 
             dialog.setContentView(webView);
-            dialog.setOnCancelListener(d -> {
+            dialog.setOnCancelListener(d -> call.reject("Login cancelled by user"));
+            dialog.setOnDismissListener(d -> {
+                redirected[0] = true;
+                notifyLoginMetrics(filter, interactiveMs[0]);
                 webView.stopLoading();
                 webView.destroy();
-                call.reject("Login cancelled by user");
+                AuthWebViewPool.warmWhenIdle(getContext());
             });
 
             dialog.show();
             webView.loadUrl(url);
         });
     }
+
+    private void notifyLoginMetrics(AuthRequestFilter filter, long interactiveMs) {
+        JSObject event = new JSObject();
+        event.put("blockedRequests", filter.getBlockedRequests());
+        event.put("cacheHits", filter.getCacheHits());
+        event.put("bytesSaved", filter.getBytesSaved());
+        event.put("interactiveMs", interactiveMs);
+        notifyListeners("loginMetrics", event);
+    }
+
+    private void notifyOpenTiming(long elapsedMs, boolean pooled) {
+        JSObject event = new JSObject();
+        event.put("elapsedMs", elapsedMs);
+        event.put("pooled", pooled);
+        notifyListeners("openTiming", event);
+    }
 }
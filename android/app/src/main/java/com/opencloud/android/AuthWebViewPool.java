@@ -0,0 +1,119 @@
+package com.opencloud.android;
+
+import android.annotation.SuppressLint;
+import android.content.Context;
+import android.content.MutableContextWrapper;
+import android.graphics.Color;
+import android.os.Looper;
+import android.os.MessageQueue;
+import android.view.ViewGroup;
+import android.webkit.CookieManager;
+import android.webkit.WebChromeClient;
+import android.webkit.WebSettings;
+import android.webkit.WebView;
+
+import java.util.ArrayDeque;
+
+/**
+ * Keeps a small number of settings-applied auth WebViews ready so that
+ * {@link AuthWebViewPlugin#open} does not pay the Chromium renderer start-up cost.
+ * Pooled views are built on an application-context wrapper and re-parented to the
+ * calling activity on acquire. All methods must be called on the main thread.
+ */
+final class AuthWebViewPool {
+
+    private static final int MAX_IDLE = 1;
+    private static final ArrayDeque<WebView> idle = new ArrayDeque<>();
+    private static MessageQueue.IdleHandler pendingWarm;
+    /** Set by {@link #clear} so a late warm-up can't build views nobody will destroy. */
+    private static boolean closed = false;
+
+    private AuthWebViewPool() {}
+
+    /** Re-enables the pool after {@link #clear}, e.g. for a recreated activity, and warms it when idle. */
+    static void open(Context context) {
+        closed = false;
+        warmWhenIdle(context);
+    }
+
+    /** Fills the pool up to {@link #MAX_IDLE} views; does nothing once cleared. */
+    static void warm(Context context) {
+        if (closed) return;
+        Context appContext = context.getApplicationContext();
+        while (idle.size() < MAX_IDLE) {
+            idle.add(create(appContext));
+        }
+    }
+
+    /** Schedules {@link #warm} for the next time the main looper goes idle. */
+    static void warmWhenIdle(Context context) {
+        if (closed || pendingWarm != null) return;
+        Context appContext = context.getApplicationContext();
+        pendingWarm = () -> {
+            pendingWarm = null;
+            warm(appContext);
+            return false;
+        };
+        Looper.getMainLooper().getQueue().addIdleHandler(pendingWarm);
+    }
+
+    /**
+     * Returns a pooled WebView bound to {@code context}, or {@code null} when the pool is
+     * empty. The caller owns the returned view and must destroy it after use.
+     */
+    static WebView acquire(Context context) {
+        WebView webView = idle.poll();
+        if (webView == null) return null;
+        ((MutableContextWrapper) webView.getContext()).setBaseContext(context);
+        return webView;
+    }
+
+    /** Builds a fresh WebView with the auth settings applied, bypassing the pool. */
+    static WebView createFor(Context context) {
+        WebView webView = create(context.getApplicationContext());
+        ((MutableContextWrapper) webView.getContext()).setBaseContext(context);
+        return webView;
+    }
+
+    /**
+     * Destroys every idle view and cancels a pending warm-up, e.g. when the hosting activity
+     * goes away. The pool stays closed until {@link #open}.
+     */
+    static void clear() {
+        closed = true;
+        if (pendingWarm != null) {
+            Looper.getMainLooper().getQueue().removeIdleHandler(pendingWarm);
+            pendingWarm = null;
+        }
+        WebView webView;
+        while ((webView = idle.poll()) != null) {
+            webView.destroy();
+        }
+    }
+
+    @SuppressLint("SetJavaScriptEnabled")
+    private static WebView create(Context appContext) {
+        WebView webView = new WebView(new MutableContextWrapper(appContext));
+        webView.setLayoutParams(new ViewGroup.LayoutParams(
+            ViewGroup.LayoutParams.MATCH_PARENT,
+            ViewGroup.LayoutParams.MATCH_PARENT
+        ));
+        webView.setBackgroundColor(Color.parseColor("#0b1220"));
+
+        WebSettings settings = webView.getSettings();
+        settings.setJavaScriptEnabled(true);
+        settings.setDomStorageEnabled(true);
+        settings.setDatabaseEnabled(true);
+        settings.setUserAgentString(
+            "Mozilla/5.0 (Linux; Android 14) AppleWebKit/537.36 (KHTML, like Gecko) " +
+            "Chrome/128.0.0.0 Mobile Safari/537.36"
+        );
+
+        CookieManager cookieManager = CookieManager.getInstance();
+        cookieManager.setAcceptCookie(true);
+        cookieManager.setAcceptThirdPartyCookies(webView, true);
+
+        webView.setWebChromeClient(new WebChromeClient());
+        return webView;
+    }
+}
@@ -0,0 +1,91 @@
+package com.opencloud.android;
+
+import android.net.Uri;
+import android.os.SystemClock;
+import android.webkit.WebView;
+
+import androidx.webkit.WebMessageCompat;
+import androidx.webkit.WebMessagePortCompat;
+import androidx.webkit.WebViewCompat;
+import androidx.webkit.WebViewFeature;
+
+/**
+ * Native-to-JS transport over a {@code WebMessageChannel} that carries {@code ArrayBuffer}s
+ * in {@link BinaryFrame} framing, bypassing the JSON encoding every Capacitor event goes
+ * through. JS receives the port as a {@code window} message with data
+ * {@link #HANDSHAKE}. Sends are thread-safe, so input and telemetry threads can post
+ * without hopping to the UI thread.
+ */
+final class BinaryChannel {
+
+    static final String HANDSHAKE = "opencloud-binary-channel";
+
+    private static volatile BinaryChannel instance;
+
+    private final long epochBaseUs = System.currentTimeMillis() * 1000 - SystemClock.elapsedRealtimeNanos() / 1000;
+    private WebMessagePortCompat port;
+    private int seq = 0;
+
+    static BinaryChannel get() {
+        BinaryChannel local = instance;
+        if (local == null) {
+            synchronized (BinaryChannel.class) {
+                local = instance;
+                if (local == null) {
+                    local = new BinaryChannel();
+                    instance = local;
+                }
+            }
+        }
+        return local;
+    }
+
+    static boolean isSupported() {
+        return WebViewFeature.isFeatureSupported(WebViewFeature.CREATE_WEB_MESSAGE_CHANNEL)
+            && WebViewFeature.isFeatureSupported(WebViewFeature.POST_WEB_MESSAGE)
+            && WebViewFeature.isFeatureSupported(WebViewFeature.WEB_MESSAGE_ARRAY_BUFFER);
+    }
+
+    /**
+     * Creates a fresh channel and hands one end to the page, replacing any previous one (the
+     * page may have reloaded). Must run on the UI thread.
+     */
+    synchronized boolean open(WebView webView) {
+        if (!isSupported()) return false;
+        close();
+        WebMessagePortCompat[] ports = WebViewCompat.createWebMessageChannel(webView);
+        WebViewCompat.postWebMessage(
+            webView,
+            new WebMessageCompat(HANDSHAKE, new WebMessagePortCompat[] { ports[1] }),
+            Uri.parse("*")
+        );
+        port = ports[0];
+        seq = 0;
+        return true;
+    }
+
+    synchronized void close() {
+        if (port != null) port.close();
+        port = null;
+    }
+
+    synchronized boolean isOpen() {
+        return port != null;
+    }
+
+    /** Wall-clock microseconds from the monotonic clock, the unit frames are stamped in. */
+    long nowUs() {
+        return epochBaseUs + SystemClock.elapsedRealtimeNanos() / 1000;
+    }
+
+    /** Sends one frame in its own message; returns false when no page is attached. */
+    boolean send(int type, byte[] payload, int offset, int length) {
+        byte[] message = new byte[BinaryFrame.HEADER_SIZE + length];
+        synchronized (this) {
+            if (port == null) return false;
+            BinaryFrame.write(message, 0, type, 0, seq++, nowUs(), payload, offset, length);
+            port.postMessage(new WebMessageCompat(message));
+        }
+        return true;
+    }
+}
@@ -0,0 +1,96 @@
+package com.opencloud.android;
+
+import android.util.Base64;
+
+import com.getcapacitor.JSObject;
+import com.getcapacitor.Plugin;
+import com.getcapacitor.PluginCall;
+import com.getcapacitor.PluginMethod;
+import com.getcapacitor.annotation.CapacitorPlugin;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Sets up {@link BinaryChannel} for the page and benchmarks it against the stock
+ * {@code notifyListeners} path. Both benchmark transports send the same frames from the
+ * same thread; the bridge variant carries them base64-encoded as the other plugins do.
+ */
+@CapacitorPlugin(name = "BinaryChannel")
+public class BinaryChannelPlugin extends Plugin {
+
+    private static final int DEFAULT_BENCHMARK_COUNT = 5000;
+    private static final int DEFAULT_BENCHMARK_PAYLOAD = 64;
+
+    private final ExecutorService benchmarkExecutor = Executors.newSingleThreadExecutor();
+
+    @PluginMethod
+    public void open(PluginCall call) {
+        getActivity().runOnUiThread(() -> {
+            JSObject result = new JSObject();
+            result.put("supported", BinaryChannel.get().open(getBridge().getWebView()));
+            call.resolve(result);
+        });
+    }
+
+    @PluginMethod
+    public void close(PluginCall call) {
+        BinaryChannel.get().close();
+        call.resolve();
+    }
+
+    /** The clock frames are stamped with, so JS can measure its offset by round trip. */
+    @PluginMethod
+    public void now(PluginCall call) {
+        JSObject result = new JSObject();
+        result.put("nowUs", BinaryChannel.get().nowUs());
+        call.resolve(result);
+    }
+
+    /** Sends {@code count} frames as fast as possible over {@code transport} ("port" or "bridge"). */
+    @PluginMethod
+    public void benchmark(PluginCall call) {
+        String transport = call.getString("transport", "port");
+        int count = Math.max(1, call.getInt("count", DEFAULT_BENCHMARK_COUNT));
+        int payloadBytes = Math.min(BinaryFrame.MAX_PAYLOAD, Math.max(4, call.getInt("payloadBytes", DEFAULT_BENCHMARK_PAYLOAD)));
+        boolean overPort = "port".equals(transport);
+        BinaryChannel channel = BinaryChannel.get();
+        if (overPort && !channel.isOpen()) {
+            call.reject("Binary channel is not open");
+            return;
+        }
+
+        benchmarkExecutor.execute(() -> {
+            byte[] payload = new byte[payloadBytes];
+            byte[] frame = new byte[BinaryFrame.HEADER_SIZE + payloadBytes];
+            long startedNs = System.nanoTime();
+            int sent = 0;
+            for (int i = 0; i < count; i++) {
+                payload[0] = (byte) i;
+                payload[1] = (byte) (i >>> 8);
+                payload[2] = (byte) (i >>> 16);
+                payload[3] = (byte) (i >>> 24);
+                if (overPort) {
+                    if (!channel.send(BinaryFrame.TYPE_BENCHMARK, payload, 0, payloadBytes)) break;
+                } else {
+                    BinaryFrame.write(frame, 0, BinaryFrame.TYPE_BENCHMARK, 0, i, channel.nowUs(), payload, 0, payloadBytes);
+                    JSObject event = new JSObject();
+                    event.put("data", Base64.encodeToString(frame, Base64.NO_WRAP));
+                    notifyListeners("benchmarkFrame", event);
+                }
+                sent++;
+            }
+            JSObject result = new JSObject();
+            result.put("transport", overPort ? "port" : "bridge");
+            result.put("sent", sent);
+            result.put("sendMs", (System.nanoTime() - startedNs) / 1e6);
+            call.resolve(result);
+        });
+    }
+
+    @Override
+    protected void handleOnDestroy() {
+        BinaryChannel.get().close();
+        benchmarkExecutor.shutdownNow();
+    }
+}
@@ -0,0 +1,65 @@
+package com.opencloud.android;
+
+/**
+ * Framing for {@link BinaryChannel} messages, read by binaryChannel.ts. One message holds
+ * one or more frames back to back, each a 16-byte little-endian header followed by the
+ * payload: {@code [type u8][flags u8][length u16][seq u32][timestampUs f64]}. The timestamp
+ * is wall-clock microseconds so JS can compare it with {@code performance.timeOrigin + now()}.
+ */
+final class BinaryFrame {
+
+    static final int HEADER_SIZE = 16;
+    static final int MAX_PAYLOAD = 0xFFFF;
+
+    static final int TYPE_BENCHMARK = 1;
+
+    private BinaryFrame() {}
+
+    /** Writes one frame at {@code at} and returns the offset just past it. */
+    static int write(byte[] out, int at, int type, int flags, int seq, double timestampUs,
+                     byte[] payload, int offset, int length) {
+        if (length < 0 || length > MAX_PAYLOAD) throw new IllegalArgumentException("payload length " + length);
+        if (out.length - at < HEADER_SIZE + length) throw new IndexOutOfBoundsException("frame does not fit");
+        out[at] = (byte) type;
+        out[at + 1] = (byte) flags;
+        putU16(out, at + 2, length);
+        putU32(out, at + 4, seq);
+        long bits = Double.doubleToRawLongBits(timestampUs);
+        putU32(out, at + 8, (int) bits);
+        putU32(out, at + 12, (int) (bits >>> 32));
+        if (length > 0) System.arraycopy(payload, offset, out, at + HEADER_SIZE, length);
+        return at + HEADER_SIZE + length;
+    }
+
+    static int type(byte[] in, int at) {
+        return in[at] & 0xFF;
+    }
+
+    static int payloadLength(byte[] in, int at) {
+        return (in[at + 2] & 0xFF) | (in[at + 3] & 0xFF) << 8;
+    }
+
+    static int seq(byte[] in, int at) {
+        return getU16(in, at + 4) | getU16(in, at + 6) << 16;
+    }
+
+    static double timestampUs(byte[] in, int at) {
+        long low = getU16(in, at + 8) | (long) getU16(in, at + 10) << 16;
+        long high = getU16(in, at + 12) | (long) getU16(in, at + 14) << 16;
+        return Double.longBitsToDouble(low | high << 32);
+    }
+
+    private static int getU16(byte[] in, int at) {
+        return (in[at] & 0xFF) | (in[at + 1] & 0xFF) << 8;
+    }
+
+    private static void putU16(byte[] out, int at, int value) {
+        out[at] = (byte) value;
+        out[at + 1] = (byte) (value >>> 8);
+    }
+
+    private static void putU32(byte[] out, int at, int value) {
+        putU16(out, at, value);
+        putU16(out, at + 2, value >>> 16);
+    }
+}
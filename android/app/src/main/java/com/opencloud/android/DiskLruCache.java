@@ -0,0 +1,166 @@
+package com.opencloud.android;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Byte-budgeted on-disk LRU store. Keys are hashed to file names; recency survives
+ * restarts through file modification times. Values are opaque byte arrays, so callers
+ * serialize whatever metadata they need alongside the body. The directory is scanned on
+ * first access rather than on construction, so creating one on the main thread is free.
+ * Thread-safe.
+ */
+final class DiskLruCache {
+
+    private final File directory;
+    private final long maxBytes;
+    private final LinkedHashMap<String, Long> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private long totalBytes = 0;
+    private boolean loaded;
+
+    DiskLruCache(File directory, long maxBytes) {
+        this.directory = directory;
+        this.maxBytes = maxBytes;
+    }
+
+    synchronized byte[] get(String key) {
+        ensureLoaded();
+        String name = fileName(key);
+        if (entries.get(name) == null) return null;
+        File file = new File(directory, name);
+        try {
+            byte[] data = readFully(file);
+            file.setLastModified(System.currentTimeMillis());
+            return data;
+        } catch (IOException e) {
+            removeFile(name);
+            return null;
+        }
+    }
+
+    synchronized boolean put(String key, byte[] data) {
+        if (data.length > maxBytes) return false;
+        ensureLoaded();
+        String name = fileName(key);
+        File tmp = new File(directory, name + ".tmp");
+        try (FileOutputStream out = new FileOutputStream(tmp)) {
+            out.write(data);
+        } catch (IOException e) {
+            tmp.delete();
+            return false;
+        }
+        removeFile(name);
+        if (!tmp.renameTo(new File(directory, name))) {
+            tmp.delete();
+            return false;
+        }
+        entries.put(name, (long) data.length);
+        totalBytes += data.length;
+        trimToSize();
+        return true;
+    }
+
+    synchronized void remove(String key) {
+        ensureLoaded();
+        removeFile(fileName(key));
+    }
+
+    synchronized void clear() {
+        ensureLoaded();
+        for (String name : entries.keySet()) {
+            new File(directory, name).delete();
+        }
+        entries.clear();
+        totalBytes = 0;
+    }
+
+    synchronized long size() {
+        ensureLoaded();
+        return totalBytes;
+    }
+
+    synchronized int count() {
+        ensureLoaded();
+        return entries.size();
+    }
+
+    private void ensureLoaded() {
+        if (loaded) return;
+        loaded = true;
+        load();
+    }
+
+    private void load() {
+        if (!directory.isDirectory() && !directory.mkdirs()) return;
+        File[] files = directory.listFiles();
+        if (files == null) return;
+        // One stat per file up front; a comparator calling lastModified() would stat on every comparison.
+        long[][] order = new long[files.length][];
+        for (int i = 0; i < files.length; i++) {
+            order[i] = new long[] { files[i].lastModified(), i };
+        }
+        Arrays.sort(order, (a, b) -> Long.compare(a[0], b[0]));
+        for (long[] slot : order) {
+            File file = files[(int) slot[1]];
+            if (file.getName().endsWith(".tmp")) {
+                file.delete();
+                continue;
+            }
+            long length = file.length();
+            entries.put(file.getName(), length);
+            totalBytes += length;
+        }
+        trimToSize();
+    }
+
+    private void trimToSize() {
+        Iterator<Map.Entry<String, Long>> it = entries.entrySet().iterator();
+        while (totalBytes > maxBytes && it.hasNext()) {
+            Map.Entry<String, Long> eldest = it.next();
+            new File(directory, eldest.getKey()).delete();
+            totalBytes -= eldest.getValue();
+            it.remove();
+        }
+    }
+
+    private void removeFile(String name) {
+        Long size = entries.remove(name);
+        if (size != null) totalBytes -= size;
+        new File(directory, name).delete();
+    }
+
+    private static byte[] readFully(File file) throws IOException {
+        byte[] data = new byte[(int) file.length()];
+        try (FileInputStream in = new FileInputStream(file)) {
+            int offset = 0;
+            while (offset < data.length) {
+                int read = in.read(data, offset, data.length - offset);
+                if (read < 0) throw new IOException("Truncated cache entry " + file.getName());
+                offset += read;
+            }
+        }
+        return data;
+    }
+
+    private static String fileName(String key) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(key.getBytes(StandardCharsets.UTF_8));
+            StringBuilder sb = new StringBuilder(digest.length * 2);
+            for (byte b : digest) {
+                sb.append(Character.forDigit((b >> 4) & 0xF, 16)).append(Character.forDigit(b & 0xF, 16));
+            }
+            return sb.toString();
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,328 @@
+package com.opencloud.android;
+
+import android.content.Context;
+import android.content.SharedPreferences;
+import android.graphics.Bitmap;
+import android.graphics.BitmapFactory;
+import android.graphics.ImageDecoder;
+import android.net.Uri;
+import android.os.Build;
+import android.util.LruCache;
+import android.webkit.WebResourceRequest;
+import android.webkit.WebResourceResponse;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+
+import okhttp3.OkHttpClient;
+import okhttp3.Request;
+import okhttp3.Response;
+import okhttp3.ResponseBody;
+
+/**
+ * Two-tier cache for game box art from {@code img.nvidiagrid.net}: an in-memory LRU of
+ * encoded bytes in front of a {@link DiskLruCache}. The main WebView's client routes art
+ * requests through {@link #intercept} so scrolling back over the library never refetches,
+ * and {@link #prefetch} warms art for cards about to scroll into view. Once JS reports the
+ * card width, art is requested at the matching {@link ArtSizing} width and downsampled to
+ * the exact on-screen size before it is cached. The last width is kept across launches so
+ * cold-start art is sized before JS reports it again. Thread-safe.
+ */
+final class GameArtCache {
+
+    static final String ART_HOST = "img.nvidiagrid.net";
+    static final long DEFAULT_DISK_BYTES = 64L * 1024 * 1024;
+
+    private static final int PREFETCH_THREADS = 3;
+    private static final int RESIZE_THREADS = 2;
+    private static final int WEBP_QUALITY = 82;
+    private static final String PREFS_NAME = "game-art";
+    private static final String PREF_DISPLAY_WIDTH = "displayWidthPx";
+    private static volatile GameArtCache instance;
+
+    private final LruCache<String, Art> memory;
+    private final DiskLruCache disk;
+    private final OkHttpClient http;
+    private final float density;
+    private final SharedPreferences prefs;
+    private final ExecutorService prefetcher = Executors.newFixedThreadPool(PREFETCH_THREADS);
+    // Decodes are memory-heavy; WebView IO threads and prefetches queue here instead of decoding in parallel.
+    private final ExecutorService resizer = Executors.newFixedThreadPool(RESIZE_THREADS);
+    private volatile int displayWidthPx;
+    private final Set<String> prefetching = Collections.newSetFromMap(new ConcurrentHashMap<>());
+
+    private final AtomicLong requests = new AtomicLong();
+    private final AtomicLong memoryHits = new AtomicLong();
+    private final AtomicLong diskHits = new AtomicLong();
+    private final AtomicLong bytesSaved = new AtomicLong();
+    private final AtomicLong bytesFetched = new AtomicLong();
+    private final AtomicLong prefetched = new AtomicLong();
+    private final AtomicLong resized = new AtomicLong();
+
+    GameArtCache(DiskLruCache disk, OkHttpClient http, int memoryBytes, float density, SharedPreferences prefs) {
+        this.disk = disk;
+        this.http = http;
+        this.density = density;
+        this.prefs = prefs;
+        this.displayWidthPx = prefs.getInt(PREF_DISPLAY_WIDTH, 0);
+        this.memory = new LruCache<String, Art>(memoryBytes) {
+            @Override
+            protected int sizeOf(String key, Art art) {
+                return art.body.length;
+            }
+        };
+    }
+
+    static GameArtCache get(Context context) {
+        GameArtCache local = instance;
+        if (local == null) {
+            synchronized (GameArtCache.class) {
+                local = instance;
+                if (local == null) {
+                    File dir = new File(context.getApplicationContext().getCacheDir(), "game-art");
+                    // An eighth of the heap, capped: art is small, the library rarely exceeds a few hundred cards.
+                    int memoryBytes = (int) Math.min(Runtime.getRuntime().maxMemory() / 8, 24L * 1024 * 1024);
+                    float density = context.getResources().getDisplayMetrics().density;
+                    SharedPreferences prefs = context.getApplicationContext().getSharedPreferences(PREFS_NAME, Context.MODE_PRIVATE);
+                    local = new GameArtCache(new DiskLruCache(dir, DEFAULT_DISK_BYTES), SharedHttpClient.get(), memoryBytes, density, prefs);
+                    instance = local;
+                }
+            }
+        }
+        return local;
+    }
+
+    static boolean isArtUrl(Uri url) {
+        return "https".equals(url.getScheme()) && ART_HOST.equalsIgnoreCase(url.getHost());
+    }
+
+    /** Card image width in CSS pixels as laid out by the WebView; 0 serves art as requested. */
+    void setDisplayWidth(float cssWidth) {
+        int width = ArtSizing.displayWidthPx(cssWidth, density);
+        if (width == displayWidthPx) return;
+        displayWidthPx = width;
+        prefs.edit().putInt(PREF_DISPLAY_WIDTH, width).apply();
+    }
+
+    /** Returns the art response to serve, or {@code null} to let the WebView load normally. */
+    WebResourceResponse intercept(WebResourceRequest request) {
+        if (!"GET".equals(request.getMethod()) || !isArtUrl(request.getUrl())) return null;
+        if (request.getRequestHeaders().containsKey("Range")) return null;
+
+        requests.incrementAndGet();
+        String url = request.getUrl().toString();
+        Art art = lookup(url, true);
+        if (art == null) art = fetch(url, request.getRequestHeaders());
+        return art != null ? art.toResponse() : null;
+    }
+
+    /** Queues downloads for art that is in neither tier yet. Returns how many were queued. */
+    int prefetch(Collection<String> urls) {
+        int queued = 0;
+        for (String url : urls) {
+            if (url == null || !isArtUrl(Uri.parse(url))) continue;
+            if (memory.get(key(url)) != null || !prefetching.add(url)) continue;
+            queued++;
+            prefetcher.execute(() -> {
+                try {
+                    if (lookup(url, false) == null && fetch(url, Collections.emptyMap()) != null) {
+                        prefetched.incrementAndGet();
+                    }
+                } finally {
+                    prefetching.remove(url);
+                }
+            });
+        }
+        return queued;
+    }
+
+    void clear() {
+        memory.evictAll();
+        disk.clear();
+    }
+
+    Map<String, Number> stats() {
+        long total = requests.get();
+        long hits = memoryHits.get() + diskHits.get();
+        Map<String, Number> stats = new HashMap<>();
+        stats.put("requests", total);
+        stats.put("memoryHits", memoryHits.get());
+        stats.put("diskHits", diskHits.get());
+        stats.put("hitRate", total > 0 ? (double) hits / total : 0.0);
+        stats.put("bytesSaved", bytesSaved.get());
+        stats.put("bytesFetched", bytesFetched.get());
+        stats.put("prefetched", prefetched.get());
+        stats.put("resized", resized.get());
+        stats.put("displayWidthPx", displayWidthPx);
+        stats.put("memoryBytes", memory.size());
+        stats.put("diskBytes", disk.size());
+        return stats;
+    }
+
+    private String key(String url) {
+        return key(url, displayWidthPx);
+    }
+
+    /** Resized art is cached per display width so a layout change doesn't serve the old size. */
+    private static String key(String url, int width) {
+        return width > 0 ? url + "#" + width : url;
+    }
+
+    private Art lookup(String url, boolean countHit) {
+        String key = key(url);
+        Art art = memory.get(key);
+        if (art != null) {
+            if (countHit) {
+                memoryHits.incrementAndGet();
+                bytesSaved.addAndGet(art.body.length);
+            }
+            return art;
+        }
+        art = Art.decode(disk.get(key));
+        if (art == null) return null;
+        memory.put(key, art);
+        if (countHit) {
+            diskHits.incrementAndGet();
+            bytesSaved.addAndGet(art.body.length);
+        }
+        return art;
+    }
+
+    private Art fetch(String url, Map<String, String> headers) {
+        int width = displayWidthPx;
+        String key = key(url, width);
+        String requestUrl = width > 0 ? ArtSizing.withWidth(url, ArtSizing.requestWidth(width)) : url;
+        Request.Builder builder = new Request.Builder().url(requestUrl);
+        for (Map.Entry<String, String> header : headers.entrySet()) {
+            if ("Accept-Encoding".equalsIgnoreCase(header.getKey())) continue;
+            builder.header(header.getKey(), header.getValue());
+        }
+        if (!headers.containsKey("Accept")) builder.header("Accept", "image/webp,image/*,*/*;q=0.8");
+
+        try (Response response = http.newCall(builder.build()).execute()) {
+            ResponseBody body = response.body();
+            if (response.code() != 200 || body == null) return null;
+            String contentType = response.header("Content-Type", "image/webp");
+            int semi = contentType.indexOf(';');
+            Art art = new Art(semi >= 0 ? contentType.substring(0, semi).trim() : contentType.trim(), body.bytes());
+            bytesFetched.addAndGet(art.body.length);
+            if (width > 0) art = resized(art, width);
+            if (!response.cacheControl().noStore()) {
+                memory.put(key, art);
+                byte[] encoded = art.encode();
+                if (encoded != null) disk.put(key, encoded);
+            }
+            return art;
+        } catch (IOException e) {
+            return null;
+        }
+    }
+
+    /** Downsamples on the resize pool; keeps the original bytes if decoding fails or isn't needed. */
+    private Art resized(Art art, int targetWidth) {
+        try {
+            Art result = resizer.submit(() -> resize(art, targetWidth)).get();
+            if (result != art) this.resized.incrementAndGet();
+            return result;
+        } catch (ExecutionException e) {
+            return art;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return art;
+        }
+    }
+
+    private static Art resize(Art art, int targetWidth) throws IOException {
+        BitmapFactory.Options bounds = new BitmapFactory.Options();
+        bounds.inJustDecodeBounds = true;
+        BitmapFactory.decodeByteArray(art.body, 0, art.body.length, bounds);
+        if (bounds.outWidth <= 0 || bounds.outWidth <= targetWidth) return art;
+        int targetHeight = ArtSizing.scaledHeight(bounds.outWidth, bounds.outHeight, targetWidth);
+
+        Bitmap bitmap;
+        if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.P) {
+            ImageDecoder.Source source = ImageDecoder.createSource(ByteBuffer.wrap(art.body));
+            bitmap = ImageDecoder.decodeBitmap(source, (decoder, info, src) -> {
+                decoder.setAllocator(ImageDecoder.ALLOCATOR_SOFTWARE);
+                decoder.setTargetSize(targetWidth, targetHeight);
+            });
+        } else {
+            BitmapFactory.Options options = new BitmapFactory.Options();
+            options.inSampleSize = ArtSizing.inSampleSize(bounds.outWidth, targetWidth);
+            Bitmap sampled = BitmapFactory.decodeByteArray(art.body, 0, art.body.length, options);
+            if (sampled == null) return art;
+            bitmap = Bitmap.createScaledBitmap(sampled, targetWidth, targetHeight, true);
+            if (bitmap != sampled) sampled.recycle();
+        }
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream(art.body.length);
+        boolean encoded = bitmap.compress(webpFormat(), WEBP_QUALITY, out);
+        bitmap.recycle();
+        return encoded ? new Art("image/webp", out.toByteArray()) : art;
+    }
+
+    @SuppressWarnings("deprecation")
+    private static Bitmap.CompressFormat webpFormat() {
+        return Build.VERSION.SDK_INT >= Build.VERSION_CODES.R
+            ? Bitmap.CompressFormat.WEBP_LOSSY
+            : Bitmap.CompressFormat.WEBP;
+    }
+
+    private static final class Art {
+        final String mimeType;
+        final byte[] body;
+
+        Art(String mimeType, byte[] body) {
+            this.mimeType = mimeType;
+            this.body = body;
+        }
+
+        WebResourceResponse toResponse() {
+            Map<String, String> headers = new HashMap<>();
+            headers.put("Access-Control-Allow-Origin", "*");
+            return new WebResourceResponse(mimeType, null, 200, "OK", headers, new ByteArrayInputStream(body));
+        }
+
+        byte[] encode() {
+            try {
+                ByteArrayOutputStream bytes = new ByteArrayOutputStream(body.length + 32);
+                DataOutputStream out = new DataOutputStream(bytes);
+                out.writeUTF(mimeType);
+                out.writeInt(body.length);
+                out.write(body);
+                out.flush();
+                return bytes.toByteArray();
+            } catch (IOException e) {
+                return null;
+            }
+        }
+
+        static Art decode(byte[] data) {
+            if (data == null) return null;
+            try {
+                DataInputStream in = new DataInputStream(new ByteArrayInputStream(data));
+                String mimeType = in.readUTF();
+                byte[] body = new byte[in.readInt()];
+                in.readFully(body);
+                return new Art(mimeType, body);
+            } catch (IOException e) {
+                return null;
+            }
+        }
+    }
+}
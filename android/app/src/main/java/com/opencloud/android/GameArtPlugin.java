@@ -0,0 +1,67 @@
+package com.opencloud.android;
+
+import com.getcapacitor.JSArray;
+import com.getcapacitor.JSObject;
+import com.getcapacitor.Plugin;
+import com.getcapacitor.PluginCall;
+import com.getcapacitor.PluginMethod;
+import com.getcapacitor.annotation.CapacitorPlugin;
+
+import org.json.JSONException;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * JS entry points for {@link GameArtCache}: {@code prefetch({ urls })} warms art for cards
+ * about to be shown, {@code setDisplayWidth} sizes art to the card layout and
+ * {@code getStats()} reports hit rate and bytes saved.
+ */
+@CapacitorPlugin(name = "GameArt")
+public class GameArtPlugin extends Plugin {
+
+    @PluginMethod
+    public void prefetch(PluginCall call) {
+        JSArray urls = call.getArray("urls");
+        List<String> list = new ArrayList<>();
+        if (urls != null) {
+            try {
+                list.addAll(urls.<String>toList());
+            } catch (JSONException e) {
+                call.reject("urls must be an array of strings", e);
+                return;
+            }
+        }
+        JSObject result = new JSObject();
+        result.put("queued", GameArtCache.get(getContext()).prefetch(list));
+        call.resolve(result);
+    }
+
+    /** {@code setDisplayWidth({ cssWidth })}: width of a game card image as laid out. */
+    @PluginMethod
+    public void setDisplayWidth(PluginCall call) {
+        Double cssWidth = call.getDouble("cssWidth");
+        if (cssWidth == null) {
+            call.reject("cssWidth is required");
+            return;
+        }
+        GameArtCache.get(getContext()).setDisplayWidth(cssWidth.floatValue());
+        call.resolve();
+    }
+
+    @PluginMethod
+    public void getStats(PluginCall call) {
+        JSObject result = new JSObject();
+        for (Map.Entry<String, Number> entry : GameArtCache.get(getContext()).stats().entrySet()) {
+            result.put(entry.getKey(), entry.getValue());
+        }
+        call.resolve(result);
+    }
+
+    @PluginMethod
+    public void clear(PluginCall call) {
+        GameArtCache.get(getContext()).clear();
+        call.resolve();
+    }
+}
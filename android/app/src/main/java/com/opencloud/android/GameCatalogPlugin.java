@@ -0,0 +1,88 @@
+package com.opencloud.android;
+
+import com.getcapacitor.JSArray;
+import com.getcapacitor.JSObject;
+import com.getcapacitor.Plugin;
+import com.getcapacitor.PluginCall;
+import com.getcapacitor.PluginMethod;
+import com.getcapacitor.annotation.CapacitorPlugin;
+
+import org.json.JSONArray;
+import org.json.JSONException;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * JS access to {@link GameCatalogStore}: {@code upsert({ source, games, complete })} after a
+ * catalog fetch, {@code query({ source, query, sort, offset, limit })} for paged, sorted and
+ * searched results. Database work runs on one background thread in call order.
+ */
+@CapacitorPlugin(name = "GameCatalog")
+public class GameCatalogPlugin extends Plugin {
+
+    private static final int DEFAULT_LIMIT = 60;
+
+    private final ExecutorService database = Executors.newSingleThreadExecutor();
+
+    @PluginMethod
+    public void upsert(PluginCall call) {
+        String source = call.getString("source");
+        JSArray games = call.getArray("games");
+        if (source == null || games == null) {
+            call.reject("source and games are required");
+            return;
+        }
+        boolean complete = Boolean.TRUE.equals(call.getBoolean("complete", false));
+        database.execute(() -> {
+            try {
+                int changed = GameCatalogStore.get(getContext()).upsert(source, games, complete);
+                JSObject result = new JSObject();
+                result.put("changed", changed);
+                call.resolve(result);
+            } catch (RuntimeException e) {
+                call.reject(e.getMessage(), e);
+            }
+        });
+    }
+
+    @PluginMethod
+    public void query(PluginCall call) {
+        String source = call.getString("source");
+        if (source == null) {
+            call.reject("source is required");
+            return;
+        }
+        String text = call.getString("query", "");
+        String sort = call.getString("sort", GameCatalogStore.SORT_POSITION);
+        int offset = call.getInt("offset", 0);
+        int limit = call.getInt("limit", DEFAULT_LIMIT);
+        database.execute(() -> {
+            try {
+                GameCatalogStore.Page page = GameCatalogStore.get(getContext()).query(source, text, sort, offset, limit);
+                JSONArray games = new JSONArray();
+                for (String json : page.games) games.put(new JSObject(json));
+                JSObject result = new JSObject();
+                result.put("total", page.total);
+                result.put("offset", offset);
+                result.put("games", games);
+                call.resolve(result);
+            } catch (JSONException | RuntimeException e) {
+                call.reject(e.getMessage(), e);
+            }
+        });
+    }
+
+    @PluginMethod
+    public void clear(PluginCall call) {
+        database.execute(() -> {
+            GameCatalogStore.get(getContext()).clear();
+            call.resolve();
+        });
+    }
+
+    @Override
+    protected void handleOnDestroy() {
+        database.shutdown();
+    }
+}
@@ -0,0 +1,251 @@
+package com.opencloud.android;
+
+import android.content.ContentValues;
+import android.content.Context;
+import android.database.Cursor;
+import android.database.sqlite.SQLiteDatabase;
+import android.database.sqlite.SQLiteOpenHelper;
+import android.database.sqlite.SQLiteStatement;
+
+import org.json.JSONArray;
+import org.json.JSONObject;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * Offline copy of the game catalogs (MAIN, LIBRARY and the public list) in SQLite, with an
+ * FTS4 index over title, publisher and store names. Each panels fetch upserts its games;
+ * a complete fetch also drops games that left the source. Rows keep the {@code GameInfo}
+ * JSON as JS produced it, so queries hand back exactly what the UI renders.
+ */
+final class GameCatalogStore extends SQLiteOpenHelper {
+
+    static final String SORT_POSITION = "position";
+    static final String SORT_TITLE = "title";
+
+    static final class Page {
+        final int total;
+        final List<String> games;
+
+        Page(int total, List<String> games) {
+            this.total = total;
+            this.games = games;
+        }
+    }
+
+    private static final String DB_NAME = "game-catalog.db";
+    private static final int DB_VERSION = 1;
+    private static volatile GameCatalogStore instance;
+
+    private GameCatalogStore(Context context) {
+        this(context, DB_NAME);
+    }
+
+    /** {@code name} null keeps the database in memory, for tests. */
+    GameCatalogStore(Context context, String name) {
+        super(context.getApplicationContext(), name, null, DB_VERSION);
+    }
+
+    static GameCatalogStore get(Context context) {
+        GameCatalogStore local = instance;
+        if (local == null) {
+            synchronized (GameCatalogStore.class) {
+                local = instance;
+                if (local == null) {
+                    local = new GameCatalogStore(context);
+                    instance = local;
+                }
+            }
+        }
+        return local;
+    }
+
+    @Override
+    public void onCreate(SQLiteDatabase db) {
+        db.execSQL("CREATE TABLE games ("
+            + "source TEXT NOT NULL, id TEXT NOT NULL, title TEXT NOT NULL, publisher TEXT, stores TEXT, "
+            + "position INTEGER NOT NULL, json TEXT NOT NULL, updated_at INTEGER NOT NULL, "
+            + "PRIMARY KEY (source, id))");
+        db.execSQL("CREATE INDEX games_source_position ON games (source, position)");
+        db.execSQL("CREATE INDEX games_source_title ON games (source, title COLLATE NOCASE)");
+        // External-content FTS4 keyed by the games rowid; triggers keep it in step, and
+        // position/updated_at bumps don't touch the index.
+        db.execSQL("CREATE VIRTUAL TABLE games_fts USING fts4(content=\"games\", title, publisher, stores)");
+        db.execSQL("CREATE TRIGGER games_fts_bd BEFORE DELETE ON games BEGIN "
+            + "DELETE FROM games_fts WHERE docid = old.rowid; END");
+        db.execSQL("CREATE TRIGGER games_fts_bu BEFORE UPDATE OF title, publisher, stores ON games BEGIN "
+            + "DELETE FROM games_fts WHERE docid = old.rowid; END");
+        db.execSQL("CREATE TRIGGER games_fts_ai AFTER INSERT ON games BEGIN "
+            + "INSERT INTO games_fts (docid, title, publisher, stores) VALUES (new.rowid, new.title, new.publisher, new.stores); END");
+        db.execSQL("CREATE TRIGGER games_fts_au AFTER UPDATE OF title, publisher, stores ON games BEGIN "
+            + "INSERT INTO games_fts (docid, title, publisher, stores) VALUES (new.rowid, new.title, new.publisher, new.stores); END");
+    }
+
+    @Override
+    public void onUpgrade(SQLiteDatabase db, int oldVersion, int newVersion) {
+        // A cache of server data: rebuild rather than migrate.
+        db.execSQL("DROP TABLE IF EXISTS games_fts");
+        db.execSQL("DROP TABLE IF EXISTS games");
+        onCreate(db);
+    }
+
+    /**
+     * Upserts {@code games} (GameInfo objects) into {@code source} in list order. With
+     * {@code complete} the list is the whole source and anything not in it is removed.
+     * Returns how many rows were inserted or changed.
+     */
+    int upsert(String source, JSONArray games, boolean complete) {
+        SQLiteDatabase db = getWritableDatabase();
+        long stamp = System.currentTimeMillis();
+        int changed = 0;
+        db.beginTransaction();
+        try (SQLiteStatement touch = db.compileStatement(
+                "UPDATE games SET position = ?, updated_at = ? WHERE source = ? AND id = ? AND json = ?")) {
+            for (int i = 0; i < games.length(); i++) {
+                JSONObject game = games.optJSONObject(i);
+                if (game == null) continue;
+                String id = game.optString("id", "");
+                if (id.isEmpty()) continue;
+                String json = game.toString();
+
+                touch.bindLong(1, i);
+                touch.bindLong(2, stamp);
+                touch.bindString(3, source);
+                touch.bindString(4, id);
+                touch.bindString(5, json);
+                if (touch.executeUpdateDelete() > 0) continue;
+
+                ContentValues values = new ContentValues();
+                values.put("title", game.optString("title", ""));
+                values.put("publisher", game.optString("publisher", ""));
+                values.put("stores", storesOf(game));
+                values.put("position", i);
+                values.put("json", json);
+                values.put("updated_at", stamp);
+                if (db.update("games", values, "source = ? AND id = ?", new String[] {source, id}) == 0) {
+                    values.put("source", source);
+                    values.put("id", id);
+                    db.insert("games", null, values);
+                }
+                changed++;
+            }
+            if (complete) {
+                changed += db.delete("games", "source = ? AND updated_at < ?",
+                    new String[] {source, Long.toString(stamp)});
+            }
+            db.setTransactionSuccessful();
+        } finally {
+            db.endTransaction();
+        }
+        return changed;
+    }
+
+    /**
+     * One page of {@code source}, optionally filtered by a search. A game matches when its
+     * title contains the text, as the JS title filter does, or when every word prefixes a
+     * word of its title, publisher or stores (FTS). Title matches sort first, so the page
+     * only extends what the JS filter showed; then {@code sort} applies.
+     */
+    Page query(String source, String text, String sort, int offset, int limit) {
+        SQLiteDatabase db = getReadableDatabase();
+        String order = SORT_TITLE.equals(sort) ? "g.title COLLATE NOCASE, g.position" : "g.position";
+        String match = matchExpression(text);
+        String contains = text != null && !text.trim().isEmpty() ? likeContains(text) : null;
+
+        String from = "FROM games g WHERE g.source = ?";
+        List<String> args = new ArrayList<>();
+        args.add(source);
+        if (contains != null && match != null) {
+            from += " AND (g.title LIKE ? ESCAPE '\\'"
+                + " OR g.rowid IN (SELECT docid FROM games_fts WHERE games_fts MATCH ?))";
+            args.add(contains);
+            args.add(match);
+        } else if (contains != null) {
+            // Only separators, e.g. "-": no words for FTS, but still a title substring.
+            from += " AND g.title LIKE ? ESCAPE '\\'";
+            args.add(contains);
+        }
+
+        int total;
+        try (Cursor cursor = db.rawQuery("SELECT COUNT(*) " + from, args.toArray(new String[0]))) {
+            total = cursor.moveToFirst() ? cursor.getInt(0) : 0;
+        }
+
+        List<String> pageArgs = new ArrayList<>();
+        String select = "SELECT g.json " + from;
+        if (contains != null && match != null) {
+            select = "SELECT g.json, (g.title LIKE ? ESCAPE '\\') AS in_title " + from;
+            pageArgs.add(contains);
+            order = "in_title DESC, " + order;
+        }
+        pageArgs.addAll(args);
+
+        List<String> games = new ArrayList<>();
+        String page = " ORDER BY " + order + " LIMIT " + Math.max(0, limit) + " OFFSET " + Math.max(0, offset);
+        try (Cursor cursor = db.rawQuery(select + page, pageArgs.toArray(new String[0]))) {
+            while (cursor.moveToNext()) games.add(cursor.getString(0));
+        }
+        return new Page(total, games);
+    }
+
+    void clear() {
+        getWritableDatabase().delete("games", null, null);
+    }
+
+    /**
+     * FTS4 expression matching every word of {@code text} as a prefix, or {@code null} when
+     * there is nothing to search for. Anything but letters and digits separates words, so
+     * user input can't inject FTS operators.
+     */
+    static String matchExpression(String text) {
+        if (text == null) return null;
+        StringBuilder match = new StringBuilder();
+        StringBuilder word = new StringBuilder();
+        String lower = text.toLowerCase(Locale.ROOT);
+        for (int i = 0; i <= lower.length(); i++) {
+            char c = i < lower.length() ? lower.charAt(i) : ' ';
+            if (Character.isLetterOrDigit(c)) {
+                word.append(c);
+            } else if (word.length() > 0) {
+                if (match.length() > 0) match.append(' ');
+                match.append(word).append('*');
+                word.setLength(0);
+            }
+        }
+        return match.length() > 0 ? match.toString() : null;
+    }
+
+    /** {@code LIKE} pattern for titles containing {@code text}, wildcards escaped. */
+    static String likeContains(String text) {
+        String trimmed = text.trim();
+        StringBuilder like = new StringBuilder(trimmed.length() + 2).append('%');
+        for (int i = 0; i < trimmed.length(); i++) {
+            char c = trimmed.charAt(i);
+            if (c == '%' || c == '_' || c == '\\') like.append('\\');
+            like.append(c);
+        }
+        return like.append('%').toString();
+    }
+
+    /** Space-separated distinct store names from the GameInfo variants. */
+    static String storesOf(JSONObject game) {
+        JSONArray variants = game.optJSONArray("variants");
+        if (variants == null) return "";
+        Set<String> stores = new LinkedHashSet<>();
+        for (int i = 0; i < variants.length(); i++) {
+            JSONObject variant = variants.optJSONObject(i);
+            String store = variant != null ? variant.optString("store", "") : "";
+            if (!store.isEmpty()) stores.add(store);
+        }
+        StringBuilder joined = new StringBuilder();
+        for (String store : stores) {
+            if (joined.length() > 0) joined.append(' ');
+            joined.append(store);
+        }
+        return joined.toString();
+    }
+}
@@ -0,0 +1,85 @@
+package com.opencloud.android;
+
+import android.view.KeyEvent;
+
+/**
+ * Android gamepad input to the XInput-style values the GFN gamepad packet carries. Mirrors
+ * {@code mapGamepadButtons}, {@code applyDeadzone} and the normalize helpers in
+ * inputProtocol.ts so native and Gamepad-API input are indistinguishable to the server.
+ */
+final class GamepadMapper {
+
+    static final int DPAD_UP = 0x0001;
+    static final int DPAD_DOWN = 0x0002;
+    static final int DPAD_LEFT = 0x0004;
+    static final int DPAD_RIGHT = 0x0008;
+    static final int START = 0x0010;
+    static final int BACK = 0x0020;
+    static final int LS = 0x0040;
+    static final int RS = 0x0080;
+    static final int LB = 0x0100;
+    static final int RB = 0x0200;
+    static final int GUIDE = 0x0400;
+    static final int A = 0x1000;
+    static final int B = 0x2000;
+    static final int X = 0x4000;
+    static final int Y = 0x8000;
+
+    static final int DPAD_MASK = DPAD_UP | DPAD_DOWN | DPAD_LEFT | DPAD_RIGHT;
+    static final float DEADZONE = 0.15f;
+
+    private GamepadMapper() {}
+
+    /** XInput flag for {@code keyCode}, or 0 when the key is not a mapped gamepad button. */
+    static int buttonFlag(int keyCode) {
+        switch (keyCode) {
+            case KeyEvent.KEYCODE_BUTTON_A: return A;
+            case KeyEvent.KEYCODE_BUTTON_B: return B;
+            case KeyEvent.KEYCODE_BUTTON_X: return X;
+            case KeyEvent.KEYCODE_BUTTON_Y: return Y;
+            case KeyEvent.KEYCODE_BUTTON_L1: return LB;
+            case KeyEvent.KEYCODE_BUTTON_R1: return RB;
+            case KeyEvent.KEYCODE_BUTTON_SELECT: return BACK;
+            case KeyEvent.KEYCODE_BUTTON_START: return START;
+            case KeyEvent.KEYCODE_BUTTON_THUMBL: return LS;
+            case KeyEvent.KEYCODE_BUTTON_THUMBR: return RS;
+            case KeyEvent.KEYCODE_DPAD_UP: return DPAD_UP;
+            case KeyEvent.KEYCODE_DPAD_DOWN: return DPAD_DOWN;
+            case KeyEvent.KEYCODE_DPAD_LEFT: return DPAD_LEFT;
+            case KeyEvent.KEYCODE_DPAD_RIGHT: return DPAD_RIGHT;
+            case KeyEvent.KEYCODE_BUTTON_MODE: return GUIDE;
+            default: return 0;
+        }
+    }
+
+    /** D-pad flags for hat axis values in [-1, 1]. */
+    static int hatFlags(float hatX, float hatY) {
+        int flags = 0;
+        if (hatX < -0.5f) flags |= DPAD_LEFT;
+        else if (hatX > 0.5f) flags |= DPAD_RIGHT;
+        if (hatY < -0.5f) flags |= DPAD_UP;
+        else if (hatY > 0.5f) flags |= DPAD_DOWN;
+        return flags;
+    }
+
+    /** Radial deadzone with rescale to full range, written into {@code out[0..1]}. */
+    static void applyDeadzone(float x, float y, float[] out) {
+        double magnitude = Math.sqrt(x * x + y * y);
+        if (magnitude < DEADZONE) {
+            out[0] = 0;
+            out[1] = 0;
+            return;
+        }
+        double scaled = Math.min(1.0, (magnitude - DEADZONE) / (1.0 - DEADZONE));
+        out[0] = (float) (x / magnitude * scaled);
+        out[1] = (float) (y / magnitude * scaled);
+    }
+
+    static int toInt16(float value) {
+        return (int) Math.max(-32768, Math.min(32767, Math.round(value * 32767.0)));
+    }
+
+    static int toUint8(float value) {
+        return (int) Math.max(0, Math.min(255, Math.round(value * 255.0)));
+    }
+}
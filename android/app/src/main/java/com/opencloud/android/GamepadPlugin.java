@@ -0,0 +1,51 @@
+package com.opencloud.android;
+
+import com.getcapacitor.JSObject;
+import com.getcapacitor.Plugin;
+import com.getcapacitor.PluginCall;
+import com.getcapacitor.PluginMethod;
+import com.getcapacitor.annotation.CapacitorPlugin;
+
+/**
+ * JS face of {@link NativeGamepadSource}. While started, controller input is consumed by
+ * {@link MainActivity} and emitted as {@code padState} events only when a slot changes.
+ */
+@CapacitorPlugin(name = "NativeGamepad")
+public class GamepadPlugin extends Plugin {
+
+    @PluginMethod
+    public void start(PluginCall call) {
+        getActivity().runOnUiThread(() -> {
+            NativeGamepadSource.get(getContext()).start((slot, pad, timestampMs) -> {
+                JSObject event = new JSObject();
+                event.put("slot", slot);
+                event.put("connected", pad.connected);
+                event.put("name", pad.name);
+                event.put("buttons", pad.buttons);
+                event.put("leftTrigger", pad.leftTrigger);
+                event.put("rightTrigger", pad.rightTrigger);
+                event.put("leftStickX", pad.leftStickX);
+                event.put("leftStickY", pad.leftStickY);
+                event.put("rightStickX", pad.rightStickX);
+                event.put("rightStickY", pad.rightStickY);
+                event.put("timestampMs", timestampMs);
+                notifyListeners("padState", event);
+            });
+            call.resolve();
+        });
+    }
+
+    @PluginMethod
+    public void stop(PluginCall call) {
+        getActivity().runOnUiThread(() -> {
+            NativeGamepadSource.get(getContext()).stop();
+            call.resolve();
+        });
+    }
+
+    @Override
+    protected void handleOnDestroy() {
+        NativeGamepadSource source = NativeGamepadSource.peek();
+        if (source != null) source.stop();
+    }
+}
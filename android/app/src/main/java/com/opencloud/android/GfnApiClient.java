@@ -0,0 +1,157 @@
+package com.opencloud.android;
+
+import org.json.JSONArray;
+import org.json.JSONException;
+import org.json.JSONObject;
+
+import java.io.IOException;
+import java.util.Random;
+
+import okhttp3.HttpUrl;
+import okhttp3.OkHttpClient;
+import okhttp3.Request;
+import okhttp3.Response;
+import okhttp3.ResponseBody;
+
+/**
+ * Native counterparts of the CloudMatch / MES / games GETs in {@code subscription.ts} and
+ * {@code games.ts}, used by
+ * background work that runs before or outside the WebView. Headers mirror the JS side.
+ */
+final class GfnApiClient {
+
+    static final String DEFAULT_STREAMING_BASE_URL = "https://prod.cloudmatchbeta.nvidiagrid.net/";
+    static final String DEFAULT_MES_URL = "https://mes.geforcenow.com/v4/subscriptions";
+    static final String GRAPHQL_URL = "https://games.geforce.com/graphql";
+    static final String PANELS_QUERY_HASH = "f8e26265a5db5c20e1334a6872cf04b6e3970507697f6ae55a6ddefa5420daf0";
+    static final String DEFAULT_LOCALE = "en_US";
+    static final String LCARS_CLIENT_ID = "ec7e38d4-03af-4b58-b131-cfb0495903ab";
+    static final String GFN_CLIENT_VERSION = "2.0.80.173";
+
+    private static final Random random = new Random();
+
+    private final OkHttpClient http;
+    private final String mesUrl;
+
+    GfnApiClient(OkHttpClient http, String mesUrl) {
+        this.http = http;
+        this.mesUrl = mesUrl;
+    }
+
+    /** GET {@code <base>v2/serverInfo}; the raw payload carries both the VPC id and the region list. */
+    JSONObject fetchServerInfo(String token, String streamingBaseUrl) throws IOException {
+        return parseJson(fetchServerInfoRaw(token, streamingBaseUrl), "serverInfo");
+    }
+
+    String fetchServerInfoRaw(String token, String streamingBaseUrl) throws IOException {
+        Request.Builder request = gfnRequest(normalizeBaseUrl(streamingBaseUrl) + "v2/serverInfo", token);
+        return getText(request.build(), "serverInfo");
+    }
+
+    static String vpcIdFrom(JSONObject serverInfo) {
+        JSONObject status = serverInfo.optJSONObject("requestStatus");
+        if (status == null) return null;
+        String serverId = status.optString("serverId", "");
+        return serverId.isEmpty() ? null : serverId;
+    }
+
+    /** Returns {@code membershipTier} from the MES subscription API, defaulting to FREE like JS. */
+    String fetchMembershipTier(String token, String userId, String vpcId) throws IOException {
+        HttpUrl base = HttpUrl.parse(mesUrl);
+        if (base == null) throw new IOException("Invalid MES url " + mesUrl);
+        HttpUrl url = base.newBuilder()
+            .addQueryParameter("serviceName", "gfn_pc")
+            .addQueryParameter("languageCode", "en_US")
+            .addQueryParameter("vpcId", vpcId != null ? vpcId : "NP-AMS-08")
+            .addQueryParameter("userId", userId)
+            .build();
+
+        JSONObject payload = parseJson(getText(gfnRequest(url.toString(), token).build(), "Subscription API"), "Subscription API");
+        String tier = payload.optString("membershipTier", "");
+        return tier.isEmpty() ? "FREE" : tier;
+    }
+
+    /**
+     * Persisted-query GET for one games panel (MAIN or LIBRARY), same as {@code fetchPanels}
+     * in games.ts. Returns the raw GraphQL body so callers decide how far to parse it.
+     */
+    String fetchPanelsRaw(String token, String panelName, String vpcId) throws IOException {
+        String variables;
+        String extensions;
+        try {
+            variables = new JSONObject()
+                .put("vpcId", vpcId)
+                .put("locale", DEFAULT_LOCALE)
+                .put("panelNames", new JSONArray().put(panelName))
+                .toString();
+            extensions = new JSONObject()
+                .put("persistedQuery", new JSONObject().put("sha256Hash", PANELS_QUERY_HASH))
+                .toString();
+        } catch (JSONException e) {
+            throw new IllegalStateException(e);
+        }
+
+        HttpUrl url = HttpUrl.get(GRAPHQL_URL).newBuilder()
+            .addQueryParameter("requestType", "LIBRARY".equals(panelName) ? "panels/Library" : "panels/MainV2")
+            .addQueryParameter("extensions", extensions)
+            .addQueryParameter("huId", randomHuId())
+            .addQueryParameter("variables", variables)
+            .build();
+
+        Request request = gfnRequest(url.toString(), token)
+            .header("Accept", "application/json, text/plain, */*")
+            .header("Origin", "https://play.geforcenow.com")
+            .header("Referer", "https://play.geforcenow.com/")
+            .header("nv-device-make", "UNKNOWN")
+            .header("nv-device-model", "UNKNOWN")
+            .header("nv-browser-type", "CHROME")
+            .build();
+
+        return getText(request, "Games GraphQL");
+    }
+
+    static String normalizeBaseUrl(String streamingBaseUrl) {
+        String base = streamingBaseUrl == null || streamingBaseUrl.trim().isEmpty()
+            ? DEFAULT_STREAMING_BASE_URL
+            : streamingBaseUrl.trim();
+        return base.endsWith("/") ? base : base + "/";
+    }
+
+    private static String randomHuId() {
+        return Long.toHexString(System.currentTimeMillis()) + Long.toHexString(random.nextLong() & Long.MAX_VALUE);
+    }
+
+    static Request.Builder gfnRequest(String url, String token) {
+        Request.Builder builder = new Request.Builder()
+            .url(url)
+            .header("Accept", "application/json")
+            .header("nv-client-id", LCARS_CLIENT_ID)
+            .header("nv-client-type", "NATIVE")
+            .header("nv-client-version", GFN_CLIENT_VERSION)
+            .header("nv-client-streamer", "NVIDIA-CLASSIC")
+            .header("nv-device-os", "WINDOWS")
+            .header("nv-device-type", "DESKTOP")
+            .header("User-Agent", TokenEndpointClient.GFN_USER_AGENT);
+        if (token != null && !token.isEmpty()) builder.header("Authorization", "GFNJWT " + token);
+        return builder;
+    }
+
+    private String getText(Request request, String label) throws IOException {
+        try (Response response = http.newCall(request).execute()) {
+            ResponseBody body = response.body();
+            String text = body != null ? body.string() : "";
+            if (!response.isSuccessful()) {
+                throw new IOException(label + " failed with status " + response.code());
+            }
+            return text;
+        }
+    }
+
+    private static JSONObject parseJson(String text, String label) throws IOException {
+        try {
+            return new JSONObject(text);
+        } catch (JSONException e) {
+            throw new IOException(label + " returned invalid JSON", e);
+        }
+    }
+}
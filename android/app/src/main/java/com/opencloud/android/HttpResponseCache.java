@@ -0,0 +1,333 @@
+package com.opencloud.android;
+
+import android.content.Context;
+import android.util.Log;
+
+import org.json.JSONException;
+import org.json.JSONObject;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import okhttp3.HttpUrl;
+import okhttp3.OkHttpClient;
+import okhttp3.Request;
+import okhttp3.Response;
+import okhttp3.ResponseBody;
+
+/**
+ * Stale-while-revalidate cache for API GETs on top of {@link DiskLruCache}. An entry younger
+ * than the caller's max-stale is returned at once and revalidated in the background with
+ * {@code If-None-Match} / {@code If-Modified-Since}; when that brings a different body the
+ * {@link UpdateListener} hears about it. Older entries are revalidated before returning.
+ * Keys are method plus the URL with its query parameters decoded and sorted, minus
+ * per-request noise such as {@code huId}; the response's {@code Vary} request headers are
+ * stored with the entry and must match for a hit.
+ */
+final class HttpResponseCache {
+
+    static final long DEFAULT_MAX_BYTES = 16L * 1024 * 1024;
+
+    enum Source { NETWORK, CACHE, REVALIDATED }
+
+    static final class Policy {
+        final long maxStaleMs;
+        final Set<String> ignoreParams;
+        final boolean onlyIfCached;
+
+        Policy(long maxStaleMs, Set<String> ignoreParams, boolean onlyIfCached) {
+            this.maxStaleMs = maxStaleMs;
+            this.ignoreParams = ignoreParams;
+            this.onlyIfCached = onlyIfCached;
+        }
+    }
+
+    static final class Entry {
+        final int status;
+        final String url;
+        final Map<String, String> headers;
+        final Map<String, String> vary;
+        final String body;
+        final long storedAt;
+
+        Entry(int status, String url, Map<String, String> headers, Map<String, String> vary, String body, long storedAt) {
+            this.status = status;
+            this.url = url;
+            this.headers = headers;
+            this.vary = vary;
+            this.body = body;
+            this.storedAt = storedAt;
+        }
+
+        Entry touched(long now) {
+            return new Entry(status, url, headers, vary, body, now);
+        }
+
+        String header(String name) {
+            return headers.get(name.toLowerCase(Locale.ROOT));
+        }
+    }
+
+    /** What {@link #execute} returns: the response plus where it came from. */
+    static final class Result {
+        final String key;
+        final Entry entry;
+        final Source source;
+        final String protocol;
+
+        Result(String key, Entry entry, Source source, String protocol) {
+            this.key = key;
+            this.entry = entry;
+            this.source = source;
+            this.protocol = protocol;
+        }
+    }
+
+    interface UpdateListener {
+        void onUpdated(String key, Entry fresh);
+    }
+
+    private static final String TAG = "HttpResponseCache";
+    private static volatile HttpResponseCache instance;
+
+    private final DiskLruCache store;
+    private final ExecutorService revalidator = Executors.newFixedThreadPool(2);
+    private final Set<String> revalidating = Collections.newSetFromMap(new ConcurrentHashMap<>());
+    private volatile UpdateListener listener;
+
+    HttpResponseCache(DiskLruCache store) {
+        this.store = store;
+    }
+
+    static HttpResponseCache get(Context context) {
+        HttpResponseCache local = instance;
+        if (local == null) {
+            synchronized (HttpResponseCache.class) {
+                local = instance;
+                if (local == null) {
+                    File dir = new File(context.getApplicationContext().getCacheDir(), "http-responses");
+                    local = new HttpResponseCache(new DiskLruCache(dir, DEFAULT_MAX_BYTES));
+                    instance = local;
+                }
+            }
+        }
+        return local;
+    }
+
+    void setUpdateListener(UpdateListener listener) {
+        this.listener = listener;
+    }
+
+    void clear() {
+        store.clear();
+    }
+
+    /**
+     * Runs a GET through the cache. Non-GET requests and {@code only-if-cached} misses
+     * bypass it; a miss under {@code onlyIfCached} yields a 504 like HTTP caches do.
+     */
+    Result execute(OkHttpClient client, Request request, Policy policy) throws IOException {
+        String key = cacheKey(request.method(), request.url(), policy.ignoreParams);
+        Entry cached = "GET".equals(request.method()) ? load(key, request) : null;
+        long now = System.currentTimeMillis();
+
+        if (cached != null && now - cached.storedAt <= policy.maxStaleMs) {
+            revalidateInBackground(client, request, key, cached);
+            return new Result(key, cached, Source.CACHE, null);
+        }
+        if (policy.onlyIfCached) {
+            Entry gateway = new Entry(504, request.url().toString(), Collections.emptyMap(), Collections.emptyMap(), "", now);
+            return new Result(key, gateway, Source.NETWORK, null);
+        }
+        return fetch(client, request, key, cached);
+    }
+
+    private Result fetch(OkHttpClient client, Request request, String key, Entry cached) throws IOException {
+        try (Response response = client.newCall(conditional(request, cached)).execute()) {
+            long now = System.currentTimeMillis();
+            String protocol = response.protocol().toString();
+            if (response.code() == 304 && cached != null) {
+                Entry touched = cached.touched(now);
+                save(key, touched);
+                return new Result(key, touched, Source.REVALIDATED, protocol);
+            }
+            ResponseBody body = response.body();
+            Entry entry = new Entry(
+                response.code(),
+                response.request().url().toString(),
+                headersOf(response),
+                varyOf(response, request),
+                body != null ? body.string() : "",
+                now
+            );
+            if ("GET".equals(request.method()) && isCacheable(response)) save(key, entry);
+            return new Result(key, entry, Source.NETWORK, protocol);
+        }
+    }
+
+    private void revalidateInBackground(OkHttpClient client, Request request, String key, Entry cached) {
+        if (!revalidating.add(key)) return;
+        revalidator.execute(() -> {
+            try {
+                Result fresh = fetch(client, request, key, cached);
+                UpdateListener l = listener;
+                if (fresh.source == Source.NETWORK && fresh.entry.status / 100 == 2
+                    && !fresh.entry.body.equals(cached.body) && l != null) {
+                    l.onUpdated(key, fresh.entry);
+                }
+            } catch (IOException e) {
+                Log.w(TAG, "Background revalidation failed for " + request.url().host(), e);
+            } finally {
+                revalidating.remove(key);
+            }
+        });
+    }
+
+    private Entry load(String key, Request request) {
+        byte[] data = store.get(key);
+        if (data == null) return null;
+        Entry entry = decode(data);
+        if (entry == null) {
+            store.remove(key);
+            return null;
+        }
+        for (Map.Entry<String, String> vary : entry.vary.entrySet()) {
+            String current = request.header(vary.getKey());
+            if (!vary.getValue().equals(current != null ? current : "")) return null;
+        }
+        return entry;
+    }
+
+    private void save(String key, Entry entry) {
+        byte[] data = encode(entry);
+        if (data != null) store.put(key, data);
+    }
+
+    private static Request conditional(Request request, Entry cached) {
+        if (cached == null) return request;
+        Request.Builder builder = request.newBuilder();
+        String etag = cached.header("ETag");
+        String lastModified = cached.header("Last-Modified");
+        if (etag != null) builder.header("If-None-Match", etag);
+        if (lastModified != null) builder.header("If-Modified-Since", lastModified);
+        return builder.build();
+    }
+
+    private static boolean isCacheable(Response response) {
+        if (response.code() != 200) return false;
+        if (response.cacheControl().noStore()) return false;
+        String vary = response.header("Vary");
+        return vary == null || !vary.contains("*");
+    }
+
+    private static Map<String, String> headersOf(Response response) {
+        Map<String, String> headers = new LinkedHashMap<>();
+        for (String name : response.headers().names()) {
+            List<String> values = response.headers(name);
+            StringBuilder joined = new StringBuilder();
+            for (String value : values) {
+                if (joined.length() > 0) joined.append(", ");
+                joined.append(value);
+            }
+            headers.put(name.toLowerCase(Locale.ROOT), joined.toString());
+        }
+        return headers;
+    }
+
+    private static Map<String, String> varyOf(Response response, Request request) {
+        String vary = response.header("Vary");
+        if (vary == null) return Collections.emptyMap();
+        Map<String, String> values = new LinkedHashMap<>();
+        for (String name : vary.split(",")) {
+            String trimmed = name.trim().toLowerCase(Locale.ROOT);
+            if (trimmed.isEmpty()) continue;
+            String value = request.header(trimmed);
+            values.put(trimmed, value != null ? value : "");
+        }
+        return values;
+    }
+
+    /** {@code METHOD scheme://host:port/path?a=1&b=2} with decoded, sorted, filtered params. */
+    static String cacheKey(String method, HttpUrl url, Set<String> ignoreParams) {
+        List<String> params = new ArrayList<>();
+        for (int i = 0; i < url.querySize(); i++) {
+            String name = url.queryParameterName(i);
+            if (ignoreParams != null && ignoreParams.contains(name)) continue;
+            String value = url.queryParameterValue(i);
+            params.add(name + "=" + (value != null ? value : ""));
+        }
+        Collections.sort(params);
+        StringBuilder key = new StringBuilder(method).append(' ')
+            .append(url.scheme()).append("://").append(url.host()).append(':').append(url.port())
+            .append(url.encodedPath());
+        for (int i = 0; i < params.size(); i++) {
+            key.append(i == 0 ? '?' : '&').append(params.get(i));
+        }
+        return key.toString();
+    }
+
+    /** JSON metadata line, a newline, then the body. */
+    static byte[] encode(Entry entry) {
+        try {
+            JSONObject meta = new JSONObject()
+                .put("status", entry.status)
+                .put("url", entry.url)
+                .put("storedAt", entry.storedAt)
+                .put("headers", new JSONObject(entry.headers))
+                .put("vary", new JSONObject(entry.vary));
+            byte[] head = (meta.toString() + "\n").getBytes(StandardCharsets.UTF_8);
+            byte[] body = entry.body.getBytes(StandardCharsets.UTF_8);
+            byte[] out = new byte[head.length + body.length];
+            System.arraycopy(head, 0, out, 0, head.length);
+            System.arraycopy(body, 0, out, head.length, body.length);
+            return out;
+        } catch (JSONException e) {
+            return null;
+        }
+    }
+
+    static Entry decode(byte[] data) {
+        int newline = -1;
+        for (int i = 0; i < data.length; i++) {
+            if (data[i] == '\n') {
+                newline = i;
+                break;
+            }
+        }
+        if (newline < 0) return null;
+        try {
+            JSONObject meta = new JSONObject(new String(data, 0, newline, StandardCharsets.UTF_8));
+            return new Entry(
+                meta.getInt("status"),
+                meta.getString("url"),
+                stringMap(meta.getJSONObject("headers")),
+                stringMap(meta.getJSONObject("vary")),
+                new String(data, newline + 1, data.length - newline - 1, StandardCharsets.UTF_8),
+                meta.getLong("storedAt")
+            );
+        } catch (JSONException e) {
+            return null;
+        }
+    }
+
+    private static Map<String, String> stringMap(JSONObject json) {
+        Map<String, String> map = new LinkedHashMap<>();
+        for (Iterator<String> keys = json.keys(); keys.hasNext(); ) {
+            String name = keys.next();
+            map.put(name, json.optString(name, ""));
+        }
+        return map;
+    }
+}
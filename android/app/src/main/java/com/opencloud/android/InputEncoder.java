@@ -0,0 +1,267 @@
+package com.opencloud.android;
+
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+/**
+ * Java port of {@code InputEncoder} in inputProtocol.ts, byte-for-byte identical to it.
+ * Every encode method writes one packet at the buffer's position, advances the position
+ * and returns the packet length, so a native input path can reuse one direct buffer per
+ * channel and allocate nothing per event. Not thread-safe; use one encoder per sender.
+ */
+final class InputEncoder {
+
+    interface TimestampSource {
+        /** Microseconds on a monotonic clock; stamped into the v3 wrapper header. */
+        long nowUs();
+    }
+
+    static final int INPUT_HEARTBEAT = 2;
+    static final int INPUT_KEY_DOWN = 3;
+    static final int INPUT_KEY_UP = 4;
+    static final int INPUT_MOUSE_ABS = 5;
+    static final int INPUT_MOUSE_REL = 7;
+    static final int INPUT_MOUSE_BUTTON_DOWN = 8;
+    static final int INPUT_MOUSE_BUTTON_UP = 9;
+    static final int INPUT_MOUSE_WHEEL = 10;
+    static final int INPUT_GAMEPAD = 12;
+
+    static final int GAMEPAD_PACKET_SIZE = 38;
+    /** Largest packet any method writes: a v3 partially reliable gamepad packet. */
+    static final int MAX_PACKET_SIZE = 16 + GAMEPAD_PACKET_SIZE;
+
+    private static final int KEY_SIZE = 18;
+    private static final int MOUSE_BUTTON_SIZE = 18;
+    private static final int MOUSE_MOVE_SIZE = 22;
+    private static final int SINGLE_HEADER = 10;   // [0x23][8B ts][0x22]
+    private static final int SIZED_HEADER = 12;    // [0x23][8B ts][0x21][2B size]
+    private static final int PR_HEADER = 16;       // [0x23][8B ts][0x26][idx][2B seq][0x21][2B size]
+
+    private final TimestampSource clock;
+    private final int[] gamepadSequence = new int[256];
+    private int protocolVersion = 2;
+
+    InputEncoder() {
+        this(() -> System.nanoTime() / 1000);
+    }
+
+    InputEncoder(TimestampSource clock) {
+        this.clock = clock;
+        resetGamepadSequences();
+    }
+
+    void setProtocolVersion(int version) {
+        protocolVersion = version;
+    }
+
+    int getProtocolVersion() {
+        return protocolVersion;
+    }
+
+    /** Current sequence number for the pad, then advances it; wraps at 65536 like JS. */
+    int nextGamepadSequence(int gamepadIndex) {
+        int slot = gamepadIndex & 0xFF;
+        int current = gamepadSequence[slot];
+        gamepadSequence[slot] = (current + 1) % 65536;
+        return current;
+    }
+
+    void resetGamepadSequences() {
+        Arrays.fill(gamepadSequence, 1);
+    }
+
+    /** Heartbeats are sent raw in every protocol version. */
+    int encodeHeartbeat(ByteBuffer out) {
+        int at = reserve(out, 4);
+        putU32LE(out, at, INPUT_HEARTBEAT);
+        return advance(out, at, 4);
+    }
+
+    int encodeKeyDown(ByteBuffer out, int keycode, int modifiers, int scancode, long timestampUs) {
+        return encodeKey(out, INPUT_KEY_DOWN, keycode, modifiers, scancode, timestampUs);
+    }
+
+    int encodeKeyUp(ByteBuffer out, int keycode, int modifiers, int scancode, long timestampUs) {
+        return encodeKey(out, INPUT_KEY_UP, keycode, modifiers, scancode, timestampUs);
+    }
+
+    int encodeMouseMove(ByteBuffer out, int dx, int dy, long timestampUs) {
+        int at = reserve(out, sizedLength(MOUSE_MOVE_SIZE));
+        int p = writeSizedHeader(out, at, MOUSE_MOVE_SIZE);
+        putU32LE(out, p, INPUT_MOUSE_REL);
+        putU16BE(out, p + 4, dx);
+        putU16BE(out, p + 6, dy);
+        putU16BE(out, p + 8, 0);
+        putU32BE(out, p + 10, 0);
+        putU64BE(out, p + 14, timestampUs);
+        return advance(out, at, p + MOUSE_MOVE_SIZE - at);
+    }
+
+    int encodeMouseAbsolute(ByteBuffer out, int x, int y, long timestampUs) {
+        return encodeMouse22(out, INPUT_MOUSE_ABS, x, y, timestampUs);
+    }
+
+    int encodeMouseButtonDown(ByteBuffer out, int button, long timestampUs) {
+        return encodeMouseButton(out, INPUT_MOUSE_BUTTON_DOWN, button, timestampUs);
+    }
+
+    int encodeMouseButtonUp(ByteBuffer out, int button, long timestampUs) {
+        return encodeMouseButton(out, INPUT_MOUSE_BUTTON_UP, button, timestampUs);
+    }
+
+    int encodeMouseWheel(ByteBuffer out, int delta, long timestampUs) {
+        return encodeMouse22(out, INPUT_MOUSE_WHEEL, 0, delta, timestampUs);
+    }
+
+    /**
+     * The 38-byte gamepad packet. On the partially reliable channel it is framed with the
+     * pad index and its sequence number, which advances even in v1-v2 as it does in JS.
+     */
+    int encodeGamepadState(ByteBuffer out, int controllerId, int buttons, int leftTrigger, int rightTrigger,
+                           int leftStickX, int leftStickY, int rightStickX, int rightStickY,
+                           long timestampUs, int bitmap, boolean usePartiallyReliable) {
+        boolean wrapped = protocolVersion > 2;
+        int length = !wrapped ? GAMEPAD_PACKET_SIZE
+            : (usePartiallyReliable ? PR_HEADER : SIZED_HEADER) + GAMEPAD_PACKET_SIZE;
+        int at = reserve(out, length);
+        int sequence = usePartiallyReliable ? nextGamepadSequence(controllerId) : 0;
+
+        int p = at;
+        if (wrapped) {
+            out.put(p, (byte) 0x23);
+            putU64BE(out, p + 1, clock.nowUs());
+            p += 9;
+            if (usePartiallyReliable) {
+                out.put(p, (byte) 0x26);
+                out.put(p + 1, (byte) controllerId);
+                putU16BE(out, p + 2, sequence);
+                p += 4;
+            }
+            out.put(p, (byte) 0x21);
+            putU16BE(out, p + 1, GAMEPAD_PACKET_SIZE);
+            p += 3;
+        }
+
+        putU32LE(out, p, INPUT_GAMEPAD);
+        putU16LE(out, p + 4, 26);
+        putU16LE(out, p + 6, controllerId & 0x03);
+        putU16LE(out, p + 8, bitmap);
+        putU16LE(out, p + 10, 20);
+        putU16LE(out, p + 12, buttons);
+        putU16LE(out, p + 14, (leftTrigger & 0xFF) | ((rightTrigger & 0xFF) << 8));
+        putU16LE(out, p + 16, leftStickX);
+        putU16LE(out, p + 18, leftStickY);
+        putU16LE(out, p + 20, rightStickX);
+        putU16LE(out, p + 22, rightStickY);
+        putU16LE(out, p + 24, 0);
+        putU16LE(out, p + 26, 85);
+        putU16LE(out, p + 28, 0);
+        putU64LE(out, p + 30, timestampUs);
+        return advance(out, at, length);
+    }
+
+    private int encodeKey(ByteBuffer out, int type, int keycode, int modifiers, int scancode, long timestampUs) {
+        int at = reserve(out, singleLength(KEY_SIZE));
+        int p = writeSingleHeader(out, at);
+        putU32LE(out, p, type);
+        putU16BE(out, p + 4, keycode);
+        putU16BE(out, p + 6, modifiers);
+        putU16BE(out, p + 8, scancode);
+        putU64BE(out, p + 10, timestampUs);
+        return advance(out, at, p + KEY_SIZE - at);
+    }
+
+    private int encodeMouseButton(ByteBuffer out, int type, int button, long timestampUs) {
+        int at = reserve(out, singleLength(MOUSE_BUTTON_SIZE));
+        int p = writeSingleHeader(out, at);
+        putU32LE(out, p, type);
+        out.put(p + 4, (byte) button);
+        out.put(p + 5, (byte) 0);
+        putU32BE(out, p + 6, 0);
+        putU64BE(out, p + 10, timestampUs);
+        return advance(out, at, p + MOUSE_BUTTON_SIZE - at);
+    }
+
+    /** Absolute mouse and wheel: [type 4B LE][a 2B BE][b 2B BE][reserved 6B][timestamp 8B BE]. */
+    private int encodeMouse22(ByteBuffer out, int type, int a, int b, long timestampUs) {
+        int at = reserve(out, singleLength(MOUSE_MOVE_SIZE));
+        int p = writeSingleHeader(out, at);
+        putU32LE(out, p, type);
+        putU16BE(out, p + 4, a);
+        putU16BE(out, p + 6, b);
+        putU16BE(out, p + 8, 0);
+        putU32BE(out, p + 10, 0);
+        putU64BE(out, p + 14, timestampUs);
+        return advance(out, at, p + MOUSE_MOVE_SIZE - at);
+    }
+
+    private int singleLength(int payload) {
+        return protocolVersion > 2 ? SINGLE_HEADER + payload : payload;
+    }
+
+    private int sizedLength(int payload) {
+        return protocolVersion > 2 ? SIZED_HEADER + payload : payload;
+    }
+
+    /** v3+: [0x23][8B ts][0x22]. Returns the payload offset. */
+    private int writeSingleHeader(ByteBuffer out, int at) {
+        if (protocolVersion <= 2) return at;
+        out.put(at, (byte) 0x23);
+        putU64BE(out, at + 1, clock.nowUs());
+        out.put(at + 9, (byte) 0x22);
+        return at + SINGLE_HEADER;
+    }
+
+    /** v3+: [0x23][8B ts][0x21][2B size BE]. Returns the payload offset. */
+    private int writeSizedHeader(ByteBuffer out, int at, int payloadLength) {
+        if (protocolVersion <= 2) return at;
+        out.put(at, (byte) 0x23);
+        putU64BE(out, at + 1, clock.nowUs());
+        out.put(at + 9, (byte) 0x21);
+        putU16BE(out, at + 10, payloadLength);
+        return at + SIZED_HEADER;
+    }
+
+    private static int reserve(ByteBuffer out, int length) {
+        if (out.remaining() < length) throw new BufferOverflowException();
+        return out.position();
+    }
+
+    private static int advance(ByteBuffer out, int at, int length) {
+        out.position(at + length);
+        return length;
+    }
+
+    // Explicit byte order per field: the protocol mixes LE and BE within one packet.
+
+    private static void putU16LE(ByteBuffer out, int at, int value) {
+        out.put(at, (byte) value);
+        out.put(at + 1, (byte) (value >>> 8));
+    }
+
+    private static void putU16BE(ByteBuffer out, int at, int value) {
+        out.put(at, (byte) (value >>> 8));
+        out.put(at + 1, (byte) value);
+    }
+
+    private static void putU32LE(ByteBuffer out, int at, int value) {
+        putU16LE(out, at, value);
+        putU16LE(out, at + 2, value >>> 16);
+    }
+
+    private static void putU32BE(ByteBuffer out, int at, int value) {
+        putU16BE(out, at, value >>> 16);
+        putU16BE(out, at + 2, value);
+    }
+
+    private static void putU64LE(ByteBuffer out, int at, long value) {
+        putU32LE(out, at, (int) value);
+        putU32LE(out, at + 4, (int) (value >>> 32));
+    }
+
+    private static void putU64BE(ByteBuffer out, int at, long value) {
+        putU32BE(out, at, (int) (value >>> 32));
+        putU32BE(out, at + 4, (int) value);
+    }
+}
@@ -0,0 +1,44 @@
+package com.opencloud.android;
+
+import android.util.Base64;
+
+import com.getcapacitor.JSObject;
+import com.getcapacitor.Plugin;
+import com.getcapacitor.PluginCall;
+import com.getcapacitor.PluginMethod;
+import com.getcapacitor.annotation.CapacitorPlugin;
+
+/**
+ * JS face of {@link NativeKeyboardSource}. While started, hardware key events are emitted
+ * as {@code keys} events carrying the base64 record batch.
+ */
+@CapacitorPlugin(name = "KeyboardCapture")
+public class KeyboardCapturePlugin extends Plugin {
+
+    @PluginMethod
+    public void start(PluginCall call) {
+        getActivity().runOnUiThread(() -> {
+            NativeKeyboardSource.get().start((records, length, firstEventTimeMs) -> {
+                JSObject event = new JSObject();
+                event.put("data", Base64.encodeToString(records, 0, length, Base64.NO_WRAP));
+                event.put("eventUptimeMs", firstEventTimeMs);
+                notifyListeners("keys", event);
+            });
+            call.resolve();
+        });
+    }
+
+    @PluginMethod
+    public void stop(PluginCall call) {
+        getActivity().runOnUiThread(() -> {
+            NativeKeyboardSource.get().stop();
+            call.resolve();
+        });
+    }
+
+    @Override
+    protected void handleOnDestroy() {
+        NativeKeyboardSource source = NativeKeyboardSource.peek();
+        if (source != null) source.stop();
+    }
+}
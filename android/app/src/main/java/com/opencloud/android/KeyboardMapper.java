@@ -0,0 +1,141 @@
+package com.opencloud.android;
+
+import android.view.KeyEvent;
+
+/**
+ * Android key codes to the Windows VK / USB HID scancode pairs and modifier flags that
+ * {@code mapKeyboardEvent} and {@code modifierFlags} in inputProtocol.ts send, plus the
+ * media and browser keys the DOM never sees on Android. Table-driven; lookups are array
+ * reads so the key dispatch path does not allocate.
+ */
+final class KeyboardMapper {
+
+    static final int MOD_SHIFT = 0x01;
+    static final int MOD_CTRL = 0x02;
+    static final int MOD_ALT = 0x04;
+    static final int MOD_META = 0x08;
+    static final int MOD_CAPS_LOCK = 0x10;
+    static final int MOD_NUM_LOCK = 0x20;
+
+    private static final int TABLE_SIZE = 320;
+    private static final int[] VK = new int[TABLE_SIZE];
+    private static final int[] SCANCODE = new int[TABLE_SIZE];
+
+    // { Android key code, VK, scancode }
+    private static final int[][] TABLE = {
+        { KeyEvent.KEYCODE_ENTER, 0x0d, 0x28 },
+        { KeyEvent.KEYCODE_ESCAPE, 0x1b, 0x29 },
+        { KeyEvent.KEYCODE_DEL, 0x08, 0x2a },
+        { KeyEvent.KEYCODE_TAB, 0x09, 0x2b },
+        { KeyEvent.KEYCODE_SPACE, 0x20, 0x2c },
+        { KeyEvent.KEYCODE_MINUS, 0xbd, 0x2d },
+        { KeyEvent.KEYCODE_EQUALS, 0xbb, 0x2e },
+        { KeyEvent.KEYCODE_LEFT_BRACKET, 0xdb, 0x2f },
+        { KeyEvent.KEYCODE_RIGHT_BRACKET, 0xdd, 0x30 },
+        { KeyEvent.KEYCODE_BACKSLASH, 0xdc, 0x31 },
+        { KeyEvent.KEYCODE_SEMICOLON, 0xba, 0x33 },
+        { KeyEvent.KEYCODE_APOSTROPHE, 0xde, 0x34 },
+        { KeyEvent.KEYCODE_GRAVE, 0xc0, 0x35 },
+        { KeyEvent.KEYCODE_COMMA, 0xbc, 0x36 },
+        { KeyEvent.KEYCODE_PERIOD, 0xbe, 0x37 },
+        { KeyEvent.KEYCODE_SLASH, 0xbf, 0x38 },
+        { KeyEvent.KEYCODE_DPAD_RIGHT, 0x27, 0x4f },
+        { KeyEvent.KEYCODE_DPAD_LEFT, 0x25, 0x50 },
+        { KeyEvent.KEYCODE_DPAD_DOWN, 0x28, 0x51 },
+        { KeyEvent.KEYCODE_DPAD_UP, 0x26, 0x52 },
+        { KeyEvent.KEYCODE_CTRL_LEFT, 0xa2, 0xe0 },
+        { KeyEvent.KEYCODE_SHIFT_LEFT, 0xa0, 0xe1 },
+        { KeyEvent.KEYCODE_ALT_LEFT, 0xa4, 0xe2 },
+        { KeyEvent.KEYCODE_META_LEFT, 0x5b, 0xe3 },
+        { KeyEvent.KEYCODE_CTRL_RIGHT, 0xa3, 0xe4 },
+        { KeyEvent.KEYCODE_SHIFT_RIGHT, 0xa1, 0xe5 },
+        { KeyEvent.KEYCODE_ALT_RIGHT, 0xa5, 0xe6 },
+        { KeyEvent.KEYCODE_META_RIGHT, 0x5c, 0xe7 },
+        { KeyEvent.KEYCODE_CAPS_LOCK, 0x14, 0x39 },
+        { KeyEvent.KEYCODE_NUM_LOCK, 0x90, 0x53 },
+        { KeyEvent.KEYCODE_INSERT, 0x2d, 0x49 },
+        { KeyEvent.KEYCODE_FORWARD_DEL, 0x2e, 0x4c },
+        { KeyEvent.KEYCODE_MOVE_HOME, 0x24, 0x4a },
+        { KeyEvent.KEYCODE_MOVE_END, 0x23, 0x4d },
+        { KeyEvent.KEYCODE_PAGE_UP, 0x21, 0x4b },
+        { KeyEvent.KEYCODE_PAGE_DOWN, 0x22, 0x4e },
+        { KeyEvent.KEYCODE_SYSRQ, 0x2c, 0x46 },
+        { KeyEvent.KEYCODE_SCROLL_LOCK, 0x91, 0x47 },
+        { KeyEvent.KEYCODE_BREAK, 0x13, 0x48 },
+        { KeyEvent.KEYCODE_MENU, 0x5d, 0x65 },
+        { KeyEvent.KEYCODE_NUMPAD_ADD, 0x6b, 0x57 },
+        { KeyEvent.KEYCODE_NUMPAD_SUBTRACT, 0x6d, 0x56 },
+        { KeyEvent.KEYCODE_NUMPAD_MULTIPLY, 0x6a, 0x55 },
+        { KeyEvent.KEYCODE_NUMPAD_DIVIDE, 0x6f, 0x54 },
+        { KeyEvent.KEYCODE_NUMPAD_DOT, 0x6e, 0x63 },
+        { KeyEvent.KEYCODE_NUMPAD_ENTER, 0x0d, 0x58 },
+        // Keys the WebView drops or handles itself; there is no keyboard-page scancode for them.
+        { KeyEvent.KEYCODE_BACK, 0xa6, 0 },
+        { KeyEvent.KEYCODE_FORWARD, 0xa7, 0 },
+        { KeyEvent.KEYCODE_MEDIA_PLAY_PAUSE, 0xb3, 0 },
+        { KeyEvent.KEYCODE_MEDIA_NEXT, 0xb0, 0 },
+        { KeyEvent.KEYCODE_MEDIA_PREVIOUS, 0xb1, 0 },
+        { KeyEvent.KEYCODE_MEDIA_STOP, 0xb2, 0 },
+    };
+
+    static {
+        for (int i = 0; i < 26; i++) put(KeyEvent.KEYCODE_A + i, 0x41 + i, 0x04 + i);
+        // HID orders digits 1..9 then 0.
+        put(KeyEvent.KEYCODE_0, 0x30, 0x27);
+        for (int i = 1; i <= 9; i++) put(KeyEvent.KEYCODE_0 + i, 0x30 + i, 0x1e + i - 1);
+        for (int i = 0; i < 12; i++) put(KeyEvent.KEYCODE_F1 + i, 0x70 + i, 0x3a + i);
+        put(KeyEvent.KEYCODE_NUMPAD_0, 0x60, 0x62);
+        for (int i = 1; i <= 9; i++) put(KeyEvent.KEYCODE_NUMPAD_0 + i, 0x60 + i, 0x59 + i - 1);
+        for (int[] row : TABLE) put(row[0], row[1], row[2]);
+    }
+
+    private KeyboardMapper() {}
+
+    private static void put(int keyCode, int vk, int scancode) {
+        VK[keyCode] = vk;
+        SCANCODE[keyCode] = scancode;
+    }
+
+    /** VK for the key, or 0 when it is not mapped. */
+    static int vk(int keyCode) {
+        return keyCode >= 0 && keyCode < TABLE_SIZE ? VK[keyCode] : 0;
+    }
+
+    static int scancode(int keyCode) {
+        return keyCode >= 0 && keyCode < TABLE_SIZE ? SCANCODE[keyCode] : 0;
+    }
+
+    /** Same bits as {@code modifierFlags} in inputProtocol.ts. */
+    static int modifierFlags(int metaState) {
+        int flags = 0;
+        if ((metaState & KeyEvent.META_SHIFT_ON) != 0) flags |= MOD_SHIFT;
+        if ((metaState & KeyEvent.META_CTRL_ON) != 0) flags |= MOD_CTRL;
+        if ((metaState & KeyEvent.META_ALT_ON) != 0) flags |= MOD_ALT;
+        if ((metaState & KeyEvent.META_META_ON) != 0) flags |= MOD_META;
+        if ((metaState & KeyEvent.META_CAPS_LOCK_ON) != 0) flags |= MOD_CAPS_LOCK;
+        if ((metaState & KeyEvent.META_NUM_LOCK_ON) != 0) flags |= MOD_NUM_LOCK;
+        return flags;
+    }
+
+    /**
+     * Keys that must not reach the WebView while streaming: Android treats them as
+     * navigation or system actions (Escape and Back leave the page, Meta opens search).
+     * Everything else still reaches the DOM so app shortcuts keep working.
+     */
+    static boolean isSystemKey(int keyCode) {
+        switch (keyCode) {
+            case KeyEvent.KEYCODE_ESCAPE:
+            case KeyEvent.KEYCODE_BACK:
+            case KeyEvent.KEYCODE_FORWARD:
+            case KeyEvent.KEYCODE_META_LEFT:
+            case KeyEvent.KEYCODE_META_RIGHT:
+            case KeyEvent.KEYCODE_MEDIA_PLAY_PAUSE:
+            case KeyEvent.KEYCODE_MEDIA_NEXT:
+            case KeyEvent.KEYCODE_MEDIA_PREVIOUS:
+            case KeyEvent.KEYCODE_MEDIA_STOP:
+                return true;
+            default:
+                return false;
+        }
+    }
+}
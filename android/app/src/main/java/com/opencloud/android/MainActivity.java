@@ -1,22 +1,89 @@
 package com.opencloud.android;
 
+import android.content.Context;
 import android.content.pm.ApplicationInfo;
 import android.os.Build;
 import android.os.Bundle;
+import android.os.Process;
+import android.os.SystemClock;
+import android.view.KeyEvent;
+import android.view.MotionEvent;
 import android.view.View;
 import android.view.WindowInsets;
 import android.view.WindowInsetsController;
 import android.view.WindowManager;
+import android.webkit.WebResourceRequest;
+import android.webkit.WebResourceResponse;
 import android.webkit.WebView;
 
 import com.getcapacitor.BridgeActivity;
+import com.getcapacitor.BridgeWebViewClient;
+import com.getcapacitor.PluginHandle;
+import com.getcapacitor.WebViewListener;
 
 public class MainActivity extends BridgeActivity {
 
     @Override
     protected void onCreate(Bundle savedInstanceState) {
+        StartupTracer tracer = StartupTracer.get();
+        tracer.mark(StartupTracer.MARK_ACTIVITY_CREATE);
+        if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.N) {
+            tracer.setProcessStartOffsetMs(SystemClock.uptimeMillis() - Process.getStartUptimeMillis());
+        }
+
+        // Decrypt the saved session while the bridge and WebView spin up, so the
+        // first TokenVault.get from JS is answered from memory.
+        TokenVault.get(this).preload();
+        // Start the session-critical network calls in parallel with bridge and React start-up.
+        SessionPrefetcher.get(this).start();
+
         registerPlugin(AuthWebViewPlugin.class);
+        registerPlugin(TokenVaultPlugin.class);
+        registerPlugin(TokenRefreshPlugin.class);
+        registerPlugin(StartupTracePlugin.class);
+        registerPlugin(SessionPrefetchPlugin.class);
+        registerPlugin(StreamPerformancePlugin.class);
+        registerPlugin(GamepadPlugin.class);
+        registerPlugin(PointerCapturePlugin.class);
+        registerPlugin(KeyboardCapturePlugin.class);
+        registerPlugin(BinaryChannelPlugin.class);
+        registerPlugin(NativeHttpPlugin.class);
+        registerPlugin(GameArtPlugin.class);
+        registerPlugin(GameCatalogPlugin.class);
+        registerPlugin(SignalingPlugin.class);
+        registerPlugin(SessionQueuePlugin.class);
+        registerPlugin(RegionLatencyPlugin.class);
+        registerPlugin(NetworkMonitorPlugin.class);
+        tracer.mark(StartupTracer.MARK_PLUGINS_REGISTERED);
+
         super.onCreate(savedInstanceState);
+        tracer.mark(StartupTracer.MARK_BRIDGE_READY);
+        bridge.addWebViewListener(new WebViewListener() {
+            @Override
+            public void onPageCommitVisible(WebView view, String url) {
+                StartupTracer.get().mark(StartupTracer.MARK_WEBVIEW_FIRST_PAINT);
+            }
+
+            @Override
+            public void onPageLoaded(WebView webView) {
+                StartupTracer.get().mark(StartupTracer.MARK_WEBVIEW_PAGE_LOADED);
+            }
+        });
+
+        // Serve game box art from the native two-tier cache; everything else goes to Capacitor.
+        // The cache is created on the first art request, on the WebView IO thread, so its
+        // disk index and saved display width are never read on the main thread.
+        Context appContext = getApplicationContext();
+        bridge.setWebViewClient(new BridgeWebViewClient(bridge) {
+            @Override
+            public WebResourceResponse shouldInterceptRequest(WebView view, WebResourceRequest request) {
+                WebResourceResponse art = GameArtCache.isArtUrl(request.getUrl())
+                    ? GameArtCache.get(appContext).intercept(request)
+                    : null;
+                return art != null ? art : super.shouldInterceptRequest(view, request);
+            }
+        });
+
         getWindow().addFlags(WindowManager.LayoutParams.FLAG_KEEP_SCREEN_ON);
 
         // Enable WebView remote debugging when the APK is debuggable.
@@ -25,6 +92,47 @@ public class MainActivity extends BridgeActivity {
         if ((getApplicationInfo().flags & ApplicationInfo.FLAG_DEBUGGABLE) != 0) {
             WebView.setWebContentsDebuggingEnabled(true);
         }
+
+        // Build the auth WebView once the first frame is out of the way so a
+        // later login (or the re-login after token expiry) opens instantly.
+        AuthWebViewPool.open(this);
+    }
+
+    @Override
+    public void onResume() {
+        super.onResume();
+        // Refresh ahead of expiry off the WebView, and re-arm after background stretches
+        // where the timer may have been deferred.
+        TokenRefreshScheduler.get(this).start();
+    }
+
+    @Override
+    public void onDestroy() {
+        AuthWebViewPool.clear();
+        super.onDestroy();
+    }
+
+    @Override
+    public boolean dispatchKeyEvent(KeyEvent event) {
+        NativeGamepadSource gamepads = NativeGamepadSource.peek();
+        if (gamepads != null && gamepads.onKeyEvent(event)) return true;
+        NativeKeyboardSource keyboard = NativeKeyboardSource.peek();
+        if (keyboard != null && keyboard.onKeyEvent(event)) return true;
+        return super.dispatchKeyEvent(event);
+    }
+
+    @Override
+    public boolean dispatchGenericMotionEvent(MotionEvent event) {
+        NativeGamepadSource gamepads = NativeGamepadSource.peek();
+        if (gamepads != null && gamepads.onMotionEvent(event)) return true;
+        return super.dispatchGenericMotionEvent(event);
+    }
+
+    @Override
+    public void onPointerCaptureChanged(boolean hasCapture) {
+        super.onPointerCaptureChanged(hasCapture);
+        PluginHandle handle = bridge != null ? bridge.getPlugin("PointerCapture") : null;
+        if (handle != null) ((PointerCapturePlugin) handle.getInstance()).onCaptureChanged(hasCapture);
     }
 
     public void enterImmersiveMode() {
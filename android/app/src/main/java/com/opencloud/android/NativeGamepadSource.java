@@ -0,0 +1,240 @@
+package com.opencloud.android;
+
+import android.content.Context;
+import android.hardware.input.InputManager;
+import android.os.Handler;
+import android.os.Looper;
+import android.os.SystemClock;
+import android.util.SparseIntArray;
+import android.view.InputDevice;
+import android.view.KeyEvent;
+import android.view.MotionEvent;
+
+/**
+ * Reads controllers from the activity's key and generic motion dispatch instead of having
+ * the WebView poll {@code navigator.getGamepads()}. Devices are assigned to the four GFN
+ * slots in connection order; a slot's state is reported only when it actually changes,
+ * plus on hot-plug through {@link InputManager.InputDeviceListener}. Main thread only.
+ */
+final class NativeGamepadSource implements InputManager.InputDeviceListener {
+
+    static final int MAX_SLOTS = 4;
+
+    interface Listener {
+        /** {@code timestampMs} is the event time on the {@link SystemClock#uptimeMillis} clock. */
+        void onPadState(int slot, Pad pad, long timestampMs);
+    }
+
+    static final class Pad {
+        int deviceId = -1;
+        String name = "";
+        boolean connected;
+        int buttons;
+        int leftTrigger;
+        int rightTrigger;
+        int leftStickX;
+        int leftStickY;
+        int rightStickX;
+        int rightStickY;
+
+        // Digital buttons and the hat are tracked apart so one cannot clear the other.
+        int keyButtons;
+        int hatButtons;
+        boolean analogTriggers;
+
+        void clear() {
+            deviceId = -1;
+            name = "";
+            connected = false;
+            buttons = keyButtons = hatButtons = 0;
+            leftTrigger = rightTrigger = 0;
+            leftStickX = leftStickY = rightStickX = rightStickY = 0;
+            analogTriggers = false;
+        }
+    }
+
+    private static volatile NativeGamepadSource instance;
+
+    private final InputManager inputManager;
+    private final Pad[] pads = new Pad[MAX_SLOTS];
+    private final SparseIntArray slotByDevice = new SparseIntArray();
+    private final float[] stick = new float[2];
+    private Listener listener;
+    private boolean running;
+
+    private NativeGamepadSource(Context context) {
+        inputManager = (InputManager) context.getSystemService(Context.INPUT_SERVICE);
+        for (int i = 0; i < MAX_SLOTS; i++) pads[i] = new Pad();
+    }
+
+    static NativeGamepadSource get(Context context) {
+        NativeGamepadSource local = instance;
+        if (local == null) {
+            synchronized (NativeGamepadSource.class) {
+                local = instance;
+                if (local == null) {
+                    local = new NativeGamepadSource(context.getApplicationContext());
+                    instance = local;
+                }
+            }
+        }
+        return local;
+    }
+
+    /** Null until the source has been created, so the activity does not create it per event. */
+    static NativeGamepadSource peek() {
+        return instance;
+    }
+
+    boolean isRunning() {
+        return running;
+    }
+
+    /** Starts capturing and reports every controller that is already attached. */
+    void start(Listener listener) {
+        this.listener = listener;
+        if (running) return;
+        running = true;
+        inputManager.registerInputDeviceListener(this, new Handler(Looper.getMainLooper()));
+        for (int deviceId : inputManager.getInputDeviceIds()) onInputDeviceAdded(deviceId);
+    }
+
+    void stop() {
+        if (!running) return;
+        running = false;
+        inputManager.unregisterInputDeviceListener(this);
+        slotByDevice.clear();
+        for (Pad pad : pads) pad.clear();
+        listener = null;
+    }
+
+    /** Returns true when the event came from a tracked controller and was consumed. */
+    boolean onKeyEvent(KeyEvent event) {
+        if (!running || !isGamepad(event.getDevice())) return false;
+        int flag = GamepadMapper.buttonFlag(event.getKeyCode());
+        int keyCode = event.getKeyCode();
+        boolean trigger = keyCode == KeyEvent.KEYCODE_BUTTON_L2 || keyCode == KeyEvent.KEYCODE_BUTTON_R2;
+        if (flag == 0 && !trigger) return false;
+
+        int slot = slotFor(event.getDeviceId());
+        if (slot < 0) return true;
+        if (event.getAction() != KeyEvent.ACTION_DOWN && event.getAction() != KeyEvent.ACTION_UP) return true;
+        boolean down = event.getAction() == KeyEvent.ACTION_DOWN;
+
+        Pad pad = pads[slot];
+        if (trigger) {
+            // Only digital triggers drive the value from key events; analog ones report via axes.
+            if (pad.analogTriggers) return true;
+            if (keyCode == KeyEvent.KEYCODE_BUTTON_L2) pad.leftTrigger = down ? 255 : 0;
+            else pad.rightTrigger = down ? 255 : 0;
+            emit(slot, event.getEventTime());
+            return true;
+        }
+
+        int before = pad.keyButtons;
+        pad.keyButtons = down ? before | flag : before & ~flag;
+        if (pad.keyButtons != before) {
+            pad.buttons = pad.keyButtons | pad.hatButtons;
+            emit(slot, event.getEventTime());
+        }
+        return true;
+    }
+
+    boolean onMotionEvent(MotionEvent event) {
+        if (!running || event.getAction() != MotionEvent.ACTION_MOVE) return false;
+        int source = event.getSource();
+        if ((source & InputDevice.SOURCE_JOYSTICK) != InputDevice.SOURCE_JOYSTICK
+            && (source & InputDevice.SOURCE_GAMEPAD) != InputDevice.SOURCE_GAMEPAD) return false;
+
+        int slot = slotFor(event.getDeviceId());
+        if (slot < 0) return true;
+        Pad pad = pads[slot];
+
+        GamepadMapper.applyDeadzone(event.getAxisValue(MotionEvent.AXIS_X), event.getAxisValue(MotionEvent.AXIS_Y), stick);
+        int lx = GamepadMapper.toInt16(stick[0]);
+        int ly = GamepadMapper.toInt16(-stick[1]);
+        GamepadMapper.applyDeadzone(event.getAxisValue(MotionEvent.AXIS_Z), event.getAxisValue(MotionEvent.AXIS_RZ), stick);
+        int rx = GamepadMapper.toInt16(stick[0]);
+        int ry = GamepadMapper.toInt16(-stick[1]);
+
+        int lt = pad.leftTrigger;
+        int rt = pad.rightTrigger;
+        if (pad.analogTriggers) {
+            lt = GamepadMapper.toUint8(Math.max(event.getAxisValue(MotionEvent.AXIS_LTRIGGER), event.getAxisValue(MotionEvent.AXIS_BRAKE)));
+            rt = GamepadMapper.toUint8(Math.max(event.getAxisValue(MotionEvent.AXIS_RTRIGGER), event.getAxisValue(MotionEvent.AXIS_GAS)));
+        }
+        int hat = GamepadMapper.hatFlags(event.getAxisValue(MotionEvent.AXIS_HAT_X), event.getAxisValue(MotionEvent.AXIS_HAT_Y));
+
+        if (lx == pad.leftStickX && ly == pad.leftStickY && rx == pad.rightStickX && ry == pad.rightStickY
+            && lt == pad.leftTrigger && rt == pad.rightTrigger && hat == pad.hatButtons) return true;
+
+        pad.leftStickX = lx;
+        pad.leftStickY = ly;
+        pad.rightStickX = rx;
+        pad.rightStickY = ry;
+        pad.leftTrigger = lt;
+        pad.rightTrigger = rt;
+        pad.hatButtons = hat;
+        pad.buttons = pad.keyButtons | pad.hatButtons;
+        emit(slot, event.getEventTime());
+        return true;
+    }
+
+    @Override
+    public void onInputDeviceAdded(int deviceId) {
+        if (isGamepad(inputManager.getInputDevice(deviceId))) slotFor(deviceId);
+    }
+
+    @Override
+    public void onInputDeviceRemoved(int deviceId) {
+        int slot = slotByDevice.get(deviceId, -1);
+        if (slot < 0) return;
+        slotByDevice.delete(deviceId);
+        pads[slot].clear();
+        emit(slot, SystemClock.uptimeMillis());
+    }
+
+    @Override
+    public void onInputDeviceChanged(int deviceId) {
+        int slot = slotByDevice.get(deviceId, -1);
+        InputDevice device = inputManager.getInputDevice(deviceId);
+        if (slot >= 0 && device != null) pads[slot].analogTriggers = hasAnalogTriggers(device);
+    }
+
+    /** Slot for the device, assigning the lowest free one on first sight; -1 when all are taken. */
+    private int slotFor(int deviceId) {
+        int slot = slotByDevice.get(deviceId, -1);
+        if (slot >= 0) return slot;
+        for (int i = 0; i < MAX_SLOTS; i++) {
+            if (pads[i].connected) continue;
+            InputDevice device = inputManager.getInputDevice(deviceId);
+            Pad pad = pads[i];
+            pad.clear();
+            pad.deviceId = deviceId;
+            pad.connected = true;
+            pad.name = device != null ? device.getName() : "";
+            pad.analogTriggers = device != null && hasAnalogTriggers(device);
+            slotByDevice.put(deviceId, i);
+            emit(i, SystemClock.uptimeMillis());
+            return i;
+        }
+        return -1;
+    }
+
+    private void emit(int slot, long timestampMs) {
+        Listener l = listener;
+        if (l != null) l.onPadState(slot, pads[slot], timestampMs);
+    }
+
+    private static boolean isGamepad(InputDevice device) {
+        if (device == null || device.isVirtual()) return false;
+        int sources = device.getSources();
+        return (sources & InputDevice.SOURCE_GAMEPAD) == InputDevice.SOURCE_GAMEPAD
+            || (sources & InputDevice.SOURCE_JOYSTICK) == InputDevice.SOURCE_JOYSTICK;
+    }
+
+    private static boolean hasAnalogTriggers(InputDevice device) {
+        return device.getMotionRange(MotionEvent.AXIS_LTRIGGER) != null
+            || device.getMotionRange(MotionEvent.AXIS_BRAKE) != null;
+    }
+}
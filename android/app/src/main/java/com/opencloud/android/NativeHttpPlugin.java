@@ -0,0 +1,312 @@
+package com.opencloud.android;
+
+import android.text.TextUtils;
+
+import androidx.annotation.NonNull;
+
+import com.getcapacitor.JSArray;
+import com.getcapacitor.JSObject;
+import com.getcapacitor.Plugin;
+import com.getcapacitor.PluginCall;
+import com.getcapacitor.PluginMethod;
+import com.getcapacitor.annotation.CapacitorPlugin;
+
+import org.json.JSONArray;
+import org.json.JSONException;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import okhttp3.Call;
+import okhttp3.Callback;
+import okhttp3.HttpUrl;
+import okhttp3.MediaType;
+import okhttp3.OkHttpClient;
+import okhttp3.Request;
+import okhttp3.RequestBody;
+import okhttp3.Response;
+import okhttp3.ResponseBody;
+
+/**
+ * Replacement for {@code CapacitorHttp.request} backed by {@link SharedHttpClient}: pooled
+ * keep-alive connections, HTTP/2, TLS session resumption and transparent gzip. Takes the
+ * same {@code url / method / headers / params / data / connectTimeout / readTimeout} shape
+ * and resolves {@code status / headers / data / url}; {@code data} is always the body text.
+ * GETs that pass {@code cache: { maxStaleSeconds, ignoreParams, onlyIfCached }} go through
+ * {@link HttpResponseCache}; when a background revalidation brings a changed body it is
+ * emitted as {@code cacheUpdated} with the same shape plus {@code cacheKey}. Identical
+ * GET/HEAD requests already in flight share one call and one result ({@link SingleFlight}).
+ * With {@code decode: "gfnPanels"} a 2xx body is run through {@link PanelDecoder} and comes
+ * back as {@code decoded} instead of {@code data}; a body it can't read stays {@code data}.
+ */
+@CapacitorPlugin(name = "NativeHttp")
+public class NativeHttpPlugin extends Plugin {
+
+    private final ExecutorService cachedRequests = Executors.newFixedThreadPool(4);
+    private final SingleFlight<JSObject> flights = new SingleFlight<>();
+    private HttpResponseCache cache;
+
+    @Override
+    public void load() {
+        cache = HttpResponseCache.get(getContext());
+        cache.setUpdateListener((key, fresh) -> {
+            JSObject event = entryResult(fresh);
+            event.put("cacheKey", key);
+            notifyListeners("cacheUpdated", event, true);
+        });
+    }
+
+    @PluginMethod
+    public void clearCache(PluginCall call) {
+        cache.clear();
+        call.resolve();
+    }
+
+    @PluginMethod
+    public void request(PluginCall call) {
+        String url = call.getString("url");
+        HttpUrl parsed = url != null ? HttpUrl.parse(url) : null;
+        if (parsed == null) {
+            call.reject("Invalid url " + url);
+            return;
+        }
+        String method = call.getString("method", "GET").toUpperCase(Locale.ROOT);
+        String decode = call.getString("decode");
+        if (decode != null && !PanelDecoder.NAME.equals(decode)) {
+            call.reject("Unknown decoder " + decode);
+            return;
+        }
+
+        HttpUrl.Builder urlBuilder = parsed.newBuilder();
+        JSObject params = call.getObject("params");
+        if (params != null) {
+            for (Iterator<String> keys = params.keys(); keys.hasNext(); ) {
+                String key = keys.next();
+                urlBuilder.addQueryParameter(key, params.getString(key));
+            }
+        }
+
+        Request.Builder request = new Request.Builder().url(urlBuilder.build());
+        String contentType = null;
+        JSObject headers = call.getObject("headers");
+        if (headers != null) {
+            for (Iterator<String> keys = headers.keys(); keys.hasNext(); ) {
+                String name = keys.next();
+                String value = headers.getString(name);
+                if (value == null) continue;
+                if ("content-type".equalsIgnoreCase(name)) contentType = value;
+                request.header(name, value);
+            }
+        }
+
+        String data = call.getString("data");
+        RequestBody body = null;
+        if (data != null || requiresBody(method)) {
+            MediaType mediaType = contentType != null ? MediaType.parse(contentType) : null;
+            body = RequestBody.create(data != null ? data : "", mediaType);
+        }
+        if ("GET".equals(method) || "HEAD".equals(method)) body = null;
+        try {
+            request.method(method, body);
+        } catch (IllegalArgumentException e) {
+            call.reject(e.getMessage(), e);
+            return;
+        }
+
+        Request built = request.build();
+        JSObject cacheOptions = call.getObject("cache");
+        HttpResponseCache.Policy policy = cacheOptions != null && "GET".equals(method) ? policyOf(cacheOptions) : null;
+        SingleFlight.Waiter<JSObject> done = new SingleFlight.Waiter<JSObject>() {
+            @Override
+            public void onResult(JSObject result) {
+                call.resolve(result);
+            }
+
+            @Override
+            public void onError(Exception error) {
+                call.reject(error.getMessage() != null ? error.getMessage() : error.toString(), error);
+            }
+        };
+        if ("GET".equals(method) || "HEAD".equals(method)) {
+            String key = flightKey(built, cacheOptions, policy, decode);
+            String endpoint = built.url().host() + built.url().encodedPath();
+            if (!flights.join(key, endpoint, done)) return;
+            done = leaderOf(key);
+        }
+
+        if (policy != null) {
+            OkHttpClient client = client(call);
+            SingleFlight.Waiter<JSObject> cacheDone = done;
+            try {
+                cachedRequests.execute(() -> {
+                    try {
+                        HttpResponseCache.Result cached = cache.execute(client, built, policy);
+                        JSObject result = entryResult(cached.entry);
+                        if (decode != null) decodeOrKeepText(result, cached.entry.status, cached.entry.body);
+                        if (cached.protocol != null) result.put("protocol", cached.protocol);
+                        result.put("fromCache", cached.source != HttpResponseCache.Source.NETWORK);
+                        result.put("cacheKey", cached.key);
+                        cacheDone.onResult(result);
+                    } catch (IOException | RuntimeException e) {
+                        // Anything escaping here would leave the key in flight and its waiters hanging.
+                        cacheDone.onError(e);
+                    }
+                });
+            } catch (RuntimeException e) {
+                cacheDone.onError(e);
+            }
+            return;
+        }
+
+        SingleFlight.Waiter<JSObject> networkDone = done;
+        try {
+            enqueue(client(call), built, decode, networkDone);
+        } catch (RuntimeException e) {
+            networkDone.onError(e);
+        }
+    }
+
+    private static void enqueue(OkHttpClient client, Request built, String decode, SingleFlight.Waiter<JSObject> networkDone) {
+        client.newCall(built).enqueue(new Callback() {
+            @Override
+            public void onFailure(@NonNull Call httpCall, @NonNull IOException e) {
+                networkDone.onError(e);
+            }
+
+            @Override
+            public void onResponse(@NonNull Call httpCall, @NonNull Response response) {
+                try (Response r = response) {
+                    ResponseBody responseBody = r.body();
+                    JSObject result = new JSObject();
+                    result.put("status", r.code());
+                    result.put("url", r.request().url().toString());
+                    result.put("protocol", r.protocol().toString());
+                    result.put("headers", headersOf(r));
+                    // Buffered rather than streamed into the decoder, so a schema change can
+                    // fall back to the text instead of failing the request.
+                    String text = responseBody != null ? responseBody.string() : "";
+                    result.put("data", text);
+                    if (decode != null) decodeOrKeepText(result, r.code(), text);
+                    networkDone.onResult(result);
+                } catch (IOException | RuntimeException e) {
+                    networkDone.onError(e);
+                }
+            }
+        });
+    }
+
+    /** Per-endpoint request and coalesced counts since the last reset. */
+    @PluginMethod
+    public void getStats(PluginCall call) {
+        JSArray endpoints = new JSArray();
+        for (Map.Entry<String, SingleFlight.EndpointStats> entry : flights.stats().entrySet()) {
+            JSObject endpoint = new JSObject();
+            endpoint.put("endpoint", entry.getKey());
+            endpoint.put("requests", entry.getValue().requests);
+            endpoint.put("coalesced", entry.getValue().coalesced);
+            endpoints.put(endpoint);
+        }
+        JSObject result = new JSObject();
+        result.put("endpoints", endpoints);
+        result.put("inFlight", flights.inFlightCount());
+        if (Boolean.TRUE.equals(call.getBoolean("reset", false))) flights.resetStats();
+        call.resolve(result);
+    }
+
+    private SingleFlight.Waiter<JSObject> leaderOf(String key) {
+        return new SingleFlight.Waiter<JSObject>() {
+            @Override
+            public void onResult(JSObject result) {
+                flights.complete(key, result);
+            }
+
+            @Override
+            public void onError(Exception error) {
+                flights.fail(key, error);
+            }
+        };
+    }
+
+    /** Identical means same method, URL, headers, cache policy and decoder; timeouts don't matter. */
+    /**
+     * Cached GETs are keyed like the cache itself, so requests that differ only in ignored
+     * params (the random {@code huId} on panels) share one flight.
+     */
+    private static String flightKey(Request request, JSObject cacheOptions, HttpResponseCache.Policy policy, String decode) {
+        String target = policy != null
+            ? HttpResponseCache.cacheKey(request.method(), request.url(), policy.ignoreParams)
+            : request.method() + ' ' + request.url();
+        return target + '\n' + request.headers()
+            + (cacheOptions != null ? cacheOptions.toString() : "")
+            + (decode != null ? "\ndecode=" + decode : "");
+    }
+
+    /**
+     * Swaps {@code data} for {@code decoded} on a 2xx body. A body the decoder can't read is
+     * left as text so JS parses it the old way.
+     */
+    private static void decodeOrKeepText(JSObject result, int status, String body) {
+        if (status < 200 || status >= 300) return;
+        try {
+            result.put("decoded", PanelDecoder.decode(new StringReader(body)));
+            result.remove("data");
+        } catch (IOException | JSONException ignored) {
+            // Keep data.
+        }
+    }
+
+    private static HttpResponseCache.Policy policyOf(JSObject options) {
+        long maxStaleMs = options.optLong("maxStaleSeconds", 0) * 1000;
+        Set<String> ignoreParams = new HashSet<>();
+        JSONArray ignore = options.optJSONArray("ignoreParams");
+        if (ignore != null) {
+            for (int i = 0; i < ignore.length(); i++) ignoreParams.add(ignore.optString(i));
+        }
+        return new HttpResponseCache.Policy(maxStaleMs, ignoreParams, options.optBoolean("onlyIfCached", false));
+    }
+
+    private static JSObject entryResult(HttpResponseCache.Entry entry) {
+        JSObject result = new JSObject();
+        result.put("status", entry.status);
+        result.put("url", entry.url);
+        JSObject headers = new JSObject();
+        for (Map.Entry<String, String> header : entry.headers.entrySet()) {
+            headers.put(header.getKey(), header.getValue());
+        }
+        result.put("headers", headers);
+        result.put("data", entry.body);
+        return result;
+    }
+
+    private static boolean requiresBody(String method) {
+        return "POST".equals(method) || "PUT".equals(method) || "PATCH".equals(method);
+    }
+
+    private static OkHttpClient client(PluginCall call) {
+        OkHttpClient shared = SharedHttpClient.get();
+        Integer connectTimeout = call.getInt("connectTimeout");
+        Integer readTimeout = call.getInt("readTimeout");
+        if (connectTimeout == null && readTimeout == null) return shared;
+        OkHttpClient.Builder builder = shared.newBuilder();
+        if (connectTimeout != null) builder.connectTimeout(connectTimeout, TimeUnit.MILLISECONDS);
+        if (readTimeout != null) builder.readTimeout(readTimeout, TimeUnit.MILLISECONDS);
+        return builder.build();
+    }
+
+    private static JSObject headersOf(Response response) {
+        JSObject headers = new JSObject();
+        for (Map.Entry<String, List<String>> entry : response.headers().toMultimap().entrySet()) {
+            headers.put(entry.getKey(), TextUtils.join(", ", entry.getValue()));
+        }
+        return headers;
+    }
+}
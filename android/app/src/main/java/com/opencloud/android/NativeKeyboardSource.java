@@ -0,0 +1,105 @@
+package com.opencloud.android;
+
+import android.os.Handler;
+import android.os.Looper;
+import android.view.InputDevice;
+import android.view.KeyEvent;
+
+/**
+ * Reads hardware keyboard events in the activity's key dispatch while a stream is active
+ * and batches them as fixed 6-byte records, flushed once per main-loop turn:
+ * {@code [flags][modifiers][vk u16 LE][scancode u16 LE]}, where flag bit 0 is key-down and
+ * bit 1 is auto-repeat. Main thread only.
+ */
+final class NativeKeyboardSource {
+
+    interface Listener {
+        /** {@code firstEventTimeMs} is the uptime event time of the oldest record. */
+        void onKeys(byte[] records, int length, long firstEventTimeMs);
+    }
+
+    static final int RECORD_SIZE = 6;
+    static final int FLAG_DOWN = 0x01;
+    static final int FLAG_REPEAT = 0x02;
+
+    private static final int MAX_RECORDS = 64;
+    private static volatile NativeKeyboardSource instance;
+
+    private final Handler mainHandler = new Handler(Looper.getMainLooper());
+    private final byte[] batch = new byte[MAX_RECORDS * RECORD_SIZE];
+    private final Runnable flush = this::flush;
+    private int length = 0;
+    private long firstEventTimeMs = 0;
+    private Listener listener;
+
+    static NativeKeyboardSource get() {
+        NativeKeyboardSource local = instance;
+        if (local == null) {
+            synchronized (NativeKeyboardSource.class) {
+                local = instance;
+                if (local == null) {
+                    local = new NativeKeyboardSource();
+                    instance = local;
+                }
+            }
+        }
+        return local;
+    }
+
+    static NativeKeyboardSource peek() {
+        return instance;
+    }
+
+    void start(Listener listener) {
+        this.listener = listener;
+    }
+
+    void stop() {
+        mainHandler.removeCallbacks(flush);
+        length = 0;
+        listener = null;
+    }
+
+    /**
+     * Records the event when it comes from a physical keyboard and maps to a VK. Returns
+     * true when the WebView must not see it as well (see {@link KeyboardMapper#isSystemKey}).
+     */
+    boolean onKeyEvent(KeyEvent event) {
+        if (listener == null || !isHardwareKeyboard(event)) return false;
+        int action = event.getAction();
+        if (action != KeyEvent.ACTION_DOWN && action != KeyEvent.ACTION_UP) return false;
+        int keyCode = event.getKeyCode();
+        int vk = KeyboardMapper.vk(keyCode);
+        if (vk == 0) return false;
+
+        if (length + RECORD_SIZE > batch.length) flush();
+        int flags = (action == KeyEvent.ACTION_DOWN ? FLAG_DOWN : 0) | (event.getRepeatCount() > 0 ? FLAG_REPEAT : 0);
+        int scancode = KeyboardMapper.scancode(keyCode);
+        batch[length] = (byte) flags;
+        batch[length + 1] = (byte) KeyboardMapper.modifierFlags(event.getMetaState());
+        batch[length + 2] = (byte) vk;
+        batch[length + 3] = (byte) (vk >>> 8);
+        batch[length + 4] = (byte) scancode;
+        batch[length + 5] = (byte) (scancode >>> 8);
+        if (length == 0) {
+            firstEventTimeMs = event.getEventTime();
+            mainHandler.post(flush);
+        }
+        length += RECORD_SIZE;
+        return KeyboardMapper.isSystemKey(keyCode);
+    }
+
+    private void flush() {
+        mainHandler.removeCallbacks(flush);
+        Listener l = listener;
+        if (l != null && length > 0) l.onKeys(batch, length, firstEventTimeMs);
+        length = 0;
+    }
+
+    private static boolean isHardwareKeyboard(KeyEvent event) {
+        InputDevice device = event.getDevice();
+        if (device == null || device.isVirtual()) return false;
+        if (event.isFromSource(InputDevice.SOURCE_GAMEPAD) || event.isFromSource(InputDevice.SOURCE_JOYSTICK)) return false;
+        return event.isFromSource(InputDevice.SOURCE_KEYBOARD);
+    }
+}
@@ -0,0 +1,84 @@
+package com.opencloud.android;
+
+import android.content.Context;
+import android.net.ConnectivityManager;
+import android.net.LinkProperties;
+import android.net.Network;
+import android.net.NetworkCapabilities;
+import android.net.RouteInfo;
+import android.telephony.TelephonyManager;
+
+import androidx.annotation.Nullable;
+
+import java.net.InetAddress;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Stable, anonymous key for the network the device is on, so per-network measurements can
+ * be reused when it comes back. Cellular uses the operator (MCC+MNC). Wi-Fi SSIDs need the
+ * location permission, so other networks hash what identifies the access network instead:
+ * default gateway, DNS servers and search domains.
+ */
+final class NetworkIdentity {
+
+    private NetworkIdentity() {}
+
+    static String key(Context context) {
+        ConnectivityManager cm = (ConnectivityManager) context.getSystemService(Context.CONNECTIVITY_SERVICE);
+        Network network = cm != null ? cm.getActiveNetwork() : null;
+        if (network == null) return "none";
+        return key(context, cm, network);
+    }
+
+    static String key(Context context, ConnectivityManager cm, Network network) {
+        NetworkCapabilities caps = cm.getNetworkCapabilities(network);
+        if (caps != null && caps.hasTransport(NetworkCapabilities.TRANSPORT_CELLULAR)) {
+            TelephonyManager tm = (TelephonyManager) context.getSystemService(Context.TELEPHONY_SERVICE);
+            String operator = tm != null ? tm.getNetworkOperator() : null;
+            return "cell:" + (operator == null || operator.isEmpty() ? "unknown" : operator);
+        }
+        String prefix = caps != null && caps.hasTransport(NetworkCapabilities.TRANSPORT_WIFI) ? "wifi:"
+            : caps != null && caps.hasTransport(NetworkCapabilities.TRANSPORT_ETHERNET) ? "eth:" : "net:";
+        return prefix + hash(linkParts(cm.getLinkProperties(network)));
+    }
+
+    private static List<String> linkParts(@Nullable LinkProperties link) {
+        List<String> parts = new ArrayList<>();
+        if (link == null) return parts;
+        for (RouteInfo route : link.getRoutes()) {
+            InetAddress gateway = route.getGateway();
+            if (route.isDefaultRoute() && gateway != null && !gateway.isAnyLocalAddress()) {
+                parts.add("gw=" + gateway.getHostAddress());
+            }
+        }
+        for (InetAddress dns : link.getDnsServers()) parts.add("dns=" + dns.getHostAddress());
+        if (link.getDomains() != null) parts.add("domains=" + link.getDomains());
+        Collections.sort(parts);
+        return parts;
+    }
+
+    /** First 16 hex chars of SHA-256 over the sorted parts; never the raw addresses. */
+    static String hash(List<String> parts) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            for (String part : parts) {
+                digest.update(part.getBytes(StandardCharsets.UTF_8));
+                digest.update((byte) '\n');
+            }
+            byte[] bytes = digest.digest();
+            StringBuilder hex = new StringBuilder(16);
+            for (int i = 0; i < 8; i++) {
+                hex.append(Character.forDigit((bytes[i] >> 4) & 0xf, 16));
+                hex.append(Character.forDigit(bytes[i] & 0xf, 16));
+            }
+            return hex.toString();
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
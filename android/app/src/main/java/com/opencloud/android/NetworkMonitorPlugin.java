@@ -0,0 +1,150 @@
+package com.opencloud.android;
+
+import android.content.Context;
+import android.net.ConnectivityManager;
+import android.net.Network;
+import android.net.NetworkCapabilities;
+import android.net.NetworkRequest;
+import android.os.Build;
+
+import androidx.annotation.NonNull;
+
+import com.getcapacitor.JSObject;
+import com.getcapacitor.Plugin;
+import com.getcapacitor.PluginCall;
+import com.getcapacitor.PluginMethod;
+import com.getcapacitor.annotation.CapacitorPlugin;
+
+/**
+ * Watches the default network with a {@link ConnectivityManager.NetworkCallback} and
+ * emits {@code networkChange} with transport, link bandwidth estimates, metered and
+ * validated state whenever one of them changes meaningfully ({@link NetworkState}), plus
+ * {@code handover: true} when the device switched networks, e.g. Wi-Fi to cellular.
+ */
+@CapacitorPlugin(name = "NetworkMonitor")
+public class NetworkMonitorPlugin extends Plugin {
+
+    private ConnectivityManager connectivity;
+    private ConnectivityManager.NetworkCallback callback;
+    private NetworkState state = NetworkState.NONE;
+    // Last state sent to JS; changes are measured against it so slow drift adds up.
+    private NetworkState reported = NetworkState.NONE;
+
+    @Override
+    public void load() {
+        connectivity = (ConnectivityManager) getContext().getSystemService(Context.CONNECTIVITY_SERVICE);
+        if (connectivity == null) return;
+        Network active = connectivity.getActiveNetwork();
+        NetworkCapabilities caps = active != null ? connectivity.getNetworkCapabilities(active) : null;
+        if (active != null && caps != null) state = stateOf(active, caps);
+        reported = state;
+
+        callback = new Callback();
+        try {
+            if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.N) {
+                connectivity.registerDefaultNetworkCallback(callback);
+            } else {
+                // API 23 has no default-network callback; Callback filters to the active network.
+                NetworkRequest request = new NetworkRequest.Builder()
+                    .addCapability(NetworkCapabilities.NET_CAPABILITY_INTERNET)
+                    .build();
+                connectivity.registerNetworkCallback(request, callback);
+            }
+        } catch (RuntimeException e) {
+            // Too many callbacks registered app-wide; getState() keeps the state seen at load.
+            callback = null;
+        }
+    }
+
+    @PluginMethod
+    public void getState(PluginCall call) {
+        NetworkState current;
+        synchronized (this) {
+            current = state;
+        }
+        call.resolve(toJs(current, "current", false));
+    }
+
+    @Override
+    protected void handleOnDestroy() {
+        if (connectivity != null && callback != null) {
+            try {
+                connectivity.unregisterNetworkCallback(callback);
+            } catch (IllegalArgumentException ignored) {
+                // Already unregistered.
+            }
+            callback = null;
+        }
+    }
+
+    private void update(NetworkState next, String reason) {
+        NetworkState previous;
+        synchronized (this) {
+            state = next;
+            previous = reported;
+            if (!NetworkState.isSignificant(previous, next)) return;
+            reported = next;
+        }
+        notifyListeners("networkChange", toJs(next, reason, NetworkState.isHandover(previous, next)), true);
+    }
+
+    private NetworkState stateOf(Network network, NetworkCapabilities caps) {
+        return new NetworkState(
+            true,
+            network.getNetworkHandle(),
+            transportOf(caps),
+            caps.getLinkDownstreamBandwidthKbps(),
+            caps.getLinkUpstreamBandwidthKbps(),
+            !caps.hasCapability(NetworkCapabilities.NET_CAPABILITY_NOT_METERED),
+            caps.hasCapability(NetworkCapabilities.NET_CAPABILITY_VALIDATED));
+    }
+
+    private static String transportOf(NetworkCapabilities caps) {
+        // VPN first: it rides on top of another transport, which it also reports.
+        if (caps.hasTransport(NetworkCapabilities.TRANSPORT_VPN)) return "vpn";
+        if (caps.hasTransport(NetworkCapabilities.TRANSPORT_WIFI)) return "wifi";
+        if (caps.hasTransport(NetworkCapabilities.TRANSPORT_ETHERNET)) return "ethernet";
+        if (caps.hasTransport(NetworkCapabilities.TRANSPORT_CELLULAR)) return "cellular";
+        return "other";
+    }
+
+    private static JSObject toJs(NetworkState s, String reason, boolean handover) {
+        JSObject result = new JSObject();
+        result.put("available", s.available);
+        result.put("transport", s.transport);
+        result.put("downKbps", s.downKbps);
+        result.put("upKbps", s.upKbps);
+        result.put("metered", s.metered);
+        result.put("validated", s.validated);
+        result.put("reason", reason);
+        result.put("handover", handover);
+        return result;
+    }
+
+    private final class Callback extends ConnectivityManager.NetworkCallback {
+        private boolean isDefault(Network network) {
+            return Build.VERSION.SDK_INT >= Build.VERSION_CODES.N || network.equals(connectivity.getActiveNetwork());
+        }
+
+        @Override
+        public void onAvailable(@NonNull Network network) {
+            // API 26+ follows up with onCapabilitiesChanged anyway; 23-25 may not.
+            NetworkCapabilities caps = connectivity.getNetworkCapabilities(network);
+            if (caps != null && isDefault(network)) update(stateOf(network, caps), "available");
+        }
+
+        @Override
+        public void onCapabilitiesChanged(@NonNull Network network, @NonNull NetworkCapabilities caps) {
+            if (isDefault(network)) update(stateOf(network, caps), "capabilities");
+        }
+
+        @Override
+        public void onLost(@NonNull Network network) {
+            boolean current;
+            synchronized (NetworkMonitorPlugin.this) {
+                current = state.handle == network.getNetworkHandle();
+            }
+            if (current) update(NetworkState.NONE, "lost");
+        }
+    }
+}
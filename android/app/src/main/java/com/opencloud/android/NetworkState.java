@@ -0,0 +1,53 @@
+package com.opencloud.android;
+
+/**
+ * Snapshot of the default network as {@link NetworkMonitorPlugin} reports it. Bandwidth
+ * figures are the platform's link estimates in kbps (0 when unknown); they move with
+ * signal strength, so only large swings count as a change worth telling JS about.
+ */
+final class NetworkState {
+
+    static final NetworkState NONE = new NetworkState(false, 0, "none", 0, 0, false, false);
+
+    /** Relative bandwidth change that is reported; smaller drifts are noise. */
+    static final double BANDWIDTH_CHANGE_RATIO = 0.25;
+
+    final boolean available;
+    /** {@code Network.getNetworkHandle()}; differs whenever the device moved to another network. */
+    final long handle;
+    final String transport;
+    final int downKbps;
+    final int upKbps;
+    final boolean metered;
+    final boolean validated;
+
+    NetworkState(boolean available, long handle, String transport, int downKbps, int upKbps,
+                 boolean metered, boolean validated) {
+        this.available = available;
+        this.handle = handle;
+        this.transport = transport;
+        this.downKbps = downKbps;
+        this.upKbps = upKbps;
+        this.metered = metered;
+        this.validated = validated;
+    }
+
+    /** The device left one network for another, or came back after having none. */
+    static boolean isHandover(NetworkState previous, NetworkState next) {
+        if (!next.available) return false;
+        return !previous.available || previous.handle != next.handle;
+    }
+
+    static boolean isSignificant(NetworkState previous, NetworkState next) {
+        if (previous.available != next.available || previous.handle != next.handle) return true;
+        if (!previous.transport.equals(next.transport)) return true;
+        if (previous.metered != next.metered || previous.validated != next.validated) return true;
+        return bandwidthMoved(previous.downKbps, next.downKbps) || bandwidthMoved(previous.upKbps, next.upKbps);
+    }
+
+    private static boolean bandwidthMoved(int before, int after) {
+        if (before == after) return false;
+        if (before <= 0 || after <= 0) return true;
+        return Math.abs(after - before) > before * BANDWIDTH_CHANGE_RATIO;
+    }
+}
@@ -0,0 +1,275 @@
+package com.opencloud.android;
+
+import android.util.JsonReader;
+import android.util.JsonToken;
+
+import com.getcapacitor.JSObject;
+
+import org.json.JSONArray;
+import org.json.JSONException;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.List;
+
+/**
+ * Stream-decodes a GraphQL panels response with {@link JsonReader} into compact GameInfo
+ * objects ({@link PanelGame}), doing what {@code flattenPanels} does in games.ts. Only the
+ * fields the catalog uses are kept; the rest is skipped without building a JSON tree, and
+ * JS receives the games instead of hundreds of KB of response text.
+ */
+final class PanelDecoder {
+
+    /** Value JS passes as {@code decode} to NativeHttp and SessionPrefetch. */
+    static final String NAME = "gfnPanels";
+
+    private PanelDecoder() {}
+
+    /** Resolves {@code { games, errors? }}; {@code errors} holds the GraphQL error messages. */
+    static JSObject decode(Reader source) throws IOException, JSONException {
+        JSONArray games = new JSONArray();
+        JSONArray errors = new JSONArray();
+        try (JsonReader reader = new JsonReader(source)) {
+            reader.beginObject();
+            while (reader.hasNext()) {
+                String name = reader.nextName();
+                if (skipNull(reader)) continue;
+                if ("data".equals(name)) {
+                    readData(reader, games);
+                } else if ("errors".equals(name)) {
+                    readErrors(reader, errors);
+                } else {
+                    reader.skipValue();
+                }
+            }
+            reader.endObject();
+        } catch (IllegalStateException e) {
+            // JsonReader's complaint about an unexpected token, e.g. an array where an object belongs.
+            throw new IOException("Unexpected panels response: " + e.getMessage(), e);
+        }
+        JSObject result = new JSObject();
+        result.put("games", games);
+        if (errors.length() > 0) result.put("errors", errors);
+        return result;
+    }
+
+    private static void readData(JsonReader reader, JSONArray games) throws IOException, JSONException {
+        reader.beginObject();
+        while (reader.hasNext()) {
+            String name = reader.nextName();
+            if (skipNull(reader)) continue;
+            if (!"panels".equals(name)) {
+                reader.skipValue();
+                continue;
+            }
+            reader.beginArray();
+            while (reader.hasNext()) {
+                if (skipNull(reader)) continue;
+                readObjectArray(reader, "sections", section -> readObjectArray(section, "items", item -> readItem(item, games)));
+            }
+            reader.endArray();
+        }
+        reader.endObject();
+    }
+
+    /** Reads an object, handing each element of its {@code field} array to {@code element}. */
+    private static void readObjectArray(JsonReader reader, String field, ElementReader element)
+            throws IOException, JSONException {
+        reader.beginObject();
+        while (reader.hasNext()) {
+            String name = reader.nextName();
+            if (skipNull(reader)) continue;
+            if (!field.equals(name)) {
+                reader.skipValue();
+                continue;
+            }
+            reader.beginArray();
+            while (reader.hasNext()) {
+                if (!skipNull(reader)) element.read(reader);
+            }
+            reader.endArray();
+        }
+        reader.endObject();
+    }
+
+    private static void readItem(JsonReader reader, JSONArray games) throws IOException, JSONException {
+        String typename = null;
+        PanelGame app = null;
+        reader.beginObject();
+        while (reader.hasNext()) {
+            String name = reader.nextName();
+            if (skipNull(reader)) continue;
+            if ("__typename".equals(name)) {
+                typename = reader.nextString();
+            } else if ("app".equals(name)) {
+                app = readApp(reader);
+            } else {
+                reader.skipValue();
+            }
+        }
+        reader.endObject();
+        if ("GameItem".equals(typename) && app != null) games.put(app.toGameInfo());
+    }
+
+    private static PanelGame readApp(JsonReader reader) throws IOException {
+        PanelGame app = new PanelGame();
+        reader.beginObject();
+        while (reader.hasNext()) {
+            String name = reader.nextName();
+            if (skipNull(reader)) continue;
+            switch (name) {
+                case "id":
+                    app.id = reader.nextString();
+                    break;
+                case "title":
+                    app.title = reader.nextString();
+                    break;
+                case "description":
+                    app.description = reader.nextString();
+                    break;
+                case "longDescription":
+                    app.longDescription = reader.nextString();
+                    break;
+                case "images":
+                    readImages(reader, app);
+                    break;
+                case "variants":
+                    reader.beginArray();
+                    while (reader.hasNext()) {
+                        if (!skipNull(reader)) app.variants.add(readVariant(reader));
+                    }
+                    reader.endArray();
+                    break;
+                case "gfn":
+                    reader.beginObject();
+                    while (reader.hasNext()) {
+                        String field = reader.nextName();
+                        if (skipNull(reader)) continue;
+                        if ("playType".equals(field)) {
+                            app.playType = reader.nextString();
+                        } else if ("minimumMembershipTierLabel".equals(field)) {
+                            app.membershipTierLabel = reader.nextString();
+                        } else {
+                            reader.skipValue();
+                        }
+                    }
+                    reader.endObject();
+                    break;
+                default:
+                    reader.skipValue();
+            }
+        }
+        reader.endObject();
+        return app;
+    }
+
+    private static void readImages(JsonReader reader, PanelGame app) throws IOException {
+        reader.beginObject();
+        while (reader.hasNext()) {
+            String name = reader.nextName();
+            if (skipNull(reader)) continue;
+            if ("GAME_BOX_ART".equals(name)) {
+                app.boxArt = reader.nextString();
+            } else if ("TV_BANNER".equals(name)) {
+                app.tvBanner = reader.nextString();
+            } else if ("HERO_IMAGE".equals(name)) {
+                app.heroImage = reader.nextString();
+            } else {
+                reader.skipValue();
+            }
+        }
+        reader.endObject();
+    }
+
+    private static PanelGame.Variant readVariant(JsonReader reader) throws IOException {
+        PanelGame.Variant variant = new PanelGame.Variant();
+        reader.beginObject();
+        while (reader.hasNext()) {
+            String name = reader.nextName();
+            if (skipNull(reader)) continue;
+            switch (name) {
+                case "id":
+                    variant.id = reader.nextString();
+                    break;
+                case "appStore":
+                    variant.store = reader.nextString();
+                    break;
+                case "supportedControls":
+                    readStrings(reader, variant.supportedControls);
+                    break;
+                case "gfn":
+                    // gfn.library.selected marks the variant the user owns.
+                    variant.selected = readSelected(reader);
+                    break;
+                default:
+                    reader.skipValue();
+            }
+        }
+        reader.endObject();
+        return variant;
+    }
+
+    private static boolean readSelected(JsonReader reader) throws IOException {
+        boolean selected = false;
+        reader.beginObject();
+        while (reader.hasNext()) {
+            String name = reader.nextName();
+            if (skipNull(reader)) continue;
+            if (!"library".equals(name)) {
+                reader.skipValue();
+                continue;
+            }
+            reader.beginObject();
+            while (reader.hasNext()) {
+                String field = reader.nextName();
+                if ("selected".equals(field) && reader.peek() == JsonToken.BOOLEAN) {
+                    selected = reader.nextBoolean();
+                } else {
+                    reader.skipValue();
+                }
+            }
+            reader.endObject();
+        }
+        reader.endObject();
+        return selected;
+    }
+
+    private static void readErrors(JsonReader reader, JSONArray errors) throws IOException {
+        reader.beginArray();
+        while (reader.hasNext()) {
+            if (skipNull(reader)) continue;
+            String message = null;
+            reader.beginObject();
+            while (reader.hasNext()) {
+                String name = reader.nextName();
+                if ("message".equals(name) && reader.peek() == JsonToken.STRING) {
+                    message = reader.nextString();
+                } else {
+                    reader.skipValue();
+                }
+            }
+            reader.endObject();
+            errors.put(message != null ? message : "Unknown GraphQL error");
+        }
+        reader.endArray();
+    }
+
+    private static void readStrings(JsonReader reader, List<String> into) throws IOException {
+        reader.beginArray();
+        while (reader.hasNext()) {
+            if (!skipNull(reader)) into.add(reader.nextString());
+        }
+        reader.endArray();
+    }
+
+    /** Consumes a {@code null} value, which the JS side treats like a missing field. */
+    private static boolean skipNull(JsonReader reader) throws IOException {
+        if (reader.peek() != JsonToken.NULL) return false;
+        reader.nextNull();
+        return true;
+    }
+
+    private interface ElementReader {
+        void read(JsonReader reader) throws IOException, JSONException;
+    }
+}
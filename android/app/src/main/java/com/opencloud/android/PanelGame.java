@@ -0,0 +1,94 @@
+package com.opencloud.android;
+
+import org.json.JSONArray;
+import org.json.JSONException;
+import org.json.JSONObject;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The parts of a panels {@code app} the catalog uses, read by {@link PanelDecoder}, and
+ * their mapping to the {@code GameInfo} JS renders. Mirrors {@code appToGame} in games.ts.
+ */
+final class PanelGame {
+
+    static final class Variant {
+        String id;
+        String store;
+        final List<String> supportedControls = new ArrayList<>();
+        boolean selected;
+    }
+
+    String id;
+    String title;
+    String description;
+    String longDescription;
+    String boxArt;
+    String tvBanner;
+    String heroImage;
+    String playType;
+    String membershipTierLabel;
+    final List<Variant> variants = new ArrayList<>();
+
+    JSONObject toGameInfo() throws JSONException {
+        int selectedIndex = 0;
+        for (int i = 0; i < variants.size(); i++) {
+            if (variants.get(i).selected) {
+                selectedIndex = i;
+                break;
+            }
+        }
+        String selectedVariantId = selectedIndex < variants.size() ? variants.get(selectedIndex).id : null;
+        String launchAppId = null;
+        if (isNumericId(selectedVariantId)) {
+            launchAppId = selectedVariantId;
+        } else {
+            for (Variant variant : variants) {
+                if (isNumericId(variant.id)) {
+                    launchAppId = variant.id;
+                    break;
+                }
+            }
+            if (launchAppId == null && isNumericId(id)) launchAppId = id;
+        }
+        String image = boxArt != null ? boxArt : tvBanner != null ? tvBanner : heroImage;
+
+        JSONArray variantsJson = new JSONArray();
+        for (Variant variant : variants) {
+            JSONObject json = new JSONObject();
+            json.putOpt("id", variant.id);
+            json.putOpt("store", variant.store);
+            json.put("supportedControls", new JSONArray(variant.supportedControls));
+            variantsJson.put(json);
+        }
+
+        // putOpt leaves out nulls, as JSON.stringify drops undefined.
+        JSONObject game = new JSONObject();
+        game.put("id", id + ":" + (selectedVariantId != null ? selectedVariantId : "default"));
+        game.putOpt("uuid", id);
+        game.putOpt("launchAppId", launchAppId);
+        game.putOpt("title", title);
+        game.putOpt("description", description != null ? description : longDescription);
+        game.putOpt("imageUrl", image != null && !image.isEmpty() ? optimizeImage(image) : null);
+        game.putOpt("playType", playType);
+        game.putOpt("membershipTierLabel", membershipTierLabel);
+        game.put("selectedVariantIndex", selectedIndex);
+        game.put("variants", variantsJson);
+        return game;
+    }
+
+    /** Same 272 px baseline as games.ts; GameArtCache resizes it for the device later. */
+    static String optimizeImage(String url) {
+        return url.contains("img.nvidiagrid.net") ? url + ";f=webp;w=272" : url;
+    }
+
+    static boolean isNumericId(String value) {
+        if (value == null || value.isEmpty()) return false;
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c < '0' || c > '9') return false;
+        }
+        return true;
+    }
+}
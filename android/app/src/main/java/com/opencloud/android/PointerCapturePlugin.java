@@ -0,0 +1,163 @@
+package com.opencloud.android;
+
+import android.os.Build;
+import android.os.Handler;
+import android.os.Looper;
+import android.view.InputDevice;
+import android.view.MotionEvent;
+import android.view.View;
+
+import com.getcapacitor.JSObject;
+import com.getcapacitor.Plugin;
+import com.getcapacitor.PluginCall;
+import com.getcapacitor.PluginMethod;
+import com.getcapacitor.annotation.CapacitorPlugin;
+
+/**
+ * Relative mouse input through {@link View#requestPointerCapture} on the bridge WebView,
+ * which is the activity's content. Captured motion, including historical samples, is
+ * accumulated natively and emitted as {@code pointerMotion} batches every
+ * {@link #BATCH_INTERVAL_MS}, so the client's mouse flush timer drains precise deltas
+ * rather than WebView-coalesced ones. Buttons and wheel arrive as separate events.
+ */
+@CapacitorPlugin(name = "PointerCapture")
+public class PointerCapturePlugin extends Plugin {
+
+    private static final long BATCH_INTERVAL_MS = 4;
+    private static final float WHEEL_DELTA = 120f;
+
+    private final Handler mainHandler = new Handler(Looper.getMainLooper());
+    private final RelativeMotionAccumulator motion = new RelativeMotionAccumulator();
+    private final Runnable flushMotion = this::flushMotion;
+    private boolean flushScheduled = false;
+    private boolean wanted = false;
+
+    @PluginMethod
+    public void request(PluginCall call) {
+        if (Build.VERSION.SDK_INT < Build.VERSION_CODES.O) {
+            call.unavailable("Pointer capture requires Android 8.0");
+            return;
+        }
+        mainHandler.post(() -> {
+            View view = getBridge().getWebView();
+            wanted = true;
+            motion.reset();
+            view.setOnCapturedPointerListener(this::onCapturedPointer);
+            view.requestFocus();
+            view.requestPointerCapture();
+            call.resolve();
+        });
+    }
+
+    @PluginMethod
+    public void release(PluginCall call) {
+        mainHandler.post(() -> {
+            releaseCapture();
+            call.resolve();
+        });
+    }
+
+    /** Forwarded from {@link MainActivity#onPointerCaptureChanged}. */
+    void onCaptureChanged(boolean hasCapture) {
+        if (!hasCapture) {
+            flushMotion();
+            motion.reset();
+        }
+        JSObject event = new JSObject();
+        event.put("captured", hasCapture);
+        // Focus loss drops capture on its own; tell JS whether it was asked for.
+        event.put("requested", wanted);
+        notifyListeners("captureChanged", event);
+    }
+
+    @Override
+    protected void handleOnDestroy() {
+        releaseCapture();
+    }
+
+    private void releaseCapture() {
+        wanted = false;
+        if (Build.VERSION.SDK_INT < Build.VERSION_CODES.O) return;
+        View view = getBridge().getWebView();
+        view.releasePointerCapture();
+        view.setOnCapturedPointerListener(null);
+        mainHandler.removeCallbacks(flushMotion);
+        flushScheduled = false;
+        motion.reset();
+    }
+
+    private boolean onCapturedPointer(View view, MotionEvent event) {
+        switch (event.getActionMasked()) {
+            case MotionEvent.ACTION_MOVE:
+            case MotionEvent.ACTION_HOVER_MOVE:
+                // Captured touchpads report absolute finger positions; only mice give deltas.
+                if (!isRelative(event)) return false;
+                for (int h = 0; h < event.getHistorySize(); h++) {
+                    motion.add(
+                        event.getHistoricalAxisValue(MotionEvent.AXIS_X, h),
+                        event.getHistoricalAxisValue(MotionEvent.AXIS_Y, h),
+                        event.getHistoricalEventTime(h)
+                    );
+                }
+                motion.add(event.getAxisValue(MotionEvent.AXIS_X), event.getAxisValue(MotionEvent.AXIS_Y), event.getEventTime());
+                if (!flushScheduled) {
+                    flushScheduled = true;
+                    mainHandler.postDelayed(flushMotion, BATCH_INTERVAL_MS);
+                }
+                return true;
+            case MotionEvent.ACTION_BUTTON_PRESS:
+            case MotionEvent.ACTION_BUTTON_RELEASE: {
+                int button = gfnButton(event.getActionButton());
+                if (button == 0) return false;
+                // Deliver pending motion first so a click lands where the cursor was.
+                flushMotion();
+                JSObject buttonEvent = new JSObject();
+                buttonEvent.put("button", button);
+                buttonEvent.put("down", event.getActionMasked() == MotionEvent.ACTION_BUTTON_PRESS);
+                buttonEvent.put("eventUptimeMs", event.getEventTime());
+                notifyListeners("pointerButton", buttonEvent);
+                return true;
+            }
+            case MotionEvent.ACTION_SCROLL: {
+                int delta = Math.round(event.getAxisValue(MotionEvent.AXIS_VSCROLL) * WHEEL_DELTA);
+                if (delta == 0) return true;
+                JSObject wheelEvent = new JSObject();
+                wheelEvent.put("delta", Math.max(-32768, Math.min(32767, delta)));
+                wheelEvent.put("eventUptimeMs", event.getEventTime());
+                notifyListeners("pointerWheel", wheelEvent);
+                return true;
+            }
+            default:
+                return false;
+        }
+    }
+
+    private void flushMotion() {
+        flushScheduled = false;
+        mainHandler.removeCallbacks(flushMotion);
+        if (!motion.hasSamples() || !motion.drain()) return;
+        JSObject batch = new JSObject();
+        batch.put("dx", motion.drainedDx);
+        batch.put("dy", motion.drainedDy);
+        batch.put("samples", motion.drainedSamples);
+        batch.put("timestampMs", motion.drainedTimeMs);
+        batch.put("eventUptimeMs", motion.drainedFirstTimeMs);
+        notifyListeners("pointerMotion", batch);
+    }
+
+    private static boolean isRelative(MotionEvent event) {
+        return (event.getSource() & InputDevice.SOURCE_MOUSE_RELATIVE) == InputDevice.SOURCE_MOUSE_RELATIVE;
+    }
+
+    /** Android button constant to the 1-based GFN mouse button, or 0 when unmapped. */
+    private static int gfnButton(int actionButton) {
+        switch (actionButton) {
+            case MotionEvent.BUTTON_PRIMARY: return 1;
+            case MotionEvent.BUTTON_TERTIARY: return 2;
+            case MotionEvent.BUTTON_SECONDARY: return 3;
+            case MotionEvent.BUTTON_BACK: return 4;
+            case MotionEvent.BUTTON_FORWARD: return 5;
+            default: return 0;
+        }
+    }
+}
@@ -0,0 +1,67 @@
+package com.opencloud.android;
+
+/**
+ * How often {@link SessionQueueService} polls CloudMatch. Deep in the queue the position
+ * moves slowly, so the interval grows with it; near the front, during allocation and while
+ * confirming a ready rig it stays short so the hand-off to the stream is not delayed.
+ */
+final class QueuePollSchedule {
+
+    static final int STATUS_SETTING_UP = 1;
+    static final int STATUS_READY = 2;
+    static final int STATUS_STREAMING = 3;
+    static final int STATUS_CLEANING_UP = 6;
+
+    static final long MIN_DELAY_MS = 2_000;
+    static final long MAX_DELAY_MS = 30_000;
+    static final long PER_QUEUE_SLOT_MS = 250;
+    static final long READY_CONFIRM_MS = 1_000;
+    static final long READY_IDLE_MS = 5_000;
+    static final int READY_CONFIRMS = 3;
+
+    private QueuePollSchedule() {}
+
+    static boolean isReady(int status) {
+        return status == STATUS_READY || status == STATUS_STREAMING;
+    }
+
+    /** Queue position above 1 is a real queue; 0 and 1 mean a rig is being allocated. */
+    static boolean isQueued(int status, int queuePosition) {
+        return status == STATUS_SETTING_UP && queuePosition > 1;
+    }
+
+    /**
+     * Delay before the next poll. {@code readyPolls} counts consecutive ready answers: the
+     * first few come quickly for the JS confirmation loop, after that the rig is only kept
+     * watched until JS takes over.
+     */
+    static long nextDelayMs(int status, int queuePosition, int readyPolls) {
+        if (isReady(status)) {
+            return readyPolls < READY_CONFIRMS ? READY_CONFIRM_MS : READY_IDLE_MS;
+        }
+        if (isQueued(status, queuePosition)) {
+            return clamp(queuePosition * PER_QUEUE_SLOT_MS, MIN_DELAY_MS, MAX_DELAY_MS);
+        }
+        return MIN_DELAY_MS;
+    }
+
+    /** Backoff after a failed request: 1 s, 2 s, 4 s, … capped at {@link #MAX_DELAY_MS}. */
+    static long errorDelayMs(int consecutiveErrors) {
+        int shift = Math.max(0, Math.min(consecutiveErrors - 1, 5));
+        return Math.min(1_000L << shift, MAX_DELAY_MS);
+    }
+
+    /**
+     * Whether polling should end: any non-2xx answer or CloudMatch error code fails the
+     * launch the same way the JS poll loop does, and status 6 means the session is gone.
+     */
+    static boolean isTerminal(int httpStatus, int requestStatusCode, int status) {
+        if (httpStatus < 200 || httpStatus >= 300) return true;
+        if (requestStatusCode >= 2) return true;
+        return status == STATUS_CLEANING_UP;
+    }
+
+    private static long clamp(long value, long min, long max) {
+        return Math.max(min, Math.min(max, value));
+    }
+}
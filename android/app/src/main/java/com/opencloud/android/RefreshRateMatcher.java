@@ -0,0 +1,46 @@
+package com.opencloud.android;
+
+/**
+ * Picks the display refresh rate that paces a given stream frame rate best. An exact
+ * integer multiple of the stream fps gives every frame the same number of vsyncs, so the
+ * lowest such rate wins (it also costs the least power); otherwise the closest rate does.
+ */
+final class RefreshRateMatcher {
+
+    private static final float TOLERANCE_HZ = 0.5f;
+
+    private RefreshRateMatcher() {}
+
+    /** Index into {@code refreshRates} of the best match for {@code fps}, or -1 if empty. */
+    static int bestMatch(float[] refreshRates, int fps) {
+        int best = -1;
+        boolean bestIsMultiple = false;
+        for (int i = 0; i < refreshRates.length; i++) {
+            float rate = refreshRates[i];
+            boolean multiple = isMultiple(rate, fps);
+            if (best < 0) {
+                best = i;
+                bestIsMultiple = multiple;
+                continue;
+            }
+            float bestRate = refreshRates[best];
+            if (multiple && !bestIsMultiple) {
+                best = i;
+                bestIsMultiple = true;
+            } else if (multiple == bestIsMultiple) {
+                boolean better = multiple
+                    ? rate < bestRate
+                    : Math.abs(rate - fps) < Math.abs(bestRate - fps)
+                        || (Math.abs(rate - fps) == Math.abs(bestRate - fps) && rate > bestRate);
+                if (better) best = i;
+            }
+        }
+        return best;
+    }
+
+    private static boolean isMultiple(float rate, int fps) {
+        if (fps <= 0 || rate + TOLERANCE_HZ < fps) return false;
+        float ratio = rate / fps;
+        return Math.abs(ratio - Math.round(ratio)) * fps <= TOLERANCE_HZ;
+    }
+}
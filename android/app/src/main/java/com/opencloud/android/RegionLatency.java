@@ -0,0 +1,105 @@
+package com.opencloud.android;
+
+import org.json.JSONException;
+import org.json.JSONObject;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Measured latency of one streaming region: TCP and TLS setup of a fresh connection, then
+ * the median and jitter of HTTPS round trips over it. Regions that never answered keep
+ * {@code medianMs == -1} and rank last.
+ */
+final class RegionLatency {
+
+    final String name;
+    final String url;
+    final long connectMs;
+    final long tlsMs;
+    final long medianMs;
+    final long jitterMs;
+    final int samples;
+    final int failures;
+
+    RegionLatency(String name, String url, long connectMs, long tlsMs, long medianMs,
+                  long jitterMs, int samples, int failures) {
+        this.name = name;
+        this.url = url;
+        this.connectMs = connectMs;
+        this.tlsMs = tlsMs;
+        this.medianMs = medianMs;
+        this.jitterMs = jitterMs;
+        this.samples = samples;
+        this.failures = failures;
+    }
+
+    static RegionLatency fromSamples(String name, String url, long connectMs, long tlsMs,
+                                     List<Long> rttMs, int failures) {
+        return new RegionLatency(name, url, connectMs, tlsMs, median(rttMs), jitter(rttMs), rttMs.size(), failures);
+    }
+
+    boolean reachable() {
+        return medianMs >= 0;
+    }
+
+    /** Fastest first: reachable before unreachable, then median RTT, then jitter. */
+    static final Comparator<RegionLatency> RANKING = (a, b) -> {
+        if (a.reachable() != b.reachable()) return a.reachable() ? -1 : 1;
+        int byMedian = Long.compare(a.medianMs, b.medianMs);
+        if (byMedian != 0) return byMedian;
+        int byJitter = Long.compare(a.jitterMs, b.jitterMs);
+        return byJitter != 0 ? byJitter : a.name.compareTo(b.name);
+    };
+
+    static List<RegionLatency> ranked(List<RegionLatency> results) {
+        List<RegionLatency> sorted = new ArrayList<>(results);
+        Collections.sort(sorted, RANKING);
+        return sorted;
+    }
+
+    /** Median of the samples, rounding an even count down; -1 when there are none. */
+    static long median(List<Long> samples) {
+        if (samples.isEmpty()) return -1;
+        List<Long> sorted = new ArrayList<>(samples);
+        Collections.sort(sorted);
+        int mid = sorted.size() / 2;
+        return sorted.size() % 2 == 1 ? sorted.get(mid) : (sorted.get(mid - 1) + sorted.get(mid)) / 2;
+    }
+
+    /** Mean absolute difference between consecutive samples, in the spirit of RFC 3550 jitter. */
+    static long jitter(List<Long> samples) {
+        if (samples.size() < 2) return 0;
+        long total = 0;
+        for (int i = 1; i < samples.size(); i++) {
+            total += Math.abs(samples.get(i) - samples.get(i - 1));
+        }
+        return Math.round(total / (double) (samples.size() - 1));
+    }
+
+    JSONObject toJson() throws JSONException {
+        return new JSONObject()
+            .put("name", name)
+            .put("url", url)
+            .put("connectMs", connectMs)
+            .put("tlsMs", tlsMs)
+            .put("medianMs", medianMs)
+            .put("jitterMs", jitterMs)
+            .put("samples", samples)
+            .put("failures", failures);
+    }
+
+    static RegionLatency fromJson(JSONObject json) {
+        return new RegionLatency(
+            json.optString("name"),
+            json.optString("url"),
+            json.optLong("connectMs", -1),
+            json.optLong("tlsMs", -1),
+            json.optLong("medianMs", -1),
+            json.optLong("jitterMs", 0),
+            json.optInt("samples"),
+            json.optInt("failures"));
+    }
+}
@@ -0,0 +1,116 @@
+package com.opencloud.android;
+
+import androidx.annotation.Nullable;
+
+import org.json.JSONArray;
+import org.json.JSONException;
+import org.json.JSONObject;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Probe results per network ({@link NetworkIdentity#key}), kept in one small JSON file so
+ * returning to a known network ranks regions without probing again until the TTL runs out.
+ */
+final class RegionLatencyCache {
+
+    static final class Entry {
+        final long measuredAt;
+        final List<RegionLatency> ranked;
+
+        Entry(long measuredAt, List<RegionLatency> ranked) {
+            this.measuredAt = measuredAt;
+            this.ranked = ranked;
+        }
+
+        /** Whether every requested region URL was measured in this entry. */
+        boolean covers(Collection<String> urls) {
+            Set<String> measured = new HashSet<>();
+            for (RegionLatency region : ranked) measured.add(region.url);
+            return measured.containsAll(urls);
+        }
+    }
+
+    private final File file;
+    private final long ttlMs;
+
+    RegionLatencyCache(File file, long ttlMs) {
+        this.file = file;
+        this.ttlMs = ttlMs;
+    }
+
+    @Nullable
+    synchronized Entry get(String networkKey, long nowMs) {
+        JSONObject entry = read().optJSONObject(networkKey);
+        if (entry == null) return null;
+        long measuredAt = entry.optLong("measuredAt");
+        if (nowMs - measuredAt > ttlMs) return null;
+        JSONArray regions = entry.optJSONArray("regions");
+        List<RegionLatency> ranked = new ArrayList<>();
+        if (regions != null) {
+            for (int i = 0; i < regions.length(); i++) {
+                JSONObject region = regions.optJSONObject(i);
+                if (region != null) ranked.add(RegionLatency.fromJson(region));
+            }
+        }
+        return new Entry(measuredAt, ranked);
+    }
+
+    synchronized void put(String networkKey, List<RegionLatency> ranked, long nowMs) throws IOException {
+        JSONObject all = read();
+        // Drop other networks' expired results so the file doesn't grow with every hotspot.
+        for (Iterator<String> keys = all.keys(); keys.hasNext(); ) {
+            JSONObject entry = all.optJSONObject(keys.next());
+            if (entry == null || nowMs - entry.optLong("measuredAt") > ttlMs) keys.remove();
+        }
+        try {
+            JSONArray regions = new JSONArray();
+            for (RegionLatency region : ranked) regions.put(region.toJson());
+            all.put(networkKey, new JSONObject().put("measuredAt", nowMs).put("regions", regions));
+        } catch (JSONException e) {
+            throw new IOException(e);
+        }
+        write(all);
+    }
+
+    synchronized void clear() {
+        //noinspection ResultOfMethodCallIgnored
+        file.delete();
+    }
+
+    private JSONObject read() {
+        if (!file.exists()) return new JSONObject();
+        try (InputStream in = new FileInputStream(file)) {
+            byte[] bytes = new byte[(int) file.length()];
+            int read = 0;
+            while (read < bytes.length) {
+                int n = in.read(bytes, read, bytes.length - read);
+                if (n < 0) break;
+                read += n;
+            }
+            return new JSONObject(new String(bytes, 0, read, StandardCharsets.UTF_8));
+        } catch (IOException | JSONException e) {
+            return new JSONObject();
+        }
+    }
+
+    private void write(JSONObject all) throws IOException {
+        File tmp = new File(file.getPath() + ".tmp");
+        try (OutputStream out = new FileOutputStream(tmp)) {
+            out.write(all.toString().getBytes(StandardCharsets.UTF_8));
+        }
+        if (!tmp.renameTo(file)) throw new IOException("Could not replace " + file);
+    }
+}
@@ -0,0 +1,108 @@
+package com.opencloud.android;
+
+import com.getcapacitor.JSArray;
+import com.getcapacitor.JSObject;
+import com.getcapacitor.Plugin;
+import com.getcapacitor.PluginCall;
+import com.getcapacitor.PluginMethod;
+import com.getcapacitor.annotation.CapacitorPlugin;
+
+import org.json.JSONArray;
+import org.json.JSONException;
+import org.json.JSONObject;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@code probe({ regions, force?, samples? })} measures every region in parallel
+ * ({@link RegionProber}) and resolves with them ranked fastest first. Results are cached
+ * per network for {@link #TTL_MS}, so the same Wi-Fi or carrier is only probed again
+ * after that, or with {@code force}.
+ */
+@CapacitorPlugin(name = "RegionLatency")
+public class RegionLatencyPlugin extends Plugin {
+
+    private static final long TTL_MS = TimeUnit.MINUTES.toMillis(30);
+
+    // One probe at a time: a second caller waits and is then served from the cache.
+    private final ExecutorService executor = Executors.newSingleThreadExecutor();
+    private RegionLatencyCache cache;
+
+    @Override
+    public void load() {
+        cache = new RegionLatencyCache(new File(getContext().getCacheDir(), "region-latency.json"), TTL_MS);
+    }
+
+    @PluginMethod
+    public void probe(PluginCall call) {
+        JSArray regions = call.getArray("regions");
+        if (regions == null) {
+            call.reject("regions is required");
+            return;
+        }
+        Map<String, String> byName = new LinkedHashMap<>();
+        for (int i = 0; i < regions.length(); i++) {
+            JSONObject region = regions.optJSONObject(i);
+            String url = region != null ? region.optString("url", null) : null;
+            if (url != null && url.startsWith("https://")) byName.put(region.optString("name", url), url);
+        }
+        boolean force = Boolean.TRUE.equals(call.getBoolean("force", false));
+        int samples = Math.max(1, Math.min(20, call.getInt("samples", RegionProber.DEFAULT_SAMPLES)));
+
+        executor.execute(() -> {
+            String networkKey = NetworkIdentity.key(getContext());
+            try {
+                RegionLatencyCache.Entry cached = force ? null : cache.get(networkKey, System.currentTimeMillis());
+                if (cached != null && cached.covers(byName.values())) {
+                    call.resolve(result(networkKey, cached.measuredAt, true, cached.ranked));
+                    return;
+                }
+                List<RegionLatency> ranked = new RegionProber(SharedHttpClient.get()).probe(byName, samples);
+                long now = System.currentTimeMillis();
+                try {
+                    cache.put(networkKey, ranked, now);
+                } catch (IOException ignored) {
+                    // Still worth returning; the next launch just probes again.
+                }
+                call.resolve(result(networkKey, now, false, ranked));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                call.reject("Probe interrupted");
+            } catch (JSONException e) {
+                call.reject("Could not encode probe results", e);
+            }
+        });
+    }
+
+    @PluginMethod
+    public void clear(PluginCall call) {
+        executor.execute(() -> {
+            cache.clear();
+            call.resolve();
+        });
+    }
+
+    @Override
+    protected void handleOnDestroy() {
+        executor.shutdownNow();
+    }
+
+    private static JSObject result(String networkKey, long measuredAt, boolean fromCache,
+                                   List<RegionLatency> ranked) throws JSONException {
+        JSONArray regions = new JSONArray();
+        for (RegionLatency region : ranked) regions.put(region.toJson());
+        JSObject result = new JSObject();
+        result.put("networkKey", networkKey);
+        result.put("measuredAt", measuredAt);
+        result.put("fromCache", fromCache);
+        result.put("regions", regions);
+        return result;
+    }
+}
@@ -0,0 +1,175 @@
+package com.opencloud.android;
+
+import androidx.annotation.Nullable;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.Proxy;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import okhttp3.Call;
+import okhttp3.ConnectionPool;
+import okhttp3.EventListener;
+import okhttp3.Handshake;
+import okhttp3.OkHttpClient;
+import okhttp3.Protocol;
+import okhttp3.Request;
+import okhttp3.Response;
+
+/**
+ * Probes every streaming region at once. Each region gets its own connection pool so the
+ * first request measures a fresh TCP connect and TLS handshake; the following HEAD requests
+ * reuse that connection and time request-to-response-headers, i.e. one network round trip
+ * plus the edge's turnaround.
+ */
+final class RegionProber {
+
+    static final int DEFAULT_SAMPLES = 5;
+    private static final int MAX_PARALLEL = 8;
+    private static final long TIMEOUT_MS = 3_000;
+
+    private final OkHttpClient base;
+
+    RegionProber(OkHttpClient base) {
+        this.base = base;
+    }
+
+    /** {@code regions} maps name to region URL; returns results ranked fastest first. */
+    List<RegionLatency> probe(Map<String, String> regions, int samples) throws InterruptedException {
+        if (regions.isEmpty()) return new ArrayList<>();
+        ExecutorService pool = Executors.newFixedThreadPool(Math.min(MAX_PARALLEL, regions.size()));
+        try {
+            List<Future<RegionLatency>> futures = new ArrayList<>();
+            for (Map.Entry<String, String> region : regions.entrySet()) {
+                Callable<RegionLatency> task = () -> probeOne(region.getKey(), region.getValue(), samples);
+                futures.add(pool.submit(task));
+            }
+            List<RegionLatency> results = new ArrayList<>();
+            for (Future<RegionLatency> future : futures) {
+                try {
+                    results.add(future.get());
+                } catch (ExecutionException e) {
+                    // probeOne records failures itself; anything else just drops the region.
+                }
+            }
+            return RegionLatency.ranked(results);
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    private RegionLatency probeOne(String name, String url, int samples) {
+        Timings timings = new Timings();
+        OkHttpClient client = base.newBuilder()
+            .connectionPool(new ConnectionPool(1, 30, TimeUnit.SECONDS))
+            .eventListenerFactory(call -> timings)
+            .connectTimeout(TIMEOUT_MS, TimeUnit.MILLISECONDS)
+            .callTimeout(TIMEOUT_MS, TimeUnit.MILLISECONDS)
+            .build();
+        Request request = new Request.Builder().url(probeUrl(url)).head().build();
+
+        List<Long> rtts = new ArrayList<>();
+        int failures = 0;
+        // Warm-up: pays for DNS, TCP and TLS; only its connect phases are kept.
+        if (!execute(client, request)) {
+            client.connectionPool().evictAll();
+            return RegionLatency.fromSamples(name, url, -1, -1, rtts, samples);
+        }
+        long connectMs = timings.connectMs();
+        long tlsMs = timings.tlsMs();
+        for (int i = 0; i < samples; i++) {
+            timings.reset();
+            if (execute(client, request) && timings.roundTripMs() >= 0) {
+                rtts.add(timings.roundTripMs());
+            } else {
+                failures++;
+            }
+        }
+        client.connectionPool().evictAll();
+        return RegionLatency.fromSamples(name, url, connectMs, tlsMs, rtts, failures);
+    }
+
+    private static boolean execute(OkHttpClient client, Request request) {
+        try (Response response = client.newCall(request).execute()) {
+            // Any HTTP status proves the round trip; only the headers matter.
+            return response.code() > 0;
+        } catch (IOException e) {
+            return false;
+        }
+    }
+
+    /** Region URLs are CloudMatch bases ({@code https://host/}); serverInfo is a cheap path there. */
+    static String probeUrl(String regionUrl) {
+        return (regionUrl.endsWith("/") ? regionUrl : regionUrl + "/") + "v2/serverInfo";
+    }
+
+    /** Phase timestamps of the call in flight; calls per region run one after another. */
+    private static final class Timings extends EventListener {
+        private volatile long connectStart = -1;
+        private volatile long secureStart = -1;
+        private volatile long secureEnd = -1;
+        private volatile long connectEnd = -1;
+        private volatile long requestStart = -1;
+        private volatile long responseStart = -1;
+
+        void reset() {
+            requestStart = -1;
+            responseStart = -1;
+        }
+
+        long connectMs() {
+            long tcpEnd = secureStart >= 0 ? secureStart : connectEnd;
+            return connectStart >= 0 && tcpEnd >= 0 ? millis(tcpEnd - connectStart) : -1;
+        }
+
+        long tlsMs() {
+            return secureStart >= 0 && secureEnd >= 0 ? millis(secureEnd - secureStart) : -1;
+        }
+
+        long roundTripMs() {
+            return requestStart >= 0 && responseStart >= 0 ? millis(responseStart - requestStart) : -1;
+        }
+
+        private static long millis(long nanos) {
+            return TimeUnit.NANOSECONDS.toMillis(nanos);
+        }
+
+        @Override
+        public void connectStart(Call call, InetSocketAddress address, Proxy proxy) {
+            connectStart = System.nanoTime();
+        }
+
+        @Override
+        public void secureConnectStart(Call call) {
+            secureStart = System.nanoTime();
+        }
+
+        @Override
+        public void secureConnectEnd(Call call, @Nullable Handshake handshake) {
+            secureEnd = System.nanoTime();
+        }
+
+        @Override
+        public void connectEnd(Call call, InetSocketAddress address, Proxy proxy, @Nullable Protocol protocol) {
+            connectEnd = System.nanoTime();
+        }
+
+        @Override
+        public void requestHeadersStart(Call call) {
+            requestStart = System.nanoTime();
+        }
+
+        @Override
+        public void responseHeadersStart(Call call) {
+            responseStart = System.nanoTime();
+        }
+    }
+}
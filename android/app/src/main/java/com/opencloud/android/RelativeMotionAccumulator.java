@@ -0,0 +1,60 @@
+package com.opencloud.android;
+
+/**
+ * Sums relative pointer samples between deliveries. Only whole counts are handed out;
+ * the fractional remainder carries over, so slow, sub-pixel movement is not rounded away
+ * the way per-event integer deltas would be.
+ */
+final class RelativeMotionAccumulator {
+
+    private double x;
+    private double y;
+    private int samples;
+    private long firstSampleTimeMs;
+    private long lastSampleTimeMs;
+
+    int drainedDx;
+    int drainedDy;
+    int drainedSamples;
+    long drainedTimeMs;
+    long drainedFirstTimeMs;
+
+    void add(float dx, float dy, long eventTimeMs) {
+        x += dx;
+        y += dy;
+        if (samples == 0) firstSampleTimeMs = eventTimeMs;
+        samples++;
+        lastSampleTimeMs = eventTimeMs;
+    }
+
+    boolean hasSamples() {
+        return samples > 0;
+    }
+
+    /**
+     * Moves the whole part of the accumulated motion into the {@code drained*} fields.
+     * Returns false when nothing whole has accumulated yet; the samples stay pending then.
+     */
+    boolean drain() {
+        int dx = (int) x;
+        int dy = (int) y;
+        if (dx == 0 && dy == 0) return false;
+        x -= dx;
+        y -= dy;
+        drainedDx = dx;
+        drainedDy = dy;
+        drainedSamples = samples;
+        drainedTimeMs = lastSampleTimeMs;
+        drainedFirstTimeMs = firstSampleTimeMs;
+        samples = 0;
+        return true;
+    }
+
+    void reset() {
+        x = 0;
+        y = 0;
+        samples = 0;
+        firstSampleTimeMs = 0;
+        lastSampleTimeMs = 0;
+    }
+}
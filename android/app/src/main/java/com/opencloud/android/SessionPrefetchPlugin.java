@@ -0,0 +1,66 @@
+package com.opencloud.android;
+
+import com.getcapacitor.JSObject;
+import com.getcapacitor.Plugin;
+import com.getcapacitor.PluginCall;
+import com.getcapacitor.PluginMethod;
+import com.getcapacitor.annotation.CapacitorPlugin;
+
+import org.json.JSONException;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Hands {@link SessionPrefetcher} results to JS. Resolves {@code body: null} when there is
+ * nothing usable, in which case JS performs its own fetch. With {@code decode: "gfnPanels"}
+ * a panels body comes back as {@code decoded} ({@link PanelDecoder}) instead.
+ */
+@CapacitorPlugin(name = "SessionPrefetch")
+public class SessionPrefetchPlugin extends Plugin {
+
+    private static final long DEFAULT_WAIT_MS = 3000;
+
+    private final ExecutorService waiter = Executors.newCachedThreadPool();
+
+    @Override
+    protected void handleOnDestroy() {
+        waiter.shutdown();
+    }
+
+    @PluginMethod
+    public void take(PluginCall call) {
+        String key = call.getString("key");
+        String token = call.getString("token");
+        String match = call.getString("match");
+        long waitMs = call.getLong("waitMs", DEFAULT_WAIT_MS);
+        String decode = call.getString("decode");
+        if (key == null || token == null) {
+            call.reject("key and token are required");
+            return;
+        }
+        if (decode != null && !PanelDecoder.NAME.equals(decode)) {
+            call.reject("Unknown decoder " + decode);
+            return;
+        }
+
+        waiter.execute(() -> {
+            SessionPrefetcher.Result result = SessionPrefetcher.get(getContext()).take(key, token, match, waitMs);
+            JSObject ret = new JSObject();
+            if (result != null && decode != null) {
+                try {
+                    ret.put("decoded", PanelDecoder.decode(new StringReader(result.body)));
+                    ret.put("body", JSObject.NULL);
+                    call.resolve(ret);
+                    return;
+                } catch (IOException | JSONException ignored) {
+                    // Hand over the raw body; JS parses it itself.
+                }
+            }
+            ret.put("body", result != null ? result.body : JSObject.NULL);
+            call.resolve(ret);
+        });
+    }
+}
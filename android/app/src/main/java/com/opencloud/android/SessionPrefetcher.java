@@ -0,0 +1,149 @@
+package com.opencloud.android;
+
+import android.content.Context;
+import android.util.Log;
+
+import org.json.JSONException;
+import org.json.JSONObject;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Fetches the data the home screen needs while the activity and WebView are still being
+ * created: the persisted session from {@link TokenVault}, {@code v2/serverInfo} (VPC id and
+ * regions) and the MAIN / LIBRARY games panels, all on background threads. Results are
+ * memoized as raw response bodies and handed to JS by {@link SessionPrefetchPlugin}.
+ */
+final class SessionPrefetcher {
+
+    static final String KEY_SERVER_INFO = "serverInfo";
+    static final String KEY_PANELS_MAIN = "panels:MAIN";
+    static final String KEY_PANELS_LIBRARY = "panels:LIBRARY";
+
+    /** A prefetched body plus what it was fetched for: the base URL or the VPC id. */
+    static final class Result {
+        final String match;
+        final String body;
+
+        Result(String match, String body) {
+            this.match = match;
+            this.body = body;
+        }
+    }
+
+    private static final class Entry {
+        final String token;
+        final Future<Result> future;
+        final boolean singleUse;
+        final long createdAt = System.currentTimeMillis();
+
+        Entry(String token, Future<Result> future, boolean singleUse) {
+            this.token = token;
+            this.future = future;
+            this.singleUse = singleUse;
+        }
+    }
+
+    private static final String TAG = "SessionPrefetch";
+    private static final long MAX_AGE_MS = 5 * 60 * 1000;
+
+    private static volatile SessionPrefetcher instance;
+
+    private final TokenVault vault;
+    private final GfnApiClient api;
+    private final ExecutorService pool = Executors.newFixedThreadPool(4);
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+    private final AtomicBoolean started = new AtomicBoolean(false);
+
+    private SessionPrefetcher(TokenVault vault, GfnApiClient api) {
+        this.vault = vault;
+        this.api = api;
+    }
+
+    static SessionPrefetcher get(Context context) {
+        SessionPrefetcher local = instance;
+        if (local == null) {
+            synchronized (SessionPrefetcher.class) {
+                local = instance;
+                if (local == null) {
+                    local = new SessionPrefetcher(
+                        TokenVault.get(context),
+                        new GfnApiClient(SharedHttpClient.get(), GfnApiClient.DEFAULT_MES_URL)
+                    );
+                    instance = local;
+                }
+            }
+        }
+        return local;
+    }
+
+    /** Kicks off the prefetch once per process; returns immediately. */
+    void start() {
+        if (!started.compareAndSet(false, true)) return;
+        pool.execute(this::prefetch);
+    }
+
+    /**
+     * Returns the memoized result for {@code key} if it was fetched with {@code token}, is
+     * fresh and matches {@code match}; waits up to {@code waitMs} for an in-flight fetch.
+     * Panels are handed out once, since a later load should see fresh data.
+     */
+    Result take(String key, String token, String match, long waitMs) {
+        Entry entry = entries.get(key);
+        if (entry == null || !entry.token.equals(token)) return null;
+        if (System.currentTimeMillis() - entry.createdAt > MAX_AGE_MS) {
+            entries.remove(key, entry);
+            return null;
+        }
+        try {
+            Result result = entry.future.get(waitMs, TimeUnit.MILLISECONDS);
+            if (result == null || (match != null && !match.equals(result.match))) return null;
+            if (entry.singleUse) entries.remove(key, entry);
+            return result;
+        } catch (Exception e) {
+            return null;
+        }
+    }
+
+    private void prefetch() {
+        JSONObject session = null;
+        try {
+            String json = vault.read();
+            JSONObject state = json != null ? new JSONObject(json) : null;
+            session = state != null ? state.optJSONObject("session") : null;
+        } catch (JSONException e) {
+            Log.w(TAG, "Unreadable auth state", e);
+        }
+        if (session == null) return;
+
+        JSONObject tokens = session.optJSONObject("tokens");
+        JSONObject provider = session.optJSONObject("provider");
+        if (tokens == null || tokens.optLong("expiresAt", 0) <= System.currentTimeMillis()) return;
+
+        String idToken = tokens.optString("idToken", "");
+        String token = idToken.isEmpty() ? tokens.optString("accessToken", "") : idToken;
+        if (token.isEmpty()) return;
+        String baseUrl = GfnApiClient.normalizeBaseUrl(
+            provider != null ? provider.optString("streamingServiceUrl", null) : null
+        );
+
+        Future<Result> serverInfo = pool.submit(() -> new Result(baseUrl, api.fetchServerInfoRaw(token, baseUrl)));
+        entries.put(KEY_SERVER_INFO, new Entry(token, serverInfo, false));
+
+        // Panels depend on the VPC id; register them now so JS waits instead of duplicating.
+        entries.put(KEY_PANELS_MAIN, new Entry(token, pool.submit(() -> fetchPanels(token, "MAIN", serverInfo)), true));
+        entries.put(KEY_PANELS_LIBRARY, new Entry(token, pool.submit(() -> fetchPanels(token, "LIBRARY", serverInfo)), true));
+    }
+
+    private Result fetchPanels(String token, String panelName, Future<Result> serverInfo) throws Exception {
+        String vpcId = GfnApiClient.vpcIdFrom(new JSONObject(serverInfo.get().body));
+        if (vpcId == null) vpcId = "GFN-PC";
+        return new Result(vpcId, api.fetchPanelsRaw(token, panelName, vpcId));
+    }
+}
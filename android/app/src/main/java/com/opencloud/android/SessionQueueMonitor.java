@@ -0,0 +1,140 @@
+package com.opencloud.android;
+
+import androidx.annotation.Nullable;
+
+import org.json.JSONException;
+import org.json.JSONObject;
+
+/**
+ * Hand-off point between {@link SessionQueueService}, which polls CloudMatch, and
+ * {@link SessionQueuePlugin}, which serves the results to JS. Keeps only the newest poll
+ * for the current session; JS reads it whenever its own loop gets to run again.
+ */
+final class SessionQueueMonitor {
+
+    interface Listener {
+        void onUpdate(Update update);
+    }
+
+    static final class Update {
+        final long seq;
+        final String sessionId;
+        final int httpStatus;
+        final String body;
+        final int status;
+        final int queuePosition;
+        final boolean terminal;
+        @Nullable final String error;
+
+        Update(long seq, String sessionId, int httpStatus, String body, int status,
+               int queuePosition, boolean terminal, @Nullable String error) {
+            this.seq = seq;
+            this.sessionId = sessionId;
+            this.httpStatus = httpStatus;
+            this.body = body;
+            this.status = status;
+            this.queuePosition = queuePosition;
+            this.terminal = terminal;
+            this.error = error;
+        }
+    }
+
+    private static volatile SessionQueueMonitor instance;
+
+    private String sessionId;
+    private Update latest;
+    private long seq;
+    private Listener listener;
+
+    private SessionQueueMonitor() {}
+
+    static SessionQueueMonitor get() {
+        SessionQueueMonitor local = instance;
+        if (local == null) {
+            synchronized (SessionQueueMonitor.class) {
+                local = instance;
+                if (local == null) {
+                    local = new SessionQueueMonitor();
+                    instance = local;
+                }
+            }
+        }
+        return local;
+    }
+
+    synchronized void setListener(@Nullable Listener listener) {
+        this.listener = listener;
+    }
+
+    /** Starts tracking {@code sessionId}, dropping whatever was kept for an earlier one. */
+    synchronized void begin(String sessionId) {
+        this.sessionId = sessionId;
+        latest = null;
+    }
+
+    synchronized void end() {
+        sessionId = null;
+        latest = null;
+    }
+
+    synchronized boolean isActive(String sessionId) {
+        return sessionId.equals(this.sessionId);
+    }
+
+    /** Active and not yet ended by a terminal update: more updates may still come. */
+    synchronized boolean isPolling(String sessionId) {
+        return isActive(sessionId) && (latest == null || !latest.terminal);
+    }
+
+    /** Newest update for {@code sessionId} after {@code afterSeq}, or null if none yet. */
+    @Nullable
+    synchronized Update latestAfter(String sessionId, long afterSeq) {
+        if (latest == null || !latest.sessionId.equals(sessionId) || latest.seq <= afterSeq) return null;
+        return latest;
+    }
+
+    /** Records a poll response; returns null if the session was ended meanwhile. */
+    @Nullable
+    Update publishResponse(String sessionId, int httpStatus, String body) {
+        int status = 0;
+        int queuePosition = 0;
+        int requestStatusCode = 0;
+        try {
+            JSONObject root = new JSONObject(body);
+            JSONObject session = root.optJSONObject("session");
+            if (session != null) {
+                status = session.optInt("status");
+                queuePosition = session.optInt("queuePosition");
+            }
+            JSONObject requestStatus = root.optJSONObject("requestStatus");
+            if (requestStatus != null) requestStatusCode = requestStatus.optInt("statusCode");
+        } catch (JSONException ignored) {
+            // Error pages are not JSON; the HTTP status decides.
+        }
+        boolean terminal = QueuePollSchedule.isTerminal(httpStatus, requestStatusCode, status);
+        return publish(sessionId, httpStatus, body, status, queuePosition, terminal, null);
+    }
+
+    /** Records that polling gave up without a response, e.g. after repeated network errors. */
+    @Nullable
+    Update publishFailure(String sessionId, String error) {
+        return publish(sessionId, 0, "", 0, 0, true, error);
+    }
+
+    @Nullable
+    private Update publish(String sessionId, int httpStatus, String body, int status,
+                           int queuePosition, boolean terminal, @Nullable String error) {
+        Update update;
+        Listener current;
+        synchronized (this) {
+            if (!sessionId.equals(this.sessionId)) return null;
+            // The first terminal update is the answer JS needs to see; keep it.
+            if (latest != null && latest.terminal) return null;
+            update = new Update(++seq, sessionId, httpStatus, body, status, queuePosition, terminal, error);
+            latest = update;
+            current = listener;
+        }
+        if (current != null) current.onUpdate(update);
+        return update;
+    }
+}
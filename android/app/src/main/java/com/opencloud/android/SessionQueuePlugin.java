@@ -0,0 +1,161 @@
+package com.opencloud.android;
+
+import android.Manifest;
+import android.os.Build;
+
+import com.getcapacitor.JSObject;
+import com.getcapacitor.PermissionState;
+import com.getcapacitor.Plugin;
+import com.getcapacitor.PluginCall;
+import com.getcapacitor.PluginMethod;
+import com.getcapacitor.annotation.CapacitorPlugin;
+import com.getcapacitor.annotation.Permission;
+import com.getcapacitor.annotation.PermissionCallback;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+
+/**
+ * JS side of {@link SessionQueueService}. {@code start} hands the poll URL and headers to
+ * the service; {@code next} resolves with the first poll newer than {@code afterSeq},
+ * waiting if there is none yet; {@code stop} ends polling once JS has the ready session.
+ * On Android 13+ the first {@code start} asks for the notification permission the queue
+ * notification needs; polling starts either way.
+ */
+@CapacitorPlugin(
+    name = "SessionQueue",
+    permissions = {
+        @Permission(strings = { Manifest.permission.POST_NOTIFICATIONS }, alias = SessionQueuePlugin.NOTIFICATIONS)
+    }
+)
+public class SessionQueuePlugin extends Plugin {
+
+    static final String NOTIFICATIONS = "notifications";
+
+    private static final class Waiter {
+        final PluginCall call;
+        final String sessionId;
+        final long afterSeq;
+
+        Waiter(PluginCall call, String sessionId, long afterSeq) {
+            this.call = call;
+            this.sessionId = sessionId;
+            this.afterSeq = afterSeq;
+        }
+    }
+
+    private final List<Waiter> waiters = new ArrayList<>();
+
+    @Override
+    public void load() {
+        SessionQueueMonitor.get().setListener(this::deliver);
+    }
+
+    @PluginMethod
+    public void start(PluginCall call) {
+        String sessionId = call.getString("sessionId");
+        String url = call.getString("url");
+        if (sessionId == null || url == null) {
+            call.reject("sessionId and url are required");
+            return;
+        }
+        if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.TIRAMISU
+                && getPermissionState(NOTIFICATIONS) == PermissionState.PROMPT) {
+            requestPermissionForAlias(NOTIFICATIONS, call, "notificationsPermissionCallback");
+            return;
+        }
+        startPolling(call);
+    }
+
+    @PermissionCallback
+    private void notificationsPermissionCallback(PluginCall call) {
+        // A refusal only hides the queue notification; the service still polls.
+        startPolling(call);
+    }
+
+    private void startPolling(PluginCall call) {
+        String sessionId = call.getString("sessionId");
+        String url = call.getString("url");
+        JSObject headers = call.getObject("headers", new JSObject());
+        rejectWaiters("Session polling restarted");
+        SessionQueueMonitor.get().begin(sessionId);
+        try {
+            SessionQueueService.start(getContext(), sessionId, url, headers);
+        } catch (RuntimeException e) {
+            // Foreground starts are refused while the app is in the background on Android 12+.
+            SessionQueueMonitor.get().end();
+            call.reject("Could not start queue service: " + e.getMessage());
+            return;
+        }
+        call.resolve();
+    }
+
+    @PluginMethod
+    public void next(PluginCall call) {
+        String sessionId = call.getString("sessionId");
+        if (sessionId == null) {
+            call.reject("sessionId is required");
+            return;
+        }
+        long afterSeq = call.getLong("afterSeq", 0L);
+        SessionQueueMonitor monitor = SessionQueueMonitor.get();
+        synchronized (waiters) {
+            SessionQueueMonitor.Update update = monitor.latestAfter(sessionId, afterSeq);
+            if (update != null) {
+                call.resolve(toJs(update));
+                return;
+            }
+            if (!monitor.isPolling(sessionId)) {
+                call.reject("Session polling stopped");
+                return;
+            }
+            waiters.add(new Waiter(call, sessionId, afterSeq));
+        }
+    }
+
+    @PluginMethod
+    public void stop(PluginCall call) {
+        SessionQueueMonitor.get().end();
+        SessionQueueService.stop(getContext());
+        rejectWaiters("Session polling stopped");
+        call.resolve();
+    }
+
+    @Override
+    protected void handleOnDestroy() {
+        SessionQueueMonitor.get().setListener(null);
+        SessionQueueMonitor.get().end();
+        SessionQueueService.stop(getContext());
+        rejectWaiters("Session polling stopped");
+    }
+
+    private void deliver(SessionQueueMonitor.Update update) {
+        synchronized (waiters) {
+            for (Iterator<Waiter> it = waiters.iterator(); it.hasNext(); ) {
+                Waiter waiter = it.next();
+                if (waiter.sessionId.equals(update.sessionId) && update.seq > waiter.afterSeq) {
+                    it.remove();
+                    waiter.call.resolve(toJs(update));
+                }
+            }
+        }
+    }
+
+    private void rejectWaiters(String message) {
+        synchronized (waiters) {
+            for (Waiter waiter : waiters) waiter.call.reject(message);
+            waiters.clear();
+        }
+    }
+
+    private static JSObject toJs(SessionQueueMonitor.Update update) {
+        JSObject result = new JSObject();
+        result.put("seq", update.seq);
+        result.put("httpStatus", update.httpStatus);
+        result.put("body", update.body);
+        result.put("terminal", update.terminal);
+        if (update.error != null) result.put("error", update.error);
+        return result;
+    }
+}
@@ -0,0 +1,249 @@
+package com.opencloud.android;
+
+import android.app.Notification;
+import android.app.NotificationChannel;
+import android.app.NotificationManager;
+import android.app.PendingIntent;
+import android.app.Service;
+import android.content.Context;
+import android.content.Intent;
+import android.content.pm.ServiceInfo;
+import android.os.Build;
+import android.os.IBinder;
+import android.os.SystemClock;
+import android.util.Log;
+
+import androidx.annotation.Nullable;
+import androidx.core.app.NotificationCompat;
+import androidx.core.app.ServiceCompat;
+import androidx.core.content.ContextCompat;
+
+import org.json.JSONException;
+import org.json.JSONObject;
+
+import java.io.IOException;
+import java.util.Iterator;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+import okhttp3.Request;
+import okhttp3.Response;
+import okhttp3.ResponseBody;
+
+/**
+ * Polls a queued CloudMatch session from a foreground service, so the queue keeps moving
+ * and the position stays visible in an ongoing notification while the app is in the
+ * background and WebView timers are throttled. Results go to {@link SessionQueueMonitor};
+ * JS picks up the ready session from there and stops the service.
+ */
+public class SessionQueueService extends Service {
+
+    private static final String TAG = "SessionQueue";
+    private static final String CHANNEL_ID = "session_queue";
+    private static final int NOTIFICATION_ID = 4107;
+    private static final String EXTRA_SESSION_ID = "sessionId";
+    private static final String EXTRA_URL = "url";
+    private static final String EXTRA_HEADERS = "headers";
+    private static final int MAX_CONSECUTIVE_ERRORS = 6;
+    // A ready rig nobody picks up is released by CloudMatch eventually; don't outlive it.
+    private static final long READY_HOLD_MS = TimeUnit.MINUTES.toMillis(5);
+
+    private ScheduledExecutorService scheduler;
+    private NotificationManager notifications;
+
+    // Written on the scheduler thread only.
+    private volatile String sessionId;
+    private long generation;
+    private ScheduledFuture<?> pending;
+    private Request request;
+    private int readyPolls;
+    private int errors;
+    private long readySinceMs;
+
+    static void start(Context context, String sessionId, String url, JSONObject headers) {
+        Intent intent = new Intent(context, SessionQueueService.class)
+            .putExtra(EXTRA_SESSION_ID, sessionId)
+            .putExtra(EXTRA_URL, url)
+            .putExtra(EXTRA_HEADERS, headers.toString());
+        ContextCompat.startForegroundService(context, intent);
+    }
+
+    static void stop(Context context) {
+        context.stopService(new Intent(context, SessionQueueService.class));
+    }
+
+    @Override
+    public void onCreate() {
+        super.onCreate();
+        scheduler = Executors.newSingleThreadScheduledExecutor();
+        notifications = (NotificationManager) getSystemService(Context.NOTIFICATION_SERVICE);
+        if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.O) {
+            NotificationChannel channel = new NotificationChannel(
+                CHANNEL_ID, getString(R.string.session_queue_channel), NotificationManager.IMPORTANCE_LOW);
+            channel.setShowBadge(false);
+            notifications.createNotificationChannel(channel);
+        }
+    }
+
+    @Override
+    public int onStartCommand(@Nullable Intent intent, int flags, int startId) {
+        // Foreground first: startForegroundService() requires it within a few seconds.
+        int type = Build.VERSION.SDK_INT >= Build.VERSION_CODES.Q ? ServiceInfo.FOREGROUND_SERVICE_TYPE_DATA_SYNC : 0;
+        ServiceCompat.startForeground(this, NOTIFICATION_ID,
+            notification(getString(R.string.session_queue_starting), true, false), type);
+
+        Request next = intent != null ? buildRequest(intent) : null;
+        if (next == null) {
+            // Restarted without the session (the token never outlives the process): nothing to poll.
+            stopSelf(startId);
+            return START_NOT_STICKY;
+        }
+        String id = intent.getStringExtra(EXTRA_SESSION_ID);
+        scheduler.execute(() -> begin(id, next));
+        return START_NOT_STICKY;
+    }
+
+    @Override
+    public void onDestroy() {
+        scheduler.shutdownNow();
+        // No-op after stop() or a terminal poll; otherwise tells a waiting JS loop to give up.
+        String id = sessionId;
+        if (id != null) SessionQueueMonitor.get().publishFailure(id, "Queue service stopped");
+        ServiceCompat.stopForeground(this, ServiceCompat.STOP_FOREGROUND_REMOVE);
+        super.onDestroy();
+    }
+
+    @Nullable
+    @Override
+    public IBinder onBind(Intent intent) {
+        return null;
+    }
+
+    @Nullable
+    private static Request buildRequest(Intent intent) {
+        String id = intent.getStringExtra(EXTRA_SESSION_ID);
+        String url = intent.getStringExtra(EXTRA_URL);
+        if (id == null || url == null) return null;
+        Request.Builder builder;
+        try {
+            builder = new Request.Builder().url(url).get();
+        } catch (IllegalArgumentException e) {
+            Log.w(TAG, "Bad poll URL: " + e.getMessage());
+            return null;
+        }
+        String headers = intent.getStringExtra(EXTRA_HEADERS);
+        if (headers != null) {
+            try {
+                JSONObject json = new JSONObject(headers);
+                for (Iterator<String> keys = json.keys(); keys.hasNext(); ) {
+                    String name = keys.next();
+                    builder.header(name, json.optString(name));
+                }
+            } catch (JSONException e) {
+                Log.w(TAG, "Ignoring malformed headers: " + e.getMessage());
+            }
+        }
+        return builder.build();
+    }
+
+    private void begin(String id, Request next) {
+        generation++;
+        if (pending != null) pending.cancel(false);
+        sessionId = id;
+        request = next;
+        readyPolls = 0;
+        errors = 0;
+        readySinceMs = 0;
+        schedule(0);
+    }
+
+    private void schedule(long delayMs) {
+        long gen = generation;
+        pending = scheduler.schedule(() -> poll(gen), delayMs, TimeUnit.MILLISECONDS);
+    }
+
+    private void poll(long gen) {
+        if (gen != generation) return;
+        if (!SessionQueueMonitor.get().isActive(sessionId)) {
+            stopSelf();
+            return;
+        }
+
+        int httpStatus;
+        String body;
+        try (Response response = SharedHttpClient.get().newCall(request).execute()) {
+            httpStatus = response.code();
+            ResponseBody responseBody = response.body();
+            body = responseBody != null ? responseBody.string() : "";
+        } catch (IOException e) {
+            if (gen != generation) return;
+            errors++;
+            if (errors >= MAX_CONSECUTIVE_ERRORS) {
+                SessionQueueMonitor.get().publishFailure(sessionId, "Session poll failed: " + e.getMessage());
+                stopSelf();
+                return;
+            }
+            Log.w(TAG, "Poll failed (" + errors + "): " + e.getMessage());
+            schedule(QueuePollSchedule.errorDelayMs(errors));
+            return;
+        }
+        if (gen != generation) return;
+        errors = 0;
+
+        SessionQueueMonitor.Update update = SessionQueueMonitor.get().publishResponse(sessionId, httpStatus, body);
+        if (update == null || update.terminal) {
+            stopSelf();
+            return;
+        }
+
+        boolean ready = QueuePollSchedule.isReady(update.status);
+        long now = SystemClock.elapsedRealtime();
+        if (ready) {
+            if (readyPolls++ == 0) readySinceMs = now;
+            if (now - readySinceMs > READY_HOLD_MS) {
+                SessionQueueMonitor.get().publishFailure(sessionId, "Ready session was not picked up");
+                stopSelf();
+                return;
+            }
+        } else {
+            readyPolls = 0;
+        }
+        showProgress(update);
+        schedule(QueuePollSchedule.nextDelayMs(update.status, update.queuePosition, readyPolls));
+    }
+
+    private void showProgress(SessionQueueMonitor.Update update) {
+        String text;
+        boolean indeterminate = false;
+        boolean ready = QueuePollSchedule.isReady(update.status);
+        if (ready) {
+            text = getString(R.string.session_queue_ready);
+        } else if (QueuePollSchedule.isQueued(update.status, update.queuePosition)) {
+            text = getString(R.string.session_queue_position, update.queuePosition);
+        } else {
+            text = getString(R.string.session_queue_setting_up);
+            indeterminate = true;
+        }
+        notifications.notify(NOTIFICATION_ID, notification(text, indeterminate, ready));
+    }
+
+    private Notification notification(String text, boolean indeterminate, boolean ready) {
+        Intent open = new Intent(this, MainActivity.class)
+            .addFlags(Intent.FLAG_ACTIVITY_SINGLE_TOP);
+        PendingIntent content = PendingIntent.getActivity(this, 0, open,
+            PendingIntent.FLAG_UPDATE_CURRENT | PendingIntent.FLAG_IMMUTABLE);
+        NotificationCompat.Builder builder = new NotificationCompat.Builder(this, CHANNEL_ID)
+            .setSmallIcon(getApplicationInfo().icon)
+            .setContentTitle(getString(R.string.app_name))
+            .setContentText(text)
+            .setContentIntent(content)
+            .setOngoing(true)
+            .setOnlyAlertOnce(true)
+            .setCategory(ready ? NotificationCompat.CATEGORY_STATUS : NotificationCompat.CATEGORY_PROGRESS)
+            .setForegroundServiceBehavior(NotificationCompat.FOREGROUND_SERVICE_IMMEDIATE);
+        if (indeterminate) builder.setProgress(0, 0, true);
+        return builder.build();
+    }
+}
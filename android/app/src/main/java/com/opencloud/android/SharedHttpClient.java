@@ -0,0 +1,46 @@
+package com.opencloud.android;
+
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+import okhttp3.ConnectionPool;
+import okhttp3.Dispatcher;
+import okhttp3.OkHttpClient;
+import okhttp3.Protocol;
+
+/**
+ * Process-wide OkHttp client. Every native caller shares its connection pool so
+ * repeat requests to the same NVIDIA hosts reuse warm TLS connections, multiplexed
+ * over HTTP/2 where the host offers it. Callers needing other timeouts derive a client
+ * with {@code newBuilder()}, which keeps the same pool and dispatcher.
+ */
+final class SharedHttpClient {
+
+    private static volatile OkHttpClient client;
+
+    private SharedHttpClient() {}
+
+    static OkHttpClient get() {
+        OkHttpClient local = client;
+        if (local == null) {
+            synchronized (SharedHttpClient.class) {
+                local = client;
+                if (local == null) {
+                    Dispatcher dispatcher = new Dispatcher();
+                    // Cold start fires about ten API calls at the same few hosts at once.
+                    dispatcher.setMaxRequestsPerHost(16);
+                    local = new OkHttpClient.Builder()
+                        .protocols(Arrays.asList(Protocol.HTTP_2, Protocol.HTTP_1_1))
+                        .connectionPool(new ConnectionPool(8, 5, TimeUnit.MINUTES))
+                        .dispatcher(dispatcher)
+                        .connectTimeout(15, TimeUnit.SECONDS)
+                        .readTimeout(30, TimeUnit.SECONDS)
+                        .writeTimeout(30, TimeUnit.SECONDS)
+                        .build();
+                    client = local;
+                }
+            }
+        }
+        return local;
+    }
+}
@@ -0,0 +1,214 @@
+package com.opencloud.android;
+
+import androidx.annotation.Nullable;
+
+import com.getcapacitor.JSObject;
+import com.getcapacitor.Plugin;
+import com.getcapacitor.PluginCall;
+import com.getcapacitor.PluginMethod;
+import com.getcapacitor.annotation.CapacitorPlugin;
+
+import org.json.JSONObject;
+
+import java.util.concurrent.TimeUnit;
+
+import okhttp3.OkHttpClient;
+
+/**
+ * Native NVST signaling ({@link SignalingSocket}) for the stream. {@code connect} resolves
+ * once the socket is open; events arrive as {@code signaling} with the same shapes as
+ * {@code MainToRendererSignalingEvent} in shared/gfn.ts. Calls into a socket happen outside
+ * this plugin's lock: the socket calls back into it from OkHttp threads.
+ */
+@CapacitorPlugin(name = "Signaling")
+public class SignalingPlugin extends Plugin {
+
+    private SignalingSocket socket;
+    private Events current;
+    private PluginCall pendingConnect;
+
+    @PluginMethod
+    public void connect(PluginCall call) {
+        String server = call.getString("signalingServer");
+        String sessionId = call.getString("sessionId");
+        if (server == null || sessionId == null) {
+            call.reject("signalingServer and sessionId are required");
+            return;
+        }
+        String peerName = call.getString("peerName", "peer-" + (long) (Math.random() * 10_000_000_000L));
+        String url = SignalingSocket.signInUrl(server, call.getString("signalingUrl"), peerName);
+
+        // No read timeout: the server may stay quiet between heartbeats for longer than
+        // the shared client's 30 s; OkHttp pings keep dead connections detectable.
+        OkHttpClient client = SharedHttpClient.get().newBuilder()
+            .readTimeout(0, TimeUnit.MILLISECONDS)
+            .pingInterval(15, TimeUnit.SECONDS)
+            .build();
+
+        Events events = new Events();
+        SignalingSocket next = new SignalingSocket(client, url, sessionId, peerName, events);
+        SignalingSocket old;
+        PluginCall superseded;
+        synchronized (this) {
+            old = socket;
+            superseded = pendingConnect;
+            // The old socket's late callbacks must reach neither JS nor the new call.
+            if (current != null) current.superseded = true;
+            current = events;
+            socket = next;
+            pendingConnect = call;
+        }
+        close(old, superseded);
+        next.connect();
+    }
+
+    @PluginMethod
+    public void sendAnswer(PluginCall call) {
+        String sdp = call.getString("sdp");
+        if (sdp == null) {
+            call.reject("sdp is required");
+            return;
+        }
+        SignalingSocket current = current();
+        if (current == null || !current.sendAnswer(sdp, call.getString("nvstSdp"))) {
+            call.reject("Signaling not connected");
+            return;
+        }
+        call.resolve();
+    }
+
+    @PluginMethod
+    public void sendIceCandidate(PluginCall call) {
+        String candidate = call.getString("candidate");
+        if (candidate == null) {
+            call.reject("candidate is required");
+            return;
+        }
+        JSObject data = call.getData();
+        SignalingSocket current = current();
+        if (current == null || !current.sendIceCandidate(candidate, data.opt("sdpMid"), data.opt("sdpMLineIndex"))) {
+            call.reject("Signaling not connected");
+            return;
+        }
+        call.resolve();
+    }
+
+    /** Reconnects an established socket immediately; JS calls it after a network handover. */
+    @PluginMethod
+    public void reconnect(PluginCall call) {
+        SignalingSocket current = current();
+        if (current == null) {
+            call.reject("Signaling not connected");
+            return;
+        }
+        current.reconnectNow();
+        call.resolve();
+    }
+
+    /** Closes the socket; JS still gets {@code disconnected} for it. */
+    @PluginMethod
+    public void disconnect(PluginCall call) {
+        closeCurrent();
+        call.resolve();
+    }
+
+    @Override
+    protected void handleOnDestroy() {
+        closeCurrent();
+    }
+
+    private synchronized SignalingSocket current() {
+        return socket;
+    }
+
+    private void closeCurrent() {
+        SignalingSocket old;
+        PluginCall superseded;
+        synchronized (this) {
+            old = socket;
+            superseded = pendingConnect;
+            socket = null;
+            pendingConnect = null;
+        }
+        close(old, superseded);
+    }
+
+    private static void close(@Nullable SignalingSocket old, @Nullable PluginCall superseded) {
+        if (old != null) old.disconnect();
+        if (superseded != null) superseded.reject("Signaling connect superseded");
+    }
+
+    private synchronized PluginCall takePendingConnect(Events from) {
+        if (from.superseded) return null;
+        PluginCall call = pendingConnect;
+        pendingConnect = null;
+        return call;
+    }
+
+    // Under the lock so a socket superseded by connect() can't slip an event in after it.
+    private synchronized void emit(Events from, JSObject event) {
+        if (!from.superseded) notifyListeners("signaling", event);
+    }
+
+    private static JSObject event(String type) {
+        JSObject event = new JSObject();
+        event.put("type", type);
+        return event;
+    }
+
+    private final class Events implements SignalingSocket.Listener {
+        /** Set, under the plugin lock, once a newer connect replaced this socket. */
+        boolean superseded;
+
+        @Override
+        public void onConnected() {
+            emit(this, event("connected"));
+            PluginCall call = takePendingConnect(this);
+            if (call != null) call.resolve();
+        }
+
+        @Override
+        public void onOffer(String sdp) {
+            JSObject event = event("offer");
+            event.put("sdp", sdp);
+            emit(this, event);
+        }
+
+        @Override
+        public void onRemoteIce(String candidate, @Nullable Object sdpMid, @Nullable Object sdpMLineIndex) {
+            JSObject ice = new JSObject();
+            ice.put("candidate", candidate);
+            // Same as JS: pass through a string/number or explicit null, drop anything else.
+            if (sdpMid instanceof String || sdpMid == JSONObject.NULL) ice.put("sdpMid", sdpMid);
+            if (sdpMLineIndex instanceof Number || sdpMLineIndex == JSONObject.NULL) ice.put("sdpMLineIndex", sdpMLineIndex);
+            JSObject event = event("remote-ice");
+            event.put("candidate", ice);
+            emit(this, event);
+        }
+
+        @Override
+        public void onDisconnected(String reason) {
+            JSObject event = event("disconnected");
+            event.put("reason", reason);
+            emit(this, event);
+            PluginCall call = takePendingConnect(this);
+            if (call != null) call.reject("Signaling closed before connecting: " + reason);
+        }
+
+        @Override
+        public void onError(String message) {
+            JSObject event = event("error");
+            event.put("message", message);
+            emit(this, event);
+            PluginCall call = takePendingConnect(this);
+            if (call != null) call.reject(message);
+        }
+
+        @Override
+        public void onLog(String message) {
+            JSObject event = event("log");
+            event.put("message", message);
+            emit(this, event);
+        }
+    }
+}
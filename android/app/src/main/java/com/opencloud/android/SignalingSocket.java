@@ -0,0 +1,346 @@
+package com.opencloud.android;
+
+import android.util.Log;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import org.json.JSONException;
+import org.json.JSONObject;
+
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import okhttp3.OkHttpClient;
+import okhttp3.Request;
+import okhttp3.Response;
+import okhttp3.WebSocket;
+import okhttp3.WebSocketListener;
+
+/**
+ * Java port of {@code BrowserSignalingClient} in signaling.ts. Owns the NVST
+ * {@code /nvst/sign_in} WebSocket, answers acks and heartbeats and sends the 5 s
+ * {@code {hb:1}} from its own scheduler, so a throttled or busy WebView can't starve the
+ * session. Only offers and remote ICE candidates reach the {@link Listener}. Unexpected
+ * drops reconnect with exponential backoff and re-announce the peer; a normal close from
+ * the server ends the session. Listener callbacks always run outside this object's lock,
+ * since the listener takes locks of its own that are held while calling {@link #disconnect}.
+ */
+final class SignalingSocket {
+
+    interface Listener {
+        void onConnected();
+        void onOffer(String sdp);
+        /** {@code sdpMid} / {@code sdpMLineIndex} are {@link JSONObject#NULL} when sent as null, absent when not sent. */
+        void onRemoteIce(String candidate, @Nullable Object sdpMid, @Nullable Object sdpMLineIndex);
+        void onDisconnected(String reason);
+        void onError(String message);
+        void onLog(String message);
+    }
+
+    static final int PEER_ID = 2;
+    static final long HEARTBEAT_MS = 5000;
+    static final int MAX_RECONNECT_ATTEMPTS = 6;
+
+    private static final String TAG = "SignalingSocket";
+    private static final long BASE_BACKOFF_MS = 500;
+    private static final long MAX_BACKOFF_MS = 8000;
+
+    private final OkHttpClient http;
+    private final String url;
+    private final String sessionId;
+    private final String peerName;
+    private final Listener listener;
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor();
+
+    private WebSocket socket;
+    private ScheduledFuture<?> heartbeat;
+    private ScheduledFuture<?> pendingReconnect;
+    private int ackCounter = 0;
+    private int reconnectAttempt = 0;
+    private boolean everConnected = false;
+    private boolean closed = false;
+
+    SignalingSocket(OkHttpClient http, String url, String sessionId, String peerName, Listener listener) {
+        this.http = http;
+        this.url = url;
+        this.sessionId = sessionId;
+        this.peerName = peerName;
+        this.listener = listener;
+    }
+
+    /** {@code wss://host:port/nvst/sign_in?peer_id=<name>&version=2}, same rules as JS. */
+    static String signInUrl(String signalingServer, @Nullable String signalingUrl, String peerName) {
+        String serverWithPort = withPort(signalingServer);
+        if (signalingUrl != null && !signalingUrl.isEmpty()) {
+            String withoutScheme = signalingUrl.replaceFirst("^wss?://", "");
+            int slash = withoutScheme.indexOf('/');
+            String hostPort = slash >= 0 ? withoutScheme.substring(0, slash) : withoutScheme;
+            if (!hostPort.isEmpty()) serverWithPort = withPort(hostPort);
+        }
+        return "wss://" + serverWithPort + "/nvst/sign_in?peer_id=" + peerName + "&version=2";
+    }
+
+    private static String withPort(String host) {
+        return host.contains(":") ? host : host + ":443";
+    }
+
+    /** A 1000 close is the server ending the session on purpose; anything else may be retried. */
+    static boolean reconnectsAfterClose(int code) {
+        return code != 1000;
+    }
+
+    /** Backoff before reconnect attempt {@code attempt} (0-based), before jitter. */
+    static long reconnectDelayMs(int attempt) {
+        long delay = BASE_BACKOFF_MS << Math.min(attempt, 16);
+        return Math.min(delay, MAX_BACKOFF_MS);
+    }
+
+    synchronized void connect() {
+        if (closed) return;
+        Request request = new Request.Builder()
+            .url(url)
+            .header("Sec-WebSocket-Protocol", "x-nv-sessionid." + sessionId)
+            .build();
+        socket = http.newWebSocket(request, new SocketListener());
+    }
+
+    synchronized boolean sendAnswer(String sdp, @Nullable String nvstSdp) {
+        try {
+            JSONObject msg = new JSONObject().put("type", "answer").put("sdp", sdp);
+            if (nvstSdp != null && !nvstSdp.isEmpty()) msg.put("nvstSdp", nvstSdp);
+            return sendPeerMessage(msg);
+        } catch (JSONException e) {
+            return false;
+        }
+    }
+
+    /** Absent {@code sdpMid} / {@code sdpMLineIndex} stay absent, as {@code JSON.stringify} does. */
+    synchronized boolean sendIceCandidate(String candidate, @Nullable Object sdpMid, @Nullable Object sdpMLineIndex) {
+        try {
+            JSONObject msg = new JSONObject().put("candidate", candidate);
+            if (sdpMid != null) msg.put("sdpMid", sdpMid);
+            if (sdpMLineIndex != null) msg.put("sdpMLineIndex", sdpMLineIndex);
+            return sendPeerMessage(msg);
+        } catch (JSONException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Replaces the socket right away instead of waiting for the old one to fail, e.g. after
+     * a network handover where it is bound to an interface that is gone and would only be
+     * noticed at the next ping timeout.
+     */
+    void reconnectNow() {
+        synchronized (this) {
+            if (closed || !everConnected) return;
+            stopHeartbeat();
+            cancelPendingReconnect();
+            if (socket != null) {
+                socket.cancel();
+                socket = null;
+            }
+            reconnectAttempt = 0;
+            connect();
+        }
+        listener.onLog("Network changed, reconnecting signaling");
+    }
+
+    /** Closes the socket for good and reports {@code onDisconnected}, once. */
+    void disconnect() {
+        synchronized (this) {
+            if (closed) return;
+            closed = true;
+            stopHeartbeat();
+            cancelPendingReconnect();
+            if (socket != null) {
+                socket.close(1000, "client disconnect");
+                socket = null;
+            }
+            scheduler.shutdownNow();
+        }
+        listener.onDisconnected("client disconnect");
+    }
+
+    private void cancelPendingReconnect() {
+        if (pendingReconnect != null) {
+            pendingReconnect.cancel(false);
+            pendingReconnect = null;
+        }
+    }
+
+    private boolean sendPeerMessage(JSONObject msg) throws JSONException {
+        JSONObject peerMsg = new JSONObject().put("from", PEER_ID).put("to", 1).put("msg", msg.toString());
+        return send(new JSONObject().put("peer_msg", peerMsg).put("ackid", ++ackCounter));
+    }
+
+    private boolean send(JSONObject payload) {
+        return socket != null && socket.send(payload.toString());
+    }
+
+    private void sendPeerInfo() throws JSONException {
+        JSONObject info = new JSONObject()
+            .put("browser", "Chrome")
+            .put("browserVersion", "131")
+            .put("connected", true)
+            .put("id", PEER_ID)
+            .put("name", peerName)
+            .put("peerRole", 0)
+            .put("resolution", "1920x1080")
+            .put("version", 2);
+        send(new JSONObject().put("ackid", ++ackCounter).put("peer_info", info));
+    }
+
+    private void startHeartbeat() {
+        stopHeartbeat();
+        heartbeat = scheduler.scheduleWithFixedDelay(() -> {
+            synchronized (SignalingSocket.this) {
+                if (!closed && socket != null) socket.send("{\"hb\":1}");
+            }
+        }, HEARTBEAT_MS, HEARTBEAT_MS, TimeUnit.MILLISECONDS);
+    }
+
+    private void stopHeartbeat() {
+        if (heartbeat != null) {
+            heartbeat.cancel(false);
+            heartbeat = null;
+        }
+    }
+
+    /** Answers acks and heartbeats; returns the listener callback to run once the lock is released. */
+    @Nullable
+    private Runnable handleMessage(String text) throws JSONException {
+        JSONObject parsed;
+        try {
+            parsed = new JSONObject(text);
+        } catch (JSONException e) {
+            String preview = text.substring(0, Math.min(120, text.length()));
+            return () -> listener.onLog("Ignoring non-JSON: " + preview);
+        }
+
+        if (parsed.has("ackid")) {
+            JSONObject peerInfo = parsed.optJSONObject("peer_info");
+            boolean own = peerInfo != null && peerInfo.optInt("id", -1) == PEER_ID;
+            if (!own) send(new JSONObject().put("ack", parsed.getInt("ackid")));
+        }
+
+        if (parsed.optInt("hb", 0) != 0) {
+            send(new JSONObject().put("hb", 1));
+            return null;
+        }
+        JSONObject peerMsg = parsed.optJSONObject("peer_msg");
+        String msg = peerMsg != null ? peerMsg.optString("msg", "") : "";
+        if (msg.isEmpty()) return null;
+
+        JSONObject payload;
+        try {
+            payload = new JSONObject(msg);
+        } catch (JSONException e) {
+            return () -> listener.onLog("Non-JSON peer payload");
+        }
+
+        if ("offer".equals(payload.optString("type")) && payload.opt("sdp") instanceof String) {
+            String sdp = payload.getString("sdp");
+            return () -> listener.onOffer(sdp);
+        } else if (payload.opt("candidate") instanceof String) {
+            String candidate = payload.getString("candidate");
+            Object sdpMid = payload.opt("sdpMid");
+            Object sdpMLineIndex = payload.opt("sdpMLineIndex");
+            return () -> listener.onRemoteIce(candidate, sdpMid, sdpMLineIndex);
+        }
+        String names = String.valueOf(payload.names());
+        return () -> listener.onLog("Unhandled peer message: " + names);
+    }
+
+    /** Called with the lock held after a drop; returns the delay of the scheduled reconnect, or -1. */
+    private long scheduleReconnect() {
+        if (closed || !everConnected || reconnectAttempt >= MAX_RECONNECT_ATTEMPTS) return -1;
+        long delay = reconnectDelayMs(reconnectAttempt++);
+        delay += ThreadLocalRandom.current().nextLong(delay / 4 + 1);
+        pendingReconnect = scheduler.schedule(this::connect, delay, TimeUnit.MILLISECONDS);
+        return delay;
+    }
+
+    private final class SocketListener extends WebSocketListener {
+        @Override
+        public void onOpen(@NonNull WebSocket webSocket, @NonNull Response response) {
+            boolean reconnected;
+            synchronized (SignalingSocket.this) {
+                if (webSocket != socket || closed) return;
+                try {
+                    sendPeerInfo();
+                } catch (JSONException e) {
+                    Log.w(TAG, "peer_info", e);
+                }
+                startHeartbeat();
+                reconnected = everConnected;
+                everConnected = true;
+                reconnectAttempt = 0;
+            }
+            if (reconnected) {
+                listener.onLog("Signaling reconnected");
+            } else {
+                listener.onConnected();
+            }
+        }
+
+        @Override
+        public void onMessage(@NonNull WebSocket webSocket, @NonNull String text) {
+            Runnable callback;
+            synchronized (SignalingSocket.this) {
+                if (webSocket != socket || closed) return;
+                try {
+                    callback = handleMessage(text);
+                } catch (JSONException e) {
+                    String error = e.getMessage();
+                    callback = () -> listener.onLog("Malformed signaling message: " + error);
+                }
+            }
+            // OkHttp delivers messages on one reader thread, so callbacks keep their order.
+            if (callback != null) callback.run();
+        }
+
+        @Override
+        public void onClosing(@NonNull WebSocket webSocket, int code, @NonNull String reason) {
+            webSocket.close(code, null);
+        }
+
+        @Override
+        public void onClosed(@NonNull WebSocket webSocket, int code, @NonNull String reason) {
+            dropped(webSocket, reason.isEmpty() ? "socket closed" : reason, null, reconnectsAfterClose(code));
+        }
+
+        @Override
+        public void onFailure(@NonNull WebSocket webSocket, @NonNull Throwable t, @Nullable Response response) {
+            dropped(webSocket, "socket failure", t, true);
+        }
+
+        private void dropped(WebSocket webSocket, String reason, @Nullable Throwable error, boolean mayReconnect) {
+            boolean connectFailed;
+            long reconnectDelay;
+            int attempt;
+            synchronized (SignalingSocket.this) {
+                if (webSocket != socket || closed) return;
+                stopHeartbeat();
+                socket = null;
+                connectFailed = !everConnected && error != null;
+                reconnectDelay = mayReconnect ? scheduleReconnect() : -1;
+                attempt = reconnectAttempt;
+                if (reconnectDelay < 0) {
+                    closed = true;
+                    scheduler.shutdown();
+                }
+            }
+            if (connectFailed) listener.onError("Signaling connect failed: " + error);
+            if (reconnectDelay >= 0) {
+                listener.onLog("Signaling dropped, reconnecting in " + reconnectDelay + " ms (attempt " + attempt + ")");
+            } else {
+                listener.onDisconnected(reason);
+            }
+        }
+    }
+}
@@ -0,0 +1,87 @@
+package com.opencloud.android;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Coalesces identical in-flight operations. The first caller for a key becomes the leader
+ * and does the work; later callers for the same key just wait and receive the leader's
+ * result, so N concurrent identical GETs cost one network call. Counts requests and
+ * coalesced joins per endpoint label. Thread-safe.
+ */
+final class SingleFlight<R> {
+
+    interface Waiter<R> {
+        void onResult(R result);
+        void onError(Exception error);
+    }
+
+    static final class EndpointStats {
+        int requests;
+        int coalesced;
+    }
+
+    private final Map<String, List<Waiter<R>>> inFlight = new HashMap<>();
+    private final Map<String, EndpointStats> stats = new LinkedHashMap<>();
+
+    /**
+     * Registers the waiter under {@code key}. Returns true when the caller is the leader
+     * and must eventually call {@link #complete} or {@link #fail} for the key.
+     */
+    synchronized boolean join(String key, String endpoint, Waiter<R> waiter) {
+        EndpointStats endpointStats = stats.get(endpoint);
+        if (endpointStats == null) {
+            endpointStats = new EndpointStats();
+            stats.put(endpoint, endpointStats);
+        }
+        endpointStats.requests++;
+
+        List<Waiter<R>> waiters = inFlight.get(key);
+        if (waiters != null) {
+            endpointStats.coalesced++;
+            waiters.add(waiter);
+            return false;
+        }
+        waiters = new ArrayList<>();
+        waiters.add(waiter);
+        inFlight.put(key, waiters);
+        return true;
+    }
+
+    void complete(String key, R result) {
+        for (Waiter<R> waiter : take(key)) waiter.onResult(result);
+    }
+
+    void fail(String key, Exception error) {
+        for (Waiter<R> waiter : take(key)) waiter.onError(error);
+    }
+
+    synchronized int inFlightCount() {
+        return inFlight.size();
+    }
+
+    /** Copy of the per-endpoint counters, in first-seen order. */
+    synchronized Map<String, EndpointStats> stats() {
+        Map<String, EndpointStats> copy = new LinkedHashMap<>();
+        for (Map.Entry<String, EndpointStats> entry : stats.entrySet()) {
+            EndpointStats s = new EndpointStats();
+            s.requests = entry.getValue().requests;
+            s.coalesced = entry.getValue().coalesced;
+            copy.put(entry.getKey(), s);
+        }
+        return copy;
+    }
+
+    synchronized void resetStats() {
+        stats.clear();
+    }
+
+    // Waiters are notified outside the lock so a callback can start a new flight.
+    private synchronized List<Waiter<R>> take(String key) {
+        List<Waiter<R>> waiters = inFlight.remove(key);
+        return waiters != null ? waiters : new ArrayList<>();
+    }
+}
@@ -0,0 +1,93 @@
+package com.opencloud.android;
+
+import android.util.Log;
+
+import com.getcapacitor.JSArray;
+import com.getcapacitor.JSObject;
+import com.getcapacitor.Plugin;
+import com.getcapacitor.PluginCall;
+import com.getcapacitor.PluginMethod;
+import com.getcapacitor.annotation.CapacitorPlugin;
+
+import org.json.JSONException;
+import org.json.JSONObject;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Exposes the {@link StartupTracer} timeline to JS. The timeline is appended to a rolling
+ * history file once JS reports {@code app_interactive}.
+ */
+@CapacitorPlugin(name = "StartupTrace")
+public class StartupTracePlugin extends Plugin {
+
+    private static final String TAG = "StartupTrace";
+    private static final int HISTORY_SIZE = 50;
+
+    private final ExecutorService io = Executors.newSingleThreadExecutor();
+    private StartupTraceStore store;
+
+    @Override
+    public void load() {
+        store = new StartupTraceStore(new File(getContext().getFilesDir(), "startup_traces.jsonl"), HISTORY_SIZE);
+    }
+
+    @Override
+    protected void handleOnDestroy() {
+        io.shutdown();
+    }
+
+    @PluginMethod
+    public void mark(PluginCall call) {
+        String name = call.getString("name");
+        if (name == null || name.isEmpty()) {
+            call.reject("name is required");
+            return;
+        }
+
+        StartupTracer tracer = StartupTracer.get();
+        boolean completes = StartupTracer.MARK_APP_INTERACTIVE.equals(name) && !tracer.has(name);
+        tracer.mark(name);
+        if (completes) {
+            JSONObject timeline = tracer.timeline();
+            io.execute(() -> {
+                try {
+                    store.append(timeline);
+                } catch (IOException e) {
+                    Log.w(TAG, "Failed to persist startup timeline", e);
+                }
+            });
+        }
+        call.resolve();
+    }
+
+    @PluginMethod
+    public void getTimeline(PluginCall call) {
+        try {
+            call.resolve(JSObject.fromJSONObject(StartupTracer.get().timeline()));
+        } catch (JSONException e) {
+            call.reject("Failed to serialize timeline", e);
+        }
+    }
+
+    /** Last {@code limit} persisted launches plus per-mark p50/p95 across them. */
+    @PluginMethod
+    public void getHistory(PluginCall call) {
+        int limit = Math.max(0, Math.min(HISTORY_SIZE, call.getInt("limit", HISTORY_SIZE)));
+        io.execute(() -> {
+            try {
+                List<JSONObject> launches = store.load(limit);
+                JSObject result = new JSObject();
+                result.put("launches", new JSArray(launches));
+                result.put("stats", StartupTraceStore.stats(launches));
+                call.resolve(result);
+            } catch (IOException | JSONException e) {
+                call.reject("Failed to read startup history", e);
+            }
+        });
+    }
+}
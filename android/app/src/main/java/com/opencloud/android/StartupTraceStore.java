@@ -0,0 +1,118 @@
+package com.opencloud.android;
+
+import org.json.JSONArray;
+import org.json.JSONException;
+import org.json.JSONObject;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Rolling JSON-lines file of past startup timelines (newest last), plus p50/p95
+ * aggregation per mark so runs can be compared over the last N launches.
+ */
+final class StartupTraceStore {
+
+    private final File file;
+    private final int maxEntries;
+
+    StartupTraceStore(File file, int maxEntries) {
+        this.file = file;
+        this.maxEntries = maxEntries;
+    }
+
+    synchronized void append(JSONObject timeline) throws IOException {
+        List<String> lines = readLines();
+        lines.add(timeline.toString());
+        int from = Math.max(0, lines.size() - maxEntries);
+
+        File tmp = new File(file.getPath() + ".tmp");
+        try (Writer out = new OutputStreamWriter(new FileOutputStream(tmp), StandardCharsets.UTF_8)) {
+            for (String line : lines.subList(from, lines.size())) {
+                out.write(line);
+                out.write('\n');
+            }
+        }
+        if (!tmp.renameTo(file)) throw new IOException("Could not replace " + file);
+    }
+
+    /** Returns up to {@code limit} most recent timelines, oldest first; none for {@code limit <= 0}. */
+    synchronized List<JSONObject> load(int limit) throws IOException {
+        List<String> lines = readLines();
+        List<JSONObject> result = new ArrayList<>();
+        int from = lines.size() - Math.min(Math.max(0, limit), lines.size());
+        for (String line : lines.subList(from, lines.size())) {
+            try {
+                result.add(new JSONObject(line));
+            } catch (JSONException ignored) {
+                // Skip a torn line rather than losing the whole history.
+            }
+        }
+        return result;
+    }
+
+    /** {@code {markName: {count, p50, p95}}} over the given timelines. */
+    static JSONObject stats(List<JSONObject> timelines) throws JSONException {
+        Map<String, List<Double>> samples = new LinkedHashMap<>();
+        for (JSONObject timeline : timelines) {
+            JSONArray marks = timeline.optJSONArray("marks");
+            if (marks == null) continue;
+            for (int i = 0; i < marks.length(); i++) {
+                JSONObject mark = marks.getJSONObject(i);
+                String name = mark.getString("name");
+                List<Double> values = samples.get(name);
+                if (values == null) {
+                    values = new ArrayList<>();
+                    samples.put(name, values);
+                }
+                values.add(mark.getDouble("atMs"));
+            }
+        }
+
+        JSONObject stats = new JSONObject();
+        for (Map.Entry<String, List<Double>> entry : samples.entrySet()) {
+            double[] sorted = new double[entry.getValue().size()];
+            for (int i = 0; i < sorted.length; i++) sorted[i] = entry.getValue().get(i);
+            Arrays.sort(sorted);
+
+            JSONObject summary = new JSONObject();
+            summary.put("count", sorted.length);
+            summary.put("p50", percentile(sorted, 50));
+            summary.put("p95", percentile(sorted, 95));
+            stats.put(entry.getKey(), summary);
+        }
+        return stats;
+    }
+
+    /** Nearest-rank percentile of an ascending array. */
+    static double percentile(double[] sorted, int p) {
+        if (sorted.length == 0) return 0;
+        int rank = (int) Math.ceil(p / 100.0 * sorted.length);
+        return sorted[Math.max(0, Math.min(sorted.length - 1, rank - 1))];
+    }
+
+    private List<String> readLines() throws IOException {
+        List<String> lines = new ArrayList<>();
+        if (!file.exists()) return lines;
+        try (BufferedReader in = new BufferedReader(
+            new InputStreamReader(new FileInputStream(file), StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = in.readLine()) != null) {
+                if (!line.isEmpty()) lines.add(line);
+            }
+        }
+        return lines;
+    }
+}
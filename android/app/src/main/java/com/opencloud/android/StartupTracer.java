@@ -0,0 +1,71 @@
+package com.opencloud.android;
+
+import org.json.JSONArray;
+import org.json.JSONException;
+import org.json.JSONObject;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Monotonic-clock timeline of the current cold start. Offsets are milliseconds from the
+ * first mark (MainActivity.onCreate); each mark name is recorded once per launch.
+ */
+final class StartupTracer {
+
+    static final String MARK_ACTIVITY_CREATE = "activity_onCreate";
+    static final String MARK_PLUGINS_REGISTERED = "plugins_registered";
+    static final String MARK_BRIDGE_READY = "bridge_ready";
+    static final String MARK_WEBVIEW_FIRST_PAINT = "webview_first_paint";
+    static final String MARK_WEBVIEW_PAGE_LOADED = "webview_page_loaded";
+    static final String MARK_APP_INTERACTIVE = "app_interactive";
+
+    private static final StartupTracer INSTANCE = new StartupTracer();
+
+    private final List<String> names = new ArrayList<>();
+    private final List<Double> offsets = new ArrayList<>();
+    private final long launchWallTime = System.currentTimeMillis();
+    private long originNanos = -1;
+    private Long processStartOffsetMs;
+
+    static StartupTracer get() {
+        return INSTANCE;
+    }
+
+    /** Records {@code name} at the current monotonic time; repeated names are ignored. */
+    synchronized void mark(String name) {
+        long now = System.nanoTime();
+        if (originNanos < 0) originNanos = now;
+        if (names.contains(name)) return;
+        names.add(name);
+        offsets.add((now - originNanos) / 1_000_000.0);
+    }
+
+    /** How long before the first mark the process was forked, when the platform reports it. */
+    synchronized void setProcessStartOffsetMs(long offsetMs) {
+        processStartOffsetMs = offsetMs;
+    }
+
+    synchronized boolean has(String name) {
+        return names.contains(name);
+    }
+
+    synchronized JSONObject timeline() {
+        try {
+            JSONObject timeline = new JSONObject();
+            timeline.put("launchedAt", launchWallTime);
+            if (processStartOffsetMs != null) timeline.put("processStartMs", -processStartOffsetMs);
+            JSONArray marks = new JSONArray();
+            for (int i = 0; i < names.size(); i++) {
+                JSONObject mark = new JSONObject();
+                mark.put("name", names.get(i));
+                mark.put("atMs", Math.round(offsets.get(i) * 100) / 100.0);
+                marks.put(mark);
+            }
+            timeline.put("marks", marks);
+            return timeline;
+        } catch (JSONException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
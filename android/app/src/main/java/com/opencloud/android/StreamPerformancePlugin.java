@@ -0,0 +1,275 @@
+package com.opencloud.android;
+
+import android.app.Activity;
+import android.content.Context;
+import android.hardware.display.DisplayManager;
+import android.net.wifi.WifiManager;
+import android.os.Build;
+import android.os.Handler;
+import android.os.Looper;
+import android.os.PowerManager;
+import android.os.Process;
+import android.os.SystemClock;
+import android.util.Log;
+import android.view.Display;
+import android.view.Window;
+import android.view.WindowManager;
+
+import com.getcapacitor.JSObject;
+import com.getcapacitor.Plugin;
+import com.getcapacitor.PluginCall;
+import com.getcapacitor.PluginMethod;
+import com.getcapacitor.annotation.CapacitorPlugin;
+
+/**
+ * Game-mode switches for the stream view: immersive mode, sustained performance, a display
+ * mode matched to the stream fps, a low-latency Wi-Fi lock and a raised UI thread priority.
+ * Every change (including the display actually switching refresh rate) is reported as a
+ * {@code modeChanged} event stamped with wall-clock time, so JS can line it up with frame
+ * pacing stats. All state is touched on the UI thread. {@code uptime} returns
+ * {@link SystemClock#uptimeMillis}, the clock native input event times are on, so JS can
+ * measure its offset to {@code performance.now()}.
+ */
+@CapacitorPlugin(name = "StreamPerformance")
+public class StreamPerformancePlugin extends Plugin {
+
+    private static final String TAG = "StreamPerformance";
+    private static final int STREAM_UI_PRIORITY = Process.THREAD_PRIORITY_DISPLAY;
+
+    private final Handler mainHandler = new Handler(Looper.getMainLooper());
+
+    private boolean enabled = false;
+    private int requestedFps = 0;
+    private boolean sustainedPerformance = false;
+    private boolean displayModeSaved = false;
+    private int previousModeId = 0;
+    private int previousUiPriority = 0;
+    private WifiManager.WifiLock wifiLock;
+    private DisplayManager.DisplayListener displayListener;
+
+    @PluginMethod
+    public void enable(PluginCall call) {
+        int fps = call.getInt("fps", 60);
+        mainHandler.post(() -> {
+            Activity activity = getActivity();
+            if (activity == null) {
+                call.reject("No activity");
+                return;
+            }
+            if (!enabled) {
+                enabled = true;
+                enterImmersive(activity);
+                setSustainedPerformance(activity, true);
+                raiseUiPriority();
+                acquireWifiLock();
+                listenForDisplayChanges();
+            }
+            requestedFps = fps;
+            matchDisplayMode(activity, fps);
+
+            JSObject state = state(activity, "enable");
+            notifyListeners("modeChanged", state);
+            call.resolve(state);
+        });
+    }
+
+    @PluginMethod
+    public void disable(PluginCall call) {
+        mainHandler.post(() -> {
+            Activity activity = getActivity();
+            if (enabled && activity != null) restore(activity);
+            JSObject state = state(activity, "disable");
+            notifyListeners("modeChanged", state);
+            call.resolve(state);
+        });
+    }
+
+    @PluginMethod
+    public void getState(PluginCall call) {
+        mainHandler.post(() -> call.resolve(state(getActivity(), "query")));
+    }
+
+    /** Answered on the plugin thread, not the UI thread, to keep the round trip short. */
+    @PluginMethod
+    public void uptime(PluginCall call) {
+        JSObject result = new JSObject();
+        result.put("uptimeMs", SystemClock.uptimeMillis());
+        call.resolve(result);
+    }
+
+    @Override
+    protected void handleOnPause() {
+        // A held Wi-Fi lock keeps the radio awake for nothing while we are in the background.
+        releaseWifiLock();
+    }
+
+    @Override
+    protected void handleOnResume() {
+        if (enabled) {
+            acquireWifiLock();
+            Activity activity = getActivity();
+            if (activity != null) enterImmersive(activity);
+        }
+    }
+
+    @Override
+    protected void handleOnDestroy() {
+        Activity activity = getActivity();
+        if (enabled && activity != null) restore(activity);
+        releaseWifiLock();
+    }
+
+    private void restore(Activity activity) {
+        enabled = false;
+        requestedFps = 0;
+        if (activity instanceof MainActivity) ((MainActivity) activity).exitImmersiveMode();
+        setSustainedPerformance(activity, false);
+        restoreDisplayMode(activity);
+        releaseWifiLock();
+        restoreUiPriority();
+        stopListeningForDisplayChanges();
+    }
+
+    private void enterImmersive(Activity activity) {
+        if (activity instanceof MainActivity) ((MainActivity) activity).enterImmersiveMode();
+    }
+
+    private void setSustainedPerformance(Activity activity, boolean on) {
+        if (Build.VERSION.SDK_INT < Build.VERSION_CODES.N) return;
+        PowerManager power = (PowerManager) activity.getSystemService(Context.POWER_SERVICE);
+        if (power == null || !power.isSustainedPerformanceModeSupported()) return;
+        activity.getWindow().setSustainedPerformanceMode(on);
+        sustainedPerformance = on;
+    }
+
+    private void matchDisplayMode(Activity activity, int fps) {
+        Display display = display(activity);
+        if (display == null) return;
+
+        // Only consider modes at the current resolution; a resolution switch blanks the screen.
+        Display.Mode current = display.getMode();
+        Display.Mode[] supported = display.getSupportedModes();
+        Display.Mode[] candidates = new Display.Mode[supported.length];
+        float[] rates = new float[supported.length];
+        int count = 0;
+        for (Display.Mode mode : supported) {
+            if (mode.getPhysicalWidth() != current.getPhysicalWidth()
+                || mode.getPhysicalHeight() != current.getPhysicalHeight()) continue;
+            candidates[count] = mode;
+            rates[count] = mode.getRefreshRate();
+            count++;
+        }
+        float[] matched = new float[count];
+        System.arraycopy(rates, 0, matched, 0, count);
+        int best = RefreshRateMatcher.bestMatch(matched, fps);
+        if (best < 0) return;
+
+        Window window = activity.getWindow();
+        WindowManager.LayoutParams params = window.getAttributes();
+        if (params.preferredDisplayModeId == candidates[best].getModeId()) return;
+        if (!displayModeSaved) {
+            previousModeId = params.preferredDisplayModeId;
+            displayModeSaved = true;
+        }
+        params.preferredDisplayModeId = candidates[best].getModeId();
+        window.setAttributes(params);
+    }
+
+    private void restoreDisplayMode(Activity activity) {
+        if (!displayModeSaved) return;
+        displayModeSaved = false;
+        Window window = activity.getWindow();
+        WindowManager.LayoutParams params = window.getAttributes();
+        params.preferredDisplayModeId = previousModeId;
+        window.setAttributes(params);
+    }
+
+    private void raiseUiPriority() {
+        previousUiPriority = Process.getThreadPriority(Process.myTid());
+        try {
+            Process.setThreadPriority(STREAM_UI_PRIORITY);
+        } catch (SecurityException | IllegalArgumentException e) {
+            Log.w(TAG, "Could not raise UI thread priority", e);
+        }
+    }
+
+    private void restoreUiPriority() {
+        try {
+            Process.setThreadPriority(previousUiPriority);
+        } catch (SecurityException | IllegalArgumentException e) {
+            Log.w(TAG, "Could not restore UI thread priority", e);
+        }
+    }
+
+    @SuppressWarnings("deprecation")
+    private void acquireWifiLock() {
+        if (wifiLock == null) {
+            WifiManager wifi = (WifiManager) getContext().getApplicationContext().getSystemService(Context.WIFI_SERVICE);
+            if (wifi == null) return;
+            int mode = Build.VERSION.SDK_INT >= Build.VERSION_CODES.Q
+                ? WifiManager.WIFI_MODE_FULL_LOW_LATENCY
+                : WifiManager.WIFI_MODE_FULL_HIGH_PERF;
+            wifiLock = wifi.createWifiLock(mode, "OpenCloud:stream");
+            wifiLock.setReferenceCounted(false);
+        }
+        if (!wifiLock.isHeld()) wifiLock.acquire();
+    }
+
+    private void releaseWifiLock() {
+        if (wifiLock != null && wifiLock.isHeld()) wifiLock.release();
+    }
+
+    private void listenForDisplayChanges() {
+        DisplayManager displays = (DisplayManager) getContext().getSystemService(Context.DISPLAY_SERVICE);
+        if (displays == null || displayListener != null) return;
+        displayListener = new DisplayManager.DisplayListener() {
+            @Override
+            public void onDisplayAdded(int displayId) {}
+
+            @Override
+            public void onDisplayRemoved(int displayId) {}
+
+            @Override
+            public void onDisplayChanged(int displayId) {
+                Activity activity = getActivity();
+                Display display = activity != null ? display(activity) : null;
+                if (display != null && display.getDisplayId() == displayId) {
+                    notifyListeners("modeChanged", state(activity, "display"));
+                }
+            }
+        };
+        displays.registerDisplayListener(displayListener, mainHandler);
+    }
+
+    private void stopListeningForDisplayChanges() {
+        DisplayManager displays = (DisplayManager) getContext().getSystemService(Context.DISPLAY_SERVICE);
+        if (displays != null && displayListener != null) displays.unregisterDisplayListener(displayListener);
+        displayListener = null;
+    }
+
+    @SuppressWarnings("deprecation")
+    private static Display display(Activity activity) {
+        if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.R) return activity.getDisplay();
+        return activity.getWindowManager().getDefaultDisplay();
+    }
+
+    private JSObject state(Activity activity, String reason) {
+        JSObject state = new JSObject();
+        state.put("reason", reason);
+        state.put("timestamp", System.currentTimeMillis());
+        state.put("enabled", enabled);
+        state.put("requestedFps", requestedFps);
+        state.put("sustainedPerformance", sustainedPerformance);
+        state.put("wifiLowLatency", wifiLock != null && wifiLock.isHeld());
+        state.put("uiThreadPriority", Process.getThreadPriority(Process.myTid()));
+        Display display = activity != null ? display(activity) : null;
+        if (display != null) {
+            Display.Mode mode = display.getMode();
+            state.put("refreshRate", mode.getRefreshRate());
+            state.put("displayModeId", mode.getModeId());
+            state.put("width", mode.getPhysicalWidth());
+            state.put("height", mode.getPhysicalHeight());
+        }
+        return state;
+    }
+}
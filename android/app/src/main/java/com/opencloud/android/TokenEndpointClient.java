@@ -0,0 +1,150 @@
+package com.opencloud.android;
+
+import org.json.JSONException;
+import org.json.JSONObject;
+
+import java.io.IOException;
+
+import okhttp3.FormBody;
+import okhttp3.OkHttpClient;
+import okhttp3.Request;
+import okhttp3.Response;
+import okhttp3.ResponseBody;
+
+/**
+ * Native counterpart of the token calls in {@code auth.ts}. Results use the same
+ * {@code AuthTokens} shape as JS: accessToken, refreshToken, idToken, expiresAt (epoch ms).
+ */
+final class TokenEndpointClient {
+
+    /** A non-2xx answer from the token endpoint, with its status and OAuth {@code error} code. */
+    static final class HttpError extends IOException {
+        private static final long serialVersionUID = 1L;
+
+        final int status;
+        final String error;
+
+        HttpError(String message, int status, String error) {
+            super(message);
+            this.status = status;
+            this.error = error;
+        }
+
+        /**
+         * True when retrying the same grant cannot succeed: {@code invalid_grant} or any 4xx
+         * other than a timeout or rate limit. The user has to sign in again.
+         */
+        boolean isRejected() {
+            if ("invalid_grant".equals(error)) return true;
+            return status >= 400 && status < 500 && status != 408 && status != 429;
+        }
+    }
+
+    static final String DEFAULT_ENDPOINT = "https://login.nvidia.com/token";
+    static final String CLIENT_ID = "ZU7sPN-miLujMD95LfOQ453IB0AtjM8sMyvgJ9wCXEQ";
+    static final String SCOPES = "openid consent email tk_client age offline_access";
+    static final String GFN_USER_AGENT =
+        "Mozilla/5.0 (Windows NT 10.0; Win64; x64) AppleWebKit/537.36 (KHTML, like Gecko) " +
+        "Chrome/128.0.0.0 Safari/537.36 NVIDIACEFClient/HEAD/debb5919f6 GFN-PC/2.0.80.173";
+
+    private static final long DEFAULT_EXPIRES_IN_SECONDS = 86400;
+
+    private final OkHttpClient http;
+    private final String endpoint;
+
+    TokenEndpointClient(OkHttpClient http, String endpoint) {
+        this.http = http;
+        this.endpoint = endpoint;
+    }
+
+    JSONObject exchangeAuthorizationCode(String code, String verifier, String redirectUri) throws IOException {
+        FormBody body = new FormBody.Builder()
+            .add("grant_type", "authorization_code")
+            .add("code", code)
+            .add("redirect_uri", redirectUri)
+            .add("code_verifier", verifier)
+            .build();
+        return post(body, "Token exchange", null);
+    }
+
+    JSONObject refresh(String refreshToken) throws IOException {
+        FormBody body = new FormBody.Builder()
+            .add("grant_type", "refresh_token")
+            .add("refresh_token", refreshToken)
+            .add("client_id", CLIENT_ID)
+            .add("scope", SCOPES)
+            .build();
+        return post(body, "Token refresh", refreshToken);
+    }
+
+    /** Fallback used by auth.ts when the plain refresh_token grant is rejected. */
+    JSONObject refreshViaClientToken(String refreshToken) throws IOException {
+        FormBody body = new FormBody.Builder()
+            .add("grant_type", "urn:ietf:params:oauth:grant-type:token-exchange")
+            .add("subject_token", refreshToken)
+            .add("subject_token_type", "urn:ietf:params:oauth:token-type:refresh_token")
+            .add("requested_token_type", "urn:ietf:params:oauth:token-type:access_token")
+            .add("client_id", CLIENT_ID)
+            .add("scope", SCOPES)
+            .build();
+        return post(body, "client_token refresh", refreshToken);
+    }
+
+    private JSONObject post(FormBody body, String label, String previousRefreshToken) throws IOException {
+        Request request = new Request.Builder()
+            .url(endpoint)
+            .post(body)
+            .header("Content-Type", "application/x-www-form-urlencoded; charset=UTF-8")
+            .header("Origin", "https://nvfile")
+            .header("Referer", "https://nvfile/")
+            .header("Accept", "application/json, text/plain, */*")
+            .header("User-Agent", GFN_USER_AGENT)
+            .build();
+
+        try (Response response = http.newCall(request).execute()) {
+            ResponseBody responseBody = response.body();
+            String text = responseBody != null ? responseBody.string() : "";
+            if (!response.isSuccessful()) {
+                String preview = text.length() > 400 ? text.substring(0, 400) : text;
+                throw new HttpError(label + " failed (" + response.code() + "): " + preview,
+                    response.code(), errorCode(text));
+            }
+            return toTokens(text, label, previousRefreshToken);
+        }
+    }
+
+    private static String errorCode(String text) {
+        try {
+            String error = new JSONObject(text).optString("error", "");
+            return error.isEmpty() ? null : error;
+        } catch (JSONException e) {
+            return null;
+        }
+    }
+
+    private static JSONObject toTokens(String text, String label, String previousRefreshToken) throws IOException {
+        try {
+            JSONObject payload = new JSONObject(text);
+            String accessToken = payload.optString("access_token", "");
+            if (accessToken.isEmpty()) {
+                throw new IOException(label + " returned empty access_token");
+            }
+            long expiresIn = payload.optLong("expires_in", DEFAULT_EXPIRES_IN_SECONDS);
+
+            JSONObject tokens = new JSONObject();
+            tokens.put("accessToken", accessToken);
+            String refreshToken = payload.optString("refresh_token", "");
+            if (!refreshToken.isEmpty()) {
+                tokens.put("refreshToken", refreshToken);
+            } else if (previousRefreshToken != null) {
+                tokens.put("refreshToken", previousRefreshToken);
+            }
+            String idToken = payload.optString("id_token", "");
+            if (!idToken.isEmpty()) tokens.put("idToken", idToken);
+            tokens.put("expiresAt", System.currentTimeMillis() + expiresIn * 1000L);
+            return tokens;
+        } catch (JSONException e) {
+            throw new IOException(label + " returned invalid JSON", e);
+        }
+    }
+}
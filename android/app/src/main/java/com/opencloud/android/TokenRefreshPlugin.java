@@ -0,0 +1,59 @@
+package com.opencloud.android;
+
+import com.getcapacitor.JSObject;
+import com.getcapacitor.Plugin;
+import com.getcapacitor.PluginCall;
+import com.getcapacitor.PluginMethod;
+import com.getcapacitor.annotation.CapacitorPlugin;
+
+import org.json.JSONObject;
+
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * JS face of {@link TokenRefreshScheduler}. Emits {@code tokensRefreshed} whenever the
+ * native side rotates tokens so auth.ts can swap its in-memory session.
+ */
+@CapacitorPlugin(name = "TokenRefresh")
+public class TokenRefreshPlugin extends Plugin {
+
+    private final ExecutorService waiter = Executors.newCachedThreadPool();
+
+    @Override
+    public void load() {
+        TokenRefreshScheduler.get(getContext()).setListener(tokens -> {
+            JSObject event = new JSObject();
+            event.put("tokens", tokens);
+            notifyListeners("tokensRefreshed", event);
+        });
+    }
+
+    @Override
+    protected void handleOnDestroy() {
+        TokenRefreshScheduler.get(getContext()).setListener(null);
+        waiter.shutdown();
+    }
+
+    /** Refreshes now (or joins the in-flight refresh); resolves {@code tokens: null} when nothing is refreshable. */
+    @PluginMethod
+    public void refreshNow(PluginCall call) {
+        Future<JSONObject> future = TokenRefreshScheduler.get(getContext()).refreshNow();
+        // Wait off the shared plugin thread so other bridge calls are not held up by the network.
+        waiter.execute(() -> {
+            try {
+                JSONObject tokens = future.get();
+                JSObject result = new JSObject();
+                result.put("tokens", tokens != null ? tokens : JSObject.NULL);
+                call.resolve(result);
+            } catch (ExecutionException e) {
+                call.reject("Native token refresh failed", e);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                call.reject("Native token refresh interrupted", e);
+            }
+        });
+    }
+}
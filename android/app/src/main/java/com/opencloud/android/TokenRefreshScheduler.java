@@ -0,0 +1,250 @@
+package com.opencloud.android;
+
+import android.content.Context;
+import android.util.Log;
+
+import org.json.JSONException;
+import org.json.JSONObject;
+
+import java.io.IOException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Keeps the session in {@link TokenVault} fresh without involving the WebView: refreshes
+ * the access token {@link #REFRESH_LEAD_MS} before {@code expiresAt} (ahead of the 5-minute
+ * threshold auth.ts uses) and pre-fetches the subscription tier in the background. It is
+ * the single owner of refresh-token use, so JS asks it via {@link #refreshNow} rather than
+ * racing it with its own refresh.
+ */
+final class TokenRefreshScheduler {
+
+    interface Listener {
+        void onTokensRefreshed(JSONObject tokens);
+    }
+
+    static final long REFRESH_LEAD_MS = 10 * 60 * 1000;
+    static final long TIER_MAX_AGE_MS = 6 * 60 * 60 * 1000;
+
+    static final long RETRY_BASE_DELAY_MS = 30 * 1000;
+    static final long RETRY_MAX_DELAY_MS = 30 * 60 * 1000;
+
+    private static final String TAG = "TokenRefresh";
+
+    private static volatile TokenRefreshScheduler instance;
+
+    private final TokenVault vault;
+    private final TokenEndpointClient tokenClient;
+    private final GfnApiClient apiClient;
+    private final ScheduledExecutorService executor = Executors.newSingleThreadScheduledExecutor();
+
+    private ScheduledFuture<?> scheduled;
+    private Future<JSONObject> inFlight;
+    private int failures;
+    /** Refresh token the endpoint rejected; not retried until a new session is stored. */
+    private String rejectedRefreshToken;
+    private volatile Listener listener;
+
+    private TokenRefreshScheduler(TokenVault vault, TokenEndpointClient tokenClient, GfnApiClient apiClient) {
+        this.vault = vault;
+        this.tokenClient = tokenClient;
+        this.apiClient = apiClient;
+    }
+
+    static TokenRefreshScheduler get(Context context) {
+        TokenRefreshScheduler local = instance;
+        if (local == null) {
+            synchronized (TokenRefreshScheduler.class) {
+                local = instance;
+                if (local == null) {
+                    local = new TokenRefreshScheduler(
+                        TokenVault.get(context),
+                        new TokenEndpointClient(SharedHttpClient.get(), TokenEndpointClient.DEFAULT_ENDPOINT),
+                        new GfnApiClient(SharedHttpClient.get(), GfnApiClient.DEFAULT_MES_URL)
+                    );
+                    instance = local;
+                }
+            }
+        }
+        return local;
+    }
+
+    void setListener(Listener listener) {
+        this.listener = listener;
+    }
+
+    /** Re-evaluates the stored session and (re)arms the refresh timer. Idempotent. */
+    void start() {
+        executor.execute(() -> {
+            reschedule();
+            prefetchTierIfStale();
+        });
+    }
+
+    /**
+     * Refreshes now, or joins the refresh already in flight. Resolves to the new
+     * {@code AuthTokens} JSON, or {@code null} when there is no refreshable session.
+     */
+    synchronized Future<JSONObject> refreshNow() {
+        if (inFlight == null || inFlight.isDone()) {
+            inFlight = executor.submit(this::refreshAndStore);
+        }
+        return inFlight;
+    }
+
+    /** Delay before retry number {@code failures}: doubling from the base, capped. */
+    static long retryDelayMs(int failures) {
+        int doublings = Math.min(Math.max(failures, 1) - 1, 16);
+        return Math.min(RETRY_MAX_DELAY_MS, RETRY_BASE_DELAY_MS << doublings);
+    }
+
+    private synchronized void reschedule() {
+        if (scheduled != null) scheduled.cancel(false);
+        scheduled = null;
+
+        JSONObject tokens = storedTokens(readState());
+        String refreshToken = tokens != null ? tokens.optString("refreshToken", "") : "";
+        if (refreshToken.isEmpty() || refreshToken.equals(rejectedRefreshToken)) return;
+
+        long delay = Math.max(0, tokens.optLong("expiresAt", 0) - REFRESH_LEAD_MS - System.currentTimeMillis());
+        scheduled = executor.schedule(() -> { refreshNow(); }, delay, TimeUnit.MILLISECONDS);
+    }
+
+    private JSONObject refreshAndStore() {
+        JSONObject state = readState();
+        JSONObject current = storedTokens(state);
+        String refreshToken = current != null ? current.optString("refreshToken", "") : "";
+        if (refreshToken.isEmpty()) return null;
+        synchronized (this) {
+            if (refreshToken.equals(rejectedRefreshToken)) return null;
+        }
+
+        JSONObject refreshed;
+        try {
+            try {
+                refreshed = tokenClient.refresh(refreshToken);
+            } catch (IOException e) {
+                refreshed = tokenClient.refreshViaClientToken(refreshToken);
+            }
+        } catch (IOException e) {
+            synchronized (this) {
+                if (scheduled != null) scheduled.cancel(false);
+                scheduled = null;
+                if (e instanceof TokenEndpointClient.HttpError && ((TokenEndpointClient.HttpError) e).isRejected()) {
+                    // Retrying a revoked or expired refresh token only hammers the endpoint.
+                    Log.w(TAG, "Refresh token rejected; waiting for a new sign-in", e);
+                    rejectedRefreshToken = refreshToken;
+                    failures = 0;
+                } else {
+                    long delay = retryDelayMs(++failures);
+                    Log.w(TAG, "Background refresh failed; retrying in " + delay / 1000 + " s", e);
+                    scheduled = executor.schedule(() -> { refreshNow(); }, delay, TimeUnit.MILLISECONDS);
+                }
+            }
+            return null;
+        }
+        synchronized (this) {
+            failures = 0;
+        }
+
+        // JS may have persisted in the meantime; only swap tokens on the chain we refreshed.
+        String latestJson = vault.read();
+        JSONObject latest = parse(latestJson);
+        JSONObject latestTokens = storedTokens(latest);
+        if (latestTokens != null && refreshToken.equals(latestTokens.optString("refreshToken", ""))) {
+            try {
+                latest.getJSONObject("session").put("tokens", refreshed);
+                vault.replace(latestJson, latest.toString());
+            } catch (JSONException e) {
+                Log.w(TAG, "Unexpected auth state shape", e);
+            }
+        }
+
+        Listener l = listener;
+        if (l != null) l.onTokensRefreshed(refreshed);
+        reschedule();
+
+        // A refreshed token may carry a new entitlement; re-check the tier off the caller's path.
+        executor.execute(() -> {
+            JSONObject stored = readState();
+            JSONObject storedTokens = storedTokens(stored);
+            if (storedTokens != null) updateTier(stored, storedTokens);
+        });
+        return refreshed;
+    }
+
+    private void prefetchTierIfStale() {
+        JSONObject state = readState();
+        JSONObject tokens = storedTokens(state);
+        if (tokens == null || tokens.optLong("expiresAt", 0) <= System.currentTimeMillis()) return;
+        if (System.currentTimeMillis() - state.optLong("tierCheckedAt", 0) < TIER_MAX_AGE_MS) return;
+        updateTier(state, tokens);
+    }
+
+    /**
+     * Looks up the MES membership tier for the session in {@code state} and stores it, but
+     * only if that session is still the stored one once the lookup returns: a logout, JS
+     * persist or new login during the two round trips must not be overwritten.
+     */
+    private void updateTier(JSONObject state, JSONObject tokens) {
+        JSONObject session = state.optJSONObject("session");
+        JSONObject user = session != null ? session.optJSONObject("user") : null;
+        JSONObject provider = session != null ? session.optJSONObject("provider") : null;
+        if (user == null) return;
+
+        String userId = user.optString("userId");
+        String refreshToken = tokens.optString("refreshToken", "");
+        String jwt = tokens.optString("idToken", "");
+        if (jwt.isEmpty()) jwt = tokens.optString("accessToken", "");
+        String baseUrl = provider != null ? provider.optString("streamingServiceUrl", null) : null;
+
+        String tier;
+        try {
+            String vpcId = GfnApiClient.vpcIdFrom(apiClient.fetchServerInfo(jwt, baseUrl));
+            tier = apiClient.fetchMembershipTier(jwt, userId, vpcId);
+        } catch (IOException e) {
+            Log.w(TAG, "Subscription tier prefetch failed", e);
+            return;
+        }
+
+        String latestJson = vault.read();
+        JSONObject latest = parse(latestJson);
+        JSONObject latestSession = latest != null ? latest.optJSONObject("session") : null;
+        JSONObject latestUser = latestSession != null ? latestSession.optJSONObject("user") : null;
+        JSONObject latestTokens = storedTokens(latest);
+        if (latestUser == null || latestTokens == null
+                || !userId.equals(latestUser.optString("userId"))
+                || !refreshToken.equals(latestTokens.optString("refreshToken", ""))) {
+            return;
+        }
+        try {
+            latestUser.put("membershipTier", tier);
+            latest.put("tierCheckedAt", System.currentTimeMillis());
+            vault.replace(latestJson, latest.toString());
+        } catch (JSONException e) {
+            Log.w(TAG, "Unexpected auth state shape", e);
+        }
+    }
+
+    private JSONObject readState() {
+        return parse(vault.read());
+    }
+
+    private static JSONObject parse(String json) {
+        if (json == null) return null;
+        try {
+            return new JSONObject(json);
+        } catch (JSONException e) {
+            return null;
+        }
+    }
+
+    private static JSONObject storedTokens(JSONObject state) {
+        if (state == null) return null;
+        JSONObject session = state.optJSONObject("session");
+        return session != null ? session.optJSONObject("tokens") : null;
+    }
+}
@@ -0,0 +1,183 @@
+package com.opencloud.android;
+
+import android.content.Context;
+import android.security.keystore.KeyGenParameterSpec;
+import android.security.keystore.KeyProperties;
+import android.util.AtomicFile;
+import android.util.Log;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.KeyStore;
+import java.util.Objects;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import javax.crypto.Cipher;
+import javax.crypto.KeyGenerator;
+import javax.crypto.SecretKey;
+import javax.crypto.spec.GCMParameterSpec;
+
+/**
+ * Encrypted store for the persisted auth state ({@code PersistedAuthState} in auth.ts).
+ * The JSON snapshot lives in memory, so reads are a field load once {@link #preload}
+ * has finished; writes update the snapshot immediately and are flushed to disk on a
+ * single IO thread, with bursts of writes coalesced into one encrypt + fsync. The file
+ * is sealed with an AES-GCM key held in the Android Keystore.
+ */
+final class TokenVault {
+
+    private static final String TAG = "TokenVault";
+    private static final String KEY_ALIAS = "opencloud_token_vault";
+    private static final String FILE_NAME = "token_vault.bin";
+    private static final String TRANSFORMATION = "AES/GCM/NoPadding";
+    private static final int GCM_TAG_BITS = 128;
+
+    private static volatile TokenVault instance;
+
+    private final AtomicFile file;
+    private final ExecutorService io = Executors.newSingleThreadExecutor();
+    private final CountDownLatch loaded = new CountDownLatch(1);
+    private final AtomicBoolean loadStarted = new AtomicBoolean(false);
+    private final AtomicBoolean flushPending = new AtomicBoolean(false);
+
+    private volatile String snapshot;
+    private boolean written;
+
+    private TokenVault(Context context) {
+        file = new AtomicFile(new File(context.getFilesDir(), FILE_NAME));
+    }
+
+    static TokenVault get(Context context) {
+        TokenVault local = instance;
+        if (local == null) {
+            synchronized (TokenVault.class) {
+                local = instance;
+                if (local == null) {
+                    local = new TokenVault(context.getApplicationContext());
+                    instance = local;
+                }
+            }
+        }
+        return local;
+    }
+
+    /** Starts decrypting the stored state on the IO thread. Safe to call repeatedly. */
+    void preload() {
+        if (!loadStarted.compareAndSet(false, true)) return;
+        io.execute(() -> {
+            try {
+                String stored = readFromDisk();
+                // A write that landed before the load finished is newer than what's on disk.
+                synchronized (this) {
+                    if (!written) snapshot = stored;
+                }
+            } finally {
+                loaded.countDown();
+            }
+        });
+    }
+
+    /** Returns the decrypted state JSON, or {@code null}. Blocks only until the first load completes. */
+    String read() {
+        preload();
+        try {
+            loaded.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        return snapshot;
+    }
+
+    /** Replaces the state; {@code null} clears it. The disk write happens asynchronously. */
+    synchronized void write(String json) {
+        preload();
+        written = true;
+        snapshot = json;
+        if (flushPending.compareAndSet(false, true)) {
+            io.execute(() -> {
+                flushPending.set(false);
+                writeToDisk(snapshot);
+            });
+        }
+    }
+
+    /**
+     * Writes {@code json} only if the state still equals {@code expected}, so a background
+     * update based on an older read can't undo a logout or a newer login. Returns whether it wrote.
+     */
+    synchronized boolean replace(String expected, String json) {
+        if (!Objects.equals(read(), expected)) return false;
+        write(json);
+        return true;
+    }
+
+    private String readFromDisk() {
+        if (!file.getBaseFile().exists()) return null;
+        try {
+            ByteBuffer buffer = ByteBuffer.wrap(file.readFully());
+            byte[] iv = new byte[buffer.get() & 0xFF];
+            buffer.get(iv);
+            byte[] ciphertext = new byte[buffer.remaining()];
+            buffer.get(ciphertext);
+
+            Cipher cipher = Cipher.getInstance(TRANSFORMATION);
+            cipher.init(Cipher.DECRYPT_MODE, key(), new GCMParameterSpec(GCM_TAG_BITS, iv));
+            return new String(cipher.doFinal(ciphertext), StandardCharsets.UTF_8);
+        } catch (IOException | GeneralSecurityException | RuntimeException e) {
+            // A restored backup without its Keystore key cannot be decrypted; start clean.
+            Log.w(TAG, "Discarding unreadable vault", e);
+            file.delete();
+            return null;
+        }
+    }
+
+    private void writeToDisk(String json) {
+        if (json == null) {
+            file.delete();
+            return;
+        }
+        FileOutputStream out = null;
+        try {
+            Cipher cipher = Cipher.getInstance(TRANSFORMATION);
+            cipher.init(Cipher.ENCRYPT_MODE, key());
+            byte[] iv = cipher.getIV();
+            byte[] ciphertext = cipher.doFinal(json.getBytes(StandardCharsets.UTF_8));
+
+            out = file.startWrite();
+            out.write(iv.length);
+            out.write(iv);
+            out.write(ciphertext);
+            file.finishWrite(out);
+        } catch (IOException | GeneralSecurityException e) {
+            Log.e(TAG, "Failed to persist vault", e);
+            if (out != null) file.failWrite(out);
+        }
+    }
+
+    private static SecretKey key() throws GeneralSecurityException, IOException {
+        KeyStore keyStore = KeyStore.getInstance("AndroidKeyStore");
+        keyStore.load(null);
+        KeyStore.Entry entry = keyStore.getEntry(KEY_ALIAS, null);
+        if (entry instanceof KeyStore.SecretKeyEntry) {
+            return ((KeyStore.SecretKeyEntry) entry).getSecretKey();
+        }
+
+        KeyGenerator generator = KeyGenerator.getInstance(KeyProperties.KEY_ALGORITHM_AES, "AndroidKeyStore");
+        generator.init(new KeyGenParameterSpec.Builder(
+            KEY_ALIAS,
+            KeyProperties.PURPOSE_ENCRYPT | KeyProperties.PURPOSE_DECRYPT
+        )
+            .setBlockModes(KeyProperties.BLOCK_MODE_GCM)
+            .setEncryptionPaddings(KeyProperties.ENCRYPTION_PADDING_NONE)
+            .setKeySize(256)
+            .build());
+        return generator.generateKey();
+    }
+}
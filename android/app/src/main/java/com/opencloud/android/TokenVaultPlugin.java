@@ -0,0 +1,51 @@
+package com.opencloud.android;
+
+import com.getcapacitor.JSObject;
+import com.getcapacitor.Plugin;
+import com.getcapacitor.PluginCall;
+import com.getcapacitor.PluginMethod;
+import com.getcapacitor.annotation.CapacitorPlugin;
+
+import org.json.JSONException;
+
+/**
+ * JS access to {@link TokenVault}. {@code state} is the {@code PersistedAuthState}
+ * object from auth.ts; it crosses the bridge as an object so JS skips its own parse.
+ */
+@CapacitorPlugin(name = "TokenVault")
+public class TokenVaultPlugin extends Plugin {
+
+    @PluginMethod
+    public void get(PluginCall call) {
+        String json = TokenVault.get(getContext()).read();
+        JSObject result = new JSObject();
+        if (json == null) {
+            result.put("state", JSObject.NULL);
+            call.resolve(result);
+            return;
+        }
+        try {
+            result.put("state", new JSObject(json));
+            call.resolve(result);
+        } catch (JSONException e) {
+            call.reject("Stored auth state is not valid JSON", e);
+        }
+    }
+
+    @PluginMethod
+    public void set(PluginCall call) {
+        JSObject state = call.getObject("state");
+        if (state == null) {
+            call.reject("state is required");
+            return;
+        }
+        TokenVault.get(getContext()).write(state.toString());
+        call.resolve();
+    }
+
+    @PluginMethod
+    public void clear(PluginCall call) {
+        TokenVault.get(getContext()).write(null);
+        call.resolve();
+    }
+}
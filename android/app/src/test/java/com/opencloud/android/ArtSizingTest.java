@@ -0,0 +1,45 @@
+package com.opencloud.android;
+
+import static org.junit.Assert.*;
+
+import org.junit.Test;
+
+public class ArtSizingTest {
+
+    @Test
+    public void requestWidth_snapsUpToLadderAndCapsAtLargest() {
+        assertEquals(136, ArtSizing.requestWidth(100));
+        assertEquals(272, ArtSizing.requestWidth(272));
+        assertEquals(408, ArtSizing.requestWidth(273));
+        assertEquals(816, ArtSizing.requestWidth(2000));
+    }
+
+    @Test
+    public void displayWidth_scalesCssPixelsByDensity() {
+        assertEquals(700, ArtSizing.displayWidthPx(175f, 4f));
+        assertEquals(263, ArtSizing.displayWidthPx(175.5f, 1.5f));
+        assertEquals(0, ArtSizing.displayWidthPx(0f, 3f));
+    }
+
+    @Test
+    public void withWidth_replacesOrAppendsWidthParam() {
+        assertEquals("https://img.nvidiagrid.net/a.jpg;f=webp;w=544",
+            ArtSizing.withWidth("https://img.nvidiagrid.net/a.jpg;f=webp;w=272", 544));
+        assertEquals("https://img.nvidiagrid.net/a.jpg;w=204",
+            ArtSizing.withWidth("https://img.nvidiagrid.net/a.jpg", 204));
+    }
+
+    @Test
+    public void inSampleSize_neverDecodesBelowTarget() {
+        assertEquals(1, ArtSizing.inSampleSize(544, 300));
+        assertEquals(2, ArtSizing.inSampleSize(544, 272));
+        assertEquals(4, ArtSizing.inSampleSize(816, 200));
+        assertEquals(1, ArtSizing.inSampleSize(816, 0));
+    }
+
+    @Test
+    public void scaledHeight_keepsAspectRatio() {
+        assertEquals(380, ArtSizing.scaledHeight(272, 363, 285));
+        assertEquals(1, ArtSizing.scaledHeight(1000, 1, 10));
+    }
+}
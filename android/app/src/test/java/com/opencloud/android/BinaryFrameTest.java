@@ -0,0 +1,49 @@
+package com.opencloud.android;
+
+import static org.junit.Assert.*;
+
+import org.junit.Test;
+
+public class BinaryFrameTest {
+
+    @Test
+    public void write_laysOutLittleEndianHeaderThenPayload() {
+        byte[] out = new byte[BinaryFrame.HEADER_SIZE + 3];
+        int end = BinaryFrame.write(out, 0, 7, 0x80, 0x01020304, 1.5, new byte[] { 9, 10, 11, 12 }, 1, 3);
+
+        assertEquals(out.length, end);
+        assertEquals(7, out[0]);
+        assertEquals((byte) 0x80, out[1]);
+        assertEquals(3, out[2]);
+        assertEquals(0, out[3]);
+        assertEquals(0x04, out[4]);
+        assertEquals(0x01, out[7]);
+        // 1.5 is 0x3FF8000000000000.
+        assertEquals((byte) 0xF8, out[14]);
+        assertEquals(0x3F, out[15]);
+        assertEquals(10, out[16]);
+        assertEquals(12, out[18]);
+    }
+
+    @Test
+    public void readers_roundTripHeader() {
+        byte[] out = new byte[64];
+        int at = BinaryFrame.write(out, 0, BinaryFrame.TYPE_BENCHMARK, 0, 1, 0, new byte[0], 0, 0);
+        BinaryFrame.write(out, at, 200, 0, 0xFFFFFFFF, 1712345678901234.0, new byte[20], 0, 20);
+
+        assertEquals(200, BinaryFrame.type(out, at));
+        assertEquals(20, BinaryFrame.payloadLength(out, at));
+        assertEquals(0xFFFFFFFF, BinaryFrame.seq(out, at));
+        assertEquals(1712345678901234.0, BinaryFrame.timestampUs(out, at), 0);
+    }
+
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void write_rejectsFrameThatDoesNotFit() {
+        BinaryFrame.write(new byte[BinaryFrame.HEADER_SIZE + 1], 0, 1, 0, 0, 0, new byte[2], 0, 2);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void write_rejectsOversizedPayload() {
+        BinaryFrame.write(new byte[1 << 17], 0, 1, 0, 0, 0, new byte[BinaryFrame.MAX_PAYLOAD + 1], 0, BinaryFrame.MAX_PAYLOAD + 1);
+    }
+}
@@ -0,0 +1,81 @@
+package com.opencloud.android;
+
+import static org.junit.Assert.*;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.util.Arrays;
+
+public class DiskLruCacheTest {
+
+    @Rule
+    public TemporaryFolder tmp = new TemporaryFolder();
+
+    @Test
+    public void putThenGet_roundTripsBytes() throws Exception {
+        DiskLruCache cache = new DiskLruCache(tmp.newFolder("c"), 1024);
+        assertTrue(cache.put("https://example.com/a.js", new byte[] { 1, 2, 3 }));
+        assertArrayEquals(new byte[] { 1, 2, 3 }, cache.get("https://example.com/a.js"));
+        assertNull(cache.get("https://example.com/missing.js"));
+        assertEquals(3, cache.size());
+    }
+
+    @Test
+    public void put_evictsLeastRecentlyUsedWhenOverBudget() throws Exception {
+        DiskLruCache cache = new DiskLruCache(tmp.newFolder("c"), 10);
+        cache.put("a", new byte[4]);
+        cache.put("b", new byte[4]);
+        cache.get("a");
+        cache.put("c", new byte[4]);
+
+        assertNotNull(cache.get("a"));
+        assertNull(cache.get("b"));
+        assertNotNull(cache.get("c"));
+        assertEquals(8, cache.size());
+    }
+
+    @Test
+    public void put_rejectsEntriesLargerThanBudget() throws Exception {
+        DiskLruCache cache = new DiskLruCache(tmp.newFolder("c"), 4);
+        assertFalse(cache.put("big", new byte[5]));
+        assertEquals(0, cache.count());
+    }
+
+    @Test
+    public void put_replacingKeyKeepsAccountingExact() throws Exception {
+        DiskLruCache cache = new DiskLruCache(tmp.newFolder("c"), 100);
+        cache.put("a", new byte[10]);
+        cache.put("a", new byte[3]);
+        assertEquals(3, cache.size());
+        assertEquals(1, cache.count());
+    }
+
+    @Test
+    public void entriesSurviveReopen() throws Exception {
+        File dir = tmp.newFolder("c");
+        new DiskLruCache(dir, 100).put("a", new byte[] { 7 });
+        DiskLruCache reopened = new DiskLruCache(dir, 100);
+        assertArrayEquals(new byte[] { 7 }, reopened.get("a"));
+        assertEquals(1, reopened.size());
+    }
+
+    @Test
+    public void reopenEvictsLeastRecentlyModifiedFirst() throws Exception {
+        File dir = tmp.newFolder("c");
+        DiskLruCache cache = new DiskLruCache(dir, 100);
+        cache.put("old", new byte[] { 1, 2 });
+        cache.put("new", new byte[] { 3, 4 });
+        for (File file : dir.listFiles()) {
+            boolean isOld = Arrays.equals(new byte[] { 1, 2 }, Files.readAllBytes(file.toPath()));
+            file.setLastModified(isOld ? 1_000_000L : 2_000_000L);
+        }
+
+        DiskLruCache reopened = new DiskLruCache(dir, 3);
+        assertNull(reopened.get("old"));
+        assertArrayEquals(new byte[] { 3, 4 }, reopened.get("new"));
+    }
+}
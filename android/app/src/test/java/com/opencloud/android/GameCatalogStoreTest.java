@@ -0,0 +1,34 @@
+package com.opencloud.android;
+
+import static org.junit.Assert.*;
+
+import org.json.JSONObject;
+import org.junit.Test;
+
+public class GameCatalogStoreTest {
+
+    @Test
+    public void matchExpression_prefixesEveryWordAndDropsOperators() {
+        assertEquals("cyber* 2077*", GameCatalogStore.matchExpression("Cyber 2077"));
+        assertEquals("half* life*", GameCatalogStore.matchExpression("  half-life\""));
+        assertEquals("or* near*", GameCatalogStore.matchExpression("OR NEAR*"));
+    }
+
+    @Test
+    public void matchExpression_isNullWithoutWords() {
+        assertNull(GameCatalogStore.matchExpression(null));
+        assertNull(GameCatalogStore.matchExpression(" -*\" "));
+    }
+
+    @Test
+    public void likeContains_escapesWildcards() {
+        assertEquals("%100\\% Orange\\_Juice%", GameCatalogStore.likeContains(" 100% Orange_Juice "));
+    }
+
+    @Test
+    public void storesOf_joinsDistinctVariantStores() throws Exception {
+        JSONObject game = new JSONObject("{\"variants\":[{\"store\":\"Steam\"},{\"store\":\"Epic\"},{\"store\":\"Steam\"},{}]}");
+        assertEquals("Steam Epic", GameCatalogStore.storesOf(game));
+        assertEquals("", GameCatalogStore.storesOf(new JSONObject()));
+    }
+}
@@ -0,0 +1,53 @@
+package com.opencloud.android;
+
+import static org.junit.Assert.*;
+
+import android.view.KeyEvent;
+
+import org.junit.Test;
+
+public class GamepadMapperTest {
+
+    @Test
+    public void buttonFlags_matchXInputLayout() {
+        assertEquals(0x1000, GamepadMapper.buttonFlag(KeyEvent.KEYCODE_BUTTON_A));
+        assertEquals(0x8000, GamepadMapper.buttonFlag(KeyEvent.KEYCODE_BUTTON_Y));
+        assertEquals(0x0100, GamepadMapper.buttonFlag(KeyEvent.KEYCODE_BUTTON_L1));
+        assertEquals(0x0020, GamepadMapper.buttonFlag(KeyEvent.KEYCODE_BUTTON_SELECT));
+        assertEquals(0x0400, GamepadMapper.buttonFlag(KeyEvent.KEYCODE_BUTTON_MODE));
+        assertEquals(0, GamepadMapper.buttonFlag(KeyEvent.KEYCODE_BUTTON_L2));
+        assertEquals(0, GamepadMapper.buttonFlag(KeyEvent.KEYCODE_A));
+    }
+
+    @Test
+    public void hatFlags_mapDiagonals() {
+        assertEquals(0, GamepadMapper.hatFlags(0f, 0f));
+        assertEquals(GamepadMapper.DPAD_UP | GamepadMapper.DPAD_RIGHT, GamepadMapper.hatFlags(1f, -1f));
+        assertEquals(GamepadMapper.DPAD_DOWN | GamepadMapper.DPAD_LEFT, GamepadMapper.hatFlags(-1f, 1f));
+    }
+
+    @Test
+    public void deadzone_zeroesInsideAndRescalesOutside() {
+        float[] out = new float[2];
+        GamepadMapper.applyDeadzone(0.1f, 0.05f, out);
+        assertEquals(0f, out[0], 0f);
+        assertEquals(0f, out[1], 0f);
+
+        GamepadMapper.applyDeadzone(1f, 0f, out);
+        assertEquals(1f, out[0], 1e-6f);
+
+        GamepadMapper.applyDeadzone(0.575f, 0f, out);
+        assertEquals(0.5f, out[0], 1e-4f);
+    }
+
+    @Test
+    public void normalize_clampsLikeInputProtocol() {
+        assertEquals(32767, GamepadMapper.toInt16(1f));
+        assertEquals(-32767, GamepadMapper.toInt16(-1f));
+        assertEquals(-32768, GamepadMapper.toInt16(-2f));
+        assertEquals(16384, GamepadMapper.toInt16(0.5f));
+        assertEquals(255, GamepadMapper.toUint8(1.5f));
+        assertEquals(128, GamepadMapper.toUint8(0.5f));
+        assertEquals(0, GamepadMapper.toUint8(-0.2f));
+    }
+}
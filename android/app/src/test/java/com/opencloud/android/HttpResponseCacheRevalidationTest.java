@@ -0,0 +1,163 @@
+package com.opencloud.android;
+
+import static org.junit.Assert.*;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.util.Collections;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import okhttp3.OkHttpClient;
+import okhttp3.Protocol;
+import okhttp3.Request;
+import okhttp3.Response;
+import okhttp3.ResponseBody;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.RecordedRequest;
+
+/**
+ * Runs {@link HttpResponseCache}'s stale-while-revalidate paths against a local server.
+ */
+public class HttpResponseCacheRevalidationTest {
+
+    private static final long DAY_MS = 24L * 60 * 60 * 1000;
+
+    @Rule
+    public TemporaryFolder tmp = new TemporaryFolder();
+
+    private final MockWebServer server = new MockWebServer();
+    private final OkHttpClient client = new OkHttpClient();
+    private final BlockingQueue<HttpResponseCache.Entry> updates = new ArrayBlockingQueue<>(4);
+    private HttpResponseCache cache;
+
+    @Before
+    public void setUp() throws Exception {
+        server.start();
+        cache = new HttpResponseCache(new DiskLruCache(tmp.newFolder("http"), 1024 * 1024));
+        cache.setUpdateListener((key, fresh) -> updates.add(fresh));
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        server.shutdown();
+    }
+
+    @Test
+    public void miss_fetchesAndStores() throws Exception {
+        server.enqueue(new MockResponse().setHeader("ETag", "\"v1\"").setBody("one"));
+
+        HttpResponseCache.Result result = cache.execute(client, get("/panels?huId=a"), policy(DAY_MS));
+
+        assertEquals(HttpResponseCache.Source.NETWORK, result.source);
+        assertEquals("one", result.entry.body);
+        assertEquals(1, server.getRequestCount());
+    }
+
+    @Test
+    public void freshHit_servesCacheAndRevalidatesWithValidators() throws Exception {
+        server.enqueue(new MockResponse().setHeader("ETag", "\"v1\"").setBody("one"));
+        server.enqueue(new MockResponse().setResponseCode(304));
+        cache.execute(client, get("/panels?huId=a"), policy(DAY_MS));
+        server.takeRequest();
+
+        HttpResponseCache.Result result = cache.execute(client, get("/panels?huId=b"), policy(DAY_MS));
+
+        assertEquals(HttpResponseCache.Source.CACHE, result.source);
+        assertEquals("one", result.entry.body);
+        RecordedRequest revalidation = server.takeRequest(5, TimeUnit.SECONDS);
+        assertNotNull(revalidation);
+        assertEquals("\"v1\"", revalidation.getHeader("If-None-Match"));
+        assertNull(updates.poll(200, TimeUnit.MILLISECONDS));
+    }
+
+    @Test
+    public void backgroundRevalidation_reportsChangedBody() throws Exception {
+        server.enqueue(new MockResponse().setHeader("ETag", "\"v1\"").setBody("one"));
+        server.enqueue(new MockResponse().setHeader("ETag", "\"v2\"").setBody("two"));
+        cache.execute(client, get("/panels"), policy(DAY_MS));
+
+        assertEquals("one", cache.execute(client, get("/panels"), policy(DAY_MS)).entry.body);
+
+        HttpResponseCache.Entry fresh = updates.poll(5, TimeUnit.SECONDS);
+        assertNotNull(fresh);
+        assertEquals("two", fresh.body);
+        HttpResponseCache.Result next = cache.execute(notModifiedClient(), get("/panels"), policy(DAY_MS));
+        assertEquals(HttpResponseCache.Source.CACHE, next.source);
+        assertEquals("two", next.entry.body);
+    }
+
+    @Test
+    public void staleHit_revalidatesBeforeReturningAndKeepsBodyOn304() throws Exception {
+        server.enqueue(new MockResponse().setHeader("Last-Modified", "Mon, 01 Jan 2024 00:00:00 GMT").setBody("one"));
+        server.enqueue(new MockResponse().setResponseCode(304));
+        HttpResponseCache.Entry stored = cache.execute(client, get("/panels"), policy(DAY_MS)).entry;
+        server.takeRequest();
+
+        HttpResponseCache.Result result = cache.execute(client, get("/panels"), policy(-1));
+
+        assertEquals(HttpResponseCache.Source.REVALIDATED, result.source);
+        assertEquals("one", result.entry.body);
+        assertTrue(result.entry.storedAt >= stored.storedAt);
+        assertEquals("Mon, 01 Jan 2024 00:00:00 GMT", server.takeRequest().getHeader("If-Modified-Since"));
+        server.enqueue(new MockResponse().setResponseCode(304));
+        assertEquals(HttpResponseCache.Source.CACHE, cache.execute(client, get("/panels"), policy(DAY_MS)).source);
+        awaitRequests(3);
+    }
+
+    @Test
+    public void noStoreResponse_isNotCached() throws Exception {
+        server.enqueue(new MockResponse().setHeader("Cache-Control", "no-store").setBody("one"));
+        server.enqueue(new MockResponse().setBody("two"));
+        cache.execute(client, get("/panels"), policy(DAY_MS));
+
+        HttpResponseCache.Result result = cache.execute(client, get("/panels"), policy(DAY_MS));
+
+        assertEquals(HttpResponseCache.Source.NETWORK, result.source);
+        assertEquals("two", result.entry.body);
+    }
+
+    @Test
+    public void onlyIfCachedMiss_returns504WithoutNetwork() throws Exception {
+        HttpResponseCache.Policy onlyIfCached = new HttpResponseCache.Policy(DAY_MS, Collections.singleton("huId"), true);
+
+        HttpResponseCache.Result result = cache.execute(client, get("/panels"), onlyIfCached);
+
+        assertEquals(504, result.entry.status);
+        assertEquals(0, server.getRequestCount());
+    }
+
+    /** Lets a trailing background revalidation finish before the server shuts down. */
+    private void awaitRequests(int count) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5000;
+        while (server.getRequestCount() < count && System.currentTimeMillis() < deadline) Thread.sleep(10);
+        assertEquals(count, server.getRequestCount());
+    }
+
+    /** Answers every request with a local 304, for hits whose revalidation the test doesn't script. */
+    private static OkHttpClient notModifiedClient() {
+        return new OkHttpClient.Builder()
+            .addInterceptor(chain -> new Response.Builder()
+                .request(chain.request())
+                .protocol(Protocol.HTTP_1_1)
+                .code(304)
+                .message("Not Modified")
+                .body(ResponseBody.create("", null))
+                .build())
+            .build();
+    }
+
+    private Request get(String path) {
+        return new Request.Builder().url(server.url(path)).build();
+    }
+
+    private static HttpResponseCache.Policy policy(long maxStaleMs) {
+        return new HttpResponseCache.Policy(maxStaleMs, Collections.singleton("huId"), false);
+    }
+}
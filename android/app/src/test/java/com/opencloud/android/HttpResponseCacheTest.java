@@ -0,0 +1,63 @@
+package com.opencloud.android;
+
+import static org.junit.Assert.*;
+
+import org.junit.Test;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import okhttp3.HttpUrl;
+
+public class HttpResponseCacheTest {
+
+    @Test
+    public void cacheKey_sortsParamsAndDropsIgnoredOnes() {
+        HttpUrl a = HttpUrl.get("https://games.geforce.com/graphql?requestType=panels%2FLibrary&huId=abc&variables=%7B%7D");
+        HttpUrl b = HttpUrl.get("https://games.geforce.com/graphql?variables=%7B%7D&huId=def&requestType=panels/Library");
+
+        String key = HttpResponseCache.cacheKey("GET", a, Collections.singleton("huId"));
+        assertEquals("GET https://games.geforce.com:443/graphql?requestType=panels/Library&variables={}", key);
+        assertEquals(key, HttpResponseCache.cacheKey("GET", b, Collections.singleton("huId")));
+    }
+
+    @Test
+    public void cacheKey_keepsMethodAndUnignoredParamsDistinct() {
+        HttpUrl url = HttpUrl.get("https://pcs.geforcenow.com/v1/serviceUrls?huId=1");
+        assertNotEquals(
+            HttpResponseCache.cacheKey("GET", url, Collections.emptySet()),
+            HttpResponseCache.cacheKey("GET", url.newBuilder().setQueryParameter("huId", "2").build(), Collections.emptySet())
+        );
+        assertNotEquals(
+            HttpResponseCache.cacheKey("GET", url, null),
+            HttpResponseCache.cacheKey("HEAD", url, null)
+        );
+    }
+
+    @Test
+    public void encodeDecode_roundTripsMetadataAndBody() {
+        Map<String, String> headers = new LinkedHashMap<>();
+        headers.put("etag", "\"v1\"");
+        headers.put("content-type", "application/json");
+        Map<String, String> vary = Collections.singletonMap("accept-language", "en-US");
+        String body = "{\"data\":{\"panels\":[]}}\né";
+        HttpResponseCache.Entry entry = new HttpResponseCache.Entry(200, "https://x/y", headers, vary, body, 1234L);
+
+        HttpResponseCache.Entry decoded = HttpResponseCache.decode(HttpResponseCache.encode(entry));
+
+        assertNotNull(decoded);
+        assertEquals(200, decoded.status);
+        assertEquals("https://x/y", decoded.url);
+        assertEquals(1234L, decoded.storedAt);
+        assertEquals("\"v1\"", decoded.header("ETag"));
+        assertEquals(vary, decoded.vary);
+        assertEquals(body, decoded.body);
+    }
+
+    @Test
+    public void decode_rejectsDataWithoutHeaderLine() {
+        assertNull(HttpResponseCache.decode("not an entry".getBytes()));
+        assertNull(HttpResponseCache.decode("{broken\nbody".getBytes()));
+    }
+}
@@ -0,0 +1,118 @@
+package com.opencloud.android;
+
+import static org.junit.Assert.*;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+
+/**
+ * Golden vectors produced by the TS {@code InputEncoder} in inputProtocol.ts with
+ * {@code performance.now()} pinned to 1234.567 ms (wrapper timestamp 1234567 us).
+ */
+public class InputEncoderTest {
+
+    private static final long TS = 123456789L;
+    private static final long WRAPPER_TS = 1234567L;
+
+    private static final String PAD1 = "0c0000001a000100030014000190ff110080ff7fd204ffff00005500000015cd5b0700000000";
+    private static final String PAD0 = "0c0000001a000000030014000190ff110080ff7fd204ffff00005500000015cd5b0700000000";
+
+    private InputEncoder encoder;
+    private ByteBuffer buffer;
+
+    @Before
+    public void setUp() {
+        encoder = new InputEncoder(() -> WRAPPER_TS);
+        buffer = ByteBuffer.allocateDirect(InputEncoder.MAX_PACKET_SIZE);
+    }
+
+    private interface Encode {
+        int into(ByteBuffer out);
+    }
+
+    private String encode(Encode encode) {
+        buffer.clear();
+        int length = encode.into(buffer);
+        assertEquals(length, buffer.position());
+        StringBuilder hex = new StringBuilder();
+        for (int i = 0; i < length; i++) hex.append(String.format("%02x", buffer.get(i) & 0xFF));
+        return hex.toString();
+    }
+
+    private String pad(int controllerId, boolean partiallyReliable) {
+        return encode(out -> encoder.encodeGamepadState(out, controllerId, 0x9001, 255, 17,
+            -32768, 32767, 1234, -1, TS, 0x3, partiallyReliable));
+    }
+
+    @Test
+    public void v2_matchesTypeScriptEncoder() {
+        encoder.setProtocolVersion(2);
+        assertEquals("02000000", encode(encoder::encodeHeartbeat));
+        assertEquals("0300000000410003000400000000075bcd15", encode(out -> encoder.encodeKeyDown(out, 0x41, 0x03, 0x04, TS)));
+        assertEquals("04000000001b0000002900000000075bcd15", encode(out -> encoder.encodeKeyUp(out, 0x1b, 0, 0x29, TS)));
+        assertEquals("07000000fffb012c00000000000000000000075bcd15", encode(out -> encoder.encodeMouseMove(out, -5, 300, TS)));
+        assertEquals("050000009c4004d200000000000000000000075bcd15", encode(out -> encoder.encodeMouseAbsolute(out, 40000, 1234, TS)));
+        assertEquals("0800000003000000000000000000075bcd15", encode(out -> encoder.encodeMouseButtonDown(out, 3, TS)));
+        assertEquals("0900000001000000000000000000075bcd15", encode(out -> encoder.encodeMouseButtonUp(out, 1, TS)));
+        assertEquals("0a0000000000ff8800000000000000000000075bcd15", encode(out -> encoder.encodeMouseWheel(out, -120, TS)));
+        assertEquals(PAD1, pad(1, false));
+        assertEquals(PAD1, pad(1, true));
+        assertEquals(PAD0, pad(0, true));
+    }
+
+    @Test
+    public void v3_matchesTypeScriptEncoder() {
+        encoder.setProtocolVersion(3);
+        assertEquals("02000000", encode(encoder::encodeHeartbeat));
+        assertEquals("23000000000012d687220300000000410003000400000000075bcd15",
+            encode(out -> encoder.encodeKeyDown(out, 0x41, 0x03, 0x04, TS)));
+        assertEquals("23000000000012d6872204000000001b0000002900000000075bcd15",
+            encode(out -> encoder.encodeKeyUp(out, 0x1b, 0, 0x29, TS)));
+        assertEquals("23000000000012d68721001607000000fffb012c00000000000000000000075bcd15",
+            encode(out -> encoder.encodeMouseMove(out, -5, 300, TS)));
+        assertEquals("23000000000012d68722050000009c4004d200000000000000000000075bcd15",
+            encode(out -> encoder.encodeMouseAbsolute(out, 40000, 1234, TS)));
+        assertEquals("23000000000012d687220800000003000000000000000000075bcd15",
+            encode(out -> encoder.encodeMouseButtonDown(out, 3, TS)));
+        assertEquals("23000000000012d687220900000001000000000000000000075bcd15",
+            encode(out -> encoder.encodeMouseButtonUp(out, 1, TS)));
+        assertEquals("23000000000012d687220a0000000000ff8800000000000000000000075bcd15",
+            encode(out -> encoder.encodeMouseWheel(out, -120, TS)));
+        assertEquals("23000000000012d6872100260c" + PAD1.substring(2), pad(1, false));
+        assertEquals("23000000000012d687260100012100260c" + PAD1.substring(2), pad(1, true));
+        assertEquals("23000000000012d687260100022100260c" + PAD1.substring(2), pad(1, true));
+        assertEquals("23000000000012d687260000012100260c" + PAD0.substring(2), pad(0, true));
+    }
+
+    @Test
+    public void gamepadSequence_wrapsAndResets() {
+        for (int i = 1; i < 65535; i++) encoder.nextGamepadSequence(2);
+        assertEquals(65535, encoder.nextGamepadSequence(2));
+        assertEquals(0, encoder.nextGamepadSequence(2));
+        assertEquals(1, encoder.nextGamepadSequence(3));
+
+        encoder.resetGamepadSequences();
+        assertEquals(1, encoder.nextGamepadSequence(2));
+    }
+
+    @Test
+    public void packetsAppendAtBufferPosition() {
+        encoder.setProtocolVersion(3);
+        ByteBuffer batch = ByteBuffer.allocateDirect(64);
+        int first = encoder.encodeMouseButtonDown(batch, 1, TS);
+        int second = encoder.encodeMouseButtonUp(batch, 1, TS);
+        assertEquals(28, first);
+        assertEquals(first + second, batch.position());
+        assertEquals(0x23, batch.get(first) & 0xFF);
+        assertEquals(InputEncoder.INPUT_MOUSE_BUTTON_UP, batch.get(first + 10));
+    }
+
+    @Test(expected = BufferOverflowException.class)
+    public void rejectsBufferThatIsTooSmall() {
+        encoder.setProtocolVersion(3);
+        encoder.encodeMouseMove(ByteBuffer.allocateDirect(20), 1, 1, TS);
+    }
+}
@@ -0,0 +1,60 @@
+package com.opencloud.android;
+
+import static org.junit.Assert.*;
+
+import android.view.KeyEvent;
+
+import org.junit.Test;
+
+public class KeyboardMapperTest {
+
+    @Test
+    public void lettersAndDigits_matchCodeMap() {
+        assertEquals(0x41, KeyboardMapper.vk(KeyEvent.KEYCODE_A));
+        assertEquals(0x04, KeyboardMapper.scancode(KeyEvent.KEYCODE_A));
+        assertEquals(0x5a, KeyboardMapper.vk(KeyEvent.KEYCODE_Z));
+        assertEquals(0x1d, KeyboardMapper.scancode(KeyEvent.KEYCODE_Z));
+        assertEquals(0x31, KeyboardMapper.vk(KeyEvent.KEYCODE_1));
+        assertEquals(0x1e, KeyboardMapper.scancode(KeyEvent.KEYCODE_1));
+        assertEquals(0x30, KeyboardMapper.vk(KeyEvent.KEYCODE_0));
+        assertEquals(0x27, KeyboardMapper.scancode(KeyEvent.KEYCODE_0));
+    }
+
+    @Test
+    public void functionNavigationAndNumpad_matchCodeMap() {
+        assertEquals(0x7b, KeyboardMapper.vk(KeyEvent.KEYCODE_F12));
+        assertEquals(0x45, KeyboardMapper.scancode(KeyEvent.KEYCODE_F12));
+        assertEquals(0x2e, KeyboardMapper.vk(KeyEvent.KEYCODE_FORWARD_DEL));
+        assertEquals(0x4c, KeyboardMapper.scancode(KeyEvent.KEYCODE_FORWARD_DEL));
+        assertEquals(0x26, KeyboardMapper.vk(KeyEvent.KEYCODE_DPAD_UP));
+        assertEquals(0x52, KeyboardMapper.scancode(KeyEvent.KEYCODE_DPAD_UP));
+        assertEquals(0x69, KeyboardMapper.vk(KeyEvent.KEYCODE_NUMPAD_9));
+        assertEquals(0x61, KeyboardMapper.scancode(KeyEvent.KEYCODE_NUMPAD_9));
+        assertEquals(0x0d, KeyboardMapper.vk(KeyEvent.KEYCODE_NUMPAD_ENTER));
+        assertEquals(0x58, KeyboardMapper.scancode(KeyEvent.KEYCODE_NUMPAD_ENTER));
+    }
+
+    @Test
+    public void keysTheWebViewDrops_haveVkWithoutScancode() {
+        assertEquals(0xa6, KeyboardMapper.vk(KeyEvent.KEYCODE_BACK));
+        assertEquals(0xb3, KeyboardMapper.vk(KeyEvent.KEYCODE_MEDIA_PLAY_PAUSE));
+        assertEquals(0, KeyboardMapper.scancode(KeyEvent.KEYCODE_MEDIA_PLAY_PAUSE));
+        assertTrue(KeyboardMapper.isSystemKey(KeyEvent.KEYCODE_ESCAPE));
+        assertFalse(KeyboardMapper.isSystemKey(KeyEvent.KEYCODE_A));
+    }
+
+    @Test
+    public void unmappedKeys_returnZero() {
+        assertEquals(0, KeyboardMapper.vk(KeyEvent.KEYCODE_VOLUME_UP));
+        assertEquals(0, KeyboardMapper.vk(-1));
+        assertEquals(0, KeyboardMapper.vk(100000));
+    }
+
+    @Test
+    public void modifierFlags_matchInputProtocol() {
+        assertEquals(0, KeyboardMapper.modifierFlags(0));
+        assertEquals(0x01 | 0x02, KeyboardMapper.modifierFlags(KeyEvent.META_SHIFT_ON | KeyEvent.META_CTRL_LEFT_ON | KeyEvent.META_CTRL_ON));
+        assertEquals(0x04 | 0x08, KeyboardMapper.modifierFlags(KeyEvent.META_ALT_ON | KeyEvent.META_META_ON));
+        assertEquals(0x10 | 0x20, KeyboardMapper.modifierFlags(KeyEvent.META_CAPS_LOCK_ON | KeyEvent.META_NUM_LOCK_ON));
+    }
+}
@@ -0,0 +1,38 @@
+package com.opencloud.android;
+
+import static org.junit.Assert.*;
+
+import org.junit.Test;
+
+public class NetworkStateTest {
+
+    private static NetworkState wifi(long handle, int downKbps) {
+        return new NetworkState(true, handle, "wifi", downKbps, 20_000, false, true);
+    }
+
+    @Test
+    public void handover_onNetworkSwitchOrComingBack() {
+        NetworkState cellular = new NetworkState(true, 7, "cellular", 30_000, 5_000, true, true);
+        assertTrue(NetworkState.isHandover(wifi(1, 100_000), cellular));
+        assertTrue(NetworkState.isHandover(NetworkState.NONE, wifi(1, 100_000)));
+        assertFalse(NetworkState.isHandover(wifi(1, 100_000), wifi(1, 60_000)));
+        assertFalse(NetworkState.isHandover(wifi(1, 100_000), NetworkState.NONE));
+    }
+
+    @Test
+    public void significant_ignoresSmallBandwidthDrift() {
+        assertFalse(NetworkState.isSignificant(wifi(1, 100_000), wifi(1, 110_000)));
+        assertTrue(NetworkState.isSignificant(wifi(1, 100_000), wifi(1, 70_000)));
+        assertTrue(NetworkState.isSignificant(wifi(1, 0), wifi(1, 50_000)));
+        assertTrue(NetworkState.isSignificant(wifi(1, 100_000), wifi(2, 100_000)));
+    }
+
+    @Test
+    public void significant_onMeteredOrValidatedFlip() {
+        NetworkState unvalidated = new NetworkState(true, 1, "wifi", 100_000, 20_000, false, false);
+        NetworkState metered = new NetworkState(true, 1, "wifi", 100_000, 20_000, true, true);
+        assertTrue(NetworkState.isSignificant(wifi(1, 100_000), unvalidated));
+        assertTrue(NetworkState.isSignificant(wifi(1, 100_000), metered));
+        assertFalse(NetworkState.isSignificant(wifi(1, 100_000), wifi(1, 100_000)));
+    }
+}
@@ -0,0 +1,85 @@
+package com.opencloud.android;
+
+import static org.junit.Assert.*;
+
+import org.json.JSONArray;
+import org.json.JSONObject;
+import org.junit.Test;
+
+public class PanelGameTest {
+
+    private static PanelGame.Variant variant(String id, String store, boolean selected) {
+        PanelGame.Variant variant = new PanelGame.Variant();
+        variant.id = id;
+        variant.store = store;
+        variant.selected = selected;
+        return variant;
+    }
+
+    @Test
+    public void toGameInfo_usesSelectedVariantForIdAndLaunch() throws Exception {
+        PanelGame app = new PanelGame();
+        app.id = "a1b2";
+        app.title = "Cyberpunk 2077";
+        app.longDescription = "Long";
+        app.tvBanner = "https://img.nvidiagrid.net/banner.jpg";
+        app.variants.add(variant("100", "Steam", false));
+        PanelGame.Variant epic = variant("200", "Epic", true);
+        epic.supportedControls.add("gamepad");
+        app.variants.add(epic);
+
+        JSONObject game = app.toGameInfo();
+        assertEquals("a1b2:200", game.getString("id"));
+        assertEquals("a1b2", game.getString("uuid"));
+        assertEquals("200", game.getString("launchAppId"));
+        assertEquals("Long", game.getString("description"));
+        assertEquals("https://img.nvidiagrid.net/banner.jpg;f=webp;w=272", game.getString("imageUrl"));
+        assertEquals(1, game.getInt("selectedVariantIndex"));
+        JSONArray variants = game.getJSONArray("variants");
+        assertEquals("Epic", variants.getJSONObject(1).getString("store"));
+        assertEquals("gamepad", variants.getJSONObject(1).getJSONArray("supportedControls").getString(0));
+    }
+
+    @Test
+    public void toGameInfo_fallsBackToFirstNumericVariant() throws Exception {
+        PanelGame app = new PanelGame();
+        app.id = "uuid";
+        app.title = "Game";
+        app.variants.add(variant("steam-abc", "Steam", false));
+        app.variants.add(variant("42", "Epic", false));
+
+        JSONObject game = app.toGameInfo();
+        assertEquals("uuid:steam-abc", game.getString("id"));
+        assertEquals("42", game.getString("launchAppId"));
+        assertEquals(0, game.getInt("selectedVariantIndex"));
+    }
+
+    @Test
+    public void toGameInfo_leavesOutMissingFields() throws Exception {
+        PanelGame app = new PanelGame();
+        app.id = "12345";
+        app.title = "Bare";
+
+        JSONObject game = app.toGameInfo();
+        assertEquals("12345:default", game.getString("id"));
+        assertEquals("12345", game.getString("launchAppId"));
+        assertFalse(game.has("description"));
+        assertFalse(game.has("imageUrl"));
+        assertFalse(game.has("playType"));
+        assertEquals(0, game.getJSONArray("variants").length());
+    }
+
+    @Test
+    public void optimizeImage_onlyRewritesGridImages() {
+        assertEquals("https://example.com/a.png", PanelGame.optimizeImage("https://example.com/a.png"));
+        assertTrue(PanelGame.optimizeImage("https://img.nvidiagrid.net/x.jpg").endsWith(";f=webp;w=272"));
+    }
+
+    @Test
+    public void isNumericId_acceptsAsciiDigitsOnly() {
+        assertTrue(PanelGame.isNumericId("0123"));
+        assertFalse(PanelGame.isNumericId(""));
+        assertFalse(PanelGame.isNumericId(null));
+        assertFalse(PanelGame.isNumericId("12a"));
+    }
+}
@@ -0,0 +1,43 @@
+package com.opencloud.android;
+
+import static org.junit.Assert.*;
+
+import org.junit.Test;
+
+public class QueuePollScheduleTest {
+
+    @Test
+    public void queuedDelay_growsWithPositionWithinBounds() {
+        assertEquals(2_000, QueuePollSchedule.nextDelayMs(1, 2, 0));
+        assertEquals(2_000, QueuePollSchedule.nextDelayMs(1, 8, 0));
+        assertEquals(10_000, QueuePollSchedule.nextDelayMs(1, 40, 0));
+        assertEquals(30_000, QueuePollSchedule.nextDelayMs(1, 500, 0));
+    }
+
+    @Test
+    public void allocationAndReady_pollQuickly() {
+        assertEquals(2_000, QueuePollSchedule.nextDelayMs(1, 0, 0));
+        assertEquals(2_000, QueuePollSchedule.nextDelayMs(1, 1, 0));
+        assertEquals(1_000, QueuePollSchedule.nextDelayMs(2, 0, 1));
+        assertEquals(1_000, QueuePollSchedule.nextDelayMs(3, 0, 2));
+        assertEquals(5_000, QueuePollSchedule.nextDelayMs(2, 0, 3));
+    }
+
+    @Test
+    public void errorDelay_doublesUpToCap() {
+        assertEquals(1_000, QueuePollSchedule.errorDelayMs(1));
+        assertEquals(2_000, QueuePollSchedule.errorDelayMs(2));
+        assertEquals(16_000, QueuePollSchedule.errorDelayMs(5));
+        assertEquals(30_000, QueuePollSchedule.errorDelayMs(6));
+        assertEquals(30_000, QueuePollSchedule.errorDelayMs(60));
+    }
+
+    @Test
+    public void terminal_onHttpErrorCloudMatchErrorOrCleanup() {
+        assertFalse(QueuePollSchedule.isTerminal(200, 1, 1));
+        assertFalse(QueuePollSchedule.isTerminal(200, 0, 2));
+        assertTrue(QueuePollSchedule.isTerminal(401, 0, 0));
+        assertTrue(QueuePollSchedule.isTerminal(200, 3, 1));
+        assertTrue(QueuePollSchedule.isTerminal(200, 1, 6));
+    }
+}
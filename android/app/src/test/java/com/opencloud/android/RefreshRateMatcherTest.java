@@ -0,0 +1,31 @@
+package com.opencloud.android;
+
+import static org.junit.Assert.*;
+
+import org.junit.Test;
+
+public class RefreshRateMatcherTest {
+
+    @Test
+    public void exactRateWins() {
+        assertEquals(0, RefreshRateMatcher.bestMatch(new float[] { 60f, 90f, 120f }, 60));
+        assertEquals(2, RefreshRateMatcher.bestMatch(new float[] { 60f, 90f, 120f }, 120));
+    }
+
+    @Test
+    public void prefersLowestIntegerMultiple() {
+        assertEquals(1, RefreshRateMatcher.bestMatch(new float[] { 90f, 60f, 120f }, 30));
+        assertEquals(0, RefreshRateMatcher.bestMatch(new float[] { 59.94f, 90f }, 60));
+    }
+
+    @Test
+    public void fallsBackToClosestRate() {
+        assertEquals(2, RefreshRateMatcher.bestMatch(new float[] { 60f, 90f, 120f }, 144));
+        assertEquals(1, RefreshRateMatcher.bestMatch(new float[] { 60f, 90f }, 240));
+    }
+
+    @Test
+    public void emptyModeListHasNoMatch() {
+        assertEquals(-1, RefreshRateMatcher.bestMatch(new float[0], 60));
+    }
+}
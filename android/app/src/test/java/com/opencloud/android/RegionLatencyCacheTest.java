@@ -0,0 +1,57 @@
+package com.opencloud.android;
+
+import static org.junit.Assert.*;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.util.Arrays;
+import java.util.Collections;
+
+public class RegionLatencyCacheTest {
+
+    @Rule
+    public TemporaryFolder tmp = new TemporaryFolder();
+
+    private static RegionLatency region(String url, long medianMs) {
+        return new RegionLatency("R " + url, url, 10, 20, medianMs, 2, 5, 0);
+    }
+
+    @Test
+    public void get_returnsEntryPerNetworkUntilTtl() throws Exception {
+        File file = new File(tmp.getRoot(), "latency.json");
+        RegionLatencyCache cache = new RegionLatencyCache(file, 1_000);
+        cache.put("wifi:aa", Arrays.asList(region("https://a/", 20), region("https://b/", 40)), 5_000);
+
+        RegionLatencyCache.Entry entry = new RegionLatencyCache(file, 1_000).get("wifi:aa", 5_500);
+        assertNotNull(entry);
+        assertEquals(5_000, entry.measuredAt);
+        assertEquals("https://a/", entry.ranked.get(0).url);
+        assertEquals(40, entry.ranked.get(1).medianMs);
+        assertNull(cache.get("cell:310260", 5_500));
+        assertNull(cache.get("wifi:aa", 6_001));
+    }
+
+    @Test
+    public void covers_requiresEveryRequestedRegion() throws Exception {
+        RegionLatencyCache cache = new RegionLatencyCache(new File(tmp.getRoot(), "latency.json"), 1_000);
+        cache.put("wifi:aa", Collections.singletonList(region("https://a/", 20)), 0);
+
+        RegionLatencyCache.Entry entry = cache.get("wifi:aa", 0);
+        assertTrue(entry.covers(Collections.singletonList("https://a/")));
+        assertFalse(entry.covers(Arrays.asList("https://a/", "https://b/")));
+    }
+
+    @Test
+    public void put_prunesExpiredNetworks() throws Exception {
+        File file = new File(tmp.getRoot(), "latency.json");
+        RegionLatencyCache cache = new RegionLatencyCache(file, 1_000);
+        cache.put("wifi:old", Collections.singletonList(region("https://a/", 20)), 0);
+        cache.put("wifi:new", Collections.singletonList(region("https://a/", 30)), 5_000);
+
+        assertNull(cache.get("wifi:old", 0));
+        assertNotNull(cache.get("wifi:new", 5_000));
+    }
+}
@@ -0,0 +1,43 @@
+package com.opencloud.android;
+
+import static org.junit.Assert.*;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+public class RegionLatencyTest {
+
+    @Test
+    public void median_handlesOddEvenAndEmpty() {
+        assertEquals(30, RegionLatency.median(Arrays.asList(50L, 10L, 30L)));
+        assertEquals(25, RegionLatency.median(Arrays.asList(40L, 10L, 30L, 20L)));
+        assertEquals(-1, RegionLatency.median(Collections.<Long>emptyList()));
+    }
+
+    @Test
+    public void jitter_isMeanConsecutiveDifference() {
+        assertEquals(0, RegionLatency.jitter(Collections.singletonList(20L)));
+        assertEquals(0, RegionLatency.jitter(Arrays.asList(20L, 20L, 20L)));
+        // |30-20| + |25-30| + |45-25| = 35 over 3 gaps
+        assertEquals(12, RegionLatency.jitter(Arrays.asList(20L, 30L, 25L, 45L)));
+    }
+
+    @Test
+    public void ranked_putsFastestFirstAndUnreachableLast() {
+        RegionLatency down = RegionLatency.fromSamples("EU West", "https://a/", -1, -1, Collections.<Long>emptyList(), 5);
+        RegionLatency slow = RegionLatency.fromSamples("US East", "https://b/", 40, 60, Arrays.asList(90L, 95L, 92L), 0);
+        RegionLatency steady = RegionLatency.fromSamples("EU Central", "https://c/", 10, 20, Arrays.asList(30L, 30L, 30L), 0);
+        RegionLatency shaky = RegionLatency.fromSamples("EU North", "https://d/", 10, 20, Arrays.asList(20L, 30L, 60L), 0);
+
+        List<RegionLatency> ranked = RegionLatency.ranked(Arrays.asList(down, slow, shaky, steady));
+
+        assertSame(steady, ranked.get(0));
+        assertSame(shaky, ranked.get(1));
+        assertSame(slow, ranked.get(2));
+        assertSame(down, ranked.get(3));
+        assertFalse(down.reachable());
+    }
+}
@@ -0,0 +1,66 @@
+package com.opencloud.android;
+
+import static org.junit.Assert.*;
+
+import org.junit.Test;
+
+public class RelativeMotionAccumulatorTest {
+
+    @Test
+    public void drain_sumsSamplesAndKeepsTimestampOfLast() {
+        RelativeMotionAccumulator motion = new RelativeMotionAccumulator();
+        motion.add(1.5f, -2f, 10);
+        motion.add(2f, -1.25f, 14);
+
+        assertTrue(motion.drain());
+        assertEquals(3, motion.drainedDx);
+        assertEquals(-3, motion.drainedDy);
+        assertEquals(2, motion.drainedSamples);
+        assertEquals(14, motion.drainedTimeMs);
+        assertEquals(10, motion.drainedFirstTimeMs);
+    }
+
+    @Test
+    public void firstSampleTime_spansUndrainedSamplesAndRestartsAfterDrain() {
+        RelativeMotionAccumulator motion = new RelativeMotionAccumulator();
+        motion.add(0.5f, 0f, 5);
+        assertFalse(motion.drain());
+        motion.add(0.5f, 0f, 9);
+        assertTrue(motion.drain());
+        assertEquals(5, motion.drainedFirstTimeMs);
+
+        motion.add(1f, 0f, 20);
+        assertTrue(motion.drain());
+        assertEquals(20, motion.drainedFirstTimeMs);
+    }
+
+    @Test
+    public void subPixelMotionCarriesOver() {
+        RelativeMotionAccumulator motion = new RelativeMotionAccumulator();
+        motion.add(0.4f, 0f, 1);
+        assertFalse(motion.drain());
+        assertTrue(motion.hasSamples());
+
+        motion.add(0.4f, 0f, 2);
+        motion.add(0.4f, 0f, 3);
+        assertTrue(motion.drain());
+        assertEquals(1, motion.drainedDx);
+        assertEquals(3, motion.drainedSamples);
+
+        motion.add(0.9f, 0f, 4);
+        assertTrue(motion.drain());
+        assertEquals(1, motion.drainedDx);
+    }
+
+    @Test
+    public void negativeRemaindersTruncateTowardZero() {
+        RelativeMotionAccumulator motion = new RelativeMotionAccumulator();
+        motion.add(-1.75f, 0f, 1);
+        assertTrue(motion.drain());
+        assertEquals(-1, motion.drainedDx);
+
+        motion.add(-0.5f, 0f, 2);
+        assertTrue(motion.drain());
+        assertEquals(-1, motion.drainedDx);
+    }
+}
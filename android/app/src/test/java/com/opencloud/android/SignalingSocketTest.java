@@ -0,0 +1,37 @@
+package com.opencloud.android;
+
+import static org.junit.Assert.*;
+
+import org.junit.Test;
+
+public class SignalingSocketTest {
+
+    @Test
+    public void signInUrl_defaultsPortAndPrefersSignalingUrlHost() {
+        assertEquals("wss://10.0.0.1:443/nvst/sign_in?peer_id=peer-1&version=2",
+            SignalingSocket.signInUrl("10.0.0.1", null, "peer-1"));
+        assertEquals("wss://10.0.0.1:49100/nvst/sign_in?peer_id=peer-1&version=2",
+            SignalingSocket.signInUrl("10.0.0.1:49100", "", "peer-1"));
+        assertEquals("wss://rtc.example.net:8443/nvst/sign_in?peer_id=peer-1&version=2",
+            SignalingSocket.signInUrl("10.0.0.1", "wss://rtc.example.net:8443/nvst/", "peer-1"));
+        assertEquals("wss://rtc.example.net:443/nvst/sign_in?peer_id=peer-1&version=2",
+            SignalingSocket.signInUrl("10.0.0.1", "rtc.example.net", "peer-1"));
+    }
+
+    @Test
+    public void reconnectDelay_doublesUpToCap() {
+        assertEquals(500, SignalingSocket.reconnectDelayMs(0));
+        assertEquals(1000, SignalingSocket.reconnectDelayMs(1));
+        assertEquals(4000, SignalingSocket.reconnectDelayMs(3));
+        assertEquals(8000, SignalingSocket.reconnectDelayMs(4));
+        assertEquals(8000, SignalingSocket.reconnectDelayMs(40));
+    }
+
+    @Test
+    public void reconnectsAfterClose_onlyForAbnormalCodes() {
+        assertFalse(SignalingSocket.reconnectsAfterClose(1000));
+        assertTrue(SignalingSocket.reconnectsAfterClose(1001));
+        assertTrue(SignalingSocket.reconnectsAfterClose(1006));
+        assertTrue(SignalingSocket.reconnectsAfterClose(4000));
+    }
+}
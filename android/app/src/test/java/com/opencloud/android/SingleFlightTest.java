@@ -0,0 +1,77 @@
+package com.opencloud.android;
+
+import static org.junit.Assert.*;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+public class SingleFlightTest {
+
+    private static final class Recorder implements SingleFlight.Waiter<String> {
+        final List<String> results = new ArrayList<>();
+        final List<Exception> errors = new ArrayList<>();
+
+        @Override
+        public void onResult(String result) {
+            results.add(result);
+        }
+
+        @Override
+        public void onError(Exception error) {
+            errors.add(error);
+        }
+    }
+
+    @Test
+    public void identicalKeysShareTheLeadersResult() {
+        SingleFlight<String> flights = new SingleFlight<>();
+        Recorder a = new Recorder();
+        Recorder b = new Recorder();
+
+        assertTrue(flights.join("GET /serverInfo", "host/v2/serverInfo", a));
+        assertFalse(flights.join("GET /serverInfo", "host/v2/serverInfo", b));
+        assertEquals(1, flights.inFlightCount());
+
+        flights.complete("GET /serverInfo", "body");
+        assertEquals(1, a.results.size());
+        assertSame(a.results.get(0), b.results.get(0));
+        assertEquals(0, flights.inFlightCount());
+    }
+
+    @Test
+    public void failureReachesEveryWaiterAndFreesTheKey() {
+        SingleFlight<String> flights = new SingleFlight<>();
+        Recorder a = new Recorder();
+        Recorder b = new Recorder();
+        flights.join("k", "e", a);
+        flights.join("k", "e", b);
+
+        Exception error = new Exception("boom");
+        flights.fail("k", error);
+        assertSame(error, a.errors.get(0));
+        assertSame(error, b.errors.get(0));
+
+        assertTrue(flights.join("k", "e", new Recorder()));
+    }
+
+    @Test
+    public void countsRequestsAndCoalescedJoinsPerEndpoint() {
+        SingleFlight<String> flights = new SingleFlight<>();
+        flights.join("a1", "games/graphql", new Recorder());
+        flights.join("a1", "games/graphql", new Recorder());
+        flights.join("a2", "games/graphql", new Recorder());
+        flights.join("b", "pcs/serviceUrls", new Recorder());
+
+        Map<String, SingleFlight.EndpointStats> stats = flights.stats();
+        assertEquals(3, stats.get("games/graphql").requests);
+        assertEquals(1, stats.get("games/graphql").coalesced);
+        assertEquals(1, stats.get("pcs/serviceUrls").requests);
+        assertEquals(0, stats.get("pcs/serviceUrls").coalesced);
+
+        flights.resetStats();
+        assertTrue(flights.stats().isEmpty());
+    }
+}
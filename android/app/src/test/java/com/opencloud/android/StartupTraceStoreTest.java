@@ -0,0 +1,74 @@
+package com.opencloud.android;
+
+import static org.junit.Assert.*;
+
+import org.json.JSONArray;
+import org.json.JSONObject;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.List;
+
+public class StartupTraceStoreTest {
+
+    @Rule
+    public TemporaryFolder tmp = new TemporaryFolder();
+
+    private static JSONObject timeline(double bridgeReadyMs) throws Exception {
+        JSONArray marks = new JSONArray();
+        marks.put(new JSONObject().put("name", "activity_onCreate").put("atMs", 0));
+        marks.put(new JSONObject().put("name", "bridge_ready").put("atMs", bridgeReadyMs));
+        return new JSONObject().put("marks", marks);
+    }
+
+    @Test
+    public void append_keepsOnlyTheNewestEntries() throws Exception {
+        StartupTraceStore store = new StartupTraceStore(new File(tmp.getRoot(), "traces.jsonl"), 3);
+        for (int i = 1; i <= 5; i++) store.append(timeline(i));
+
+        List<JSONObject> loaded = store.load(10);
+        assertEquals(3, loaded.size());
+        assertEquals(3.0, loaded.get(0).getJSONArray("marks").getJSONObject(1).getDouble("atMs"), 0);
+        assertEquals(5.0, loaded.get(2).getJSONArray("marks").getJSONObject(1).getDouble("atMs"), 0);
+    }
+
+    @Test
+    public void load_limitsToMostRecent() throws Exception {
+        StartupTraceStore store = new StartupTraceStore(new File(tmp.getRoot(), "traces.jsonl"), 10);
+        for (int i = 1; i <= 4; i++) store.append(timeline(i));
+
+        List<JSONObject> loaded = store.load(2);
+        assertEquals(2, loaded.size());
+        assertEquals(3.0, loaded.get(0).getJSONArray("marks").getJSONObject(1).getDouble("atMs"), 0);
+    }
+
+    @Test
+    public void load_returnsNothingForNonPositiveLimit() throws Exception {
+        StartupTraceStore store = new StartupTraceStore(new File(tmp.getRoot(), "traces.jsonl"), 10);
+        for (int i = 1; i <= 3; i++) store.append(timeline(i));
+
+        assertTrue(store.load(0).isEmpty());
+        assertTrue(store.load(-5).isEmpty());
+        assertTrue(store.load(Integer.MIN_VALUE).isEmpty());
+    }
+
+    @Test
+    public void stats_reportsNearestRankPercentilesPerMark() throws Exception {
+        List<JSONObject> timelines = new ArrayList<>();
+        for (int i = 1; i <= 20; i++) timelines.add(timeline(i * 10));
+
+        JSONObject bridge = StartupTraceStore.stats(timelines).getJSONObject("bridge_ready");
+        assertEquals(20, bridge.getInt("count"));
+        assertEquals(100.0, bridge.getDouble("p50"), 0);
+        assertEquals(190.0, bridge.getDouble("p95"), 0);
+    }
+
+    @Test
+    public void percentile_handlesEmptyAndSingleSamples() {
+        assertEquals(0.0, StartupTraceStore.percentile(new double[0], 95), 0);
+        assertEquals(7.0, StartupTraceStore.percentile(new double[] { 7 }, 50), 0);
+    }
+}
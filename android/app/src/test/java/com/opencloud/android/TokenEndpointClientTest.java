@@ -0,0 +1,181 @@
+package com.opencloud.android;
+
+import static org.junit.Assert.*;
+
+import com.sun.net.httpserver.HttpServer;
+
+import org.json.JSONObject;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicReference;
+
+import okhttp3.OkHttpClient;
+
+/**
+ * Runs {@link TokenEndpointClient} against a local stand-in for login.nvidia.com/token.
+ */
+public class TokenEndpointClientTest {
+
+    private HttpServer server;
+    private String endpoint;
+    private final AtomicReference<String> lastBody = new AtomicReference<>();
+    private volatile int status = 200;
+    private volatile String responseJson = "{}";
+
+    @Before
+    public void setUp() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/token", exchange -> {
+            try (InputStream in = exchange.getRequestBody()) {
+                lastBody.set(new String(in.readAllBytes(), StandardCharsets.UTF_8));
+            }
+            byte[] out = responseJson.getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().add("Content-Type", "application/json");
+            exchange.sendResponseHeaders(status, out.length);
+            try (OutputStream os = exchange.getResponseBody()) {
+                os.write(out);
+            }
+        });
+        server.start();
+        endpoint = "http://127.0.0.1:" + server.getAddress().getPort() + "/token";
+    }
+
+    @After
+    public void tearDown() {
+        server.stop(0);
+    }
+
+    @Test
+    public void exchangeAuthorizationCode_postsPkceFormAndParsesTokens() throws Exception {
+        responseJson = "{\"access_token\":\"at\",\"refresh_token\":\"rt\",\"id_token\":\"it\",\"expires_in\":3600}";
+        TokenEndpointClient client = new TokenEndpointClient(new OkHttpClient(), endpoint);
+
+        long before = System.currentTimeMillis();
+        JSONObject tokens = client.exchangeAuthorizationCode("abc", "verifier-123", "http://localhost:2259");
+
+        String body = lastBody.get();
+        assertTrue(body.contains("grant_type=authorization_code"));
+        assertTrue(body.contains("code=abc"));
+        assertTrue(body.contains("code_verifier=verifier-123"));
+        assertTrue(body.contains("redirect_uri=http%3A%2F%2Flocalhost%3A2259"));
+
+        assertEquals("at", tokens.getString("accessToken"));
+        assertEquals("rt", tokens.getString("refreshToken"));
+        assertEquals("it", tokens.getString("idToken"));
+        long expiresAt = tokens.getLong("expiresAt");
+        assertTrue(expiresAt >= before + 3600_000L);
+        assertTrue(expiresAt <= System.currentTimeMillis() + 3600_000L);
+    }
+
+    @Test
+    public void exchangeAuthorizationCode_defaultsExpiryAndOmitsMissingTokens() throws Exception {
+        responseJson = "{\"access_token\":\"at\"}";
+        TokenEndpointClient client = new TokenEndpointClient(new OkHttpClient(), endpoint);
+
+        long before = System.currentTimeMillis();
+        JSONObject tokens = client.exchangeAuthorizationCode("abc", "v", "http://localhost:2259");
+
+        assertFalse(tokens.has("refreshToken"));
+        assertFalse(tokens.has("idToken"));
+        assertTrue(tokens.getLong("expiresAt") >= before + 86400_000L);
+    }
+
+    @Test
+    public void exchangeAuthorizationCode_surfacesHttpErrors() {
+        status = 400;
+        responseJson = "{\"error\":\"invalid_grant\"}";
+        TokenEndpointClient client = new TokenEndpointClient(new OkHttpClient(), endpoint);
+
+        try {
+            client.exchangeAuthorizationCode("abc", "v", "http://localhost:2259");
+            fail("expected IOException");
+        } catch (IOException e) {
+            assertTrue(e.getMessage().startsWith("Token exchange failed (400)"));
+            assertTrue(e.getMessage().contains("invalid_grant"));
+        }
+    }
+
+    @Test
+    public void refresh_reportsStatusAndOAuthError() {
+        status = 400;
+        responseJson = "{\"error\":\"invalid_grant\",\"error_description\":\"expired\"}";
+        TokenEndpointClient client = new TokenEndpointClient(new OkHttpClient(), endpoint);
+
+        try {
+            client.refresh("rt1");
+            fail("expected HttpError");
+        } catch (TokenEndpointClient.HttpError e) {
+            assertEquals(400, e.status);
+            assertEquals("invalid_grant", e.error);
+            assertTrue(e.isRejected());
+        } catch (IOException e) {
+            fail("expected HttpError, got " + e);
+        }
+    }
+
+    @Test
+    public void httpError_onlyRejectsPermanentFailures() {
+        assertTrue(new TokenEndpointClient.HttpError("", 401, null).isRejected());
+        assertTrue(new TokenEndpointClient.HttpError("", 500, "invalid_grant").isRejected());
+        assertFalse(new TokenEndpointClient.HttpError("", 429, null).isRejected());
+        assertFalse(new TokenEndpointClient.HttpError("", 408, null).isRejected());
+        assertFalse(new TokenEndpointClient.HttpError("", 503, "temporarily_unavailable").isRejected());
+    }
+
+    @Test
+    public void exchangeAuthorizationCode_rejectsEmptyAccessToken() {
+        responseJson = "{\"refresh_token\":\"rt\"}";
+        TokenEndpointClient client = new TokenEndpointClient(new OkHttpClient(), endpoint);
+
+        try {
+            client.exchangeAuthorizationCode("abc", "v", "http://localhost:2259");
+            fail("expected IOException");
+        } catch (IOException e) {
+            assertEquals("Token exchange returned empty access_token", e.getMessage());
+        }
+    }
+
+    @Test
+    public void refresh_postsRefreshGrantAndKeepsRotatedToken() throws Exception {
+        responseJson = "{\"access_token\":\"at2\",\"refresh_token\":\"rt2\",\"expires_in\":600}";
+        TokenEndpointClient client = new TokenEndpointClient(new OkHttpClient(), endpoint);
+
+        JSONObject tokens = client.refresh("rt1");
+
+        String body = lastBody.get();
+        assertTrue(body.contains("grant_type=refresh_token"));
+        assertTrue(body.contains("refresh_token=rt1"));
+        assertTrue(body.contains("client_id=" + TokenEndpointClient.CLIENT_ID));
+        assertEquals("at2", tokens.getString("accessToken"));
+        assertEquals("rt2", tokens.getString("refreshToken"));
+    }
+
+    @Test
+    public void refresh_reusesPreviousRefreshTokenWhenNotRotated() throws Exception {
+        responseJson = "{\"access_token\":\"at2\"}";
+        TokenEndpointClient client = new TokenEndpointClient(new OkHttpClient(), endpoint);
+
+        assertEquals("rt1", client.refresh("rt1").getString("refreshToken"));
+    }
+
+    @Test
+    public void refreshViaClientToken_usesTokenExchangeGrant() throws Exception {
+        responseJson = "{\"access_token\":\"at3\"}";
+        TokenEndpointClient client = new TokenEndpointClient(new OkHttpClient(), endpoint);
+
+        JSONObject tokens = client.refreshViaClientToken("rt1");
+
+        String body = lastBody.get();
+        assertTrue(body.contains("grant_type=urn%3Aietf%3Aparams%3Aoauth%3Agrant-type%3Atoken-exchange"));
+        assertTrue(body.contains("subject_token=rt1"));
+        assertEquals("at3", tokens.getString("accessToken"));
+        assertEquals("rt1", tokens.getString("refreshToken"));
+    }
+}
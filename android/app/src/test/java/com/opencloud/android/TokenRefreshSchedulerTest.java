@@ -0,0 +1,21 @@
+package com.opencloud.android;
+
+import static org.junit.Assert.*;
+
+import org.junit.Test;
+
+public class TokenRefreshSchedulerTest {
+
+    @Test
+    public void retryDelayMs_doublesFromBase() {
+        assertEquals(TokenRefreshScheduler.RETRY_BASE_DELAY_MS, TokenRefreshScheduler.retryDelayMs(1));
+        assertEquals(2 * TokenRefreshScheduler.RETRY_BASE_DELAY_MS, TokenRefreshScheduler.retryDelayMs(2));
+        assertEquals(8 * TokenRefreshScheduler.RETRY_BASE_DELAY_MS, TokenRefreshScheduler.retryDelayMs(4));
+    }
+
+    @Test
+    public void retryDelayMs_isCapped() {
+        assertEquals(TokenRefreshScheduler.RETRY_MAX_DELAY_MS, TokenRefreshScheduler.retryDelayMs(7));
+        assertEquals(TokenRefreshScheduler.RETRY_MAX_DELAY_MS, TokenRefreshScheduler.retryDelayMs(1000));
+    }
+}
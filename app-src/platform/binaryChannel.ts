@@ -0,0 +1,272 @@
+import { Capacitor, registerPlugin, type PluginListenerHandle } from "@capacitor/core";
+import { debugLog } from "./debugLog";
+
+/**
+ * Receiver for the native binary channel (BinaryChannel.java): a MessagePort carrying
+ * ArrayBuffers of back-to-back frames, each a 16-byte little-endian header
+ * `[type u8][flags u8][length u16][seq u32][timestampUs f64]` followed by the payload.
+ */
+
+export const FRAME_HEADER_SIZE = 16;
+export const FRAME_TYPE_BENCHMARK = 1;
+
+const HANDSHAKE = "opencloud-binary-channel";
+
+export interface BinaryFrameInfo {
+  type: number;
+  flags: number;
+  seq: number;
+  /** Native send time in microseconds (BinaryChannel.nowUs); not on the JS clock. */
+  timestampUs: number;
+}
+
+/** `payload` views the received buffer; copy it if it must outlive the call. */
+export type BinaryFrameHandler = (frame: BinaryFrameInfo, payload: DataView) => void;
+
+interface BenchmarkResult {
+  transport: "port" | "bridge";
+  sent: number;
+  sendMs: number;
+}
+
+interface BinaryChannelPlugin {
+  open(): Promise<{ supported: boolean }>;
+  close(): Promise<void>;
+  benchmark(options: { transport: "port" | "bridge"; count?: number; payloadBytes?: number }): Promise<BenchmarkResult>;
+  now(): Promise<{ nowUs: number }>;
+  addListener(eventName: "benchmarkFrame", listener: (event: { data: string }) => void): Promise<PluginListenerHandle>;
+}
+
+const BinaryChannel = registerPlugin<BinaryChannelPlugin>("BinaryChannel");
+
+const handlers = new Map<number, Set<BinaryFrameHandler>>();
+let port: MessagePort | null = null;
+let opening: Promise<boolean> | null = null;
+
+export function isBinaryChannelAvailable(): boolean {
+  return Capacitor.isPluginAvailable("BinaryChannel");
+}
+
+/** Walks every frame in one message and dispatches it to the handlers for its type. */
+export function dispatchFrames(buffer: ArrayBuffer, dispatch: BinaryFrameHandler): void {
+  const view = new DataView(buffer);
+  let at = 0;
+  while (at + FRAME_HEADER_SIZE <= buffer.byteLength) {
+    const length = view.getUint16(at + 2, true);
+    if (at + FRAME_HEADER_SIZE + length > buffer.byteLength) {
+      return;
+    }
+    dispatch(
+      {
+        type: view.getUint8(at),
+        flags: view.getUint8(at + 1),
+        seq: view.getUint32(at + 4, true),
+        timestampUs: view.getFloat64(at + 8, true),
+      },
+      new DataView(buffer, at + FRAME_HEADER_SIZE, length),
+    );
+    at += FRAME_HEADER_SIZE + length;
+  }
+}
+
+function onPortMessage(event: MessageEvent): void {
+  if (!(event.data instanceof ArrayBuffer)) {
+    return;
+  }
+  dispatchFrames(event.data, (frame, payload) => {
+    const typeHandlers = handlers.get(frame.type);
+    if (typeHandlers) {
+      for (const handler of typeHandlers) handler(frame, payload);
+    }
+  });
+}
+
+/**
+ * Asks native code to post a fresh port and waits for it. Resolves to false when the
+ * WebView cannot transfer ArrayBuffers over message ports; callers keep using plugin events.
+ */
+export function openBinaryChannel(): Promise<boolean> {
+  if (port) {
+    return Promise.resolve(true);
+  }
+  if (opening) {
+    return opening;
+  }
+  if (!isBinaryChannelAvailable()) {
+    return Promise.resolve(false);
+  }
+
+  opening = new Promise<boolean>((resolve) => {
+    let timer = 0;
+    const onWindowMessage = (event: MessageEvent) => {
+      if (event.data !== HANDSHAKE || event.ports.length === 0) {
+        return;
+      }
+      window.removeEventListener("message", onWindowMessage);
+      window.clearTimeout(timer);
+      port = event.ports[0]!;
+      port.onmessage = onPortMessage;
+      resolve(true);
+    };
+    window.addEventListener("message", onWindowMessage);
+    const fail = () => {
+      window.removeEventListener("message", onWindowMessage);
+      window.clearTimeout(timer);
+      resolve(false);
+    };
+    timer = window.setTimeout(fail, 2000);
+    BinaryChannel.open()
+      .then(({ supported }) => {
+        if (!supported) fail();
+      })
+      .catch(fail);
+  }).finally(() => {
+    opening = null;
+  });
+  return opening;
+}
+
+export function closeBinaryChannel(): void {
+  port?.close();
+  port = null;
+  void BinaryChannel.close().catch(() => {});
+}
+
+/** Subscribes to frames of one type; returns an unsubscribe function. */
+export function onBinaryFrames(type: number, handler: BinaryFrameHandler): () => void {
+  let typeHandlers = handlers.get(type);
+  if (!typeHandlers) {
+    typeHandlers = new Set();
+    handlers.set(type, typeHandlers);
+  }
+  typeHandlers.add(handler);
+  return () => {
+    typeHandlers.delete(handler);
+  };
+}
+
+export interface TransportBenchmark {
+  transport: "port" | "bridge";
+  frames: number;
+  received: number;
+  payloadBytes: number;
+  durationMs: number;
+  framesPerSec: number;
+  megabytesPerSec: number;
+  latencyP50Ms: number;
+  latencyP99Ms: number;
+  latencyMaxMs: number;
+}
+
+/**
+ * Milliseconds to subtract from a frame timestamp to put it on the `performance.now()`
+ * timeline, taken from the fastest of a few round trips (as InputClock does for input).
+ */
+async function frameClockOffsetMs(samples = 5): Promise<number> {
+  let bestRttMs = Infinity;
+  let offsetMs = 0;
+  for (let i = 0; i < samples; i++) {
+    const start = performance.now();
+    const { nowUs } = await BinaryChannel.now();
+    const rttMs = performance.now() - start;
+    if (rttMs < bestRttMs) {
+      bestRttMs = rttMs;
+      offsetMs = nowUs / 1000 - (start + rttMs / 2);
+    }
+  }
+  return offsetMs;
+}
+
+function percentile(sorted: number[], p: number): number {
+  if (sorted.length === 0) {
+    return 0;
+  }
+  return sorted[Math.min(sorted.length - 1, Math.floor(sorted.length * p))]!;
+}
+
+async function benchmarkTransport(transport: "port" | "bridge", count: number, payloadBytes: number): Promise<TransportBenchmark> {
+  const offsetMs = await frameClockOffsetMs();
+  const latenciesMs: number[] = [];
+  let firstMs = 0;
+  let lastMs = 0;
+  let done: () => void = () => {};
+  const finished = new Promise<void>((resolve) => {
+    done = resolve;
+  });
+
+  const onFrame = (frame: BinaryFrameInfo) => {
+    if (frame.type !== FRAME_TYPE_BENCHMARK) {
+      return;
+    }
+    const receivedMs = performance.now();
+    if (latenciesMs.length === 0) {
+      firstMs = receivedMs;
+    }
+    lastMs = receivedMs;
+    latenciesMs.push(receivedMs - (frame.timestampUs / 1000 - offsetMs));
+    if (latenciesMs.length >= count) {
+      done();
+    }
+  };
+
+  let unsubscribe: () => void;
+  if (transport === "port") {
+    unsubscribe = onBinaryFrames(FRAME_TYPE_BENCHMARK, onFrame);
+  } else {
+    const handle = await BinaryChannel.addListener("benchmarkFrame", ({ data }) => {
+      const binary = atob(data);
+      const bytes = new Uint8Array(binary.length);
+      for (let i = 0; i < binary.length; i++) bytes[i] = binary.charCodeAt(i);
+      dispatchFrames(bytes.buffer, onFrame);
+    });
+    unsubscribe = () => void handle.remove();
+  }
+
+  try {
+    const result = await BinaryChannel.benchmark({ transport, count, payloadBytes });
+    // Frames still in flight when native finishes sending get a grace period.
+    await Promise.race([finished, new Promise<void>((resolve) => window.setTimeout(resolve, 5000))]);
+    // Throughput is measured on JS receive times only: first to last delivered frame.
+    const durationMs = Math.max(0.001, lastMs - firstMs);
+    const sorted = latenciesMs.slice().sort((a, b) => a - b);
+    return {
+      transport,
+      frames: result.sent,
+      received: latenciesMs.length,
+      payloadBytes,
+      durationMs,
+      framesPerSec: (latenciesMs.length * 1000) / durationMs,
+      megabytesPerSec: (latenciesMs.length * payloadBytes) / 1000 / durationMs,
+      latencyP50Ms: percentile(sorted, 0.5),
+      latencyP99Ms: percentile(sorted, 0.99),
+      latencyMaxMs: sorted.length > 0 ? sorted[sorted.length - 1]! : 0,
+    };
+  } finally {
+    unsubscribe();
+  }
+}
+
+/**
+ * Sends the same frame stream over the message port and over plugin events, one after the
+ * other, and reports delivered rate and one-way latency for each. Native send times are
+ * mapped onto the JS clock through a round-trip offset, so latency carries up to half
+ * the sync round trip of error.
+ */
+export async function runBinaryChannelBenchmark(count = 5000, payloadBytes = 64): Promise<TransportBenchmark[]> {
+  if (!(await openBinaryChannel())) {
+    throw new Error("Binary channel is not supported by this WebView");
+  }
+  const results = [
+    await benchmarkTransport("port", count, payloadBytes),
+    await benchmarkTransport("bridge", count, payloadBytes),
+  ];
+  for (const r of results) {
+    debugLog(
+      "BinaryChannel",
+      `${r.transport}: ${r.received}/${r.frames} frames x ${r.payloadBytes}B in ${r.durationMs.toFixed(1)}ms ` +
+        `(${Math.round(r.framesPerSec)}/s, ${r.megabytesPerSec.toFixed(2)} MB/s), ` +
+        `latency p50 ${r.latencyP50Ms.toFixed(2)}ms p99 ${r.latencyP99Ms.toFixed(2)}ms max ${r.latencyMaxMs.toFixed(2)}ms`,
+    );
+  }
+  return results;
+}
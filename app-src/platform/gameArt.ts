@@ -0,0 +1,60 @@
+import { Capacitor, registerPlugin } from "@capacitor/core";
+import { debugWarn } from "./debugLog";
+
+const TAG = "GameArt";
+
+export interface GameArtStats {
+  /** Art requests the WebView made through the native cache. */
+  requests: number;
+  memoryHits: number;
+  diskHits: number;
+  hitRate: number;
+  bytesSaved: number;
+  bytesFetched: number;
+  prefetched: number;
+  /** Art downsampled natively to the reported card width. */
+  resized: number;
+  displayWidthPx: number;
+  memoryBytes: number;
+  diskBytes: number;
+}
+
+interface GameArtPlugin {
+  prefetch(options: { urls: string[] }): Promise<{ queued: number }>;
+  setDisplayWidth(options: { cssWidth: number }): Promise<void>;
+  getStats(): Promise<GameArtStats>;
+  clear(): Promise<void>;
+}
+
+const GameArt = registerPlugin<GameArtPlugin>("GameArt");
+const available = Capacitor.isPluginAvailable("GameArt");
+
+/** Warms the native art cache; URLs already cached or in flight are skipped natively. */
+export function prefetchGameArt(urls: Array<string | undefined>): void {
+  if (!available) return;
+  const wanted = urls.filter((url): url is string => !!url);
+  if (wanted.length === 0) return;
+  GameArt.prefetch({ urls: wanted }).catch((error: unknown) => {
+    debugWarn(TAG, `prefetch failed: ${error instanceof Error ? error.message : String(error)}`);
+  });
+}
+
+let reportedWidth = 0;
+
+/**
+ * Tells the native cache how wide a card image is laid out, so art is requested for the
+ * device density and downsampled to that size. Ignores sub-pixel jitter.
+ */
+export function setGameArtDisplayWidth(cssWidth: number): void {
+  const width = Math.round(cssWidth);
+  if (!available || width <= 0 || width === reportedWidth) return;
+  reportedWidth = width;
+  GameArt.setDisplayWidth({ cssWidth: width }).catch((error: unknown) => {
+    debugWarn(TAG, `setDisplayWidth failed: ${error instanceof Error ? error.message : String(error)}`);
+  });
+}
+
+export async function getGameArtStats(): Promise<GameArtStats | null> {
+  if (!available) return null;
+  return GameArt.getStats();
+}
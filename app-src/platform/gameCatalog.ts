@@ -0,0 +1,64 @@
+import { Capacitor, registerPlugin } from "@capacitor/core";
+import type { GameInfo } from "@shared/gfn";
+import { debugWarn } from "./debugLog";
+
+const TAG = "GameCatalog";
+
+export type CatalogSource = "main" | "library" | "public";
+
+export interface CatalogQuery {
+  source: CatalogSource;
+  /**
+   * Search text: matches title substrings, as the JS title filter does, plus games whose
+   * title, publisher or store names have every word as a prefix. Title matches come first.
+   */
+  query?: string;
+  sort?: "position" | "title";
+  offset?: number;
+  limit?: number;
+}
+
+export interface CatalogPage {
+  total: number;
+  offset: number;
+  games: GameInfo[];
+}
+
+interface GameCatalogPlugin {
+  upsert(options: { source: CatalogSource; games: GameInfo[]; complete: boolean }): Promise<{ changed: number }>;
+  query(options: CatalogQuery): Promise<CatalogPage>;
+  clear(): Promise<void>;
+}
+
+const GameCatalog = registerPlugin<GameCatalogPlugin>("GameCatalog");
+
+export const isGameCatalogAvailable = Capacitor.isPluginAvailable("GameCatalog");
+
+/** Persists a fetched catalog. `complete` means `games` is the whole source. Fire-and-forget. */
+export function saveCatalog(source: CatalogSource, games: GameInfo[], complete = true): void {
+  if (!isGameCatalogAvailable) return;
+  GameCatalog.upsert({ source, games, complete }).catch((error: unknown) => {
+    debugWarn(TAG, `upsert(${source}) failed: ${error instanceof Error ? error.message : String(error)}`);
+  });
+}
+
+export async function queryCatalog(query: CatalogQuery): Promise<CatalogPage | null> {
+  if (!isGameCatalogAvailable) return null;
+  return GameCatalog.query(query);
+}
+
+/** Every stored game of a source in catalog order; empty when nothing was saved yet. */
+export async function loadCatalog(source: CatalogSource): Promise<GameInfo[]> {
+  if (!isGameCatalogAvailable) return [];
+  try {
+    const page = await GameCatalog.query({ source, limit: 100_000 });
+    return page.games;
+  } catch {
+    return [];
+  }
+}
+
+export async function clearCatalog(): Promise<void> {
+  if (!isGameCatalogAvailable) return;
+  await GameCatalog.clear().catch(() => {});
+}
@@ -9,9 +9,12 @@ import type {
   SubscriptionInfo,
 } from "@shared/gfn";
 import { fetchSubscriptionWeb, fetchDynamicRegionsWeb } from "./subscription";
-import { preferencesGet, preferencesSet, preferencesRemove } from "./storage";
+import { preferencesGet, preferencesRemove } from "./storage";
+import { vaultGet, vaultSet, vaultClear } from "./tokenVault";
+import TokenRefresh from "./tokenRefresh";
 import AuthWebView from "./authWebView";
-import { httpGet, httpPost } from "../http";
+import { clearHttpCache, httpGet, httpPost } from "../http";
+import { clearCatalog } from "../gameCatalog";
 import { debugLog } from "../debugLog";
 
 const SERVICE_URLS_ENDPOINT = "https://pcs.geforcenow.com/v1/serviceUrls";
@@ -30,10 +33,25 @@ const REDIRECT_PORT = 2259;
 const REDIRECT_URI = `http://localhost:${REDIRECT_PORT}`;
 
 const AUTH_STATE_KEY = "auth_state";
+/** Matches TokenRefreshScheduler.TIER_MAX_AGE_MS on the native side. */
+const TIER_MAX_AGE_MS = 6 * 60 * 60 * 1000;
+
+AuthWebView.addListener("openTiming", ({ elapsedMs, pooled }) => {
+  debugLog("[Auth]", `Login WebView first page start after ${elapsedMs}ms (pooled=${pooled})`);
+}).catch(() => {});
+
+AuthWebView.addListener("loginMetrics", ({ blockedRequests, cacheHits, bytesSaved, interactiveMs }) => {
+  debugLog(
+    "[Auth]",
+    `Login page: form interactive after ${interactiveMs}ms, ${cacheHits} cached assets (${bytesSaved} bytes saved), ${blockedRequests} requests blocked`,
+  );
+}).catch(() => {});
 
 interface PersistedAuthState {
   session: AuthSession | null;
   selectedProvider: LoginProvider | null;
+  /** Epoch ms of the last successful subscription tier lookup (JS or native). */
+  tierCheckedAt?: number;
 }
 
 interface ServiceUrlsResponse {
@@ -250,6 +268,12 @@ async function refreshViaClientToken(refreshToken: string): Promise<AuthTokens>
   };
 }
 
+/** Panels, serverInfo responses and the saved library are per account. */
+async function clearAccountCaches(): Promise<void> {
+  await clearHttpCache();
+  await clearCatalog();
+}
+
 async function fetchUserInfo(tokens: AuthTokens): Promise<AuthUser> {
   const jwtToken = tokens.idToken ?? tokens.accessToken;
   const parsed = parseJwtPayload<{
@@ -307,14 +331,23 @@ export class AndroidAuthService {
   private sessionExpiredListeners = new Set<(reason: string) => void>();
 
   private pendingPkce: { verifier: string; challenge: string } | null = null;
+  private tierCheckedAt = 0;
+
+  constructor() {
+    TokenRefresh.addListener("tokensRefreshed", ({ tokens }) => {
+      if (!this.session) return;
+      console.log(`[Auth] Tokens refreshed natively, expiresAt=${new Date(tokens.expiresAt).toISOString()}`);
+      this.session = { ...this.session, tokens };
+      this.cachedSubscription = null;
+    }).catch(() => {});
+  }
 
   async initialize(): Promise<void> {
     console.log("[Auth] Initializing — loading persisted tokens...");
     try {
-      const raw = await preferencesGet(AUTH_STATE_KEY);
-      if (raw) {
+      const parsed = await this.loadPersistedState();
+      if (parsed) {
         console.log("[Auth] Found persisted auth state, restoring...");
-        const parsed = JSON.parse(raw) as PersistedAuthState;
         if (parsed.selectedProvider) {
           this.selectedProvider = normalizeProvider(parsed.selectedProvider);
         }
@@ -326,11 +359,16 @@ export class AndroidAuthService {
           console.log(`[Auth] Session restored for user ${this.session.user.displayName} (tier=${this.session.user.membershipTier})`);
           console.log(`[Auth] Token expiresAt=${new Date(this.session.tokens.expiresAt).toISOString()}, hasRefresh=${!!this.session.tokens.refreshToken}`);
 
-          try {
-            await this.enrichUserTier();
-            await this.persist();
-          } catch (enrichErr) {
-            console.warn("[Auth] enrichUserTier during init failed (session preserved):", enrichErr);
+          this.tierCheckedAt = parsed.tierCheckedAt ?? 0;
+          if (Date.now() - this.tierCheckedAt < TIER_MAX_AGE_MS) {
+            console.log("[Auth] Membership tier is fresh (prefetched natively); skipping enrichment.");
+          } else {
+            // Keep the network off the launch path; the session is usable with the stored tier.
+            void this.enrichUserTier()
+              .then(() => this.persist())
+              .catch((enrichErr) => {
+                console.warn("[Auth] enrichUserTier during init failed (session preserved):", enrichErr);
+              });
           }
         }
       } else {
@@ -341,13 +379,31 @@ export class AndroidAuthService {
     }
   }
 
+  /**
+   * Reads the native token vault, migrating a legacy Capacitor Preferences blob on
+   * first run after upgrade.
+   */
+  private async loadPersistedState(): Promise<PersistedAuthState | null> {
+    const stored = await vaultGet<PersistedAuthState>();
+    if (stored) return stored;
+
+    const legacy = await preferencesGet(AUTH_STATE_KEY);
+    if (!legacy) return null;
+    console.log("[Auth] Migrating auth state from Capacitor Preferences to the token vault.");
+    const parsed = JSON.parse(legacy) as PersistedAuthState;
+    await vaultSet(parsed);
+    await preferencesRemove(AUTH_STATE_KEY);
+    return parsed;
+  }
+
   private async persist(): Promise<void> {
     const payload: PersistedAuthState = {
       session: this.session,
       selectedProvider: this.selectedProvider,
+      tierCheckedAt: this.tierCheckedAt,
     };
-    await preferencesSet(AUTH_STATE_KEY, JSON.stringify(payload));
-    console.log("[Auth] Tokens persisted to Capacitor Preferences.");
+    await vaultSet(payload);
+    console.log("[Auth] Tokens persisted to the token vault.");
   }
 
   async getProviders(): Promise<LoginProvider[]> {
@@ -356,6 +412,7 @@ export class AndroidAuthService {
     try {
       const response = await httpGet(SERVICE_URLS_ENDPOINT, {
         headers: { Accept: "application/json", "User-Agent": GFN_USER_AGENT },
+        cache: { maxStaleSeconds: 24 * 60 * 60 },
       });
 
       if (!response.ok) {
@@ -445,25 +502,38 @@ export class AndroidAuthService {
 
     const authUrl = buildAuthUrl(this.selectedProvider, this.pendingPkce.challenge);
 
-    const result = await AuthWebView.open({
-      url: authUrl,
-      redirectPattern: REDIRECT_URI,
-    });
+    const verifier = this.pendingPkce.verifier;
+    let result: { url: string; tokens?: AuthTokens };
+    try {
+      result = await AuthWebView.openAndExchange({
+        url: authUrl,
+        redirectPattern: REDIRECT_URI,
+        codeVerifier: verifier,
+        tokenEndpoint: TOKEN_ENDPOINT,
+      });
+    } finally {
+      this.pendingPkce = null;
+    }
 
     const callbackUrl = result.url;
     const parsedUrl = new URL(callbackUrl);
     const code = parsedUrl.searchParams.get("code");
     if (!code) {
       const error = parsedUrl.searchParams.get("error") || "No authorization code in callback";
-      this.pendingPkce = null;
       throw new Error(`Login failed: ${error}`);
     }
 
-    const tokens = await exchangeAuthorizationCode(code, this.pendingPkce.verifier);
-    this.pendingPkce = null;
+    // The native side normally exchanges the code already; keep the JS path as a fallback.
+    const tokens = result.tokens ?? await exchangeAuthorizationCode(code, verifier);
+    if (result.tokens) console.log("[Auth] Token exchange completed natively.");
 
     const user = await fetchUserInfo(tokens);
 
+    // A login without a logout in between (expired or rejected session) may switch accounts;
+    // the cached responses and saved library must not carry over to the new one.
+    const previous = await vaultGet<PersistedAuthState>();
+    if (previous?.session?.user.userId !== user.userId) await clearAccountCaches();
+
     this.session = { provider: this.selectedProvider, tokens, user };
     await this.enrichUserTier();
     await this.persist();
@@ -475,7 +545,9 @@ export class AndroidAuthService {
     this.session = null;
     this.cachedSubscription = null;
     this.cachedVpcId = null;
-    await preferencesRemove(AUTH_STATE_KEY);
+    this.tierCheckedAt = 0;
+    await vaultClear();
+    await clearAccountCaches();
   }
 
   async getSubscription(): Promise<SubscriptionInfo | null> {
@@ -512,6 +584,7 @@ export class AndroidAuthService {
     if (!this.session) return;
     try {
       const subscription = await this.getSubscription();
+      if (subscription) this.tierCheckedAt = Date.now();
       if (subscription?.membershipTier) {
         this.session = {
           ...this.session,
@@ -618,6 +691,14 @@ export class AndroidAuthService {
     if (!this.session?.tokens.refreshToken) return null;
     const refreshToken = this.session.tokens.refreshToken;
 
+    try {
+      // The native scheduler owns the refresh token; joining its refresh avoids racing a rotation.
+      const { tokens } = await TokenRefresh.refreshNow();
+      if (tokens) return tokens;
+    } catch (error) {
+      console.warn("[Auth] Native refresh failed, falling back to JS:", error);
+    }
+
     try {
       return await refreshAuthTokens(refreshToken);
     } catch {
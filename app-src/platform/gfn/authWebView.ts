@@ -1,7 +1,61 @@
-import { registerPlugin } from "@capacitor/core";
+import { registerPlugin, type PluginListenerHandle } from "@capacitor/core";
+
+export interface AuthWebViewOpenTiming {
+  /** Milliseconds from the native `open` call to the first `onPageStarted`. */
+  elapsedMs: number;
+  /** Whether the WebView came from the pre-warmed pool. */
+  pooled: boolean;
+}
+
+export interface AuthWebViewLoginMetrics {
+  /** Requests dropped by the host / resource-type blocklist. */
+  blockedRequests: number;
+  /** Static login assets served from the native on-disk cache. */
+  cacheHits: number;
+  /** Bytes served from that cache instead of the network. */
+  bytesSaved: number;
+  /** Milliseconds from `open` until the login form was present, or -1 if never seen. */
+  interactiveMs: number;
+}
+
+/** Request filter overrides; omitted fields keep the native defaults. */
+export interface AuthWebViewFilterOptions {
+  /** Hosts (matched with their subdomains) whose requests are dropped. */
+  blockHosts?: string[];
+  /** Resource types to drop: "script" | "stylesheet" | "font" | "image" | "media" | "other". */
+  blockResourceTypes?: string[];
+  /** Hosts (matched with their subdomains) serving cookie-less static assets worth caching. */
+  cacheHosts?: string[];
+}
+
+export interface AuthWebViewTokens {
+  accessToken: string;
+  refreshToken?: string;
+  idToken?: string;
+  expiresAt: number;
+}
 
 interface AuthWebViewPlugin {
-  open(options: { url: string; redirectPattern?: string }): Promise<{ url: string }>;
+  open(options: { url: string; redirectPattern?: string } & AuthWebViewFilterOptions): Promise<{ url: string }>;
+  /**
+   * Opens the login page and exchanges the redirect's authorization code natively.
+   * `tokens` is absent when the redirect carried no code (e.g. `?error=`).
+   */
+  openAndExchange(options: {
+    url: string;
+    redirectPattern?: string;
+    redirectUri?: string;
+    codeVerifier: string;
+    tokenEndpoint?: string;
+  } & AuthWebViewFilterOptions): Promise<{ url: string; tokens?: AuthWebViewTokens }>;
+  addListener(
+    eventName: "openTiming",
+    listener: (event: AuthWebViewOpenTiming) => void,
+  ): Promise<PluginListenerHandle>;
+  addListener(
+    eventName: "loginMetrics",
+    listener: (event: AuthWebViewLoginMetrics) => void,
+  ): Promise<PluginListenerHandle>;
 }
 
 const AuthWebView = registerPlugin<AuthWebViewPlugin>("AuthWebView");
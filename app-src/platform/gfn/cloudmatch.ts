@@ -13,6 +13,7 @@ import type { CloudMatchRequest, CloudMatchResponse, GetSessionsResponse } from
 import { SessionError } from "./errorCodes";
 import { httpGet, httpRequest } from "../http";
 import { debugLog, debugWarn, debugError } from "../debugLog";
+import { nextSessionQueueUpdate, startSessionQueue, stopSessionQueue } from "../sessionQueue";
 
 const GFN_USER_AGENT =
   "Mozilla/5.0 (Windows NT 10.0; Win64; x64) AppleWebKit/537.36 (KHTML, like Gecko) Chrome/128.0.0.0 Safari/537.36 NVIDIACEFClient/HEAD/debb5919f6 GFN-PC/2.0.80.173";
@@ -204,25 +205,19 @@ export async function createSessionWeb(input: SessionCreateRequest): Promise<Ses
   };
 }
 
-export async function pollSessionWeb(input: SessionPollRequest): Promise<SessionInfo> {
-  const token = input.token!;
+function pollTarget(input: SessionPollRequest): { base: string; zone: string; url: string; headers: Record<string, string> } {
   const serverIp = input.serverIp;
   const base = serverIp ? `https://${serverIp}` : (input.streamingBaseUrl ?? "https://prod.cloudmatchbeta.nvidiagrid.net").replace(/\/$/, "");
   const zone = input.zone || "";
   const url = `${base}/v2/session/${input.sessionId}?keyboardLayout=en-US&languageCode=en_US`;
 
-  const headers = commonHeaders(token, zone);
+  const headers = commonHeaders(input.token!, zone);
   delete headers["Origin"];
   delete headers["Referer"];
-  const response = await httpGet(url, { headers });
-  if (!response.ok) {
-    const text = await response.text();
-    debugError("[CloudMatch]", `pollSession FAILED: HTTP ${response.status} sessionId=${input.sessionId} | ${text.slice(0, 300)}`);
-    debugError("[CloudMatch]", `pollSession response headers: ${JSON.stringify(response.headers)}`);
-    throw SessionError.fromResponse(response.status, text);
-  }
+  return { base, zone, url, headers };
+}
 
-  const data = (await response.json()) as CloudMatchResponse;
+function parsePollResponse(input: SessionPollRequest, base: string, zone: string, data: CloudMatchResponse): SessionInfo {
   if (data.requestStatus.statusCode !== 0 && data.requestStatus.statusCode !== undefined) {
     if (data.requestStatus.statusCode >= 2) {
       debugError("[CloudMatch]", `pollSession statusCode=${data.requestStatus.statusCode} desc=${data.requestStatus.statusDescription ?? "none"}`);
@@ -240,13 +235,67 @@ export async function pollSessionWeb(input: SessionPollRequest): Promise<Session
 
   return {
     sessionId: data.session.sessionId, status: sessionStatus, zone,
-    streamingBaseUrl: base, serverIp: signaling?.serverIp ?? serverIp ?? "",
+    streamingBaseUrl: base, serverIp: signaling?.serverIp ?? input.serverIp ?? "",
     signalingServer: signaling?.signalingServer ?? "", signalingUrl: signaling?.signalingUrl ?? "",
     gpuType: data.session.gpuType, queuePosition: data.session.queuePosition,
     iceServers: normalizeIceServers(data), mediaConnectionInfo: signaling?.mediaConnectionInfo,
   };
 }
 
+export async function pollSessionWeb(input: SessionPollRequest): Promise<SessionInfo> {
+  const { base, zone, url, headers } = pollTarget(input);
+  const response = await httpGet(url, { headers });
+  if (!response.ok) {
+    const text = await response.text();
+    debugError("[CloudMatch]", `pollSession FAILED: HTTP ${response.status} sessionId=${input.sessionId} | ${text.slice(0, 300)}`);
+    debugError("[CloudMatch]", `pollSession response headers: ${JSON.stringify(response.headers)}`);
+    throw SessionError.fromResponse(response.status, text);
+  }
+
+  return parsePollResponse(input, base, zone, (await response.json()) as CloudMatchResponse);
+}
+
+let nativePoll: { sessionId: string; seq: number } | null = null;
+
+/**
+ * Same contract as pollSessionWeb, served by the native queue service: the first call for a
+ * session starts it (token and headers are captured then), later calls return the newest
+ * poll it made since the previous call, waiting for one if needed.
+ */
+export async function pollSessionNative(input: SessionPollRequest): Promise<SessionInfo> {
+  const { base, zone, url, headers } = pollTarget(input);
+  if (nativePoll?.sessionId !== input.sessionId) {
+    try {
+      await startSessionQueue(input.sessionId, url, headers);
+    } catch (error) {
+      // E.g. Android refusing a foreground service start from the background; try again next poll.
+      debugWarn("[CloudMatch]", `native queue polling unavailable: ${error instanceof Error ? error.message : String(error)}`);
+      return pollSessionWeb(input);
+    }
+    nativePoll = { sessionId: input.sessionId, seq: 0 };
+  }
+
+  const update = await nextSessionQueueUpdate(input.sessionId, nativePoll.seq);
+  nativePoll.seq = update.seq;
+  if (update.error) {
+    debugError("[CloudMatch]", `pollSession FAILED natively: ${update.error} sessionId=${input.sessionId}`);
+    throw new Error(update.error);
+  }
+  if (update.httpStatus < 200 || update.httpStatus >= 300) {
+    debugError("[CloudMatch]", `pollSession FAILED: HTTP ${update.httpStatus} sessionId=${input.sessionId} | ${update.body.slice(0, 300)}`);
+    throw SessionError.fromResponse(update.httpStatus, update.body);
+  }
+
+  return parsePollResponse(input, base, zone, JSON.parse(update.body) as CloudMatchResponse);
+}
+
+/** Stops the native queue service; the next pollSessionNative call starts it again. */
+export async function endSessionPollingNative(): Promise<void> {
+  if (!nativePoll) return;
+  nativePoll = null;
+  await stopSessionQueue();
+}
+
 export async function stopSessionWeb(input: SessionStopRequest): Promise<void> {
   const token = input.token!;
   const serverIp = input.serverIp;
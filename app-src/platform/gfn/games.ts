@@ -1,6 +1,8 @@
 import type { GameInfo, GameVariant } from "@shared/gfn";
-import { httpGet } from "../http";
+import { httpGet, onCachedResponseUpdated, type HttpCacheOptions } from "../http";
 import { debugLog, debugWarn } from "../debugLog";
+import { takePrefetched } from "./prefetch";
+import { loadCatalog, saveCatalog, type CatalogSource } from "../gameCatalog";
 
 const GRAPHQL_URL = "https://games.geforce.com/graphql";
 const PANELS_QUERY_HASH = "f8e26265a5db5c20e1334a6872cf04b6e3970507697f6ae55a6ddefa5420daf0";
@@ -13,10 +15,19 @@ const GFN_USER_AGENT =
 
 const TAG = "[Games]";
 
+// Panels change a few times a day; serve the cached copy and let revalidation catch up.
+const PANELS_CACHE: HttpCacheOptions = { maxStaleSeconds: 24 * 60 * 60, ignoreParams: ["huId"] };
+const SERVER_INFO_CACHE: HttpCacheOptions = { maxStaleSeconds: 60 * 60 };
+
 interface GraphQlResponse {
   data?: { panels: Array<{ name: string; sections: Array<{ items: Array<{ __typename: string; app?: AppData }> }> }> };
   errors?: Array<{ message: string }>;
 }
+/** What the native `gfnPanels` decoder returns in place of a GraphQlResponse. */
+interface DecodedPanels {
+  games: GameInfo[];
+  errors?: string[];
+}
 interface AppMetaDataResponse {
   data?: { apps: { items: AppData[] } };
   errors?: Array<{ message: string }>;
@@ -47,6 +58,8 @@ function gfnHeaders(token: string): Record<string, string> {
   };
 }
 
+// 272 is the baseline width; on Android the native art cache rewrites it for the
+// device density and card layout (see GameArtCache / ArtSizing).
 function optimizeImage(url: string): string {
   return url.includes("img.nvidiagrid.net") ? `${url};f=webp;w=272` : url;
 }
@@ -60,6 +73,8 @@ function randomHuId(): string {
 async function getVpcId(token: string, providerStreamingBaseUrl?: string): Promise<string> {
   const base = providerStreamingBaseUrl?.trim() || "https://prod.cloudmatchbeta.nvidiagrid.net/";
   const normalizedBase = base.endsWith("/") ? base : `${base}/`;
+  const prefetched = await takePrefetched<{ requestStatus?: { serverId?: string } }>("serverInfo", token, normalizedBase);
+  if (prefetched) return prefetched.requestStatus?.serverId ?? "GFN-PC";
   try {
     const response = await httpGet(`${normalizedBase}v2/serverInfo`, {
       headers: {
@@ -73,6 +88,7 @@ async function getVpcId(token: string, providerStreamingBaseUrl?: string): Promi
         "nv-device-type": "DESKTOP",
         "User-Agent": GFN_USER_AGENT,
       },
+      cache: SERVER_INFO_CACHE,
     });
     if (!response.ok) return "GFN-PC";
     const payload = (await response.json()) as { requestStatus?: { serverId?: string } };
@@ -99,7 +115,19 @@ function appToGame(app: AppData): GameInfo {
   };
 }
 
-async function fetchPanels(token: string, panelNames: string[], vpcId: string): Promise<GraphQlResponse> {
+// On Android the panels are decoded natively (JsonReader) and only the GameInfo records cross
+// the bridge; elsewhere, or if that fails, the full response is parsed here.
+async function fetchPanels(token: string, panelNames: string[], vpcId: string): Promise<GraphQlResponse | DecodedPanels> {
+  if (panelNames.length === 1 && (panelNames[0] === "MAIN" || panelNames[0] === "LIBRARY")) {
+    const prefetched = await takePrefetched<GraphQlResponse | DecodedPanels>(`panels:${panelNames[0]}`, token, vpcId, {
+      decode: "gfnPanels",
+    });
+    if (prefetched) {
+      debugLog(TAG, `fetchPanels(${panelNames[0]}) served from native prefetch`);
+      return prefetched;
+    }
+  }
+
   const variables = JSON.stringify({ vpcId, locale: DEFAULT_LOCALE, panelNames });
   const extensions = JSON.stringify({ persistedQuery: { sha256Hash: PANELS_QUERY_HASH } });
   const requestType = panelNames.includes("LIBRARY") ? "panels/Library" : "panels/MainV2";
@@ -108,7 +136,8 @@ async function fetchPanels(token: string, panelNames: string[], vpcId: string):
 
   debugLog(TAG, `fetchPanels(${panelNames.join(",")}) vpcId=${vpcId}`);
 
-  const response = await httpGet(url, { headers: gfnHeaders(token) });
+  const response = await httpGet(url, { headers: gfnHeaders(token), cache: PANELS_CACHE, decode: "gfnPanels" });
+  if (response.fromCache) debugLog(TAG, `fetchPanels(${panelNames.join(",")}) served from cache`);
 
   if (!response.ok) {
     const body = await response.text();
@@ -116,10 +145,16 @@ async function fetchPanels(token: string, panelNames: string[], vpcId: string):
     throw new Error(`Games GraphQL failed (${response.status}): ${body.slice(0, 200)}`);
   }
 
+  if (response.decoded) return response.decoded as DecodedPanels;
   return (await response.json()) as GraphQlResponse;
 }
 
-function flattenPanels(payload: GraphQlResponse): GameInfo[] {
+function flattenPanels(payload: GraphQlResponse | DecodedPanels): GameInfo[] {
+  if ("games" in payload) {
+    if (payload.errors?.length) throw new Error(payload.errors.join(", "));
+    debugLog(TAG, `flattenPanels → ${payload.games.length} games (decoded natively)`);
+    return payload.games;
+  }
   if (payload.errors?.length) throw new Error(payload.errors.map((e) => e.message).join(", "));
   const games: GameInfo[] = [];
   for (const panel of payload.data?.panels ?? [])
@@ -130,27 +165,78 @@ function flattenPanels(payload: GraphQlResponse): GameInfo[] {
   return games;
 }
 
+/** Persists a fresh catalog; when the fetch fails, serves the last saved one if there is one. */
+async function withOfflineCatalog(source: CatalogSource, fetchGames: () => Promise<GameInfo[]>): Promise<GameInfo[]> {
+  try {
+    const games = await fetchGames();
+    saveCatalog(source, games);
+    return games;
+  } catch (error) {
+    const saved = await loadCatalog(source);
+    if (saved.length === 0) throw error;
+    debugWarn(TAG, `${source} catalog fetch failed, serving ${saved.length} saved games: ${error instanceof Error ? error.message : String(error)}`);
+    return saved;
+  }
+}
+
 export async function fetchMainGamesWeb(token: string, providerStreamingBaseUrl?: string): Promise<GameInfo[]> {
-  const vpcId = await getVpcId(token, providerStreamingBaseUrl);
-  return flattenPanels(await fetchPanels(token, ["MAIN"], vpcId));
+  return withOfflineCatalog("main", async () => {
+    const vpcId = await getVpcId(token, providerStreamingBaseUrl);
+    return flattenPanels(await fetchPanels(token, ["MAIN"], vpcId));
+  });
 }
 
 export async function fetchLibraryGamesWeb(token: string, providerStreamingBaseUrl?: string): Promise<GameInfo[]> {
-  const vpcId = await getVpcId(token, providerStreamingBaseUrl);
-  return flattenPanels(await fetchPanels(token, ["LIBRARY"], vpcId));
+  return withOfflineCatalog("library", async () => {
+    const vpcId = await getVpcId(token, providerStreamingBaseUrl);
+    return flattenPanels(await fetchPanels(token, ["LIBRARY"], vpcId));
+  });
+}
+
+export interface GamesUpdate {
+  source: "main" | "library";
+  games: GameInfo[];
+}
+
+/**
+ * Fires when a panels response that was served from cache has been revalidated and the
+ * catalog changed, so the UI can swap in the fresh list without a refetch.
+ */
+export function onGamesUpdated(listener: (update: GamesUpdate) => void): () => void {
+  return onCachedResponseUpdated((update) => {
+    let requestType: string | null;
+    try {
+      const url = new URL(update.url);
+      if (`${url.origin}${url.pathname}` !== GRAPHQL_URL) return;
+      requestType = url.searchParams.get("requestType");
+    } catch {
+      return;
+    }
+    if (requestType !== "panels/Library" && requestType !== "panels/MainV2") return;
+    try {
+      const games = flattenPanels(JSON.parse(update.data) as GraphQlResponse);
+      const source = requestType === "panels/Library" ? "library" : "main";
+      saveCatalog(source, games);
+      listener({ source, games });
+    } catch (error) {
+      debugWarn(TAG, `Ignoring revalidated panels: ${error instanceof Error ? error.message : String(error)}`);
+    }
+  });
 }
 
 export async function fetchPublicGamesWeb(): Promise<GameInfo[]> {
   try {
-    const response = await httpGet("https://static.nvidiagrid.net/supported-public-game-list/locales/gfnpc-en-US.json", {
-      headers: { Accept: "application/json" },
+    return await withOfflineCatalog("public", async () => {
+      const response = await httpGet("https://static.nvidiagrid.net/supported-public-game-list/locales/gfnpc-en-US.json", {
+        headers: { Accept: "application/json" },
+      });
+      if (!response.ok) throw new Error(`Public game list failed (${response.status})`);
+      const data = (await response.json()) as Array<{ id?: string | number; title?: string; publisher?: string; steamUrl?: string; status?: string }>;
+      if (!Array.isArray(data)) throw new Error("Public game list is not an array");
+      return data.filter((g) => g.title && g.status === "AVAILABLE").map((g) => ({
+        id: String(g.id ?? ""), title: g.title ?? "", publisher: g.publisher || undefined, variants: [], selectedVariantIndex: 0,
+      }));
     });
-    if (!response.ok) return [];
-    const data = (await response.json()) as Array<{ id?: string | number; title?: string; steamUrl?: string; status?: string }>;
-    if (!Array.isArray(data)) return [];
-    return data.filter((g) => g.title && g.status === "AVAILABLE").map((g) => ({
-      id: String(g.id ?? ""), title: g.title ?? "", variants: [], selectedVariantIndex: 0,
-    }));
   } catch {
     return [];
   }
@@ -0,0 +1,37 @@
+import { registerPlugin } from "@capacitor/core";
+import type { ResponseDecoder } from "../http";
+
+/**
+ * Session-critical responses (serverInfo, MAIN / LIBRARY panels) fetched natively while the
+ * activity starts. `take` waits briefly for an in-flight fetch and yields `null` when there
+ * is nothing usable for this token, so callers fall back to their own request. With
+ * `decode` the native decoder's output is returned in place of the parsed body when it ran.
+ */
+export type PrefetchKey = "serverInfo" | "panels:MAIN" | "panels:LIBRARY";
+
+interface SessionPrefetchPlugin {
+  take(options: {
+    key: PrefetchKey;
+    token: string;
+    match?: string;
+    waitMs?: number;
+    decode?: ResponseDecoder;
+  }): Promise<{ body: string | null; decoded?: unknown }>;
+}
+
+const SessionPrefetch = registerPlugin<SessionPrefetchPlugin>("SessionPrefetch");
+
+export async function takePrefetched<T>(
+  key: PrefetchKey,
+  token: string,
+  match?: string,
+  options: { waitMs?: number; decode?: ResponseDecoder } = {},
+): Promise<T | null> {
+  try {
+    const { body, decoded } = await SessionPrefetch.take({ key, token, match, ...options });
+    if (decoded) return decoded as T;
+    return body ? (JSON.parse(body) as T) : null;
+  } catch {
+    return null;
+  }
+}
@@ -1,5 +1,16 @@
+import { Capacitor, registerPlugin, type PluginListenerHandle } from "@capacitor/core";
 import type { IceCandidatePayload, MainToRendererSignalingEvent, SendAnswerRequest } from "@shared/gfn";
 
+export interface SignalingClient {
+  connect(): Promise<void>;
+  onEvent(listener: (event: MainToRendererSignalingEvent) => void): () => void;
+  sendAnswer(payload: SendAnswerRequest): Promise<void>;
+  sendIceCandidate(candidate: IceCandidatePayload): Promise<void>;
+  /** Replaces an open socket without emitting `disconnected`; the server re-announces itself. */
+  reconnect(): Promise<void>;
+  disconnect(): void;
+}
+
 interface SignalingMessage {
   ackid?: number;
   ack?: number;
@@ -8,7 +19,7 @@ interface SignalingMessage {
   peer_msg?: { from: number; to: number; msg: string };
 }
 
-export class BrowserSignalingClient {
+export class BrowserSignalingClient implements SignalingClient {
   private ws: WebSocket | null = null;
   private peerId = 2;
   private peerName = `peer-${Math.floor(Math.random() * 10_000_000_000)}`;
@@ -167,8 +178,96 @@ export class BrowserSignalingClient {
     });
   }
 
+  async reconnect(): Promise<void> {
+    const old = this.ws;
+    if (!old) return;
+    old.onclose = null;
+    old.onerror = null;
+    old.onmessage = null;
+    this.clearHeartbeat();
+    old.close();
+    this.ws = null;
+    await this.connect();
+  }
+
   disconnect(): void {
     this.clearHeartbeat();
     if (this.ws) { this.ws.close(); this.ws = null; }
   }
 }
+
+interface SignalingPlugin {
+  connect(options: { signalingServer: string; sessionId: string; signalingUrl?: string }): Promise<void>;
+  sendAnswer(options: SendAnswerRequest): Promise<void>;
+  sendIceCandidate(options: IceCandidatePayload): Promise<void>;
+  reconnect(): Promise<void>;
+  disconnect(): Promise<void>;
+  addListener(
+    eventName: "signaling",
+    listener: (event: MainToRendererSignalingEvent) => void,
+  ): Promise<PluginListenerHandle>;
+}
+
+const NativeSignaling = registerPlugin<SignalingPlugin>("Signaling");
+
+/**
+ * Android: the socket, acks, heartbeats and reconnects live in Java (SignalingSocket), so
+ * WebView timer throttling can't drop the session; JS only sees offers, ICE and status.
+ */
+export class NativeSignalingClient implements SignalingClient {
+  private listeners = new Set<(event: MainToRendererSignalingEvent) => void>();
+  private handle: Promise<PluginListenerHandle> | null = null;
+
+  constructor(
+    private readonly signalingServer: string,
+    private readonly sessionId: string,
+    private readonly signalingUrl?: string,
+  ) {}
+
+  onEvent(listener: (event: MainToRendererSignalingEvent) => void): () => void {
+    this.listeners.add(listener);
+    return () => this.listeners.delete(listener);
+  }
+
+  async connect(): Promise<void> {
+    if (!this.handle) {
+      this.handle = NativeSignaling.addListener("signaling", (event) => {
+        if (event.type === "offer") console.log(`[Signaling] Received OFFER SDP (${event.sdp.length} chars)`);
+        for (const listener of this.listeners) listener(event);
+      });
+    }
+    await this.handle;
+    console.log("[Signaling] Connecting natively to:", this.signalingUrl ?? this.signalingServer);
+    await NativeSignaling.connect({
+      signalingServer: this.signalingServer,
+      sessionId: this.sessionId,
+      signalingUrl: this.signalingUrl,
+    });
+  }
+
+  async sendAnswer(payload: SendAnswerRequest): Promise<void> {
+    console.log(`[Signaling] Sending ANSWER SDP (${payload.sdp.length} chars)`);
+    await NativeSignaling.sendAnswer(payload);
+  }
+
+  async sendIceCandidate(candidate: IceCandidatePayload): Promise<void> {
+    await NativeSignaling.sendIceCandidate(candidate);
+  }
+
+  async reconnect(): Promise<void> {
+    await NativeSignaling.reconnect();
+  }
+
+  disconnect(): void {
+    void NativeSignaling.disconnect().catch(() => {});
+    const handle = this.handle;
+    this.handle = null;
+    void handle?.then((h) => h.remove());
+  }
+}
+
+export function createSignalingClient(signalingServer: string, sessionId: string, signalingUrl?: string): SignalingClient {
+  return Capacitor.isPluginAvailable("Signaling")
+    ? new NativeSignalingClient(signalingServer, sessionId, signalingUrl)
+    : new BrowserSignalingClient(signalingServer, sessionId, signalingUrl);
+}
@@ -1,5 +1,6 @@
 import type { SubscriptionInfo, EntitledResolution, StorageAddon, StreamRegion } from "@shared/gfn";
 import { httpGet } from "../http";
+import { takePrefetched } from "./prefetch";
 
 const MES_URL = "https://mes.geforcenow.com/v4/subscriptions";
 const LCARS_CLIENT_ID = "ec7e38d4-03af-4b58-b131-cfb0495903ab";
@@ -159,10 +160,13 @@ export async function fetchDynamicRegionsWeb(
   if (token) headers.Authorization = `GFNJWT ${token}`;
 
   try {
-    const response = await httpGet(url, { headers });
-    if (!response.ok) return { regions: [], vpcId: null };
-
-    const data = (await response.json()) as { requestStatus?: { serverId?: string }; metaData?: Array<{ key: string; value: string }> };
+    type ServerInfo = { requestStatus?: { serverId?: string }; metaData?: Array<{ key: string; value: string }> };
+    let data = token ? await takePrefetched<ServerInfo>("serverInfo", token, base) : null;
+    if (!data) {
+      const response = await httpGet(url, { headers });
+      if (!response.ok) return { regions: [], vpcId: null };
+      data = (await response.json()) as ServerInfo;
+    }
     const vpcId = data.requestStatus?.serverId ?? null;
     const regions = (data.metaData ?? [])
       .filter((e) => e.value.startsWith("https://") && e.key !== "gfn-regions" && !e.key.startsWith("gfn-"))
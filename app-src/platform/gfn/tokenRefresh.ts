@@ -0,0 +1,18 @@
+import { registerPlugin, type PluginListenerHandle } from "@capacitor/core";
+import type { AuthTokens } from "@shared/gfn";
+
+/**
+ * Native refresh scheduler. It refreshes ahead of `expiresAt` in the background and owns
+ * refresh-token use, so JS asks it to refresh instead of calling the token endpoint itself.
+ */
+interface TokenRefreshPlugin {
+  refreshNow(): Promise<{ tokens: AuthTokens | null }>;
+  addListener(
+    eventName: "tokensRefreshed",
+    listener: (event: { tokens: AuthTokens }) => void,
+  ): Promise<PluginListenerHandle>;
+}
+
+const TokenRefresh = registerPlugin<TokenRefreshPlugin>("TokenRefresh");
+
+export default TokenRefresh;
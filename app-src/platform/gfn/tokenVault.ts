@@ -0,0 +1,26 @@
+import { registerPlugin } from "@capacitor/core";
+
+/**
+ * Keystore-encrypted native store for the persisted auth state. The native side keeps
+ * a decrypted snapshot in memory (loaded while the activity starts) and coalesces writes.
+ */
+interface TokenVaultPlugin<T> {
+  get(): Promise<{ state: T | null }>;
+  set(options: { state: T }): Promise<void>;
+  clear(): Promise<void>;
+}
+
+const TokenVault = registerPlugin<TokenVaultPlugin<unknown>>("TokenVault");
+
+export async function vaultGet<T>(): Promise<T | null> {
+  const { state } = await TokenVault.get();
+  return (state as T | null) ?? null;
+}
+
+export async function vaultSet<T>(state: T): Promise<void> {
+  await TokenVault.set({ state });
+}
+
+export async function vaultClear(): Promise<void> {
+  await TokenVault.clear();
+}
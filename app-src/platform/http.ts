@@ -1,20 +1,83 @@
-import { CapacitorHttp, type HttpOptions, type HttpResponse as CapHttpResponse } from "@capacitor/core";
+import { Capacitor, CapacitorHttp, registerPlugin, type HttpOptions } from "@capacitor/core";
 import { debugLog, debugWarn, debugError, isDebugLogging } from "./debugLog";
 
 const TAG = "[Http]";
 
+interface RawResponse {
+  status: number;
+  headers?: Record<string, string>;
+  data: unknown;
+  /** Negotiated protocol ("h2", "http/1.1"); only reported by NativeHttp. */
+  protocol?: string;
+  /** Set when NativeHttp served the body from its on-disk cache. */
+  fromCache?: boolean;
+  cacheKey?: string;
+  /** Set instead of `data` when a `decode` option was applied natively. */
+  decoded?: unknown;
+}
+
+export interface HttpCacheOptions {
+  /** How old a cached body may be and still be returned without waiting for the network. */
+  maxStaleSeconds: number;
+  /** Query parameters left out of the cache key, e.g. per-request nonces. */
+  ignoreParams?: string[];
+  onlyIfCached?: boolean;
+}
+
+/**
+ * Native decoders for large JSON bodies (Android only). `gfnPanels` turns a GraphQL panels
+ * response into `{ games: GameInfo[]; errors?: string[] }` off the JS thread.
+ */
+export type ResponseDecoder = "gfnPanels";
+
+export interface CachedResponseUpdate {
+  cacheKey: string;
+  url: string;
+  status: number;
+  headers: Record<string, string>;
+  data: string;
+}
+
+export interface HttpRequestStats {
+  /** Identical GET/HEAD calls that joined one already in flight instead of hitting the network. */
+  endpoints: Array<{ endpoint: string; requests: number; coalesced: number }>;
+  inFlight: number;
+}
+
+interface NativeHttpPlugin {
+  request(options: HttpOptions & { cache?: HttpCacheOptions; decode?: ResponseDecoder }): Promise<RawResponse>;
+  clearCache(): Promise<void>;
+  getStats(options?: { reset?: boolean }): Promise<HttpRequestStats>;
+  addListener(
+    eventName: "cacheUpdated",
+    listener: (event: CachedResponseUpdate) => void,
+  ): Promise<{ remove: () => Promise<void> }>;
+}
+
+// Pooled OkHttp client on Android (HTTP/2, keep-alive, TLS resumption, gzip), shared with
+// the native prefetch and token refresh; CapacitorHttp opens a new connection per call.
+const NativeHttp = registerPlugin<NativeHttpPlugin>("NativeHttp");
+const useNativeHttp = Capacitor.isPluginAvailable("NativeHttp");
+
 export class HttpResponse {
   readonly status: number;
   readonly ok: boolean;
   readonly statusText: string;
   readonly headers: Record<string, string>;
+  readonly fromCache: boolean;
+  readonly cacheKey?: string;
+  /** The decoder's output when the request asked for one and it ran; the body is not kept then. */
+  readonly decoded?: unknown;
   private readonly _data: unknown;
 
-  constructor(response: CapHttpResponse) {
+  constructor(response: RawResponse) {
     this.status = response.status;
     this.ok = response.status >= 200 && response.status < 300;
     this.statusText = String(response.status);
     this.headers = response.headers ?? {};
+    this.fromCache = response.fromCache ?? false;
+    this.cacheKey = response.cacheKey;
+    this.decoded = response.decoded;
     this._data = response.data;
   }
 
@@ -35,6 +98,17 @@ export interface HttpRequestOptions {
   headers?: Record<string, string>;
   params?: Record<string, string>;
   data?: unknown;
+  /**
+   * Serve GETs through the native response cache (Android only): a body younger than
+   * `maxStaleSeconds` comes back immediately and is revalidated in the background,
+   * with changes delivered to `onCachedResponseUpdated`.
+   */
+  cache?: HttpCacheOptions;
+  /**
+   * Decode a 2xx body natively into `decoded` (Android only). Elsewhere, or when decoding
+   * fails, the body comes back as usual, so callers handle both.
+   */
+  decode?: ResponseDecoder;
 }
 
 function redactAuth(headers: Record<string, string>): string {
@@ -98,7 +172,9 @@ export async function httpRequest(
   const t0 = performance.now();
 
   try {
-    const raw = await CapacitorHttp.request(httpOpts);
+    const raw: RawResponse = useNativeHttp
+      ? await NativeHttp.request({ ...httpOpts, cache: options.cache, decode: options.decode })
+      : await CapacitorHttp.request(httpOpts);
     const elapsed = Math.round(performance.now() - t0);
     const resp = new HttpResponse(raw);
 
@@ -112,7 +188,7 @@ export async function httpRequest(
         debugWarn(TAG, `  response headers: ${JSON.stringify(raw.headers)}`);
       }
     } else {
-      debugLog(TAG, `✓ ${upperMethod} ${finalUrl} → ${raw.status} (${elapsed}ms)`);
+      debugLog(TAG, `✓ ${upperMethod} ${finalUrl} → ${raw.status} (${elapsed}ms${raw.fromCache ? ", cache" : raw.protocol ? `, ${raw.protocol}` : ""})`);
     }
 
     return resp;
@@ -137,3 +213,28 @@ export function httpPost(
 ): Promise<HttpResponse> {
   return httpRequest("POST", url, options);
 }
+
+/** Subscribes to background revalidations that replaced a cached body. No-op off Android. */
+export function onCachedResponseUpdated(
+  listener: (update: CachedResponseUpdate) => void,
+): () => void {
+  if (!useNativeHttp) return () => {};
+  const handle = NativeHttp.addListener("cacheUpdated", listener);
+  return () => {
+    void handle.then((h) => h.remove());
+  };
+}
+
+export async function clearHttpCache(): Promise<void> {
+  if (!useNativeHttp) return;
+  try {
+    await NativeHttp.clearCache();
+  } catch (error) {
+    debugWarn(TAG, `clearCache failed: ${error instanceof Error ? error.message : String(error)}`);
+  }
+}
+
+export async function getHttpRequestStats(reset = false): Promise<HttpRequestStats | null> {
+  if (!useNativeHttp) return null;
+  return NativeHttp.getStats({ reset });
+}
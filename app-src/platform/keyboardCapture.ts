@@ -0,0 +1,59 @@
+import { Capacitor, registerPlugin, type PluginListenerHandle } from "@capacitor/core";
+
+/** One hardware key transition, already mapped to the values inputProtocol.ts sends. */
+export interface NativeKeyRecord {
+  down: boolean;
+  repeat: boolean;
+  vk: number;
+  scancode: number;
+  modifiers: number;
+}
+
+interface KeyboardCapturePlugin {
+  start(): Promise<void>;
+  stop(): Promise<void>;
+  addListener(eventName: "keys", listener: (event: { data: string; eventUptimeMs: number }) => void): Promise<PluginListenerHandle>;
+}
+
+const KeyboardCapture = registerPlugin<KeyboardCapturePlugin>("KeyboardCapture");
+
+const RECORD_SIZE = 6;
+const FLAG_DOWN = 0x01;
+const FLAG_REPEAT = 0x02;
+
+export function isKeyboardCaptureAvailable(): boolean {
+  return Capacitor.isPluginAvailable("KeyboardCapture");
+}
+
+/** Decodes a batch of `[flags][modifiers][vk u16 LE][scancode u16 LE]` records. */
+export function decodeKeyRecords(data: string): NativeKeyRecord[] {
+  const binary = atob(data);
+  const records: NativeKeyRecord[] = [];
+  for (let i = 0; i + RECORD_SIZE <= binary.length; i += RECORD_SIZE) {
+    const flags = binary.charCodeAt(i);
+    records.push({
+      down: (flags & FLAG_DOWN) !== 0,
+      repeat: (flags & FLAG_REPEAT) !== 0,
+      modifiers: binary.charCodeAt(i + 1),
+      vk: binary.charCodeAt(i + 2) | (binary.charCodeAt(i + 3) << 8),
+      scancode: binary.charCodeAt(i + 4) | (binary.charCodeAt(i + 5) << 8),
+    });
+  }
+  return records;
+}
+
+/**
+ * Starts native hardware keyboard capture; resolves to a function that stops it. Keys
+ * arrive in per-frame batches in the order they were pressed; `eventUptimeMs` is the
+ * native uptime clock (ms) of the oldest key in the batch.
+ */
+export async function startKeyboardCapture(
+  onKeys: (records: NativeKeyRecord[], eventUptimeMs: number) => void,
+): Promise<() => void> {
+  const handle = await KeyboardCapture.addListener("keys", ({ data, eventUptimeMs }) => onKeys(decodeKeyRecords(data), eventUptimeMs));
+  await KeyboardCapture.start();
+  return () => {
+    void handle.remove();
+    void KeyboardCapture.stop().catch(() => {});
+  };
+}
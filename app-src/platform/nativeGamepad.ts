@@ -0,0 +1,47 @@
+import { Capacitor, registerPlugin, type PluginListenerHandle } from "@capacitor/core";
+
+/** One controller slot as reported by the native source; values are already XInput-scaled. */
+export interface NativePadState {
+  slot: number;
+  connected: boolean;
+  name: string;
+  buttons: number;
+  leftTrigger: number;
+  rightTrigger: number;
+  leftStickX: number;
+  leftStickY: number;
+  rightStickX: number;
+  rightStickY: number;
+  /** Event time on the native uptime clock (ms). */
+  timestampMs: number;
+}
+
+interface NativeGamepadPlugin {
+  start(): Promise<void>;
+  stop(): Promise<void>;
+  addListener(eventName: "padState", listener: (state: NativePadState) => void): Promise<PluginListenerHandle>;
+}
+
+export const NativeGamepad = registerPlugin<NativeGamepadPlugin>("NativeGamepad");
+
+export function isNativeGamepadAvailable(): boolean {
+  return Capacitor.isPluginAvailable("NativeGamepad");
+}
+
+/**
+ * Subscribes to native controller input and starts capture. Resolves to a stop function;
+ * rejects when the native source cannot start, so callers can fall back to polling.
+ */
+export async function startNativeGamepad(onState: (state: NativePadState) => void): Promise<() => void> {
+  const handle = await NativeGamepad.addListener("padState", onState);
+  try {
+    await NativeGamepad.start();
+  } catch (error) {
+    await handle.remove();
+    throw error;
+  }
+  return () => {
+    void handle.remove();
+    NativeGamepad.stop().catch(() => {});
+  };
+}
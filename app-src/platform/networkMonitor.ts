@@ -0,0 +1,29 @@
+import { Capacitor, registerPlugin, type PluginListenerHandle } from "@capacitor/core";
+import type { NetworkStatus } from "@shared/gfn";
+
+interface NetworkMonitorPlugin {
+  getState(): Promise<NetworkStatus>;
+  addListener(
+    eventName: "networkChange",
+    listener: (status: NetworkStatus & { reason: string }) => void,
+  ): Promise<PluginListenerHandle>;
+}
+
+// Android: ConnectivityManager.NetworkCallback on the default network (NetworkMonitorPlugin);
+// only transport, metered/validated flips and bandwidth swings over 25% are reported.
+const NetworkMonitor = registerPlugin<NetworkMonitorPlugin>("NetworkMonitor");
+
+export const isNetworkMonitorAvailable = Capacitor.isPluginAvailable("NetworkMonitor");
+
+export async function getNetworkStatus(): Promise<NetworkStatus | null> {
+  if (!isNetworkMonitorAvailable) return null;
+  return NetworkMonitor.getState().catch(() => null);
+}
+
+export function onNetworkChange(listener: (status: NetworkStatus) => void): () => void {
+  if (!isNetworkMonitorAvailable) return () => {};
+  const handle = NetworkMonitor.addListener("networkChange", listener);
+  return () => {
+    void handle.then((h) => h.remove());
+  };
+}
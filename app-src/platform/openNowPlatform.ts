@@ -24,6 +24,8 @@ import type {
   AuthSession,
   LoginProvider,
   StreamRegion,
+  RegionLatency,
+  NetworkStatus,
   GameInfo,
   SubscriptionInfo,
   SessionInfo,
@@ -34,15 +36,24 @@ import { App as CapApp } from "@capacitor/app";
 import { StatusBar, Style } from "@capacitor/status-bar";
 
 import { authService } from "./gfn/auth";
-import { fetchMainGamesWeb, fetchLibraryGamesWeb, fetchPublicGamesWeb, resolveLaunchAppIdWeb } from "./gfn/games";
+import { fetchMainGamesWeb, fetchLibraryGamesWeb, fetchPublicGamesWeb, onGamesUpdated, resolveLaunchAppIdWeb } from "./gfn/games";
 import { fetchSubscriptionWeb, fetchDynamicRegionsWeb } from "./gfn/subscription";
-import { createSessionWeb, pollSessionWeb, stopSessionWeb, getActiveSessionsWeb, claimSessionWeb } from "./gfn/cloudmatch";
-import { BrowserSignalingClient } from "./gfn/signaling";
+import { createSessionWeb, pollSessionWeb, pollSessionNative, endSessionPollingNative, stopSessionWeb, getActiveSessionsWeb, claimSessionWeb } from "./gfn/cloudmatch";
+import { createSignalingClient, type SignalingClient } from "./gfn/signaling";
 import { loadSettings, setSetting as setSettingStore, resetSettings as resetSettingsStore, DEFAULT_SETTINGS } from "./gfn/settings";
 import type { Settings as SettingsType } from "./gfn/settings";
 import { setDebugLogging } from "./debugLog";
+import { markStartup } from "./startupTrace";
+import { runBinaryChannelBenchmark } from "./binaryChannel";
+import { getHttpRequestStats } from "./http";
+import { getGameArtStats } from "./gameArt";
+import { isSessionQueueAvailable } from "./sessionQueue";
+import { probeRegionLatency } from "./regionLatency";
+import { getNetworkStatus, onNetworkChange } from "./networkMonitor";
 
-let signalingClient: BrowserSignalingClient | null = null;
+markStartup("js_platform_loaded");
+
+let signalingClient: SignalingClient | null = null;
 let signalingClientKey: string | null = null;
 const signalingEventListeners = new Set<(event: MainToRendererSignalingEvent) => void>();
 const sessionExpiredListeners = new Set<(reason: string) => void>();
@@ -89,6 +100,10 @@ export const openNowPlatform: OpenNowApi = {
     return authService.getRegions(input.token);
   },
 
+  probeRegions(regions: StreamRegion[], force?: boolean): Promise<RegionLatency[]> {
+    return probeRegionLatency(regions, force);
+  },
+
   async login(input: AuthLoginRequest): Promise<AuthSession> {
     await ensureAuthInit();
     return authService.startLogin(input);
@@ -120,6 +135,10 @@ export const openNowPlatform: OpenNowApi = {
     return fetchPublicGamesWeb();
   },
 
+  onGamesUpdated(listener: (update: { source: "main" | "library"; games: GameInfo[] }) => void): () => void {
+    return onGamesUpdated(listener);
+  },
+
   async resolveLaunchAppId(input: ResolveLaunchIdRequest): Promise<string | null> {
     const token = await authService.resolveJwtToken(input.token);
     return resolveLaunchAppIdWeb(token, input.appIdOrUuid, input.providerStreamingBaseUrl);
@@ -141,10 +160,15 @@ export const openNowPlatform: OpenNowApi = {
       const token = await authService.resolveJwtToken();
       input = { ...input, token };
     }
-    return pollSessionWeb(input);
+    return isSessionQueueAvailable ? pollSessionNative(input) : pollSessionWeb(input);
+  },
+
+  async endSessionPolling(): Promise<void> {
+    await endSessionPollingNative();
   },
 
   async stopSession(input: SessionStopRequest): Promise<void> {
+    void endSessionPollingNative();
     if (!input.token) {
       const token = await authService.resolveJwtToken();
       input = { ...input, token };
@@ -176,7 +200,7 @@ export const openNowPlatform: OpenNowApi = {
 
     if (signalingClient) signalingClient.disconnect();
 
-    signalingClient = new BrowserSignalingClient(input.signalingServer, input.sessionId, input.signalingUrl);
+    signalingClient = createSignalingClient(input.signalingServer, input.sessionId, input.signalingUrl);
     signalingClientKey = nextKey;
     signalingClient.onEvent((event) => {
       for (const listener of signalingEventListeners) listener(event);
@@ -218,6 +242,18 @@ export const openNowPlatform: OpenNowApi = {
     return () => { signalingEventListeners.delete(listener); };
   },
 
+  async reconnectSignaling(): Promise<void> {
+    await signalingClient?.reconnect();
+  },
+
+  getNetworkStatus(): Promise<NetworkStatus | null> {
+    return getNetworkStatus();
+  },
+
+  onNetworkChange(listener: (status: NetworkStatus) => void): () => void {
+    return onNetworkChange(listener);
+  },
+
   onToggleFullscreen(listener: () => void): () => void {
     fullscreenListeners.add(listener);
     return () => { fullscreenListeners.delete(listener); };
@@ -341,3 +377,11 @@ export const openNowPlatform: OpenNowApi = {
 };
 
 (window as unknown as { openNow: OpenNowApi }).openNow = openNowPlatform;
+// Run from chrome://inspect: await openNowBenchmarks.binaryChannel()
+// or await openNowBenchmarks.httpStats() for coalesced-request counts since launch,
+// await openNowBenchmarks.gameArtStats() for art cache hit rate and bytes saved.
+(window as unknown as { openNowBenchmarks: object }).openNowBenchmarks = {
+  binaryChannel: runBinaryChannelBenchmark,
+  httpStats: getHttpRequestStats,
+  gameArtStats: getGameArtStats,
+};
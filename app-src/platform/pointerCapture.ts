@@ -0,0 +1,63 @@
+import { Capacitor, registerPlugin, type PluginListenerHandle } from "@capacitor/core";
+
+/** Whole-count relative motion accumulated natively since the previous batch. */
+export interface PointerMotionBatch {
+  dx: number;
+  dy: number;
+  samples: number;
+  /** Native uptime clock (ms) of the last sample in the batch. */
+  timestampMs: number;
+  /** Native uptime clock (ms) of the oldest sample in the batch. */
+  eventUptimeMs: number;
+}
+
+export interface PointerButtonEvent {
+  /** Already the 1-based GFN button. */
+  button: number;
+  down: boolean;
+  /** Native uptime clock (ms) of the event. */
+  eventUptimeMs: number;
+}
+
+export interface PointerWheelEvent {
+  delta: number;
+  eventUptimeMs: number;
+}
+
+export interface PointerCaptureHandlers {
+  onMotion(batch: PointerMotionBatch): void;
+  onButton(event: PointerButtonEvent): void;
+  onWheel(event: PointerWheelEvent): void;
+  onCaptureChanged(event: { captured: boolean; requested: boolean }): void;
+}
+
+interface PointerCapturePlugin {
+  request(): Promise<void>;
+  release(): Promise<void>;
+  addListener(eventName: "pointerMotion", listener: (batch: PointerMotionBatch) => void): Promise<PluginListenerHandle>;
+  addListener(eventName: "pointerButton", listener: (event: PointerButtonEvent) => void): Promise<PluginListenerHandle>;
+  addListener(eventName: "pointerWheel", listener: (event: PointerWheelEvent) => void): Promise<PluginListenerHandle>;
+  addListener(
+    eventName: "captureChanged",
+    listener: (event: { captured: boolean; requested: boolean }) => void,
+  ): Promise<PluginListenerHandle>;
+}
+
+export const PointerCapture = registerPlugin<PointerCapturePlugin>("PointerCapture");
+
+export function isPointerCaptureAvailable(): boolean {
+  return Capacitor.isPluginAvailable("PointerCapture");
+}
+
+/** Subscribes to captured-pointer events; resolves to an unsubscribe function. */
+export async function listenPointerCapture(handlers: PointerCaptureHandlers): Promise<() => void> {
+  const handles = await Promise.all([
+    PointerCapture.addListener("pointerMotion", handlers.onMotion),
+    PointerCapture.addListener("pointerButton", handlers.onButton),
+    PointerCapture.addListener("pointerWheel", handlers.onWheel),
+    PointerCapture.addListener("captureChanged", handlers.onCaptureChanged),
+  ]);
+  return () => {
+    for (const handle of handles) void handle.remove();
+  };
+}
@@ -0,0 +1,46 @@
+import { Capacitor, registerPlugin } from "@capacitor/core";
+import type { RegionLatency, StreamRegion } from "@shared/gfn";
+import { debugLog, debugWarn } from "./debugLog";
+
+const TAG = "[RegionLatency]";
+
+interface ProbeResult {
+  networkKey: string;
+  measuredAt: number;
+  fromCache: boolean;
+  regions: RegionLatency[];
+}
+
+interface RegionLatencyPlugin {
+  probe(options: { regions: StreamRegion[]; force?: boolean; samples?: number }): Promise<ProbeResult>;
+  clear(): Promise<void>;
+}
+
+// Android: TCP/TLS connect plus HEAD round trips to every region in parallel (RegionProber),
+// cached per Wi-Fi network or carrier for 30 minutes.
+const RegionLatencyNative = registerPlugin<RegionLatencyPlugin>("RegionLatency");
+
+export const isRegionLatencyAvailable = Capacitor.isPluginAvailable("RegionLatency");
+
+/** Ranked fastest first; empty off Android or if probing failed. */
+export async function probeRegionLatency(regions: StreamRegion[], force = false): Promise<RegionLatency[]> {
+  if (!isRegionLatencyAvailable || regions.length === 0) return [];
+  try {
+    const result = await RegionLatencyNative.probe({ regions, force });
+    const best = result.regions[0];
+    debugLog(
+      TAG,
+      `${result.fromCache ? "cached" : "probed"} ${result.regions.length} regions on ${result.networkKey}` +
+        (best && best.medianMs >= 0 ? `, fastest ${best.name} ${best.medianMs}ms ±${best.jitterMs}` : ""),
+    );
+    return result.regions;
+  } catch (error) {
+    debugWarn(TAG, `probe failed: ${error instanceof Error ? error.message : String(error)}`);
+    return [];
+  }
+}
+
+export async function clearRegionLatency(): Promise<void> {
+  if (!isRegionLatencyAvailable) return;
+  await RegionLatencyNative.clear().catch(() => {});
+}
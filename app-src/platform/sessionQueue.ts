@@ -0,0 +1,38 @@
+import { Capacitor, registerPlugin } from "@capacitor/core";
+
+export interface SessionQueueUpdate {
+  seq: number;
+  httpStatus: number;
+  body: string;
+  /** Polling ended with this update: an HTTP/CloudMatch error, cleanup, or `error` below. */
+  terminal: boolean;
+  /** Set when the service gave up without a response, e.g. after repeated network failures. */
+  error?: string;
+}
+
+interface SessionQueuePlugin {
+  start(options: { sessionId: string; url: string; headers: Record<string, string> }): Promise<void>;
+  next(options: { sessionId: string; afterSeq: number }): Promise<SessionQueueUpdate>;
+  stop(): Promise<void>;
+}
+
+// Android: a foreground service (SessionQueueService) polls the queued session with an
+// interval that follows the queue position and shows it in a notification; JS only reads
+// the newest answer when its poll loop runs.
+const SessionQueue = registerPlugin<SessionQueuePlugin>("SessionQueue");
+
+export const isSessionQueueAvailable = Capacitor.isPluginAvailable("SessionQueue");
+
+export function startSessionQueue(sessionId: string, url: string, headers: Record<string, string>): Promise<void> {
+  return SessionQueue.start({ sessionId, url, headers });
+}
+
+/** Resolves with the first poll after `afterSeq`, waiting for the service if there is none yet. */
+export function nextSessionQueueUpdate(sessionId: string, afterSeq: number): Promise<SessionQueueUpdate> {
+  return SessionQueue.next({ sessionId, afterSeq });
+}
+
+export async function stopSessionQueue(): Promise<void> {
+  if (!isSessionQueueAvailable) return;
+  await SessionQueue.stop().catch(() => {});
+}
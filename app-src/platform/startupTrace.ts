@@ -0,0 +1,36 @@
+import { registerPlugin } from "@capacitor/core";
+
+export interface StartupMark {
+  name: string;
+  /** Milliseconds after MainActivity.onCreate (monotonic clock). */
+  atMs: number;
+}
+
+export interface StartupTimeline {
+  launchedAt: number;
+  /** Process fork time relative to onCreate (negative), when the platform reports it. */
+  processStartMs?: number;
+  marks: StartupMark[];
+}
+
+export interface StartupMarkStats {
+  count: number;
+  p50: number;
+  p95: number;
+}
+
+interface StartupTracePlugin {
+  mark(options: { name: string }): Promise<void>;
+  getTimeline(): Promise<StartupTimeline>;
+  getHistory(options?: { limit?: number }): Promise<{
+    launches: StartupTimeline[];
+    stats: Record<string, StartupMarkStats>;
+  }>;
+}
+
+export const StartupTrace = registerPlugin<StartupTracePlugin>("StartupTrace");
+
+/** Fire-and-forget startup mark; the native tracer records each name once per launch. */
+export function markStartup(name: string): void {
+  StartupTrace.mark({ name }).catch(() => {});
+}
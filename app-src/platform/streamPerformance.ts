@@ -0,0 +1,59 @@
+import { registerPlugin, type PluginListenerHandle } from "@capacitor/core";
+import { debugLog } from "./debugLog";
+
+const TAG = "StreamPerf";
+
+export interface StreamPerformanceState {
+  reason: "enable" | "disable" | "display" | "query";
+  /** Wall-clock ms (Date.now() scale) when the change was applied or observed. */
+  timestamp: number;
+  enabled: boolean;
+  requestedFps: number;
+  sustainedPerformance: boolean;
+  wifiLowLatency: boolean;
+  uiThreadPriority: number;
+  refreshRate?: number;
+  displayModeId?: number;
+  width?: number;
+  height?: number;
+}
+
+interface StreamPerformancePlugin {
+  enable(options: { fps: number }): Promise<StreamPerformanceState>;
+  disable(): Promise<StreamPerformanceState>;
+  getState(): Promise<StreamPerformanceState>;
+  uptime(): Promise<{ uptimeMs: number }>;
+  addListener(
+    eventName: "modeChanged",
+    listener: (state: StreamPerformanceState) => void,
+  ): Promise<PluginListenerHandle>;
+}
+
+export const StreamPerformance = registerPlugin<StreamPerformancePlugin>("StreamPerformance");
+
+void StreamPerformance.addListener("modeChanged", (state) => {
+  debugLog(
+    TAG,
+    `${state.reason} @${state.timestamp}: enabled=${state.enabled} fps=${state.requestedFps} ` +
+      `refresh=${state.refreshRate?.toFixed(2) ?? "?"}Hz sustained=${state.sustainedPerformance} ` +
+      `wifiLowLatency=${state.wifiLowLatency} uiPriority=${state.uiThreadPriority}`,
+  );
+}).catch(() => {});
+
+/** Enters game mode for the stream; failures (e.g. on web) are ignored. */
+export function enableStreamPerformance(fps: number): void {
+  StreamPerformance.enable({ fps }).catch(() => {});
+}
+
+export function disableStreamPerformance(): void {
+  StreamPerformance.disable().catch(() => {});
+}
+
+/** Native `SystemClock.uptimeMillis()`, the clock input event times are on; null off Android. */
+export async function nativeUptimeMs(): Promise<number | null> {
+  try {
+    return (await StreamPerformance.uptime()).uptimeMs;
+  } catch {
+    return null;
+  }
+}
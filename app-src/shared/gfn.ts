@@ -216,6 +216,18 @@ export interface StreamRegion {
   url: string;
 }
 
+/** Measured from this device's current network; `medianMs` is -1 when the region never answered */
+export interface RegionLatency {
+  name: string;
+  url: string;
+  connectMs: number;
+  tlsMs: number;
+  medianMs: number;
+  jitterMs: number;
+  samples: number;
+  failures: number;
+}
+
 export interface GamesFetchRequest {
   token?: string;
   providerStreamingBaseUrl?: string;
@@ -245,6 +257,8 @@ export interface GameInfo {
   launchAppId?: string;
   title: string;
   description?: string;
+  /** Only the public game list carries it; the panels query does not. */
+  publisher?: string;
   imageUrl?: string;
   playType?: string;
   membershipTierLabel?: string;
@@ -360,6 +374,18 @@ export type MainToRendererSignalingEvent =
   | { type: "error"; message: string }
   | { type: "log"; message: string };
 
+/** Default network as the OS sees it; bandwidths are link estimates in kbps, 0 when unknown */
+export interface NetworkStatus {
+  available: boolean;
+  transport: "wifi" | "cellular" | "ethernet" | "vpn" | "other" | "none";
+  downKbps: number;
+  upKbps: number;
+  metered: boolean;
+  validated: boolean;
+  /** Set on change events: the device moved to another network (or came back online) */
+  handover?: boolean;
+}
+
 /** Dialog result for session conflict resolution */
 export type SessionConflictChoice = "resume" | "new" | "cancel";
 
@@ -367,15 +393,21 @@ export interface OpenNowApi {
   getAuthSession(input?: AuthSessionRequest): Promise<AuthSessionResult>;
   getLoginProviders(): Promise<LoginProvider[]>;
   getRegions(input?: RegionsFetchRequest): Promise<StreamRegion[]>;
+  /** Regions ranked fastest first by measured round trip, cached per network */
+  probeRegions?(regions: StreamRegion[], force?: boolean): Promise<RegionLatency[]>;
   login(input: AuthLoginRequest): Promise<AuthSession>;
   logout(): Promise<void>;
   fetchSubscription(input: SubscriptionFetchRequest): Promise<SubscriptionInfo>;
   fetchMainGames(input: GamesFetchRequest): Promise<GameInfo[]>;
   fetchLibraryGames(input: GamesFetchRequest): Promise<GameInfo[]>;
   fetchPublicGames(): Promise<GameInfo[]>;
+  /** Fresh catalog after a cached games panel was revalidated in the background */
+  onGamesUpdated?(listener: (update: { source: "main" | "library"; games: GameInfo[] }) => void): () => void;
   resolveLaunchAppId(input: ResolveLaunchIdRequest): Promise<string | null>;
   createSession(input: SessionCreateRequest): Promise<SessionInfo>;
   pollSession(input: SessionPollRequest): Promise<SessionInfo>;
+  /** Ends background queue polling started by pollSession once the loop is done with it */
+  endSessionPolling?(): Promise<void>;
   stopSession(input: SessionStopRequest): Promise<void>;
   /** Get list of active sessions (status 2 or 3) */
   getActiveSessions(token?: string, streamingBaseUrl?: string): Promise<ActiveSessionInfo[]>;
@@ -388,6 +420,10 @@ export interface OpenNowApi {
   sendAnswer(input: SendAnswerRequest): Promise<void>;
   sendIceCandidate(input: IceCandidatePayload): Promise<void>;
   onSignalingEvent(listener: (event: MainToRendererSignalingEvent) => void): () => void;
+  /** Drop and reopen the signaling socket now, e.g. after a network handover */
+  reconnectSignaling?(): Promise<void>;
+  getNetworkStatus?(): Promise<NetworkStatus | null>;
+  onNetworkChange?(listener: (status: NetworkStatus) => void): () => void;
   /** Listen for F11 fullscreen toggle from main process */
   onToggleFullscreen(listener: () => void): () => void;
   toggleFullscreen(): Promise<void>;
@@ -12,6 +12,8 @@ import type {
   Settings,
   SubscriptionInfo,
   StreamRegion,
+  RegionLatency,
+  NetworkStatus,
   VideoCodec,
   HdrStreamState,
   PlatformInfo,
@@ -22,6 +24,7 @@ import {
   type StreamDiagnostics,
   type StreamTimeWarning,
 } from "./gfn/webrtcClient";
+import { emptyInputLatencySummary } from "./gfn/inputLatency";
 import { MicAudioService } from "./gfn/micAudioService";
 import type { MicAudioState } from "./gfn/micAudioService";
 import { formatShortcutForDisplay, isShortcutMatch, normalizeShortcut } from "./shortcuts";
@@ -41,6 +44,9 @@ import { StreamView } from "./components/StreamView";
 import { TouchInput } from "./components/TouchInput";
 import { ErrorBoundary } from "./components/ErrorBoundary";
 import { ToastProvider } from "./components/Toast";
+import { markStartup } from "../platform/startupTrace";
+import { disableStreamPerformance, enableStreamPerformance } from "../platform/streamPerformance";
+import { isGameCatalogAvailable, queryCatalog } from "../platform/gameCatalog";
 
 const codecOptions: VideoCodec[] = ["H264", "H265", "AV1"];
 const resolutionOptions = ["1280x720", "1920x1080", "2560x1440", "3840x2160", "2560x1080", "3440x1440"];
@@ -135,6 +141,7 @@ function defaultDiagnostics(): StreamDiagnostics {
     inputQueuePeakBufferedBytes: 0,
     inputQueueDropCount: 0,
     inputQueueMaxSchedulingDelayMs: 0,
+    inputLatency: emptyInputLatencySummary(),
     micBytesSent: 0,
     micPacketsSent: 0,
     hdrState: buildInitialHdrState(),
@@ -326,6 +333,11 @@ export function App(): JSX.Element {
   });
   const [settingsLoaded, setSettingsLoaded] = useState(false);
   const [regions, setRegions] = useState<StreamRegion[]>([]);
+  const [regionLatency, setRegionLatency] = useState<RegionLatency[]>([]);
+  // Bumped on every network handover so region latency is looked up for the new network.
+  const [networkEpoch, setNetworkEpoch] = useState(0);
+  const networkRef = useRef<NetworkStatus | null>(null);
+  const recoverStreamRef = useRef<(reason: string) => void>(() => {});
   const [subscriptionInfo, setSubscriptionInfo] = useState<SubscriptionInfo | null>(null);
 
   // Platform info (from main process)
@@ -392,6 +404,54 @@ export function App(): JSX.Element {
     return selectedProvider?.streamingServiceUrl ?? "";
   }, [selectedProvider]);
 
+  // Measure the provider's regions from this network; natively cached per network.
+  useEffect(() => {
+    if (regions.length === 0 || !window.openNow.probeRegions) return;
+    let cancelled = false;
+    void window.openNow.probeRegions(regions).then((ranked) => {
+      if (!cancelled) setRegionLatency(ranked);
+    });
+    return () => {
+      cancelled = true;
+    };
+  }, [regions, networkEpoch]);
+
+  // Network changes: a handover reopens signaling right away in case the server re-offers
+  // over the new link (the client is only ever the answerer). If ICE does not recover and
+  // no offer arrives, GfnWebRtcClient reports the stream lost and recoverLostStream
+  // reclaims the session.
+  useEffect(() => {
+    if (!window.openNow.onNetworkChange) return;
+    void window.openNow.getNetworkStatus?.().then((status) => {
+      networkRef.current ??= status;
+    });
+    return window.openNow.onNetworkChange((status) => {
+      networkRef.current = status;
+      clientRef.current?.handleNetworkChange(status);
+      if (!status.handover) return;
+      setNetworkEpoch((epoch) => epoch + 1);
+      if (clientRef.current) {
+        void window.openNow.reconnectSignaling?.().catch((error: unknown) => {
+          console.warn("[App] Signaling reconnect after handover failed:", error);
+        });
+      }
+    });
+  }, []);
+
+  const handleProbeRegions = useCallback(async () => {
+    if (!window.openNow.probeRegions) return;
+    setRegionLatency(await window.openNow.probeRegions(regions, true));
+  }, [regions]);
+
+  // New sessions go to the region picked in settings, else the fastest one measured,
+  // else the provider's default endpoint.
+  const sessionStreamingBaseUrl = useMemo(() => {
+    const known = (url: string): boolean => regions.some((r) => r.url === url);
+    if (settings.region && known(settings.region)) return settings.region;
+    const fastest = regionLatency.find((r) => r.medianMs >= 0 && known(r.url));
+    return fastest?.url ?? effectiveStreamingBaseUrl;
+  }, [effectiveStreamingBaseUrl, regionLatency, regions, settings.region]);
+
   const loadSubscriptionInfo = useCallback(
     async (session: AuthSession): Promise<void> => {
       const token = session.tokens.idToken ?? session.tokens.accessToken;
@@ -461,12 +521,31 @@ export function App(): JSX.Element {
     return unsubscribe;
   }, []);
 
+  // Catalogs paint from the native response cache; swap in the revalidated list when it changes.
+  useEffect(() => {
+    if (!window.openNow.onGamesUpdated) return;
+    return window.openNow.onGamesUpdated((update) => {
+      if (update.source === "library") {
+        setLibraryGames(update.games);
+      } else if (source === "main") {
+        setGames(update.games);
+      }
+    });
+  }, [source]);
+
   useEffect(() => {
     if (!sessionExpiredMessage) return;
     const timer = window.setTimeout(() => setSessionExpiredMessage(null), 10000);
     return () => window.clearTimeout(timer);
   }, [sessionExpiredMessage]);
 
+  // Report the first frame after startup restore finishes to the native startup tracer.
+  useEffect(() => {
+    if (isInitializing) return;
+    const frame = window.requestAnimationFrame(() => markStartup("app_interactive"));
+    return () => window.cancelAnimationFrame(frame);
+  }, [isInitializing]);
+
   // Initialize app
   useEffect(() => {
     if (hasInitializedRef.current) return;
@@ -479,11 +558,12 @@ export function App(): JSX.Element {
         setSettings(loadedSettings);
         setSettingsLoaded(true);
 
-        // Load providers and session (force refresh on startup restore)
-        setStartupStatusMessage("Restoring saved session and refreshing token...");
+        // Load providers and session. The native scheduler keeps the stored token ahead of
+        // expiry, so only refresh here when it is actually close to expiring.
+        setStartupStatusMessage("Restoring saved session...");
         const [providerList, sessionResult] = await Promise.all([
           window.openNow.getLoginProviders(),
-          window.openNow.getAuthSession({ forceRefresh: true }),
+          window.openNow.getAuthSession({ forceRefresh: false }),
         ]);
         const persistedSession = sessionResult.session;
 
@@ -681,6 +761,14 @@ export function App(): JSX.Element {
     return () => clearInterval(interval);
   }, [antiAfkEnabled, streamStatus]);
 
+  // Game mode (immersive, sustained performance, fps-matched refresh rate, Wi-Fi low latency)
+  // only while frames are actually flowing.
+  useEffect(() => {
+    if (streamStatus !== "streaming") return;
+    enableStreamPerformance(settings.fps);
+    return () => disableStreamPerformance();
+  }, [streamStatus, settings.fps]);
+
   useEffect(() => {
     if (streamStatus === "idle" || sessionStartedAtMs === null) {
       setSessionElapsedSeconds(0);
@@ -766,6 +854,8 @@ export function App(): JSX.Element {
               videoElement: videoRef.current,
               audioElement: audioRef.current,
               onLog: (line: string) => console.log(`[WebRTC] ${line}`),
+              getNetworkStatus: () => networkRef.current,
+              onConnectionLost: (reason) => recoverStreamRef.current(reason),
               onStats: (stats) => {
                 diagnosticsRef.current = stats;
                 const now = performance.now();
@@ -1109,7 +1199,7 @@ export function App(): JSX.Element {
       // Create new session
       const newSession = await window.openNow.createSession({
         token: token || undefined,
-        streamingBaseUrl: effectiveStreamingBaseUrl,
+        streamingBaseUrl: sessionStreamingBaseUrl,
         appId,
         internalTitle: game.title,
         accountLinked: game.playType !== "INSTALL_TO_PLAY",
@@ -1236,6 +1326,7 @@ export function App(): JSX.Element {
         if (pollAbortRef.current === pollAbort) {
           pollAbortRef.current = null;
         }
+        void window.openNow.endSessionPolling?.();
         setQueuePosition(undefined);
         setProvisioningElapsed(0);
       }
@@ -1289,6 +1380,7 @@ export function App(): JSX.Element {
     effectiveStreamingBaseUrl,
     refreshNavbarActiveSession,
     selectedProvider,
+    sessionStreamingBaseUrl,
     settings,
     streamStatus,
     variantByGameId,
@@ -1349,6 +1441,50 @@ export function App(): JSX.Element {
     streamStatus,
   ]);
 
+  // The stream did not survive a network handover: claim the same session again over the
+  // new network, as resuming from the navbar does, and wait for its fresh offer.
+  const recoverLostStream = useCallback(async (reason: string): Promise<void> => {
+    const lost = sessionRef.current;
+    const token = authSession?.tokens.idToken ?? authSession?.tokens.accessToken;
+    if (!lost || !token || launchInFlightRef.current) {
+      return;
+    }
+
+    console.warn(`[App] Stream lost (${reason}); reclaiming session ${lost.sessionId}`);
+    launchInFlightRef.current = true;
+    clientRef.current?.dispose();
+    clientRef.current = null;
+    setStreamStatus("setup");
+    setStreamWarning(null);
+    setEscHoldReleaseIndicator({ visible: false, progress: 0 });
+
+    try {
+      const activeSessions = await window.openNow.getActiveSessions(token, effectiveStreamingBaseUrl);
+      const existing = activeSessions.find((entry) => entry.sessionId === lost.sessionId);
+      if (!existing) {
+        throw new Error("The session ended while the network was changing.");
+      }
+      await claimAndConnectSession(existing);
+    } catch (error) {
+      console.error("Session reclaim after network handover failed:", error);
+      setLaunchError(toLaunchErrorState(error, "setup"));
+      await window.openNow.disconnectSignaling().catch(() => {});
+      setSession(null);
+      setStreamStatus("idle");
+      setQueuePosition(undefined);
+      setSessionStartedAtMs(null);
+      setSessionElapsedSeconds(0);
+      setDiagnostics(defaultDiagnostics());
+      void refreshNavbarActiveSession();
+    } finally {
+      launchInFlightRef.current = false;
+    }
+  }, [authSession, claimAndConnectSession, effectiveStreamingBaseUrl, refreshNavbarActiveSession]);
+
+  useEffect(() => {
+    recoverStreamRef.current = (reason) => void recoverLostStream(reason);
+  }, [recoverLostStream]);
+
   // Stop stream handler
   const handleStopStream = useCallback(async () => {
     try {
@@ -1634,18 +1770,46 @@ export function App(): JSX.Element {
     return unsub;
   }, [streamStatus, settings.micMode]);
 
+  // Search runs against the native catalog when it is available: the same title substring
+  // matches as the scan below, first, then publisher and store matches. The scan covers the
+  // web build and the gap before native results arrive, which then only append to it.
+  const [catalogSearch, setCatalogSearch] = useState<{ key: string; games: GameInfo[] } | null>(null);
+  const searchSource = currentPage === "library" ? "library" : source;
+  useEffect(() => {
+    const query = searchQuery.trim();
+    if (!query || !isGameCatalogAvailable) {
+      setCatalogSearch(null);
+      return;
+    }
+    const key = `${searchSource}|${query}`;
+    let cancelled = false;
+    const timer = window.setTimeout(() => {
+      queryCatalog({ source: searchSource, query, limit: 500 })
+        .then((page) => {
+          if (!cancelled && page) setCatalogSearch({ key, games: page.games });
+        })
+        .catch(() => {});
+    }, 120);
+    return () => {
+      cancelled = true;
+      window.clearTimeout(timer);
+    };
+  }, [searchQuery, searchSource, games, libraryGames]);
+
   // Filter games by search
   const filteredGames = useMemo(() => {
     const query = searchQuery.trim().toLowerCase();
     if (!query) return games;
+    if (catalogSearch?.key === `${source}|${searchQuery.trim()}`) return catalogSearch.games;
     return games.filter((g) => g.title.toLowerCase().includes(query));
-  }, [games, searchQuery]);
+  }, [games, searchQuery, source, catalogSearch]);
 
   const filteredLibraryGames = useMemo(() => {
     const query = searchQuery.trim().toLowerCase();
     if (!query) return libraryGames;
+    if (catalogSearch?.key === `library|${searchQuery.trim()}`) return catalogSearch.games;
     return libraryGames.filter((g) => g.title.toLowerCase().includes(query));
-  }, [libraryGames, searchQuery]);
+  }, [libraryGames, searchQuery, catalogSearch]);
 
   const gameTitleByAppId = useMemo(() => {
     const titles = new Map<number, string>();
@@ -1853,6 +2017,8 @@ export function App(): JSX.Element {
           <SettingsPage
             settings={settings}
             regions={regions}
+            regionLatency={regionLatency}
+            onProbeRegions={window.openNow.probeRegions ? handleProbeRegions : undefined}
             onSettingChange={updateSetting}
           />
         )}
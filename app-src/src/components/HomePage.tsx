@@ -1,7 +1,8 @@
 import { Search, LayoutGrid, Globe, Loader2 } from "lucide-react";
-import type { JSX } from "react";
+import { useRef, type JSX } from "react";
 import type { GameInfo } from "@shared/gfn";
 import { GameCard } from "./GameCard";
+import { useArtDisplayWidth } from "./useArtPrefetch";
 
 export interface HomePageProps {
   games: GameInfo[];
@@ -27,6 +28,8 @@ export function HomePage({
   onSelectGame,
 }: HomePageProps): JSX.Element {
   const hasGames = games.length > 0;
+  const gridRef = useRef<HTMLDivElement>(null);
+  useArtDisplayWidth(gridRef, !isLoading && hasGames);
 
   return (
     <div className="home-page">
@@ -85,7 +88,7 @@ export function HomePage({
             </p>
           </div>
         ) : (
-          <div className="game-grid">
+          <div className="game-grid" ref={gridRef}>
             {games.map((game, index) => (
               <GameCard
                 key={`${game.id}-${index}`}
@@ -1,7 +1,8 @@
 import { Library, Search, Clock, Gamepad2, Loader2 } from "lucide-react";
-import type { JSX } from "react";
+import { useMemo, useRef, type JSX } from "react";
 import type { GameInfo } from "@shared/gfn";
 import { GameCard } from "./GameCard";
+import { useArtDisplayWidth, useArtPrefetch } from "./useArtPrefetch";
 
 export interface LibraryPageProps {
   games: GameInfo[];
@@ -41,11 +42,18 @@ export function LibraryPage({
   selectedGameId,
   onSelectGame,
 }: LibraryPageProps): JSX.Element {
-  const filteredGames = searchQuery.trim()
-    ? games.filter((game) =>
-        game.title.toLowerCase().includes(searchQuery.trim().toLowerCase())
-      )
-    : games;
+  const filteredGames = useMemo(
+    () =>
+      searchQuery.trim()
+        ? games.filter((game) =>
+            game.title.toLowerCase().includes(searchQuery.trim().toLowerCase())
+          )
+        : games,
+    [games, searchQuery],
+  );
+  const gridRef = useRef<HTMLDivElement>(null);
+  useArtPrefetch(gridRef, filteredGames);
+  useArtDisplayWidth(gridRef, !isLoading && filteredGames.length > 0);
 
   return (
     <div className="library-page">
@@ -90,9 +98,9 @@ export function LibraryPage({
             <p>No games match &ldquo;{searchQuery}&rdquo;</p>
           </div>
         ) : (
-          <div className="game-grid">
+          <div className="game-grid" ref={gridRef}>
             {filteredGames.map((game, index) => (
-              <div key={`${game.id}-${index}`} className="library-game-wrapper">
+              <div key={`${game.id}-${index}`} className="library-game-wrapper" data-index={index}>
                 <GameCard
                   game={game}
                   isSelected={game.id === selectedGameId}
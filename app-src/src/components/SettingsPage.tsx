@@ -6,6 +6,7 @@ import type { JSX } from "react";
 import type {
   Settings,
   StreamRegion,
+  RegionLatency,
   VideoCodec,
   ColorQuality,
   EntitledResolution,
@@ -17,11 +18,15 @@ import type {
 import { colorQualityRequiresHevc } from "@shared/gfn";
 import { formatShortcutForDisplay, normalizeShortcut } from "../shortcuts";
 import { useToast } from "./Toast";
+import { exportInputLatency } from "../gfn/inputLatency";
 import { capabilities } from "../platform/capabilities";
 
 interface SettingsPageProps {
   settings: Settings;
   regions: StreamRegion[];
+  /** Ranked fastest first; empty until measured (or off Android) */
+  regionLatency?: RegionLatency[];
+  onProbeRegions?: () => Promise<void>;
   onSettingChange: <K extends keyof Settings>(key: K, value: Settings[K]) => void;
 }
 
@@ -419,7 +424,11 @@ async function testCodecSupport(platformInfo: PlatformInfo | null): Promise<Code
 
 /* ── Component ────────────────────────────────────────────────────── */
 
-export function SettingsPage({ settings, regions, onSettingChange }: SettingsPageProps): JSX.Element {
+function formatRegionLatency(latency: RegionLatency): string {
+  return latency.medianMs >= 0 ? `${latency.medianMs} ms` : "—";
+}
+
+export function SettingsPage({ settings, regions, regionLatency = [], onProbeRegions, onSettingChange }: SettingsPageProps): JSX.Element {
   const [savedIndicator, setSavedIndicator] = useState(false);
   const { showToast } = useToast();
   const [regionSearch, setRegionSearch] = useState("");
@@ -695,17 +704,35 @@ export function SettingsPage({ settings, regions, onSettingChange }: SettingsPag
     [handleChange, settings.codec]
   );
 
+  const latencyByUrl = useMemo(
+    () => new Map(regionLatency.map((r) => [r.url, r] as const)),
+    [regionLatency],
+  );
+
+  const fastestRegion = useMemo(
+    () => regionLatency.find((r) => r.medianMs >= 0 && regions.some((region) => region.url === r.url)),
+    [regionLatency, regions],
+  );
+
+  const [probingRegions, setProbingRegions] = useState(false);
+
   const filteredRegions = useMemo(() => {
-    if (!regionSearch.trim()) return regions;
     const q = regionSearch.trim().toLowerCase();
-    return regions.filter((r) => r.name.toLowerCase().includes(q));
-  }, [regions, regionSearch]);
+    const matching = q ? regions.filter((r) => r.name.toLowerCase().includes(q)) : regions;
+    if (latencyByUrl.size === 0) return matching;
+    // Fastest first once measured; unmeasured and unreachable regions keep name order at the end.
+    const rank = (r: StreamRegion): number => {
+      const ms = latencyByUrl.get(r.url)?.medianMs ?? -1;
+      return ms >= 0 ? ms : Number.MAX_SAFE_INTEGER;
+    };
+    return [...matching].sort((a, b) => rank(a) - rank(b) || a.name.localeCompare(b.name));
+  }, [regions, regionSearch, latencyByUrl]);
 
   const selectedRegionName = useMemo(() => {
-    if (!settings.region) return "Auto (Best)";
+    if (!settings.region) return fastestRegion ? `Auto (Best) · ${fastestRegion.name}` : "Auto (Best)";
     const found = regions.find((r) => r.url === settings.region);
     return found?.name ?? settings.region;
-  }, [settings.region, regions]);
+  }, [settings.region, regions, fastestRegion]);
 
   const handleShortcutBlur = <K extends keyof Settings>(
     key: K,
@@ -1377,7 +1404,8 @@ export function SettingsPage({ settings, regions, onSettingChange }: SettingsPag
                       type="button"
                     >
                       <Globe size={14} />
-                      <span>Auto (Best)</span>
+                      <span>Auto (Best){fastestRegion ? ` · ${fastestRegion.name}` : ""}</span>
+                      {fastestRegion && <em className="region-latency">{fastestRegion.medianMs} ms</em>}
                       {!settings.region && <Check size={14} className="region-check" />}
                     </button>
 
@@ -1394,6 +1422,9 @@ export function SettingsPage({ settings, regions, onSettingChange }: SettingsPag
                       >
                         <Globe size={14} />
                         <span>{region.name}</span>
+                        {latencyByUrl.has(region.url) && (
+                          <em className="region-latency">{formatRegionLatency(latencyByUrl.get(region.url)!)}</em>
+                        )}
                         {settings.region === region.url && <Check size={14} className="region-check" />}
                       </button>
                     ))}
@@ -1405,6 +1436,34 @@ export function SettingsPage({ settings, regions, onSettingChange }: SettingsPag
                 </div>
               )}
             </div>
+            {onProbeRegions && regions.length > 0 && (
+              <div className="settings-row">
+                <label className="settings-label">
+                  Region latency
+                  {fastestRegion && (
+                    <span className="settings-subtle-hint region-latency-hint">
+                      Fastest: {fastestRegion.name}, {fastestRegion.medianMs} ms ±{fastestRegion.jitterMs}
+                    </span>
+                  )}
+                </label>
+                <button
+                  className="settings-btn-inline"
+                  disabled={probingRegions}
+                  onClick={async () => {
+                    setProbingRegions(true);
+                    try {
+                      await onProbeRegions();
+                    } finally {
+                      setProbingRegions(false);
+                    }
+                  }}
+                  type="button"
+                >
+                  {probingRegions ? <Loader size={14} className="settings-loading-icon" /> : <RefreshCw size={14} />}
+                  {probingRegions ? "Measuring…" : "Measure Again"}
+                </button>
+              </div>
+            )}
           </div>
         </section>
 
@@ -1483,7 +1542,8 @@ export function SettingsPage({ settings, regions, onSettingChange }: SettingsPag
                 onClick={async () => {
                   try {
                     const mod = await import("@platform/debugLog");
-                    const text = mod.getDebugText(200);
+                    const latency = exportInputLatency();
+                    const text = mod.getDebugText(200) + (latency ? `\n\n${latency}` : "");
                     if (text.length === 0) {
                       showToast("No debug lines yet", "info");
                       return;
@@ -1506,7 +1566,8 @@ export function SettingsPage({ settings, regions, onSettingChange }: SettingsPag
                 onClick={async () => {
                   try {
                     const mod = await import("@platform/debugLog");
-                    const text = mod.getDebugText(200);
+                    const latency = exportInputLatency();
+                    const text = mod.getDebugText(200) + (latency ? `\n\n${latency}` : "");
                     if (text.length === 0) {
                       showToast("No debug lines yet", "info");
                       return;
@@ -1,5 +1,6 @@
-import { Monitor, Wifi, Activity, Gamepad2, AlertTriangle } from "lucide-react";
+import { Monitor, Wifi, Activity, Gamepad2, AlertTriangle, Keyboard, Mouse } from "lucide-react";
 import type { StreamDiagnostics } from "../gfn/webrtcClient";
+import { INPUT_DEVICE_CLASSES, type InputDeviceClass } from "../gfn/inputLatency";
 import type { JSX } from "react";
 
 interface StatsOverlayProps {
@@ -16,6 +17,12 @@ function getRttColor(rttMs: number): string {
   return "var(--error)";
 }
 
+const INPUT_LATENCY_ICONS: Record<InputDeviceClass, typeof Keyboard> = {
+  keyboard: Keyboard,
+  mouse: Mouse,
+  gamepad: Gamepad2,
+};
+
 function formatBitrate(kbps: number): string {
   if (kbps >= 1000) return `${(kbps / 1000).toFixed(1)} Mbps`;
   return `${kbps.toFixed(0)} kbps`;
@@ -90,6 +97,19 @@ export function StatsOverlay({
           </div>
         )}
 
+        {/* Input latency (native event -> send), p50 / p99 per device class */}
+        {INPUT_DEVICE_CLASSES.map((deviceClass) => {
+          const latency = stats.inputLatency[deviceClass];
+          if (latency.count === 0) return null;
+          const Icon = INPUT_LATENCY_ICONS[deviceClass];
+          return (
+            <div className="sovl-pill" key={deviceClass} title={`${deviceClass} input latency p50 / p99 (${latency.count} events)`}>
+              <Icon size={13} className="sovl-icon" />
+              <span className="sovl-val">{latency.p50Ms.toFixed(1)} / {latency.p99Ms.toFixed(1)}ms</span>
+            </div>
+          );
+        })}
+
         {/* Server Region */}
         {serverRegion && (
           <div className="sovl-region">{serverRegion}</div>
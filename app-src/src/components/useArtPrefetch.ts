@@ -0,0 +1,62 @@
+import { useEffect, type RefObject } from "react";
+import type { GameInfo } from "@shared/gfn";
+import { prefetchGameArt, setGameArtDisplayWidth } from "../../platform/gameArt";
+
+/** Roughly one screen of cards on the widest grid (6 columns x 4 rows). */
+const PREFETCH_AHEAD = 24;
+
+/**
+ * Warms native art for the cards just past the last one on screen. Each grid child must
+ * carry `data-index`; the high-water mark only moves forward, so each URL is asked once.
+ */
+export function useArtPrefetch(gridRef: RefObject<HTMLElement | null>, games: GameInfo[]): void {
+  useEffect(() => {
+    const grid = gridRef.current;
+    if (!grid || games.length === 0) return;
+
+    let prefetchedUpTo = 0;
+    const warmAfter = (lastVisible: number): void => {
+      const end = Math.min(games.length, lastVisible + 1 + PREFETCH_AHEAD);
+      if (end <= prefetchedUpTo) return;
+      prefetchGameArt(games.slice(Math.max(prefetchedUpTo, lastVisible + 1), end).map((game) => game.imageUrl));
+      prefetchedUpTo = end;
+    };
+
+    if (typeof IntersectionObserver === "undefined") {
+      warmAfter(-1);
+      return;
+    }
+
+    const observer = new IntersectionObserver((entries) => {
+      let lastVisible = -1;
+      for (const entry of entries) {
+        if (!entry.isIntersecting) continue;
+        const index = Number((entry.target as HTMLElement).dataset.index);
+        if (index > lastVisible) lastVisible = index;
+      }
+      if (lastVisible >= 0) warmAfter(lastVisible);
+    });
+    for (const child of Array.from(grid.children)) observer.observe(child);
+    return () => observer.disconnect();
+  }, [gridRef, games]);
+}
+
+/**
+ * Reports the laid-out card image width to the native art pipeline and keeps it current.
+ * `rendered` re-runs the effect when the grid mounts after a loading or empty state.
+ */
+export function useArtDisplayWidth(gridRef: RefObject<HTMLElement | null>, rendered: boolean): void {
+  useEffect(() => {
+    const grid = gridRef.current;
+    if (!grid || !rendered) return;
+    const measure = (): void => {
+      const image = grid.querySelector<HTMLElement>(".game-card-image-wrapper");
+      if (image) setGameArtDisplayWidth(image.getBoundingClientRect().width);
+    };
+    measure();
+    if (typeof ResizeObserver === "undefined") return;
+    const observer = new ResizeObserver(measure);
+    observer.observe(grid);
+    return () => observer.disconnect();
+  }, [gridRef, rendered]);
+}
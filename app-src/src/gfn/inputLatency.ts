@@ -0,0 +1,242 @@
+/**
+ * Client-side input latency: time from the native input event (Android MotionEvent /
+ * KeyEvent event time on the `uptimeMillis` clock) to the moment its packet is handed to the
+ * input data channel. Native uptime and `performance.now()` are different clocks, so event
+ * times are mapped through an offset measured by round trips to native ({@link InputClock}).
+ * Kept as HDR-style log-linear histograms per device class so tail latency survives long
+ * sessions without storing samples.
+ */
+
+export type InputDeviceClass = "keyboard" | "mouse" | "gamepad";
+
+export const INPUT_DEVICE_CLASSES: readonly InputDeviceClass[] = ["keyboard", "mouse", "gamepad"];
+
+export interface LatencySummary {
+  count: number;
+  p50Ms: number;
+  p90Ms: number;
+  p99Ms: number;
+  maxMs: number;
+  /** Samples dropped because they mapped to before the event happened, i.e. a clock fault. */
+  clockErrors: number;
+}
+
+export type InputLatencySummary = Record<InputDeviceClass, LatencySummary>;
+
+// Values below 2^SUB_BITS us are exact; above, each power of two is split into
+// 2^(SUB_BITS - 1) linear sub-buckets (under 1.6% relative error).
+const SUB_BITS = 7;
+const SUB_COUNT = 1 << SUB_BITS;
+const HALF_SUB_COUNT = SUB_COUNT >> 1;
+const MAX_MAGNITUDE = 25;
+const MAX_VALUE_US = 2 ** (MAX_MAGNITUDE + 1) - 1;
+const BUCKET_COUNT = SUB_COUNT + (MAX_MAGNITUDE - SUB_BITS + 1) * HALF_SUB_COUNT;
+
+function bucketIndex(valueUs: number): number {
+  if (valueUs < SUB_COUNT) {
+    return valueUs;
+  }
+  const magnitude = 31 - Math.clz32(valueUs);
+  const shift = magnitude - (SUB_BITS - 1);
+  return SUB_COUNT + (magnitude - SUB_BITS) * HALF_SUB_COUNT + ((valueUs >>> shift) - HALF_SUB_COUNT);
+}
+
+/** Midpoint of the values that fall into `index`. */
+function bucketValue(index: number): number {
+  if (index < SUB_COUNT) {
+    return index;
+  }
+  const offset = index - SUB_COUNT;
+  const magnitude = SUB_BITS + Math.floor(offset / HALF_SUB_COUNT);
+  const shift = magnitude - (SUB_BITS - 1);
+  const sub = HALF_SUB_COUNT + (offset % HALF_SUB_COUNT);
+  return (sub << shift) + ((1 << shift) >> 1);
+}
+
+export class LatencyHistogram {
+  private readonly counts = new Uint32Array(BUCKET_COUNT);
+  private total = 0;
+  private maxUs = 0;
+  private sumUs = 0;
+
+  record(valueUs: number): void {
+    const value = Math.min(MAX_VALUE_US, Math.max(0, Math.round(valueUs)));
+    this.counts[bucketIndex(value)]!++;
+    this.total++;
+    this.sumUs += value;
+    if (value > this.maxUs) {
+      this.maxUs = value;
+    }
+  }
+
+  get count(): number {
+    return this.total;
+  }
+
+  valueAtPercentile(percentile: number): number {
+    if (this.total === 0) {
+      return 0;
+    }
+    const rank = Math.max(1, Math.ceil((percentile / 100) * this.total));
+    let seen = 0;
+    for (let i = 0; i < BUCKET_COUNT; i++) {
+      seen += this.counts[i]!;
+      if (seen >= rank) {
+        return Math.min(bucketValue(i), this.maxUs);
+      }
+    }
+    return this.maxUs;
+  }
+
+  summary(): Omit<LatencySummary, "clockErrors"> {
+    const ms = (us: number) => Math.round(us / 100) / 10;
+    return {
+      count: this.total,
+      p50Ms: ms(this.valueAtPercentile(50)),
+      p90Ms: ms(this.valueAtPercentile(90)),
+      p99Ms: ms(this.valueAtPercentile(99)),
+      maxMs: ms(this.maxUs),
+    };
+  }
+
+  /** Non-empty buckets as `[valueUs, count]` pairs plus totals, for offline analysis. */
+  toJSON(): { count: number; meanUs: number; maxUs: number; buckets: Array<[number, number]> } {
+    const buckets: Array<[number, number]> = [];
+    for (let i = 0; i < BUCKET_COUNT; i++) {
+      if (this.counts[i]! > 0) {
+        buckets.push([bucketValue(i), this.counts[i]!]);
+      }
+    }
+    return {
+      count: this.total,
+      meanUs: this.total > 0 ? Math.round(this.sumUs / this.total) : 0,
+      maxUs: this.maxUs,
+      buckets,
+    };
+  }
+
+  reset(): void {
+    this.counts.fill(0);
+    this.total = 0;
+    this.maxUs = 0;
+    this.sumUs = 0;
+  }
+}
+
+// Anything older than this is a stale stamp (e.g. a batch held across a pause), not latency.
+const MAX_PLAUSIBLE_DELAY_MS = 10_000;
+
+/**
+ * Maps native uptime ms onto `performance.now()`. Each sync takes the round trip with the
+ * smallest RTT and assumes the native reading happened at its start. The reading really
+ * happened later, and both it and event times are truncated to whole ms, so the offset is
+ * rounded up by 1 ms: mapped times then only come out early, and measured delays err high
+ * by at most the RTT plus 2 ms, never low. A negative delay therefore means a clock fault.
+ */
+export class InputClock {
+  private offsetMs: number | null = null;
+  private syncing = false;
+
+  constructor(private readonly sampleUptimeMs: () => Promise<number | null>) {}
+
+  async sync(samples = 5): Promise<void> {
+    if (this.syncing) {
+      return;
+    }
+    this.syncing = true;
+    try {
+      let bestRttMs = Infinity;
+      let bestOffsetMs: number | null = null;
+      for (let i = 0; i < samples; i++) {
+        const start = performance.now();
+        const uptimeMs = await this.sampleUptimeMs();
+        const rttMs = performance.now() - start;
+        if (uptimeMs === null) {
+          return;
+        }
+        if (rttMs < bestRttMs) {
+          bestRttMs = rttMs;
+          bestOffsetMs = uptimeMs + 1 - start;
+        }
+      }
+      if (bestOffsetMs !== null) {
+        this.offsetMs = bestOffsetMs;
+      }
+    } finally {
+      this.syncing = false;
+    }
+  }
+
+  /** `uptimeMs` on the `performance.now()` timeline, or null before the first sync. */
+  toPerformanceMs(uptimeMs: number): number | null {
+    return this.offsetMs === null ? null : uptimeMs - this.offsetMs;
+  }
+}
+
+let latestRecorder: InputLatencyRecorder | null = null;
+
+export class InputLatencyRecorder {
+  private readonly histograms: Record<InputDeviceClass, LatencyHistogram> = {
+    keyboard: new LatencyHistogram(),
+    mouse: new LatencyHistogram(),
+    gamepad: new LatencyHistogram(),
+  };
+
+  private readonly clockErrors: Record<InputDeviceClass, number> = { keyboard: 0, mouse: 0, gamepad: 0 };
+
+  constructor() {
+    latestRecorder = this;
+  }
+
+  /** `delayMs` is the send time minus the event time, both on the `performance.now()` timeline. */
+  record(deviceClass: InputDeviceClass, delayMs: number): void {
+    if (delayMs < 0) {
+      this.clockErrors[deviceClass]++;
+      return;
+    }
+    if (delayMs > MAX_PLAUSIBLE_DELAY_MS) {
+      return;
+    }
+    this.histograms[deviceClass].record(delayMs * 1000);
+  }
+
+  summary(): InputLatencySummary {
+    const summarize = (deviceClass: InputDeviceClass): LatencySummary => ({
+      ...this.histograms[deviceClass].summary(),
+      clockErrors: this.clockErrors[deviceClass],
+    });
+    return { keyboard: summarize("keyboard"), mouse: summarize("mouse"), gamepad: summarize("gamepad") };
+  }
+
+  toJSON(): Record<InputDeviceClass, ReturnType<LatencyHistogram["toJSON"]> & { clockErrors: number }> {
+    const serialize = (deviceClass: InputDeviceClass) => ({
+      ...this.histograms[deviceClass].toJSON(),
+      clockErrors: this.clockErrors[deviceClass],
+    });
+    return { keyboard: serialize("keyboard"), mouse: serialize("mouse"), gamepad: serialize("gamepad") };
+  }
+
+  reset(): void {
+    for (const deviceClass of INPUT_DEVICE_CLASSES) {
+      this.histograms[deviceClass].reset();
+      this.clockErrors[deviceClass] = 0;
+    }
+  }
+}
+
+export function emptyInputLatencySummary(): InputLatencySummary {
+  const empty = (): LatencySummary => ({ count: 0, p50Ms: 0, p90Ms: 0, p99Ms: 0, maxMs: 0, clockErrors: 0 });
+  return { keyboard: empty(), mouse: empty(), gamepad: empty() };
+}
+
+/** JSON export of the most recent stream's histograms, or null when nothing was recorded. */
+export function exportInputLatency(): string | null {
+  if (!latestRecorder) {
+    return null;
+  }
+  const histograms = latestRecorder.toJSON();
+  if (INPUT_DEVICE_CLASSES.every((deviceClass) => histograms[deviceClass].count === 0)) {
+    return null;
+  }
+  return JSON.stringify({ kind: "inputLatency", unit: "us", exportedAt: new Date().toISOString(), histograms });
+}
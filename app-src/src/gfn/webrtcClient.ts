@@ -9,6 +9,7 @@ import type {
   HevcCompatMode,
   PlatformInfo,
   VideoDecodeBackend,
+  NetworkStatus,
 } from "@shared/gfn";
 
 import {
@@ -38,6 +39,11 @@ import {
 
 import type { MicAudioService } from "./micAudioService";
 import { resolveHevcCompat, shouldRequestSoftwareDecode, detectGpu } from "./gpuDetect";
+import { isNativeGamepadAvailable, startNativeGamepad, type NativePadState } from "../../platform/nativeGamepad";
+import { isPointerCaptureAvailable, listenPointerCapture, PointerCapture } from "../../platform/pointerCapture";
+import { isKeyboardCaptureAvailable, startKeyboardCapture } from "../../platform/keyboardCapture";
+import { nativeUptimeMs } from "../../platform/streamPerformance";
+import { InputClock, InputLatencyRecorder, emptyInputLatencySummary, type InputDeviceClass, type InputLatencySummary } from "./inputLatency";
 
 interface OfferSettings {
   codec: VideoCodec;
@@ -173,6 +179,9 @@ export interface StreamDiagnostics {
   inputQueueDropCount: number;
   inputQueueMaxSchedulingDelayMs: number;
 
+  // Native input event -> data channel send, per device class
+  inputLatency: InputLatencySummary;
+
   // HDR diagnostics
   hdrState: HdrStreamState;
 
@@ -199,6 +208,34 @@ interface ClientOptions {
   onStats?: (stats: StreamDiagnostics) => void;
   onEscHoldProgress?: (visible: boolean, progress: number) => void;
   onTimeWarning?: (warning: StreamTimeWarning) => void;
+  /** Current default network; on Wi-Fi/Ethernet its downlink estimate caps the bitrate of each answer. */
+  getNetworkStatus?: () => NetworkStatus | null;
+  /**
+   * ICE did not recover from a network handover and no new offer replaced the connection;
+   * the caller should reclaim the session over the new network.
+   */
+  onConnectionLost?: (reason: string) => void;
+}
+
+// Leave a fifth of the link estimate for FEC, audio and other traffic; never ask for less
+// than the NVST minimum bitrate.
+const LINK_BITRATE_HEADROOM = 0.8;
+const MIN_LINK_CAPPED_KBPS = 5000;
+
+// How long ICE gets to reconnect (or the server to re-offer) after a network handover
+// before the stream is treated as lost.
+const HANDOVER_RECOVERY_TIMEOUT_MS = 8000;
+
+// Native uptime and performance.now() drift apart slowly; resync their offset this often.
+const INPUT_CLOCK_SYNC_INTERVAL_MS = 30_000;
+
+// Only Wi-Fi and Ethernet report the negotiated link rate; cellular reports a coarse
+// per-radio constant that says nothing about the actual throughput.
+function capBitrateForLink(requestedKbps: number, network: NetworkStatus | null | undefined): number {
+  if (!network?.available || network.downKbps <= 0) return requestedKbps;
+  if (network.transport !== "wifi" && network.transport !== "ethernet") return requestedKbps;
+  const linkKbps = Math.max(MIN_LINK_CAPPED_KBPS, Math.floor(network.downKbps * LINK_BITRATE_HEADROOM));
+  return Math.min(requestedKbps, linkKbps);
 }
 
 function timestampUs(sourceTimestampMs?: number): bigint {
@@ -448,8 +485,11 @@ export class GfnWebRtcClient {
   private heartbeatTimer: number | null = null;
   private mouseFlushTimer: number | null = null;
   private statsTimer: number | null = null;
+  private handoverTimer: number | null = null;
   private statsPollInFlight = false;
   private gamepadPollTimer: number | null = null;
+  // Stops the native controller source when it replaces Gamepad API polling (Android)
+  private nativeGamepadStop: (() => void) | null = null;
   private pendingMouseDx = 0;
   private pendingMouseDy = 0;
   private inputCleanup: Array<() => void> = [];
@@ -501,6 +541,10 @@ export class GfnWebRtcClient {
 
   // Video element reference for pointer lock re-acquisition
   private videoElement: HTMLVideoElement | null = null;
+  // Android: relative mouse comes from native pointer capture, since WebView has no pointer lock
+  private nativePointerCaptured = false;
+  /** Set once a native hardware key batch arrives; DOM key events then stop sending. */
+  private nativeKeyboardSeen = false;
   // Timer for synthetic Escape on pointer lock loss
   private pointerLockEscapeTimer: number | null = null;
   // Fallback keyup if browser swallows Escape keyup while keyboard lock is active.
@@ -518,6 +562,10 @@ export class GfnWebRtcClient {
   private mouseFlushIntervalMs = GfnWebRtcClient.MOUSE_FLUSH_NORMAL_MS;
   private mouseFlushLastTickMs = 0;
   private pendingMouseTimestampUs: bigint | null = null;
+  // Wall-clock time of the oldest native motion sample in the pending delta (input latency)
+  private pendingMouseEventUptimeMs: number | null = null;
+  private readonly inputLatency = new InputLatencyRecorder();
+  private readonly inputClock = new InputClock(nativeUptimeMs);
   private mouseDeltaFilter = new MouseDeltaFilter();
   private micService: MicAudioService | null = null;
   private micTransceiver: RTCRtpTransceiver | null = null;
@@ -571,6 +619,7 @@ export class GfnWebRtcClient {
     inputQueuePeakBufferedBytes: 0,
     inputQueueDropCount: 0,
     inputQueueMaxSchedulingDelayMs: 0,
+    inputLatency: emptyInputLatencySummary(),
     micBytesSent: 0,
     micPacketsSent: 0,
     hdrState: {
@@ -779,6 +828,7 @@ export class GfnWebRtcClient {
 
   private resetDiagnostics(): void {
     this.lastStatsSample = null;
+    this.inputLatency.reset();
     this.currentCodec = "";
     this.currentResolution = "";
     this.isHdr = false;
@@ -811,6 +861,7 @@ export class GfnWebRtcClient {
       inputQueuePeakBufferedBytes: 0,
       inputQueueDropCount: 0,
       inputQueueMaxSchedulingDelayMs: 0,
+      inputLatency: emptyInputLatencySummary(),
       micBytesSent: 0,
       micPacketsSent: 0,
       hdrState: {
@@ -871,6 +922,14 @@ export class GfnWebRtcClient {
       window.clearInterval(this.gamepadPollTimer);
       this.gamepadPollTimer = null;
     }
+    if (this.handoverTimer !== null) {
+      window.clearTimeout(this.handoverTimer);
+      this.handoverTimer = null;
+    }
+    if (this.nativeGamepadStop) {
+      this.nativeGamepadStop();
+      this.nativeGamepadStop = null;
+    }
     if (this.escapeHoldReleaseTimer !== null) {
       window.clearTimeout(this.escapeHoldReleaseTimer);
       this.escapeHoldReleaseTimer = null;
@@ -1168,6 +1227,7 @@ export class GfnWebRtcClient {
     this.diagnostics.inputQueueDropCount = this.inputQueueDropCount;
     this.diagnostics.inputQueueMaxSchedulingDelayMs =
       Math.round(this.inputQueueMaxSchedulingDelayMsWindow * 10) / 10;
+    this.diagnostics.inputLatency = this.inputLatency.summary();
 
     const shouldLogQueuePressure =
       reliableBufferedAmount > GfnWebRtcClient.RELIABLE_MOUSE_BACKPRESSURE_BYTES / 2
@@ -1266,6 +1326,7 @@ export class GfnWebRtcClient {
     this.pendingMouseDx = 0;
     this.pendingMouseDy = 0;
     this.pendingMouseTimestampUs = null;
+    this.pendingMouseEventUptimeMs = null;
     this.mouseDeltaFilter.reset();
     this.mouseFlushLastTickMs = 0;
     this.inputQueuePeakBufferedBytesWindow = 0;
@@ -1420,6 +1481,122 @@ export class GfnWebRtcClient {
       window.clearInterval(this.gamepadPollTimer);
     }
 
+    if (isNativeGamepadAvailable() && !this.nativeGamepadStop) {
+      this.setupNativeGamepad();
+      return;
+    }
+    this.startGamepadApiPolling();
+  }
+
+  /**
+   * Android: controllers are read natively and pushed only when a slot changes, so the
+   * WebView no longer spins a 4ms timer. A 100ms timer covers the server keepalive.
+   */
+  private setupNativeGamepad(): void {
+    startNativeGamepad((state) => this.onNativePadState(state))
+      .then((stop) => {
+        if (!this.inputReady) {
+          stop();
+          return;
+        }
+        this.nativeGamepadStop = stop;
+        this.log("Native gamepad source started");
+        this.gamepadPollTimer = window.setInterval(() => {
+          if (this.inputReady) this.sendGamepadKeepalive();
+        }, GfnWebRtcClient.GAMEPAD_KEEPALIVE_MS);
+      })
+      .catch((error) => {
+        this.log(`Native gamepad source unavailable (${String(error)}), falling back to polling`);
+        this.startGamepadApiPolling();
+      });
+  }
+
+  private onNativePadState(pad: NativePadState): void {
+    const i = pad.slot;
+    if (!this.inputReady || i < 0 || i >= GAMEPAD_MAX_CONTROLLERS || this.externalGamepadSlots.has(i)) {
+      return;
+    }
+    const usePR = this.mouseInputChannel?.readyState === "open";
+
+    if (!pad.connected) {
+      if (!this.connectedGamepads.has(i)) return;
+      this.connectedGamepads.delete(i);
+      this.previousGamepadStates.delete(i);
+      this.gamepadBitmap &= ~(1 << i);
+      this.log(`Gamepad ${i} disconnected (native), bitmap now: 0x${this.gamepadBitmap.toString(16)}`);
+      this.diagnostics.connectedGamepads = this.connectedGamepads.size;
+      this.markDiagnosticsDirty();
+      this.emitStats();
+      const disconnectState: GamepadInput = {
+        controllerId: i,
+        buttons: 0,
+        leftTrigger: 0,
+        rightTrigger: 0,
+        leftStickX: 0,
+        leftStickY: 0,
+        rightStickX: 0,
+        rightStickY: 0,
+        connected: false,
+        timestampUs: timestampUs(),
+      };
+      this.sendGamepad(this.inputEncoder.encodeGamepadState(disconnectState, this.gamepadBitmap, usePR));
+      return;
+    }
+
+    if (!this.connectedGamepads.has(i)) {
+      this.connectedGamepads.add(i);
+      this.gamepadBitmap |= (1 << i);
+      this.log(`Gamepad ${i} connected (native): ${pad.name}, bitmap now: 0x${this.gamepadBitmap.toString(16)}`);
+      this.diagnostics.connectedGamepads = this.connectedGamepads.size;
+      this.markDiagnosticsDirty();
+      this.emitStats();
+    }
+
+    const gamepadInput: GamepadInput = {
+      controllerId: i,
+      buttons: pad.buttons,
+      leftTrigger: pad.leftTrigger,
+      rightTrigger: pad.rightTrigger,
+      leftStickX: pad.leftStickX,
+      leftStickY: pad.leftStickY,
+      rightStickX: pad.rightStickX,
+      rightStickY: pad.rightStickY,
+      connected: true,
+      timestampUs: timestampUs(),
+    };
+    if (!this.hasGamepadStateChanged(i, gamepadInput)) return;
+
+    const nowMs = performance.now();
+    this.sendGamepad(this.inputEncoder.encodeGamepadState(gamepadInput, this.gamepadBitmap, usePR));
+    this.recordInputLatency("gamepad", pad.timestampMs);
+    this.lastGamepadSendMs = nowMs;
+    this.previousGamepadStates.set(i, gamepadInput);
+    this.lastGamepadActivityMs = nowMs;
+
+    if (this.activeInputMode !== "gamepad") {
+      this.activeInputMode = "gamepad";
+      this.pendingMouseDx = 0;
+      this.pendingMouseDy = 0;
+      this.log("Input mode → gamepad");
+    }
+  }
+
+  /** Resends the last native pad states so the server keeps treating the controller as active. */
+  private sendGamepadKeepalive(): void {
+    const nowMs = performance.now();
+    if (this.activeInputMode !== "gamepad" || nowMs - this.lastGamepadSendMs < GfnWebRtcClient.GAMEPAD_KEEPALIVE_MS) {
+      return;
+    }
+    const usePR = this.mouseInputChannel?.readyState === "open";
+    for (const [slot, state] of this.previousGamepadStates) {
+      if (this.externalGamepadSlots.has(slot)) continue;
+      const bytes = this.inputEncoder.encodeGamepadState({ ...state, timestampUs: timestampUs() }, this.gamepadBitmap, usePR);
+      this.sendGamepad(bytes);
+    }
+    this.lastGamepadSendMs = nowMs;
+  }
+
+  private startGamepadApiPolling(): void {
     this.log("Gamepad polling started (250Hz)");
 
     // Poll at 250Hz (4ms interval) — the practical minimum for setInterval in browsers.
@@ -1863,6 +2040,10 @@ export class GfnWebRtcClient {
         // Remove Escape from pressedKeys so keyup doesn't send it to stream
         this.pressedKeys.delete(0x1B);
         document.exitPointerLock();
+      } else if (this.nativePointerCaptured) {
+        this.log("Escape held for 5s, releasing native pointer capture");
+        this.pressedKeys.delete(0x1B);
+        void PointerCapture.release().catch(() => {});
       }
     }, 5000);
   }
@@ -2098,6 +2279,18 @@ export class GfnWebRtcClient {
     this.sendReliable(payload);
   }
 
+  /** Records native event -> send delay; call right after the packet was handed to a channel. */
+  private recordInputLatency(deviceClass: InputDeviceClass, eventUptimeMs: number): void {
+    if (this.reliableInputChannel?.readyState !== "open") {
+      return;
+    }
+    // Null until the first native clock sync has finished.
+    const eventMs = this.inputClock.toPerformanceMs(eventUptimeMs);
+    if (eventMs !== null) {
+      this.inputLatency.record(deviceClass, performance.now() - eventMs);
+    }
+  }
+
   private installInputCapture(videoElement: HTMLVideoElement): void {
     this.detachInputCapture();
 
@@ -2117,6 +2310,7 @@ export class GfnWebRtcClient {
     this.pendingMouseDx = 0;
     this.pendingMouseDy = 0;
     this.pendingMouseTimestampUs = null;
+    this.pendingMouseEventUptimeMs = null;
     this.mouseDeltaFilter.reset();
     this.log(
       `Mouse input mode: ${pointerMoveEventName ?? "mousemove"}, coalesced=${hasCoalescedEvents ? "yes" : "no"}, flush=${this.mouseFlushIntervalMs}ms`,
@@ -2142,6 +2336,7 @@ export class GfnWebRtcClient {
         this.pendingMouseDx = 0;
         this.pendingMouseDy = 0;
         this.pendingMouseTimestampUs = null;
+        this.pendingMouseEventUptimeMs = null;
         return;
       }
 
@@ -2163,6 +2358,7 @@ export class GfnWebRtcClient {
         this.pendingMouseDx = 0;
         this.pendingMouseDy = 0;
         this.pendingMouseTimestampUs = null;
+        this.pendingMouseEventUptimeMs = null;
         return;
       }
 
@@ -2172,10 +2368,15 @@ export class GfnWebRtcClient {
         timestampUs: this.pendingMouseTimestampUs ?? timestampUs(),
       });
 
+      const eventUptimeMs = this.pendingMouseEventUptimeMs;
       this.pendingMouseDx = 0;
       this.pendingMouseDy = 0;
       this.pendingMouseTimestampUs = null;
+      this.pendingMouseEventUptimeMs = null;
       this.sendReliable(payload);
+      if (eventUptimeMs !== null) {
+        this.recordInputLatency("mouse", eventUptimeMs);
+      }
     };
 
     this.mouseFlushTimer = window.setInterval(flushMouse, this.mouseFlushIntervalMs);
@@ -2218,35 +2419,10 @@ export class GfnWebRtcClient {
       queueMouseMovement(event.movementX, event.movementY, event.timeStamp);
     };
 
-    const onKeyDown = (event: KeyboardEvent) => {
-      if (!this.inputReady) {
-        return;
-      }
-
-      const isEscapeEvent =
-        event.key === "Escape"
-        || event.key === "Esc"
-        || event.code === "Escape"
-        || event.keyCode === 27;
-      const mapped = mapKeyboardEvent(event) ?? (isEscapeEvent ? { vk: 0x1B, scancode: 0x29 } : null);
-
-      // Keep browser from handling held keys (for example Tab focus traversal)
-      // while streaming input is active.
-      if (event.repeat) {
-        if (document.pointerLockElement === videoElement || mapped) {
-          event.preventDefault();
-        }
-        return;
-      }
-
-      if (document.pointerLockElement === videoElement) {
-        event.preventDefault();
-      }
-
-      if (!mapped) {
-        return;
-      }
-
+    // Shared by the DOM handlers and the native Android keyboard path. Returns "dropped" when
+    // the key was dropped because a gamepad was used recently, and "deferred" for a captured
+    // Escape, which is only sent on keyup once it is known to be a tap.
+    const sendKeyDown = (mapped: { vk: number; scancode: number }, modifiers: number): "sent" | "deferred" | "dropped" => {
       // Don't send keyboard input while gamepad was recently active.
       // This prevents accidental key presses from making the game switch
       // to showing keyboard/mouse prompts. The user must put down the
@@ -2254,17 +2430,16 @@ export class GfnWebRtcClient {
       if (this.activeInputMode === "gamepad") {
         const idleMs = performance.now() - this.lastGamepadActivityMs;
         if (idleMs < GfnWebRtcClient.GAMEPAD_MODE_LOCKOUT_MS) {
-          return;
+          return "dropped";
         }
         // Gamepad idle long enough — allow switch to mkb
         this.activeInputMode = "mkb";
         this.log("Input mode → mouse+keyboard (gamepad idle)");
       }
 
-      event.preventDefault();
       this.pressedKeys.add(mapped.vk);
 
-      if (mapped.vk === 0x1B && document.pointerLockElement === videoElement) {
+      if (mapped.vk === 0x1B && (document.pointerLockElement === videoElement || this.nativePointerCaptured)) {
         // Escape with pointer lock active: we start the hold timer for hold-to-exit.
         // For a quick tap (< 5s), we send Escape on keyup (not here) so we can distinguish tap vs hold.
         // For a hold (>= 5s), pointer lock is released and we suppress sending Escape to stream.
@@ -2273,43 +2448,31 @@ export class GfnWebRtcClient {
         // Start the hold timer (will be cleared on keyup if released before 5s)
         this.startEscapeHoldRelease(videoElement);
         // Don't send keydown yet - wait to see if this is a tap or hold
-        return;
+        return "deferred";
       }
 
       const payload = this.inputEncoder.encodeKeyDown({
         keycode: mapped.vk,
         scancode: mapped.scancode,
-        modifiers: modifierFlags(event),
+        modifiers,
         // Use a fresh monotonic timestamp for keyboard events. In some
         // fullscreen/keyboard-lock paths, event.timeStamp can be unstable.
         timestampUs: timestampUs(),
       });
       this.sendReliable(payload);
+      return "sent";
     };
 
-    const onKeyUp = (event: KeyboardEvent) => {
-      if (!this.inputReady || this.activeInputMode === "gamepad") {
-        return;
-      }
-
-      const isEscapeEvent =
-        event.key === "Escape"
-        || event.key === "Esc"
-        || event.code === "Escape"
-        || event.keyCode === 27;
-      const mapped = mapKeyboardEvent(event) ?? (isEscapeEvent ? { vk: 0x1B, scancode: 0x29 } : null);
-      if (!mapped) {
-        return;
-      }
-
-      event.preventDefault();
+    // Returns whether anything was sent; a held Escape that released pointer lock is not.
+    const sendKeyUp = (mapped: { vk: number; scancode: number }, modifiers: number): boolean => {
       if (mapped.vk === 0x1B) {
         this.clearEscapeAutoKeyUpTimer();
         // Check if the hold timer still exists - if so, this was a tap (not a hold)
         const wasTap = this.escapeHoldReleaseTimer !== null;
         this.clearEscapeHoldTimer();
 
-        if (wasTap && this.pressedKeys.has(0x1B)) {
+        const sendTap = wasTap && this.pressedKeys.has(0x1B);
+        if (sendTap) {
           // This was a quick tap - send Escape to the stream now
           this.log("Escape tap detected - sending to stream");
           this.sendKeyPacket(0x1B, mapped.scancode || 0x29, 0, true);
@@ -2318,16 +2481,79 @@ export class GfnWebRtcClient {
         // If hold timer was already cleared, hold completed and pointer lock was released.
         // In that case we don't send Escape to stream.
         this.pressedKeys.delete(mapped.vk);
-        return;
+        return sendTap;
       }
       this.pressedKeys.delete(mapped.vk);
       const payload = this.inputEncoder.encodeKeyUp({
         keycode: mapped.vk,
         scancode: mapped.scancode,
-        modifiers: modifierFlags(event),
+        modifiers,
         timestampUs: timestampUs(),
       });
       this.sendReliable(payload);
+      return true;
+    };
+
+    const onKeyDown = (event: KeyboardEvent) => {
+      if (!this.inputReady) {
+        return;
+      }
+
+      const isEscapeEvent =
+        event.key === "Escape"
+        || event.key === "Esc"
+        || event.code === "Escape"
+        || event.keyCode === 27;
+      const mapped = mapKeyboardEvent(event) ?? (isEscapeEvent ? { vk: 0x1B, scancode: 0x29 } : null);
+
+      // Keep browser from handling held keys (for example Tab focus traversal)
+      // while streaming input is active.
+      if (event.repeat) {
+        if (document.pointerLockElement === videoElement || mapped) {
+          event.preventDefault();
+        }
+        return;
+      }
+
+      if (document.pointerLockElement === videoElement) {
+        event.preventDefault();
+      }
+
+      if (!mapped) {
+        return;
+      }
+
+      // Android hardware keyboards are read natively (see below); the DOM event is only
+      // kept from the page so the key is not sent twice.
+      if (this.nativeKeyboardSeen) {
+        event.preventDefault();
+        return;
+      }
+
+      if (sendKeyDown(mapped, modifierFlags(event)) !== "dropped") {
+        event.preventDefault();
+      }
+    };
+
+    const onKeyUp = (event: KeyboardEvent) => {
+      if (!this.inputReady || this.activeInputMode === "gamepad") {
+        return;
+      }
+
+      const isEscapeEvent =
+        event.key === "Escape"
+        || event.key === "Esc"
+        || event.code === "Escape"
+        || event.keyCode === 27;
+      const mapped = mapKeyboardEvent(event) ?? (isEscapeEvent ? { vk: 0x1B, scancode: 0x29 } : null);
+      if (!mapped) {
+        return;
+      }
+
+      event.preventDefault();
+      if (!this.nativeKeyboardSeen) {
+        sendKeyUp(mapped, modifierFlags(event));
+      }
     };
 
     const onMouseDown = (event: MouseEvent) => {
@@ -2383,7 +2609,13 @@ export class GfnWebRtcClient {
       this.sendReliable(payload);
     };
 
-    const onClick = () => {
+    const onClick = (event: MouseEvent) => {
+      if (nativePointerCapture && (event as PointerEvent).pointerType === "mouse") {
+        void PointerCapture.request().catch((err) => {
+          this.log(`Native pointer capture request failed: ${String(err)}`);
+        });
+        return;
+      }
       // GFN-style sequence: fullscreen -> keyboard lock (Escape) -> pointer lock.
       void this.requestPointerLockWithEscGuard(videoElement, true).catch((err: DOMException) => {
         this.log(`Pointer lock request failed: ${err.name}: ${err.message}`);
@@ -2394,6 +2626,126 @@ export class GfnWebRtcClient {
     // Store video element for pointer lock re-acquisition
     this.videoElement = videoElement;
 
+    // Android: pointer capture delivers batched relative motion that feeds the same
+    // pending deltas the flush timer drains, plus buttons and wheel while captured.
+    const nativePointerCapture = isPointerCaptureAvailable();
+    if (nativePointerCapture) {
+      let disposed = false;
+      let unsubscribe: (() => void) | null = null;
+      void listenPointerCapture({
+        onMotion: (batch) => {
+          if (!this.inputReady || !this.nativePointerCaptured || this.activeInputMode === "gamepad") {
+            return;
+          }
+          this.pendingMouseDx += batch.dx;
+          this.pendingMouseDy += batch.dy;
+          this.pendingMouseTimestampUs = timestampUs();
+          if (this.pendingMouseEventUptimeMs === null) {
+            this.pendingMouseEventUptimeMs = batch.eventUptimeMs;
+          }
+        },
+        onButton: ({ button, down, eventUptimeMs }) => {
+          if (!this.inputReady || !this.nativePointerCaptured) {
+            return;
+          }
+          if (this.activeInputMode === "gamepad") {
+            if (!down || performance.now() - this.lastGamepadActivityMs < GfnWebRtcClient.GAMEPAD_MODE_LOCKOUT_MS) {
+              return;
+            }
+            this.activeInputMode = "mkb";
+            this.log("Input mode → mouse+keyboard (gamepad idle)");
+          }
+          const payload = down
+            ? this.inputEncoder.encodeMouseButtonDown({ button, timestampUs: timestampUs() })
+            : this.inputEncoder.encodeMouseButtonUp({ button, timestampUs: timestampUs() });
+          this.sendReliable(payload);
+          this.recordInputLatency("mouse", eventUptimeMs);
+        },
+        onWheel: ({ delta, eventUptimeMs }) => {
+          if (!this.inputReady || !this.nativePointerCaptured || this.activeInputMode === "gamepad") {
+            return;
+          }
+          this.sendReliable(this.inputEncoder.encodeMouseWheel({ delta, timestampUs: timestampUs() }));
+          this.recordInputLatency("mouse", eventUptimeMs);
+        },
+        onCaptureChanged: ({ captured, requested }) => {
+          this.nativePointerCaptured = captured;
+          this.log(`Native pointer capture ${captured ? "acquired" : "released"}${!captured && requested ? " (lost)" : ""}`);
+          if (!captured) {
+            this.pendingMouseDx = 0;
+            this.pendingMouseDy = 0;
+            this.pendingMouseTimestampUs = null;
+            this.pendingMouseEventUptimeMs = null;
+            this.releasePressedKeys("native pointer capture released");
+          }
+        },
+      }).then((stop) => {
+        if (disposed) stop();
+        else unsubscribe = stop;
+      }).catch(() => {});
+      this.inputCleanup.push(() => {
+        disposed = true;
+        unsubscribe?.();
+        if (this.nativePointerCaptured) {
+          this.nativePointerCaptured = false;
+          void PointerCapture.release().catch(() => {});
+        }
+      });
+    }
+
+    // Native event times are on the uptime clock; keep the offset to performance.now()
+    // fresh so input latency can be measured on one timeline. Resync after the page was
+    // hidden, since the WebView's clock may not advance while the app is paused.
+    if (nativePointerCapture || isKeyboardCaptureAvailable() || isNativeGamepadAvailable()) {
+      void this.inputClock.sync();
+      const clockSyncTimer = window.setInterval(() => void this.inputClock.sync(), INPUT_CLOCK_SYNC_INTERVAL_MS);
+      const onClockVisibilityChange = () => {
+        if (document.visibilityState === "visible") {
+          void this.inputClock.sync();
+        }
+      };
+      document.addEventListener("visibilitychange", onClockVisibilityChange);
+      this.inputCleanup.push(() => {
+        window.clearInterval(clockSyncTimer);
+        document.removeEventListener("visibilitychange", onClockVisibilityChange);
+      });
+    }
+
+    // Android: hardware keys are mapped natively before the WebView's IME handling, which
+    // drops some keys (Escape, Meta, media) and adds latency. Keys the DOM also receives
+    // are only sent from here once the first native batch has arrived; a keydown already
+    // sent by the DOM handler is not repeated.
+    if (isKeyboardCaptureAvailable()) {
+      let disposed = false;
+      let stopCapture: (() => void) | null = null;
+      void startKeyboardCapture((records, eventUptimeMs) => {
+        this.nativeKeyboardSeen = true;
+        if (!this.inputReady) {
+          return;
+        }
+        for (const record of records) {
+          if (record.repeat) {
+            continue;
+          }
+          if (record.down) {
+            if (!this.pressedKeys.has(record.vk) && sendKeyDown(record, record.modifiers) === "sent") {
+              this.recordInputLatency("keyboard", eventUptimeMs);
+            }
+          } else if (this.activeInputMode !== "gamepad" && sendKeyUp(record, record.modifiers)) {
+            this.recordInputLatency("keyboard", eventUptimeMs);
+          }
+        }
+      }).then((stop) => {
+        if (disposed) stop();
+        else stopCapture = stop;
+      }).catch(() => {});
+      this.inputCleanup.push(() => {
+        disposed = true;
+        stopCapture?.();
+        this.nativeKeyboardSeen = false;
+      });
+    }
+
     // Handle pointer lock changes — send synthetic Escape when lock is lost by browser
     // (matches official GFN client's "pointerLockEscape" feature)
     const onPointerLockChange = () => {
@@ -2558,6 +2910,7 @@ export class GfnWebRtcClient {
       this.pendingMouseDx = 0;
       this.pendingMouseDy = 0;
       this.pendingMouseTimestampUs = null;
+      this.pendingMouseEventUptimeMs = null;
       this.mouseDeltaFilter.reset();
       this.videoElement = null;
       // Unlock keyboard on cleanup
@@ -2898,6 +3251,41 @@ export class GfnWebRtcClient {
     return this.pc;
   }
 
+  /**
+   * Called on network changes mid-stream. The server is always the offerer, so the client
+   * can't restart ICE itself. After a handover ICE gets HANDOVER_RECOVERY_TIMEOUT_MS to
+   * reconnect, or the server to send a new offer (handleOffer replaces the connection);
+   * if neither happens, or ICE fails outright, onConnectionLost asks the caller to reclaim
+   * the session. Bitrate is not renegotiated mid-stream; the next answer is capped anew.
+   */
+  handleNetworkChange(status: NetworkStatus): void {
+    const link = status.available
+      ? `${status.transport}, ~${Math.round(status.downKbps / 1000)}/${Math.round(status.upKbps / 1000)} Mbps` +
+        `${status.metered ? ", metered" : ""}${status.validated ? "" : ", not validated"}`
+      : "offline";
+    this.log(`Network ${status.handover ? "handover" : "change"}: ${link}; ICE=${this.pc?.iceConnectionState ?? "none"}`);
+    if (!status.handover || !this.pc) return;
+
+    const pc = this.pc;
+    if (this.handoverTimer !== null) window.clearTimeout(this.handoverTimer);
+    this.handoverTimer = window.setTimeout(() => {
+      this.handoverTimer = null;
+      const ice = pc.iceConnectionState;
+      if (this.pc === pc && ice !== "connected" && ice !== "completed") {
+        this.reportConnectionLost(`ICE ${ice} ${HANDOVER_RECOVERY_TIMEOUT_MS / 1000}s after network handover`);
+      }
+    }, HANDOVER_RECOVERY_TIMEOUT_MS);
+  }
+
+  private reportConnectionLost(reason: string): void {
+    if (this.handoverTimer !== null) {
+      window.clearTimeout(this.handoverTimer);
+      this.handoverTimer = null;
+    }
+    this.log(`Connection lost: ${reason}`);
+    this.options.onConnectionLost?.(reason);
+  }
+
   async handleOffer(offerSdp: string, session: SessionInfo, settings: OfferSettings): Promise<void> {
     this.cleanupPeerConnection();
 
@@ -2909,6 +3297,11 @@ export class GfnWebRtcClient {
       `Settings: codec=${settings.codec}, colorQuality=${settings.colorQuality}, resolution=${settings.resolution}, fps=${settings.fps}, maxBitrate=${settings.maxBitrateKbps}kbps, hdr=${settings.hdrEnabled}`,
     );
 
+    const maxBitrateKbps = capBitrateForLink(settings.maxBitrateKbps, this.options.getNetworkStatus?.());
+    if (maxBitrateKbps < settings.maxBitrateKbps) {
+      this.log(`Bitrate capped to ${maxBitrateKbps}kbps by the network link estimate`);
+    }
+
     this.hdrEnabledForSession = settings.hdrEnabled;
     this.configureVideoElementForHdr(this.options.videoElement, settings.hdrEnabled);
     this.log(`ICE servers: ${session.iceServers.length} (${session.iceServers.map(s => s.urls.join(",")).join(" | ")})`);
@@ -3024,6 +3417,10 @@ export class GfnWebRtcClient {
 
     pc.oniceconnectionstatechange = () => {
       this.log(`ICE connection state: ${pc.iceConnectionState}`);
+      // Only while a handover is pending; other failures keep the existing handling.
+      if (pc.iceConnectionState === "failed" && this.handoverTimer !== null && this.pc === pc) {
+        this.reportConnectionLost("ICE failed after network handover");
+      }
     };
 
     pc.onicegatheringstatechange = () => {
@@ -3186,8 +3583,8 @@ export class GfnWebRtcClient {
 
     // Munge answer SDP: inject b=AS: bitrate limits and stereo=1 for opus
     if (answer.sdp) {
-      answer.sdp = mungeAnswerSdp(answer.sdp, settings.maxBitrateKbps);
-      this.log(`Answer SDP munged (b=AS:${settings.maxBitrateKbps}, stereo=1)`);
+      answer.sdp = mungeAnswerSdp(answer.sdp, maxBitrateKbps);
+      this.log(`Answer SDP munged (b=AS:${maxBitrateKbps}, stereo=1)`);
     }
 
     await pc.setLocalDescription(answer);
@@ -3238,7 +3635,7 @@ export class GfnWebRtcClient {
       width,
       height,
       fps: settings.fps,
-      maxBitrateKbps: settings.maxBitrateKbps,
+      maxBitrateKbps,
       partialReliableThresholdMs: this.partialReliableThresholdMs,
       codec: effectiveCodec,
       colorQuality: settings.colorQuality,